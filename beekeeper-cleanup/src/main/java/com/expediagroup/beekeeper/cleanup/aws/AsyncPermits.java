@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of a {@link java.util.concurrent.Semaphore}: bounds the number of asynchronous operations
+ * in flight without holding a thread while waiting for a permit.
+ */
+class AsyncPermits {
+
+  private final Queue<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+  private final List<CompletableFuture<Void>> drainListeners = new ArrayList<>();
+  private int available;
+
+  AsyncPermits(int permits) {
+    available = permits;
+  }
+
+  /**
+   * Starts {@code operation} once a permit is available and holds the permit until the operation completes.
+   */
+  <T> CompletableFuture<T> run(Supplier<CompletableFuture<T>> operation) {
+    return acquire().thenCompose(ignored -> {
+      CompletableFuture<T> result;
+      try {
+        result = operation.get();
+      } catch (RuntimeException e) {
+        release();
+        return CompletableFuture.failedFuture(e);
+      }
+      return result.whenComplete((value, throwable) -> release());
+    });
+  }
+
+  /**
+   * @return A future which completes once no operation is waiting for a permit.
+   */
+  CompletableFuture<Void> awaitNoWaiters() {
+    synchronized (this) {
+      if (!waiters.isEmpty()) {
+        CompletableFuture<Void> listener = new CompletableFuture<>();
+        drainListeners.add(listener);
+        return listener;
+      }
+    }
+    return CompletableFuture.completedFuture(null);
+  }
+
+  private CompletableFuture<Void> acquire() {
+    synchronized (this) {
+      if (available == 0) {
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        return waiter;
+      }
+      available--;
+    }
+    return CompletableFuture.completedFuture(null);
+  }
+
+  private void release() {
+    CompletableFuture<Void> next;
+    List<CompletableFuture<Void>> drained = List.of();
+    synchronized (this) {
+      next = waiters.poll();
+      if (next == null) {
+        available++;
+      }
+      if (waiters.isEmpty() && !drainListeners.isEmpty()) {
+        drained = new ArrayList<>(drainListeners);
+        drainListeners.clear();
+      }
+    }
+    // completed outside the lock as they run the operations waiting on them
+    if (next != null) {
+      next.complete(null);
+    }
+    drained.forEach(listener -> listener.complete(null));
+  }
+}
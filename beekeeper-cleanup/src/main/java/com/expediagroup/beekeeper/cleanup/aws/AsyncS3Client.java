@@ -0,0 +1,524 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.model.S3VersionSummary;
+
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteMarkerEntry;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.DeletedObject;
+import software.amazon.awssdk.services.s3.model.EncodingType;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectVersionsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectVersionsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.ObjectVersion;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import com.expediagroup.beekeeper.core.error.BeekeeperException;
+
+/**
+ * {@link S3Client} on the non-blocking SDK v2 {@link S3AsyncClient}. Listing pages and DeleteObjects batches are
+ * chained as {@link CompletableFuture} pipelines, so the requests in flight do not each hold a thread.
+ * <p>
+ * Pages are still handed to the page consumer of a listing on the calling thread, one at a time. A cursor only
+ * requests its next page once the previous one has been consumed and the delete window of the bucket has no batch
+ * waiting, which holds the listing back when deletes cannot keep up.
+ * </p>
+ * <p>
+ * Each request waits for the {@link S3RateLimiter} of its bucket and prefix without holding a thread, and the requests
+ * S3 throttles, as well as the keys of a DeleteObjects request refused with {@code SlowDown}, are reported to it.
+ * </p>
+ */
+public class AsyncS3Client extends S3Client {
+
+  private static final String DELIMITER = "/";
+  private static final int NOT_FOUND = 404;
+  private static final int SERVICE_UNAVAILABLE = 503;
+  private static final Logger log = LoggerFactory.getLogger(AsyncS3Client.class);
+  private final S3AsyncClient s3AsyncClient;
+  private final S3RateLimiter rateLimiter;
+  private final Map<String, AsyncPermits> deletePermits = new ConcurrentHashMap<>();
+
+  /**
+   * @param s3AsyncClient SDK v2 asynchronous S3 client.
+   * @param options How requests are sent. The rate limiter, if any, also paces every request.
+   */
+  public AsyncS3Client(S3AsyncClient s3AsyncClient, S3ClientOptions options) {
+    super(options);
+    this.s3AsyncClient = s3AsyncClient;
+    this.rateLimiter = options.getRateLimiter();
+  }
+
+  @Override
+  void deleteObject(String bucket, String key) {
+    if (isDryRunEnabled()) {
+      log.info("Dry run - deleting: \"{}/{}\"", bucket, key);
+    } else {
+      log.info("Deleting \"{}/{}\"", bucket, key);
+      join(send(bucket, key, () -> s3AsyncClient.deleteObject(request -> request.bucket(bucket).key(key))));
+    }
+  }
+
+  @Override
+  List<S3ObjectSummary> listObjects(String bucket, String key) {
+    List<S3ObjectSummary> objectSummaries = new ArrayList<>();
+    consumePages(bucket, key, null, false, objectSummaries::addAll);
+    return objectSummaries;
+  }
+
+  /**
+   * As {@link S3Client#listObjects(String, String, String, Consumer)}, except that sub-prefixes are listed without a
+   * thread each and {@code pageConsumer} is always called on the calling thread.
+   */
+  @Override
+  void listObjects(String bucket, String key, String startAfter, Consumer<List<S3ObjectSummary>> pageConsumer) {
+    consumePages(bucket, key, startAfter, getListParallelism() > 1 && key.endsWith(DELIMITER), pageConsumer);
+  }
+
+  @Override
+  S3PathClassification classifyPath(String bucket, String key) {
+    ListObjectsV2Response response = join(send(bucket, key, () -> s3AsyncClient
+        .listObjectsV2(request -> request.bucket(bucket).prefix(key).encodingType(EncodingType.URL))));
+    List<S3ObjectSummary> objectSummaries = response.contents()
+        .stream()
+        .map(s3Object -> objectSummary(bucket, s3Object))
+        .collect(Collectors.toList());
+    return S3PathClassification.of(key, objectSummaries, response.isTruncated());
+  }
+
+  @Override
+  ListObjectsV2Result listDirectoryPage(String bucket, String directoryKey, String startAfter,
+      String continuationToken) {
+    ListObjectsV2Response response = join(send(bucket, directoryKey, () -> s3AsyncClient
+        .listObjectsV2(request -> request
+            .bucket(bucket)
+            .prefix(directoryKey)
+            .delimiter(DELIMITER)
+            .encodingType(EncodingType.URL)
+            .startAfter(continuationToken == null ? startAfter : null)
+            .continuationToken(continuationToken))));
+    ListObjectsV2Result result = new ListObjectsV2Result();
+    result.setBucketName(bucket);
+    result.setPrefix(directoryKey);
+    result.setDelimiter(DELIMITER);
+    response.contents().forEach(s3Object -> result.getObjectSummaries().add(objectSummary(bucket, s3Object)));
+    result.setCommonPrefixes(response.commonPrefixes().stream().map(CommonPrefix::prefix).collect(Collectors.toList()));
+    result.setTruncated(response.isTruncated());
+    result.setNextContinuationToken(response.nextContinuationToken());
+    return result;
+  }
+
+  private void consumePages(
+      String bucket,
+      String key,
+      String startAfter,
+      boolean bySubPrefix,
+      Consumer<List<S3ObjectSummary>> pageConsumer) {
+    PageQueue pages = new PageQueue();
+    CompletableFuture<Void> listing = bySubPrefix
+        ? listPagesBySubPrefix(bucket, key, startAfter, pages)
+        : listPages(bucket, key, null, startAfter, pages, commonPrefix -> {});
+    listing.whenComplete((result, throwable) -> {
+      if (throwable != null) {
+        pages.fail(asRuntimeException(throwable));
+      }
+      pages.close();
+    });
+    Page page = null;
+    try {
+      while ((page = pages.take()) != null) {
+        pages.throwIfFailed();
+        pageConsumer.accept(page.objectSummaries);
+        page.consumed.complete(null);
+      }
+    } catch (RuntimeException e) {
+      pages.fail(e);
+      if (page != null) {
+        page.consumed.completeExceptionally(e);
+      }
+      listing.exceptionally(t -> null).join();
+      throw e;
+    }
+    pages.throwIfFailed();
+  }
+
+  private CompletableFuture<Void> listPagesBySubPrefix(
+      String bucket,
+      String key,
+      String startAfter,
+      PageQueue pages) {
+    AsyncPermits listPermits = new AsyncPermits(getListParallelism());
+    List<CompletableFuture<Void>> subPrefixListings = Collections.synchronizedList(new ArrayList<>());
+    return listPages(bucket, key, DELIMITER, startAfter, pages, subPrefix -> {
+      CompletableFuture<Void> subPrefixListing = listPermits.run(() -> listPages(bucket, subPrefix, null,
+          startAfterIn(subPrefix, startAfter), pages, commonPrefix -> {}));
+      subPrefixListing.whenComplete((result, throwable) -> {
+        if (throwable != null) {
+          pages.fail(asRuntimeException(throwable));
+        }
+      });
+      subPrefixListings.add(subPrefixListing);
+    }).thenCompose(ignored -> {
+      synchronized (subPrefixListings) {
+        return CompletableFuture.allOf(subPrefixListings.toArray(CompletableFuture[]::new));
+      }
+    });
+  }
+
+  private CompletableFuture<Void> listPages(
+      String bucket,
+      String key,
+      String delimiter,
+      String startAfter,
+      PageQueue pages,
+      Consumer<String> commonPrefixConsumer) {
+    return listPages(bucket, key, delimiter, startAfter, null, pages, commonPrefixConsumer);
+  }
+
+  private CompletableFuture<Void> listPages(
+      String bucket,
+      String key,
+      String delimiter,
+      String startAfter,
+      String continuationToken,
+      PageQueue pages,
+      Consumer<String> commonPrefixConsumer) {
+    ListObjectsV2Request request = ListObjectsV2Request.builder()
+        .bucket(bucket)
+        .prefix(key)
+        .delimiter(delimiter)
+        .encodingType(EncodingType.URL)
+        .startAfter(startAfter)
+        .continuationToken(continuationToken)
+        .build();
+    return send(bucket, key, () -> s3AsyncClient.listObjectsV2(request)).thenCompose(response -> {
+      response.commonPrefixes().stream().map(CommonPrefix::prefix).forEach(commonPrefixConsumer);
+      CompletableFuture<Void> consumed = response.contents().isEmpty()
+          ? CompletableFuture.completedFuture(null)
+          : pages.offer(response.contents().stream()
+              .map(s3Object -> objectSummary(bucket, s3Object))
+              .collect(Collectors.toList()));
+      if (!response.isTruncated()) {
+        return consumed;
+      }
+      return consumed
+          .thenCompose(ignored -> deletePermits(bucket).awaitNoWaiters())
+          .thenCompose(ignored -> listPages(bucket, key, delimiter, startAfter, response.nextContinuationToken(),
+              pages, commonPrefixConsumer));
+    });
+  }
+
+  /**
+   * Sends a single DeleteObjects request of at most 1000 keys once one of the {@code deleteConcurrency} permits of the
+   * bucket is free. Unlike the blocking client this never blocks the caller.
+   */
+  @Override
+  CompletableFuture<List<String>> submitDeleteObjects(String bucket, List<String> keys) {
+    DeleteObjectsRequest deleteObjectsRequest = DeleteObjectsRequest.builder()
+        .bucket(bucket)
+        .delete(Delete.builder()
+            .objects(keys.stream().map(key -> ObjectIdentifier.builder().key(key).build()).collect(Collectors.toList()))
+            .build())
+        .build();
+    return deletePermits(bucket)
+        .run(() -> sendDeleteObjects(bucket, deleteObjectsRequest))
+        .thenApply(AsyncS3Client::deletedKeys);
+  }
+
+  /**
+   * As {@link S3Client#listObjectVersions(String, String, Consumer)}, only requesting the next page once the delete
+   * window of the bucket has no batch waiting.
+   */
+  @Override
+  void listObjectVersions(String bucket, String key, Consumer<List<S3VersionSummary>> pageConsumer) {
+    ListObjectVersionsResponse response;
+    String keyMarker = null;
+    String versionIdMarker = null;
+    do {
+      ListObjectVersionsRequest request = ListObjectVersionsRequest.builder()
+          .bucket(bucket)
+          .prefix(key)
+          .encodingType(EncodingType.URL)
+          .keyMarker(keyMarker)
+          .versionIdMarker(versionIdMarker)
+          .build();
+      response = join(send(bucket, key, () -> s3AsyncClient.listObjectVersions(request)));
+      List<S3VersionSummary> versionSummaries = new ArrayList<>();
+      response.versions().forEach(version -> versionSummaries.add(versionSummary(bucket, version)));
+      response.deleteMarkers().forEach(deleteMarker -> versionSummaries.add(versionSummary(bucket, deleteMarker)));
+      if (!versionSummaries.isEmpty()) {
+        pageConsumer.accept(versionSummaries);
+      }
+      join(deletePermits(bucket).awaitNoWaiters());
+      keyMarker = response.nextKeyMarker();
+      versionIdMarker = response.nextVersionIdMarker();
+    } while (response.isTruncated());
+  }
+
+  @Override
+  CompletableFuture<Set<String>> submitDeleteObjectVersions(String bucket, List<S3VersionSummary> versions) {
+    DeleteObjectsRequest deleteObjectsRequest = DeleteObjectsRequest.builder()
+        .bucket(bucket)
+        .delete(Delete.builder()
+            .objects(versions.stream()
+                .map(version -> ObjectIdentifier.builder()
+                    .key(version.getKey())
+                    .versionId(version.getVersionId())
+                    .build())
+                .collect(Collectors.toList()))
+            .build())
+        .build();
+    return deletePermits(bucket)
+        .run(() -> sendDeleteObjects(bucket, deleteObjectsRequest))
+        .thenApply(AsyncS3Client::deletedVersionIds);
+  }
+
+  private static Set<String> deletedVersionIds(DeleteObjectsResponse deleteObjectsResponse) {
+    deleteObjectsResponse.errors()
+        .forEach(error -> log.warn("Could not delete version {} of \"{}\": {} {}", error.versionId(), error.key(),
+            error.code(), error.message()));
+    return deleteObjectsResponse.deleted()
+        .stream()
+        .map(deletedObject -> versionId(deletedObject.key(), deletedObject.versionId()))
+        .collect(Collectors.toSet());
+  }
+
+  private static List<String> deletedKeys(DeleteObjectsResponse deleteObjectsResponse) {
+    deleteObjectsResponse.errors()
+        .forEach(error -> log.warn("Could not delete \"{}\": {} {}", error.key(), error.code(), error.message()));
+    return deleteObjectsResponse.deleted().stream().map(DeletedObject::key).collect(Collectors.toList());
+  }
+
+  private CompletableFuture<DeleteObjectsResponse> sendDeleteObjects(String bucket, DeleteObjectsRequest request) {
+    List<ObjectIdentifier> objects = request.delete().objects();
+    String firstKey = objects.isEmpty() ? null : objects.get(0).key();
+    return send(bucket, firstKey, () -> s3AsyncClient.deleteObjects(request)).thenApply(response -> {
+      if (rateLimiter != null) {
+        rateLimiter.throttledKeys(bucket, response.errors()
+            .stream()
+            .filter(error -> S3RateLimiter.SLOW_DOWN_ERROR_CODE.equals(error.code()))
+            .map(S3Error::key)
+            .collect(Collectors.toList()));
+      }
+      return response;
+    });
+  }
+
+  /**
+   * Sends a request once the rate limiter lets one more through to the bucket and prefix of the key, waiting on a
+   * delayed executor rather than on the calling thread, and reports the request to it if S3 throttles it.
+   */
+  private <T> CompletableFuture<T> send(String bucket, String key, Supplier<CompletableFuture<T>> request) {
+    if (rateLimiter == null) {
+      return request.get();
+    }
+    long delayNanos = rateLimiter.reserve(bucket, key);
+    CompletableFuture<T> response = delayNanos > 0
+        ? CompletableFuture
+            .runAsync(() -> {}, CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS))
+            .thenCompose(ignored -> request.get())
+        : request.get();
+    return response.whenComplete((result, throwable) -> {
+      if (isThrottling(throwable)) {
+        rateLimiter.throttled(bucket, key);
+      }
+    });
+  }
+
+  private static boolean isThrottling(Throwable throwable) {
+    Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+    if (!(cause instanceof SdkServiceException)) {
+      return false;
+    }
+    SdkServiceException e = (SdkServiceException) cause;
+    return e.isThrottlingException() || e.statusCode() == SERVICE_UNAVAILABLE;
+  }
+
+  private AsyncPermits deletePermits(String bucket) {
+    return deletePermits.computeIfAbsent(bucket, b -> new AsyncPermits(getDeleteConcurrency()));
+  }
+
+  @Override
+  boolean doesObjectExist(String bucket, String key) {
+    try {
+      join(headObject(bucket, key));
+      return true;
+    } catch (NoSuchKeyException e) {
+      return false;
+    } catch (S3Exception e) {
+      if (e.statusCode() == NOT_FOUND) {
+        return false;
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  ObjectMetadata getObjectMetadata(String bucket, String key) {
+    HeadObjectResponse headObjectResponse = join(headObject(bucket, key));
+    ObjectMetadata objectMetadata = new ObjectMetadata();
+    objectMetadata.setContentLength(headObjectResponse.contentLength());
+    if (headObjectResponse.lastModified() != null) {
+      objectMetadata.setLastModified(Date.from(headObjectResponse.lastModified()));
+    }
+    return objectMetadata;
+  }
+
+  private CompletableFuture<HeadObjectResponse> headObject(String bucket, String key) {
+    return send(bucket, key, () -> s3AsyncClient.headObject(request -> request.bucket(bucket).key(key)));
+  }
+
+  @Override
+  boolean isEmpty(String bucket, String key, String leafKey) {
+    List<S3ObjectSummary> objectsLeftAtPath = join(send(bucket, key + DELIMITER,
+        () -> s3AsyncClient.listObjectsV2(request -> request.bucket(bucket).prefix(key + DELIMITER))))
+            .contents()
+            .stream()
+            .map(s3Object -> objectSummary(bucket, s3Object))
+            .collect(Collectors.toList());
+    return isEmpty(objectsLeftAtPath, leafKey);
+  }
+
+  private static S3ObjectSummary objectSummary(String bucket, S3Object s3Object) {
+    S3ObjectSummary objectSummary = new S3ObjectSummary();
+    objectSummary.setBucketName(bucket);
+    objectSummary.setKey(s3Object.key());
+    objectSummary.setSize(s3Object.size() == null ? 0L : s3Object.size());
+    objectSummary.setETag(s3Object.eTag());
+    objectSummary.setStorageClass(s3Object.storageClassAsString());
+    if (s3Object.lastModified() != null) {
+      objectSummary.setLastModified(Date.from(s3Object.lastModified()));
+    }
+    return objectSummary;
+  }
+
+  private static S3VersionSummary versionSummary(String bucket, ObjectVersion version) {
+    S3VersionSummary versionSummary = new S3VersionSummary();
+    versionSummary.setBucketName(bucket);
+    versionSummary.setKey(version.key());
+    versionSummary.setVersionId(version.versionId());
+    versionSummary.setIsLatest(Boolean.TRUE.equals(version.isLatest()));
+    versionSummary.setSize(version.size() == null ? 0L : version.size());
+    return versionSummary;
+  }
+
+  private static S3VersionSummary versionSummary(String bucket, DeleteMarkerEntry deleteMarker) {
+    S3VersionSummary versionSummary = new S3VersionSummary();
+    versionSummary.setBucketName(bucket);
+    versionSummary.setKey(deleteMarker.key());
+    versionSummary.setVersionId(deleteMarker.versionId());
+    versionSummary.setIsLatest(Boolean.TRUE.equals(deleteMarker.isLatest()));
+    versionSummary.setIsDeleteMarker(true);
+    return versionSummary;
+  }
+
+  @Override
+  public synchronized void close() {
+    super.close();
+    s3AsyncClient.close();
+  }
+
+  private static final class Page {
+    private final List<S3ObjectSummary> objectSummaries;
+    private final CompletableFuture<Void> consumed = new CompletableFuture<>();
+
+    private Page(List<S3ObjectSummary> objectSummaries) {
+      this.objectSummaries = objectSummaries;
+    }
+  }
+
+  /**
+   * Hands the pages listed by any number of cursors over to the thread consuming them. Once failed, pending and later
+   * pages are rejected so that every cursor stops.
+   */
+  private static final class PageQueue {
+    private static final Page END = new Page(Collections.emptyList());
+
+    private final BlockingQueue<Page> pages = new LinkedBlockingQueue<>();
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    CompletableFuture<Void> offer(List<S3ObjectSummary> objectSummaries) {
+      Page page = new Page(objectSummaries);
+      pages.add(page);
+      RuntimeException e = failure.get();
+      if (e != null) {
+        page.consumed.completeExceptionally(e);
+      }
+      return page.consumed;
+    }
+
+    Page take() {
+      try {
+        Page page = pages.take();
+        return page == END ? null : page;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new BeekeeperException("Interrupted while listing objects", e);
+      }
+    }
+
+    void fail(RuntimeException e) {
+      failure.compareAndSet(null, e);
+      RuntimeException first = failure.get();
+      pages.forEach(page -> page.consumed.completeExceptionally(first));
+    }
+
+    void close() {
+      pages.add(END);
+    }
+
+    void throwIfFailed() {
+      RuntimeException e = failure.get();
+      if (e != null) {
+        throw e;
+      }
+    }
+  }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2019-2020 Expedia, Inc.
+ * Copyright (C) 2019-2026 Expedia, Inc.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,45 +15,46 @@
  */
 package com.expediagroup.beekeeper.cleanup.aws;
 
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 
+/**
+ * Adds up the sizes of deleted objects. Batches of listed objects are accounted for as a whole once their deletion
+ * completes, so that memory only holds the batches in flight. Batches may be reported from different threads.
+ */
 public class S3BytesDeletedCalculator {
 
-  private S3Client s3Client;
-  private Map<String, Long> keyToSize = new HashMap<>();
   private long bytesDeleted = 0;
 
-  public S3BytesDeletedCalculator(S3Client s3Client) {
-    this.s3Client = s3Client;
-  }
-
-  public void storeFileSize(String bucket, String key) {
-    long bytes = s3Client.getObjectMetadata(bucket, key).getContentLength();
-    keyToSize.put(key, bytes);
-  }
-
-  public void storeFileSizes(List<S3ObjectSummary> objectSummaries) {
-    objectSummaries.forEach(objectSummary -> {
-      long bytes = objectSummary.getSize();
-      keyToSize.put(objectSummary.getKey(), bytes);
-    });
-  }
-
-  public void calculateBytesDeleted(List<String> keysDeleted) {
-    if (!keyToSize.isEmpty()) {
-      keysDeleted.forEach(key -> {
-        if (keyToSize.containsKey(key)) {
-          bytesDeleted += keyToSize.get(key);
+  /**
+   * Adds up the size of a batch of objects, minus the sizes of the keys the batch failed to delete.
+   *
+   * @param objectSummaries Objects of the batch.
+   * @param keysDeleted Keys of the batch which were deleted.
+   */
+  public void calculateBytesDeleted(List<S3ObjectSummary> objectSummaries, List<String> keysDeleted) {
+    long bytes = 0;
+    if (keysDeleted.size() == objectSummaries.size()) {
+      for (S3ObjectSummary objectSummary : objectSummaries) {
+        bytes += objectSummary.getSize();
+      }
+    } else {
+      Set<String> deleted = new HashSet<>(keysDeleted);
+      for (S3ObjectSummary objectSummary : objectSummaries) {
+        if (deleted.contains(objectSummary.getKey())) {
+          bytes += objectSummary.getSize();
         }
-      });
+      }
+    }
+    synchronized (this) {
+      bytesDeleted += bytes;
     }
   }
 
-  public long getBytesDeleted() {
+  public synchronized long getBytesDeleted() {
     return bytesDeleted;
   }
 
@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2019-2022 Expedia, Inc.
+ * Copyright (C) 2019-2026 Expedia, Inc.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,21 @@ package com.expediagroup.beekeeper.cleanup.aws;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -28,19 +42,66 @@ import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsResult;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ListVersionsRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.model.S3VersionSummary;
+import com.amazonaws.services.s3.model.VersionListing;
+
+import com.expediagroup.beekeeper.cleanup.service.WorkerThreads;
+import com.expediagroup.beekeeper.core.error.BeekeeperException;
 
 public class S3Client {
 
-  private static final int REQUEST_CHUNK_SIZE = 1000;
+  static final int REQUEST_CHUNK_SIZE = 1000;
+  private static final String DELIMITER = "/";
   private static final Logger log = LoggerFactory.getLogger(S3Client.class);
-  private final AmazonS3 amazonS3;
+  private final S3ClientRegistry clients;
   private final boolean dryRunEnabled;
+  private final int deleteConcurrency;
+  private final int listParallelism;
+  private final S3DeleteRetryPolicy deleteRetryPolicy;
+  private final S3RateLimiter rateLimiter;
+  private final Map<String, Semaphore> deletePermits = new ConcurrentHashMap<>();
+  private ExecutorService deleteExecutor;
+  private ExecutorService listExecutor;
 
   public S3Client(AmazonS3 amazonS3, boolean dryRunEnabled) {
-    this.amazonS3 = amazonS3;
-    this.dryRunEnabled = dryRunEnabled;
+    this(new S3ClientRegistry(amazonS3), S3ClientOptions.builder().dryRunEnabled(dryRunEnabled).build());
+  }
+
+  /**
+   * @param clients Provides the S3 client of each bucket.
+   * @param options How requests are sent.
+   */
+  public S3Client(S3ClientRegistry clients, S3ClientOptions options) {
+    this.clients = clients;
+    this.dryRunEnabled = options.isDryRunEnabled();
+    this.deleteConcurrency = options.getDeleteConcurrency();
+    this.listParallelism = options.getListParallelism();
+    this.deleteRetryPolicy = options.getDeleteRetryPolicy();
+    this.rateLimiter = options.getRateLimiter();
+  }
+
+  /**
+   * For S3 engines which do not use the SDK v1 {@link AmazonS3} client. They must override every operation which
+   * sends a request.
+   */
+  protected S3Client(S3ClientOptions options) {
+    this(null, options);
+  }
+
+  boolean isDryRunEnabled() {
+    return dryRunEnabled;
+  }
+
+  int getDeleteConcurrency() {
+    return deleteConcurrency;
+  }
+
+  int getListParallelism() {
+    return listParallelism;
   }
 
   void deleteObject(String bucket, String key) {
@@ -48,68 +109,494 @@ public class S3Client {
       log.info("Dry run - deleting: \"{}/{}\"", bucket, key);
     } else {
       log.info("Deleting \"{}/{}\"", bucket, key);
-      amazonS3.deleteObject(bucket, key);
+      amazonS3(bucket).deleteObject(bucket, key);
     }
   }
 
   List<S3ObjectSummary> listObjects(String bucket, String key) {
     List<S3ObjectSummary> objectSummaries = new ArrayList<>();
+    listObjectsWithCursor(bucket, key, null, objectSummaries::addAll);
+    return objectSummaries;
+  }
+
+  /**
+   * Tells whether {@code key} is a file or a directory with a single ListObjectsV2 request, which also returns the
+   * size of the file or the first page of the directory.
+   */
+  S3PathClassification classifyPath(String bucket, String key) {
+    ListObjectsV2Request request = new ListObjectsV2Request()
+        .withBucketName(bucket)
+        .withPrefix(key)
+        .withEncodingType("url");
+    ListObjectsV2Result listObjectsV2Result = amazonS3(request.getBucketName()).listObjectsV2(request);
+    return S3PathClassification.of(key, listObjectsV2Result.getObjectSummaries(), listObjectsV2Result.isTruncated());
+  }
+
+  /**
+   * Lists all the objects under {@code key}, handing each ListObjectsV2 page (at most 1000 objects) to
+   * {@code pageConsumer} before the next page is requested.
+   * <p>
+   * If the list parallelism is greater than 1 and {@code key} is a directory (it ends with "/"), its immediate
+   * sub-prefixes (typically partition directories) are found with a delimited listing and each of them is then listed
+   * on its own cursor, up to {@code listParallelism} at a time. In that case {@code pageConsumer} is called
+   * concurrently and pages are not handed over in key order.
+   * </p>
+   *
+   * @param bucket Bucket to list.
+   * @param key Prefix of the objects to list.
+   * @param pageConsumer Consumer of each page of listed objects.
+   */
+  void listObjects(String bucket, String key, Consumer<List<S3ObjectSummary>> pageConsumer) {
+    listObjects(bucket, key, null, pageConsumer);
+  }
+
+  /**
+   * As {@link #listObjects(String, String, Consumer)}, only listing the objects whose keys sort after
+   * {@code startAfter}.
+   *
+   * @param startAfter Key after which to start listing, or null to list all the objects.
+   */
+  void listObjects(String bucket, String key, String startAfter, Consumer<List<S3ObjectSummary>> pageConsumer) {
+    if (listParallelism > 1 && key.endsWith(DELIMITER)) {
+      listObjectsBySubPrefix(bucket, key, startAfter, pageConsumer);
+    } else {
+      listObjectsWithCursor(bucket, key, startAfter, pageConsumer);
+    }
+  }
+
+  private void listObjectsWithCursor(
+      String bucket,
+      String key,
+      String startAfter,
+      Consumer<List<S3ObjectSummary>> pageConsumer) {
+    listObjects(bucket, key, null, startAfter, pageConsumer, commonPrefix -> {});
+  }
+
+  private void listObjectsBySubPrefix(
+      String bucket,
+      String key,
+      String startAfter,
+      Consumer<List<S3ObjectSummary>> pageConsumer) {
+    Semaphore permits = new Semaphore(listParallelism);
+    List<CompletableFuture<Void>> subPrefixListings = new ArrayList<>();
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    try {
+      listObjects(bucket, key, DELIMITER, startAfter, pageConsumer, subPrefix -> {
+        permits.acquireUninterruptibly();
+        RuntimeException e = failure.get();
+        if (e != null) {
+          permits.release();
+          throw e;
+        }
+        subPrefixListings.removeIf(CompletableFuture::isDone);
+        subPrefixListings.add(CompletableFuture
+            .runAsync(() -> listObjectsWithCursor(bucket, subPrefix, startAfterIn(subPrefix, startAfter), pageConsumer),
+                listExecutor())
+            .whenComplete((result, throwable) -> {
+              if (throwable != null) {
+                failure.compareAndSet(null, asRuntimeException(throwable));
+              }
+              permits.release();
+            }));
+      });
+    } finally {
+      CompletableFuture.allOf(subPrefixListings.toArray(CompletableFuture[]::new)).exceptionally(t -> null).join();
+    }
+    RuntimeException e = failure.get();
+    if (e != null) {
+      throw e;
+    }
+  }
+
+  /**
+   * @return {@code startAfter} if it falls within {@code subPrefix}, otherwise null as the whole sub-prefix sorts
+   *         after it.
+   */
+  static String startAfterIn(String subPrefix, String startAfter) {
+    return startAfter != null && startAfter.startsWith(subPrefix) ? startAfter : null;
+  }
+
+  private void listObjects(
+      String bucket,
+      String key,
+      String delimiter,
+      String startAfter,
+      Consumer<List<S3ObjectSummary>> pageConsumer,
+      Consumer<String> commonPrefixConsumer) {
     ListObjectsV2Result listObjectsV2Result;
     String continuationToken = null;
     do {
       ListObjectsV2Request request = new ListObjectsV2Request()
           .withBucketName(bucket)
           .withPrefix(key)
+          .withDelimiter(delimiter)
           .withEncodingType("url")
+          .withStartAfter(startAfter)
           .withContinuationToken(continuationToken);
-      listObjectsV2Result = amazonS3.listObjectsV2(request);
-      objectSummaries.addAll(listObjectsV2Result.getObjectSummaries());
+      listObjectsV2Result = amazonS3(request.getBucketName()).listObjectsV2(request);
+      List<S3ObjectSummary> objectSummaries = listObjectsV2Result.getObjectSummaries();
+      if (!objectSummaries.isEmpty()) {
+        pageConsumer.accept(objectSummaries);
+      }
+      listObjectsV2Result.getCommonPrefixes().forEach(commonPrefixConsumer);
       continuationToken = listObjectsV2Result.getNextContinuationToken();
     } while (listObjectsV2Result.isTruncated());
-    return objectSummaries;
+  }
+
+  /**
+   * Lists a single page of the objects and sub-prefixes directly under {@code directoryKey}.
+   *
+   * @param startAfter Key after which to start listing, or null. Ignored if {@code continuationToken} is set.
+   * @param continuationToken Token returned by the previous page, or null.
+   */
+  ListObjectsV2Result listDirectoryPage(String bucket, String directoryKey, String startAfter,
+      String continuationToken) {
+    ListObjectsV2Request request = new ListObjectsV2Request()
+        .withBucketName(bucket)
+        .withPrefix(directoryKey)
+        .withDelimiter(DELIMITER)
+        .withEncodingType("url")
+        .withStartAfter(continuationToken == null ? startAfter : null)
+        .withContinuationToken(continuationToken);
+    return amazonS3(request.getBucketName()).listObjectsV2(request);
   }
 
   List<String> deleteObjects(String bucket, List<String> keys) {
+    return join(deleteObjectsAsync(bucket, keys));
+  }
+
+  /**
+   * Deletes the given keys with DeleteObjects requests of at most 1000 keys each. Up to {@code deleteConcurrency}
+   * requests per bucket are in flight at any time; once that window is full this method blocks until a request
+   * completes, so that callers producing keys faster than they can be deleted are held back. The keys a request fails
+   * to delete are retried on their own as set by the {@link S3DeleteRetryPolicy}, and only the keys still failing after
+   * the last retry are left out of the result.
+   *
+   * @param bucket Bucket the keys belong to.
+   * @param keys Keys to delete.
+   * @return The deleted keys, in the order in which they were requested.
+   */
+  CompletableFuture<List<String>> deleteObjectsAsync(String bucket, List<String> keys) {
     if (keys.isEmpty()) {
-      return Collections.emptyList();
+      return CompletableFuture.completedFuture(Collections.emptyList());
     }
-    if (!dryRunEnabled) {
-      log.info("Attempting to delete a total of {} objects, from [{}] to [{}]", keys.size(), keys.get(0),
+    if (dryRunEnabled) {
+      // one line per batch, the keys themselves are only logged at debug level
+      log.info("Dry run - deleting a total of {} objects, from [{}] to [{}]", keys.size(), keys.get(0),
           keys.get(keys.size() - 1));
-      DeleteObjectsResult deleteObjectsResult = new DeleteObjectsResult(new ArrayList<>());
-      DeleteObjectsRequest deleteObjectsRequest = new DeleteObjectsRequest(bucket);
-      int totalKeys = keys.size();
-      int indexStart;
-      int indexEnd = 0;
-      while (indexEnd < totalKeys) {
-        indexStart = indexEnd;
-        indexEnd = nextIndexEnd(indexStart, REQUEST_CHUNK_SIZE, totalKeys);
-        deleteObjectsRequest.withKeys(keys.subList(indexStart, indexEnd).toArray(String[]::new));
-        deleteObjectsResult.getDeletedObjects().addAll(
-            amazonS3.deleteObjects(deleteObjectsRequest).getDeletedObjects());
+      keys.forEach(key -> log.debug("Dry run - deleting: \"{}/{}\"", bucket, key));
+      return CompletableFuture.completedFuture(new ArrayList<>(keys));
+    }
+    log.info("Attempting to delete a total of {} objects, from [{}] to [{}]", keys.size(), keys.get(0),
+        keys.get(keys.size() - 1));
+    List<CompletableFuture<List<String>>> chunks = new ArrayList<>();
+    int totalKeys = keys.size();
+    int indexStart;
+    int indexEnd = 0;
+    while (indexEnd < totalKeys) {
+      indexStart = indexEnd;
+      indexEnd = nextIndexEnd(indexStart, REQUEST_CHUNK_SIZE, totalKeys);
+      chunks.add(deleteObjectsWithRetries(bucket, keys.subList(indexStart, indexEnd), 0));
+    }
+    return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+      List<String> deletedKeys = chunks.stream()
+          .flatMap(chunk -> chunk.join().stream())
+          .collect(Collectors.toList());
+      log.info("Successfully deleted {} objects", deletedKeys.size());
+      return deletedKeys;
+    });
+  }
+
+  /**
+   * Sends a DeleteObjects request, then retries the keys it failed to delete until they are all deleted or the retry
+   * rounds run out. A request which fails as a whole is not retried here, as the SDK already retries it.
+   *
+   * @param round Number of retries sent so far for these keys.
+   * @return The deleted keys, in the order in which they were requested.
+   */
+  private CompletableFuture<List<String>> deleteObjectsWithRetries(String bucket, List<String> keys, int round) {
+    CompletableFuture<List<String>> request;
+    try {
+      request = submitDeleteObjects(bucket, keys);
+    } catch (RuntimeException e) {
+      request = CompletableFuture.failedFuture(e);
+    }
+    return request.handle((deletedKeys, throwable) -> {
+      if (throwable == null) {
+        return retryFailedKeys(bucket, keys, deletedKeys, Collections.emptySet(), round);
+      }
+      RuntimeException e = asRuntimeException(throwable);
+      if (!(e instanceof MultiObjectDeleteException)) {
+        return CompletableFuture.<List<String>>failedFuture(e);
       }
-      log.info("Successfully deleted {} objects", keys.size());
-      return deleteObjectsResult.getDeletedObjects()
+      // the SDK v1 client reports partial failures as an exception holding the keys which were deleted
+      MultiObjectDeleteException multiObjectDeleteException = (MultiObjectDeleteException) e;
+      multiObjectDeleteException.getErrors()
+          .forEach(error -> log.warn("Could not delete \"{}\": {} {}", error.getKey(), error.getCode(),
+              error.getMessage()));
+      reportThrottledKeys(bucket, multiObjectDeleteException);
+      Set<String> nonRetryableKeys = multiObjectDeleteException.getErrors()
           .stream()
-          .map(DeleteObjectsResult.DeletedObject::getKey)
-          .collect(Collectors.toList());
-    } else {
-      return keys.stream()
-          .peek(key -> log.info("Dry run - deleting: \"{}/{}\"", bucket, key))
+          .filter(error -> !deleteRetryPolicy.isRetryable(error.getCode()))
+          .map(MultiObjectDeleteException.DeleteError::getKey)
+          .collect(Collectors.toSet());
+      return retryFailedKeys(bucket, keys, deletedKeys(multiObjectDeleteException.getDeletedObjects()),
+          nonRetryableKeys, round);
+    }).thenCompose(Function.identity());
+  }
+
+  /**
+   * S3 throttles the keys of a DeleteObjects request individually, so this is the only place the rate limiter can
+   * learn about it.
+   */
+  private void reportThrottledKeys(String bucket, MultiObjectDeleteException e) {
+    if (rateLimiter != null) {
+      rateLimiter.throttledDeletes(bucket, e.getErrors());
+    }
+  }
+
+  private CompletableFuture<List<String>> retryFailedKeys(
+      String bucket,
+      List<String> keys,
+      List<String> deletedKeys,
+      Set<String> nonRetryableKeys,
+      int round) {
+    if (deletedKeys.size() == keys.size() || round >= deleteRetryPolicy.getMaxRounds()) {
+      return CompletableFuture.completedFuture(deletedKeys);
+    }
+    Set<String> deleted = new HashSet<>(deletedKeys);
+    List<String> failedKeys = keys.stream()
+        .filter(key -> !deleted.contains(key) && !nonRetryableKeys.contains(key))
+        .collect(Collectors.toList());
+    if (failedKeys.isEmpty()) {
+      return CompletableFuture.completedFuture(deletedKeys);
+    }
+    long delay = deleteRetryPolicy.delayMillis(round + 1);
+    log.info("Retrying the deletion of {} of {} objects in \"{}\" in {} ms, retry {} of {}", failedKeys.size(),
+        keys.size(), bucket, delay, round + 1, deleteRetryPolicy.getMaxRounds());
+    Executor delayedExecutor = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, deleteExecutor());
+    return CompletableFuture
+        .supplyAsync(() -> failedKeys, delayedExecutor)
+        .thenCompose(retriedKeys -> deleteObjectsWithRetries(bucket, retriedKeys, round + 1))
+        .exceptionally(throwable -> {
+          log.warn("Retry of the deletion of {} objects in \"{}\" failed", failedKeys.size(), bucket,
+              asRuntimeException(throwable));
+          return Collections.emptyList();
+        })
+        .thenApply(retriedDeletedKeys -> {
+          deleted.addAll(retriedDeletedKeys);
+          return keys.stream().filter(deleted::contains).collect(Collectors.toList());
+        });
+  }
+
+  /**
+   * Sends a single DeleteObjects request of at most 1000 keys.
+   *
+   * @return The deleted keys.
+   */
+  CompletableFuture<List<String>> submitDeleteObjects(String bucket, List<String> keys) {
+    DeleteObjectsRequest deleteObjectsRequest = new DeleteObjectsRequest(bucket)
+        .withKeys(keys.toArray(String[]::new));
+    return submitDeleteRequest(bucket, () -> deletedKeys(amazonS3(bucket).deleteObjects(deleteObjectsRequest)));
+  }
+
+  /**
+   * Sends {@code request} on the calling thread if the delete concurrency is 1, otherwise on the delete executor once
+   * one of the {@code deleteConcurrency} permits of the bucket is free.
+   */
+  private <T> CompletableFuture<T> submitDeleteRequest(String bucket, Supplier<T> request) {
+    if (deleteConcurrency == 1) {
+      try {
+        return CompletableFuture.completedFuture(request.get());
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+    Semaphore permits = deletePermits.computeIfAbsent(bucket, b -> new Semaphore(deleteConcurrency));
+    permits.acquireUninterruptibly();
+    try {
+      return CompletableFuture
+          .supplyAsync(request, deleteExecutor())
+          .whenComplete((result, throwable) -> permits.release());
+    } catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Lists all the versions and delete markers of the objects under {@code key} with ListObjectVersions, handing each
+   * page (at most 1000 versions) to {@code pageConsumer} before the next page is requested.
+   *
+   * @param bucket Bucket to list.
+   * @param key Prefix of the objects whose versions are listed.
+   * @param pageConsumer Consumer of each page of listed versions.
+   */
+  void listObjectVersions(String bucket, String key, Consumer<List<S3VersionSummary>> pageConsumer) {
+    VersionListing versionListing;
+    String keyMarker = null;
+    String versionIdMarker = null;
+    do {
+      ListVersionsRequest request = new ListVersionsRequest()
+          .withBucketName(bucket)
+          .withPrefix(key)
+          .withEncodingType("url")
+          .withKeyMarker(keyMarker)
+          .withVersionIdMarker(versionIdMarker);
+      versionListing = amazonS3(bucket).listVersions(request);
+      List<S3VersionSummary> versionSummaries = versionListing.getVersionSummaries();
+      if (!versionSummaries.isEmpty()) {
+        pageConsumer.accept(versionSummaries);
+      }
+      keyMarker = versionListing.getNextKeyMarker();
+      versionIdMarker = versionListing.getNextVersionIdMarker();
+    } while (versionListing.isTruncated());
+  }
+
+  /**
+   * Permanently deletes the given versions and delete markers with DeleteObjects requests of at most 1000 versions
+   * each, sent up to {@code deleteConcurrency} at a time per bucket like {@link #deleteObjectsAsync(String, List)}.
+   * Versions which could not be deleted are logged and left out of the result.
+   *
+   * @param bucket Bucket the versions belong to.
+   * @param versions Versions to delete.
+   * @return The deleted versions.
+   */
+  CompletableFuture<List<S3VersionSummary>> deleteObjectVersionsAsync(String bucket, List<S3VersionSummary> versions) {
+    if (versions.isEmpty()) {
+      return CompletableFuture.completedFuture(Collections.emptyList());
+    }
+    if (dryRunEnabled) {
+      log.info("Dry run - deleting a total of {} object versions, from [{}] to [{}]", versions.size(),
+          versions.get(0).getKey(), versions.get(versions.size() - 1).getKey());
+      return CompletableFuture.completedFuture(new ArrayList<>(versions));
+    }
+    log.info("Attempting to delete a total of {} object versions, from [{}] to [{}]", versions.size(),
+        versions.get(0).getKey(), versions.get(versions.size() - 1).getKey());
+    List<CompletableFuture<List<S3VersionSummary>>> chunks = new ArrayList<>();
+    for (int indexStart = 0; indexStart < versions.size(); indexStart += REQUEST_CHUNK_SIZE) {
+      List<S3VersionSummary> chunk = versions.subList(indexStart,
+          nextIndexEnd(indexStart, REQUEST_CHUNK_SIZE, versions.size()));
+      CompletableFuture<Set<String>> deletion;
+      try {
+        deletion = submitDeleteObjectVersions(bucket, chunk);
+      } catch (RuntimeException e) {
+        deletion = CompletableFuture.failedFuture(e);
+      }
+      chunks.add(deletion.thenApply(deletedIds -> deletedVersions(chunk, deletedIds)));
+    }
+    return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+      List<S3VersionSummary> deletedVersions = chunks.stream()
+          .flatMap(chunk -> chunk.join().stream())
           .collect(Collectors.toList());
+      log.info("Successfully deleted {} object versions", deletedVersions.size());
+      return deletedVersions;
+    });
+  }
+
+  /**
+   * Sends a single DeleteObjects request of at most 1000 versions.
+   *
+   * @return The ids of the deleted versions, as returned by {@link #versionId(String, String)}.
+   */
+  CompletableFuture<Set<String>> submitDeleteObjectVersions(String bucket, List<S3VersionSummary> versions) {
+    DeleteObjectsRequest deleteObjectsRequest = new DeleteObjectsRequest(bucket)
+        .withKeys(versions.stream()
+            .map(version -> new DeleteObjectsRequest.KeyVersion(version.getKey(), version.getVersionId()))
+            .collect(Collectors.toList()));
+    return submitDeleteRequest(bucket, () -> {
+      List<DeleteObjectsResult.DeletedObject> deletedObjects;
+      try {
+        deletedObjects = amazonS3(bucket).deleteObjects(deleteObjectsRequest).getDeletedObjects();
+      } catch (MultiObjectDeleteException e) {
+        e.getErrors()
+            .forEach(error -> log.warn("Could not delete version {} of \"{}\": {} {}", error.getVersionId(),
+                error.getKey(), error.getCode(), error.getMessage()));
+        reportThrottledKeys(bucket, e);
+        deletedObjects = e.getDeletedObjects();
+      }
+      return deletedObjects.stream()
+          .map(deletedObject -> versionId(deletedObject.getKey(), deletedObject.getVersionId()))
+          .collect(Collectors.toSet());
+    });
+  }
+
+  private static List<S3VersionSummary> deletedVersions(List<S3VersionSummary> versions, Set<String> deletedIds) {
+    return versions.stream()
+        .filter(version -> deletedIds.contains(versionId(version.getKey(), version.getVersionId())))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * @return An id of a version which is unique within a bucket.
+   */
+  static String versionId(String key, String versionId) {
+    return key + "?versionId=" + versionId;
+  }
+
+  private static List<String> deletedKeys(DeleteObjectsResult deleteObjectsResult) {
+    return deletedKeys(deleteObjectsResult.getDeletedObjects());
+  }
+
+  private static List<String> deletedKeys(List<DeleteObjectsResult.DeletedObject> deletedObjects) {
+    return deletedObjects
+        .stream()
+        .map(DeleteObjectsResult.DeletedObject::getKey)
+        .collect(Collectors.toList());
+  }
+
+  // the number of threads of the pools is bounded by the semaphores guarding them
+  private synchronized ExecutorService deleteExecutor() {
+    if (deleteExecutor == null) {
+      deleteExecutor = WorkerThreads.newCachedPool("s3-delete-");
+    }
+    return deleteExecutor;
+  }
+
+  private synchronized ExecutorService listExecutor() {
+    if (listExecutor == null) {
+      listExecutor = WorkerThreads.newCachedPool("s3-list-");
+    }
+    return listExecutor;
+  }
+
+  /**
+   * Waits for the given future and rethrows the exception it completed with, unwrapped.
+   */
+  static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw asRuntimeException(e);
     }
   }
 
+  static RuntimeException asRuntimeException(Throwable throwable) {
+    Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    return new BeekeeperException("Unexpected error waiting for S3 operation", cause);
+  }
+
   boolean doesObjectExist(String bucket, String key) {
-    return amazonS3.doesObjectExist(bucket, key);
+    return amazonS3(bucket).doesObjectExist(bucket, key);
   }
 
   ObjectMetadata getObjectMetadata(String bucket, String key) {
-    return amazonS3.getObjectMetadata(bucket, key);
+    return amazonS3(bucket).getObjectMetadata(bucket, key);
   }
 
   boolean isEmpty(String bucket, String key, String leafKey) {
-    List<S3ObjectSummary> objectsLeftAtPath = amazonS3.listObjectsV2(bucket, key + "/").getObjectSummaries();
+    List<S3ObjectSummary> objectsLeftAtPath = amazonS3(bucket).listObjectsV2(bucket, key + "/").getObjectSummaries();
+    return isEmpty(objectsLeftAtPath, leafKey);
+  }
+
+  /**
+   * @param objectsLeftAtPath First page of the objects listed under a directory.
+   * @param leafKey Key being deleted under that directory, which is not expected to be gone yet in a dry run.
+   */
+  boolean isEmpty(List<S3ObjectSummary> objectsLeftAtPath, String leafKey) {
     if (!dryRunEnabled) {
       return objectsLeftAtPath.size() == 0;
     } else {
@@ -125,6 +612,22 @@ public class S3Client {
     }
   }
 
+  /**
+   * Stops the threads used for concurrent listing and deletes. Requests already in flight are allowed to complete.
+   */
+  public synchronized void close() {
+    if (deleteExecutor != null) {
+      deleteExecutor.shutdown();
+    }
+    if (listExecutor != null) {
+      listExecutor.shutdown();
+    }
+  }
+
+  private AmazonS3 amazonS3(String bucket) {
+    return clients.clientFor(bucket);
+  }
+
   private int nextIndexEnd(final int indexStart, final int chunkSize, final int totalKeys) {
     int calculatedNextIndexEnd = indexStart + chunkSize;
     return Math.min(calculatedNextIndexEnd, totalKeys);
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+/**
+ * How an {@link S3Client} sends its requests. Every setting but dry run has a default, so callers only set what they
+ * change:
+ *
+ * <pre>
+ * S3ClientOptions.builder().dryRunEnabled(true).deleteConcurrency(4).build()
+ * </pre>
+ */
+public class S3ClientOptions {
+
+  private final boolean dryRunEnabled;
+  private final int deleteConcurrency;
+  private final int listParallelism;
+  private final S3DeleteRetryPolicy deleteRetryPolicy;
+  private final S3RateLimiter rateLimiter;
+
+  private S3ClientOptions(Builder builder) {
+    if (builder.deleteConcurrency < 1) {
+      throw new IllegalArgumentException("Delete concurrency must be at least 1, was " + builder.deleteConcurrency);
+    }
+    if (builder.listParallelism < 1) {
+      throw new IllegalArgumentException("List parallelism must be at least 1, was " + builder.listParallelism);
+    }
+    if (builder.deleteRetryPolicy == null) {
+      throw new IllegalArgumentException("Delete retry policy must not be null");
+    }
+    this.dryRunEnabled = builder.dryRunEnabled;
+    this.deleteConcurrency = builder.deleteConcurrency;
+    this.listParallelism = builder.listParallelism;
+    this.deleteRetryPolicy = builder.deleteRetryPolicy;
+    this.rateLimiter = builder.rateLimiter;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  boolean isDryRunEnabled() {
+    return dryRunEnabled;
+  }
+
+  int getDeleteConcurrency() {
+    return deleteConcurrency;
+  }
+
+  int getListParallelism() {
+    return listParallelism;
+  }
+
+  S3DeleteRetryPolicy getDeleteRetryPolicy() {
+    return deleteRetryPolicy;
+  }
+
+  S3RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  public static class Builder {
+
+    private boolean dryRunEnabled;
+    private int deleteConcurrency = 1;
+    private int listParallelism = 1;
+    private S3DeleteRetryPolicy deleteRetryPolicy = S3DeleteRetryPolicy.none();
+    private S3RateLimiter rateLimiter;
+
+    private Builder() {}
+
+    /**
+     * @param dryRunEnabled Whether deletions are only logged. Defaults to false.
+     */
+    public Builder dryRunEnabled(boolean dryRunEnabled) {
+      this.dryRunEnabled = dryRunEnabled;
+      return this;
+    }
+
+    /**
+     * @param deleteConcurrency Maximum number of DeleteObjects requests in flight per bucket. With the default of 1
+     *          every request is sent on the calling thread.
+     */
+    public Builder deleteConcurrency(int deleteConcurrency) {
+      this.deleteConcurrency = deleteConcurrency;
+      return this;
+    }
+
+    /**
+     * @param listParallelism Maximum number of sub-prefixes of a directory listed at the same time. With the default of
+     *          1 a directory is listed with a single cursor on the calling thread.
+     */
+    public Builder listParallelism(int listParallelism) {
+      this.listParallelism = listParallelism;
+      return this;
+    }
+
+    /**
+     * @param deleteRetryPolicy How the keys a DeleteObjects request fails to delete are retried. Defaults to
+     *          {@link S3DeleteRetryPolicy#none()}.
+     */
+    public Builder deleteRetryPolicy(S3DeleteRetryPolicy deleteRetryPolicy) {
+      this.deleteRetryPolicy = deleteRetryPolicy;
+      return this;
+    }
+
+    /**
+     * @param rateLimiter Told about the keys S3 throttles. Defaults to none.
+     */
+    public Builder rateLimiter(S3RateLimiter rateLimiter) {
+      this.rateLimiter = rateLimiter;
+      return this;
+    }
+
+    public S3ClientOptions build() {
+      return new S3ClientOptions(this);
+    }
+  }
+}
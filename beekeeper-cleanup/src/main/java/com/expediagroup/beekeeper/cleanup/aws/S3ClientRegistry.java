@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.Region;
+
+/**
+ * Provides the {@link AmazonS3} client requests to a bucket are sent through. The region of each bucket is looked up
+ * once and cached, and its requests go through a client of that region, shared by all the buckets which live there,
+ * so that they are not redirected by S3. Buckets whose region cannot be looked up, or which live in the region of
+ * the default client, use the default client.
+ */
+public class S3ClientRegistry {
+
+  private static final Logger log = LoggerFactory.getLogger(S3ClientRegistry.class);
+
+  private final AmazonS3 defaultClient;
+  private final Function<String, AmazonS3> regionalClientFactory;
+  private final Map<String, Optional<String>> bucketRegions = new ConcurrentHashMap<>();
+  private final Map<String, AmazonS3> regionalClients = new ConcurrentHashMap<>();
+
+  /**
+   * Sends the requests to all the buckets through {@code client}.
+   */
+  public S3ClientRegistry(AmazonS3 client) {
+    this(client, null);
+  }
+
+  /**
+   * @param defaultClient Client used to look up the region of the buckets, and for the buckets of its own region.
+   * @param regionalClientFactory Creates the client of a region, called once per region.
+   */
+  public S3ClientRegistry(AmazonS3 defaultClient, Function<String, AmazonS3> regionalClientFactory) {
+    this.defaultClient = defaultClient;
+    this.regionalClientFactory = regionalClientFactory;
+  }
+
+  public AmazonS3 clientFor(String bucket) {
+    if (regionalClientFactory == null) {
+      return defaultClient;
+    }
+    return bucketRegions
+        .computeIfAbsent(bucket, this::lookUpRegion)
+        .filter(region -> !region.equals(defaultClient.getRegionName()))
+        .map(region -> regionalClients.computeIfAbsent(region, regionalClientFactory))
+        .orElse(defaultClient);
+  }
+
+  private Optional<String> lookUpRegion(String bucket) {
+    try {
+      String location = defaultClient.getBucketLocation(bucket);
+      String region = toRegionName(location);
+      log.debug("Bucket \"{}\" is in region {}", bucket, region);
+      return Optional.of(region);
+    } catch (Exception e) {
+      log.warn("Region of bucket \"{}\" could not be found, using the default S3 client", bucket, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Bucket locations are region names, except for the legacy values "US" and "EU".
+   */
+  static String toRegionName(String location) {
+    try {
+      return Region.fromValue(location).toAWSRegion().getName();
+    } catch (IllegalArgumentException e) {
+      return location;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How the keys that a DeleteObjects request failed to delete are retried within the same run. Only the failed keys are
+ * sent again, for up to {@code maxRounds} more requests. Round {@code n} is sent after a random delay of up to
+ * {@code baseDelayMillis * 2^(n - 1)} milliseconds ("full jitter"), so that the retries of concurrent batches are
+ * spread out instead of hitting a throttled prefix all at once.
+ */
+public class S3DeleteRetryPolicy {
+
+  // errors which another request will not fix
+  private static final Set<String> NON_RETRYABLE_ERROR_CODES = Set.of("AccessDenied", "AllAccessDisabled",
+      "NoSuchBucket", "InvalidBucketName");
+  private static final int MAX_BACKOFF_SHIFT = 20;
+  private static final S3DeleteRetryPolicy NONE = new S3DeleteRetryPolicy(0, 0L);
+
+  private final int maxRounds;
+  private final long baseDelayMillis;
+
+  /**
+   * @param maxRounds Maximum number of retries of the failed keys of a request. {@code 0} disables retries.
+   * @param baseDelayMillis Upper bound of the delay before the first retry, doubled for each further retry.
+   */
+  public S3DeleteRetryPolicy(int maxRounds, long baseDelayMillis) {
+    if (maxRounds < 0) {
+      throw new IllegalArgumentException("Delete retry rounds must not be negative, was " + maxRounds);
+    }
+    if (baseDelayMillis < 0L) {
+      throw new IllegalArgumentException("Delete retry delay must not be negative, was " + baseDelayMillis);
+    }
+    this.maxRounds = maxRounds;
+    this.baseDelayMillis = baseDelayMillis;
+  }
+
+  /**
+   * @return A policy which never retries.
+   */
+  public static S3DeleteRetryPolicy none() {
+    return NONE;
+  }
+
+  int getMaxRounds() {
+    return maxRounds;
+  }
+
+  /**
+   * @param round Retry round, starting at 1.
+   * @return Delay before sending the retry, in milliseconds.
+   */
+  long delayMillis(int round) {
+    long maxDelay = baseDelayMillis << Math.min(round - 1, MAX_BACKOFF_SHIFT);
+    return maxDelay <= 0L ? 0L : ThreadLocalRandom.current().nextLong(maxDelay + 1);
+  }
+
+  /**
+   * @param errorCode Code of the error S3 returned for a key, or null if unknown.
+   */
+  boolean isRetryable(String errorCode) {
+    return errorCode == null || !NON_RETRYABLE_ERROR_CODES.contains(errorCode);
+  }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
+import com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpoint;
+import com.expediagroup.beekeeper.core.service.DeletionCheckpointService;
+
+/**
+ * Checkpoints the deletion of a directory listed in key order, every {@code interval} objects deleted.
+ * <p>
+ * Batches are numbered as they are sent and may complete out of order. The checkpoint only moves past a batch once it
+ * and all the batches sent before it have deleted all their keys, so that resuming after the checkpoint never skips
+ * an object left behind. Once a batch fails the checkpoint stops moving. Failing to save a checkpoint is logged, as it
+ * only costs listing the path again.
+ * </p>
+ */
+class S3DeletionCheckpointer {
+
+  private static final Logger log = LoggerFactory.getLogger(S3DeletionCheckpointer.class);
+
+  private static final S3DeletionCheckpointer NONE = new S3DeletionCheckpointer(null, null, 0L, Optional.empty(),
+      false);
+
+  private final DeletionCheckpointService checkpointService;
+  private final HousekeepingEntity housekeepingEntity;
+  private final long interval;
+  private final boolean inKeyOrder;
+  private final Map<Long, Batch> completedBatches = new TreeMap<>();
+  private long nextBatch = 0L;
+  private long nextBatchToCheckpoint = 0L;
+  private boolean failed = false;
+  private boolean checkpointSaved;
+  private String lastDeletedKey;
+  private long objectsDeleted;
+  private long bytesDeleted;
+  private long objectsSinceCheckpoint = 0L;
+  private boolean progressed = false;
+
+  /**
+   * @param checkpointService Service saving the checkpoints.
+   * @param housekeepingEntity Entity whose path is deleted.
+   * @param interval Number of objects deleted between two checkpoints.
+   * @param checkpoint Checkpoint the deletion resumes from, if any.
+   * @param inKeyOrder Whether batches are sent in key order. If not, no checkpoint is saved and the one resumed from,
+   *          if any, is only deleted once the whole directory is.
+   */
+  S3DeletionCheckpointer(
+      DeletionCheckpointService checkpointService,
+      HousekeepingEntity housekeepingEntity,
+      long interval,
+      Optional<DeletionCheckpoint> checkpoint,
+      boolean inKeyOrder) {
+    this.checkpointService = checkpointService;
+    this.housekeepingEntity = housekeepingEntity;
+    this.interval = interval;
+    this.inKeyOrder = inKeyOrder;
+    checkpointSaved = checkpoint.isPresent();
+    lastDeletedKey = checkpoint.map(DeletionCheckpoint::getLastDeletedKey).orElse(null);
+    objectsDeleted = checkpoint.map(DeletionCheckpoint::getObjectsDeleted).orElse(0L);
+    bytesDeleted = checkpoint.map(DeletionCheckpoint::getBytesDeleted).orElse(0L);
+  }
+
+  /**
+   * @return A checkpointer which never saves nor deletes a checkpoint.
+   */
+  static S3DeletionCheckpointer none() {
+    return NONE;
+  }
+
+  /**
+   * @return The number of the next batch sent.
+   */
+  synchronized long nextBatch() {
+    return nextBatch++;
+  }
+
+  /**
+   * Records the outcome of a batch, saving a checkpoint if at least {@code interval} objects were deleted since the
+   * last one.
+   *
+   * @param batch Number of the batch, as returned by {@link #nextBatch()}.
+   * @param objectSummaries Objects of the batch, in key order.
+   * @param deletedObjects Number of objects of the batch which were deleted.
+   */
+  synchronized void batchCompleted(long batch, List<S3ObjectSummary> objectSummaries, int deletedObjects) {
+    if (checkpointService == null || !inKeyOrder || failed) {
+      return;
+    }
+    if (deletedObjects != objectSummaries.size()) {
+      batchFailed();
+      return;
+    }
+    long bytes = objectSummaries.stream().mapToLong(S3ObjectSummary::getSize).sum();
+    completedBatches.put(batch, new Batch(objectSummaries.get(objectSummaries.size() - 1).getKey(),
+        objectSummaries.size(), bytes));
+    Batch next;
+    while ((next = completedBatches.remove(nextBatchToCheckpoint)) != null) {
+      lastDeletedKey = next.lastKey;
+      objectsDeleted += next.objects;
+      bytesDeleted += next.bytes;
+      objectsSinceCheckpoint += next.objects;
+      nextBatchToCheckpoint++;
+      progressed = true;
+    }
+    if (objectsSinceCheckpoint >= interval) {
+      saveCheckpoint();
+    }
+  }
+
+  synchronized void batchFailed() {
+    failed = true;
+    completedBatches.clear();
+  }
+
+  /**
+   * Saves the progress made since the last checkpoint, once the deletion has failed.
+   *
+   * @return Whether any object was deleted past the checkpoint the deletion resumed from.
+   */
+  synchronized boolean saveProgress() {
+    if (objectsSinceCheckpoint > 0L) {
+      saveCheckpoint();
+    }
+    return progressed;
+  }
+
+  /**
+   * Deletes the checkpoint of the entity once the whole directory has been deleted.
+   */
+  synchronized void deleteCheckpoint() {
+    if (checkpointService == null || !checkpointSaved) {
+      return;
+    }
+    try {
+      checkpointService.deleteCheckpoint(housekeepingEntity);
+      checkpointSaved = false;
+    } catch (RuntimeException e) {
+      log.warn("Deletion checkpoint of path \"{}\" could not be deleted", housekeepingEntity.getPath(), e);
+    }
+  }
+
+  private void saveCheckpoint() {
+    objectsSinceCheckpoint = 0L;
+    try {
+      checkpointService.saveCheckpoint(housekeepingEntity, lastDeletedKey, objectsDeleted, bytesDeleted);
+      checkpointSaved = true;
+    } catch (RuntimeException e) {
+      log.warn("Deletion checkpoint of path \"{}\" could not be saved", housekeepingEntity.getPath(), e);
+    }
+  }
+
+  private static class Batch {
+
+    private final String lastKey;
+    private final long objects;
+    private final long bytes;
+
+    private Batch(String lastKey, long objects, long bytes) {
+      this.lastKey = lastKey;
+      this.objects = objects;
+      this.bytes = bytes;
+    }
+  }
+}
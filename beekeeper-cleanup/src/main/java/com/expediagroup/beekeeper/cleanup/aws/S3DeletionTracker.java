@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import com.expediagroup.beekeeper.core.error.BeekeeperException;
+
+/**
+ * Keeps count of the objects deleted under a directory while it is deleted batch by batch. Batches may complete
+ * concurrently and out of order. Only the keys which could not be deleted are retained.
+ */
+class S3DeletionTracker {
+
+  private final String bucket;
+  private final String key;
+  private final List<String> failedKeys = new ArrayList<>();
+  private long totalObjects = 0;
+  private long deletedObjects = 0;
+  private final List<CompletableFuture<?>> pendingBatches = new ArrayList<>();
+  private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+  S3DeletionTracker(String bucket, String key) {
+    this.bucket = bucket;
+    this.key = key;
+  }
+
+  /**
+   * Tracks a batch whose deletion may still be in flight.
+   */
+  void trackBatch(List<String> keys, CompletableFuture<List<String>> deletion) {
+    CompletableFuture<?> pendingBatch = deletion.handle((deletedKeys, throwable) -> {
+      if (throwable == null) {
+        trackBatch(keys, deletedKeys);
+      } else {
+        failure.compareAndSet(null, asRuntimeException(throwable));
+      }
+      return null;
+    });
+    synchronized (this) {
+      pendingBatches.removeIf(CompletableFuture::isDone);
+      pendingBatches.add(pendingBatch);
+    }
+  }
+
+  private synchronized void trackBatch(List<String> keys, List<String> deletedKeys) {
+    totalObjects += keys.size();
+    deletedObjects += deletedKeys.size();
+    if (deletedKeys.size() != keys.size()) {
+      Set<String> deleted = new HashSet<>(deletedKeys);
+      keys.stream().filter(k -> !deleted.contains(k)).forEach(failedKeys::add);
+    }
+  }
+
+  /**
+   * Rethrows the first error raised by a batch completed so far, so that no more batches are sent after a failure.
+   */
+  void throwIfFailed() {
+    RuntimeException e = failure.get();
+    if (e != null) {
+      throw e;
+    }
+  }
+
+  /**
+   * Waits for all the tracked batches to complete, whether they succeed or not.
+   */
+  void awaitCompletion() {
+    CompletableFuture<?>[] batches;
+    synchronized (this) {
+      batches = pendingBatches.toArray(CompletableFuture[]::new);
+      pendingBatches.clear();
+    }
+    CompletableFuture.allOf(batches).join();
+  }
+
+  synchronized long getTotalObjects() {
+    return totalObjects;
+  }
+
+  synchronized long getDeletedObjects() {
+    return deletedObjects;
+  }
+
+  /**
+   * Rethrows the first error raised by a batch, or fails if any of the tracked keys were not deleted.
+   */
+  synchronized void verifyAllDeleted() {
+    throwIfFailed();
+    if (deletedObjects != totalObjects) {
+      String failedDeletions = failedKeys.stream()
+          .map(k -> format("'%s'", k))
+          .collect(Collectors.joining(", "));
+      throw new BeekeeperException(
+          format("Not all files could be deleted at path \"%s/%s\"; deleted %s/%s objects. Objects not deleted: %s.",
+              bucket, key, deletedObjects, totalObjects, failedDeletions));
+    }
+  }
+
+  private RuntimeException asRuntimeException(Throwable throwable) {
+    Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    return new BeekeeperException("Unexpected error deleting objects under \"" + bucket + "/" + key + "\"", cause);
+  }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Objects of S3 buckets as listed by S3 Inventory, indexed by key so that the objects under a prefix are counted with
+ * two binary searches.
+ */
+public class S3Inventory {
+
+  private static final String DELIMITER = "/";
+
+  private final Map<String, BucketIndex> buckets;
+
+  private S3Inventory(Map<String, BucketIndex> buckets) {
+    this.buckets = buckets;
+  }
+
+  public boolean contains(String bucket) {
+    return buckets.containsKey(bucket);
+  }
+
+  /**
+   * @return The objects which would be deleted by cleaning up {@code key}: the object at that key, its sentinel file
+   *         and the objects under it as a directory.
+   */
+  public Usage usage(String bucket, String key) {
+    BucketIndex index = buckets.get(bucket);
+    if (index == null) {
+      return Usage.EMPTY;
+    }
+    String directoryKey = key.endsWith(DELIMITER) ? key : key + DELIMITER;
+    Usage usage = index.usageUnder(directoryKey);
+    if (!key.endsWith(DELIMITER)) {
+      usage = usage.plus(index.usageOf(key)).plus(index.usageOf(key + S3SentinelFilesCleaner.SENTINEL_SUFFIX));
+    }
+    return usage;
+  }
+
+  public long getObjectCount() {
+    return buckets.values().stream().mapToLong(index -> index.keys.length).sum();
+  }
+
+  public static class Usage {
+
+    static final Usage EMPTY = new Usage(0, 0);
+
+    private final long objects;
+    private final long bytes;
+
+    Usage(long objects, long bytes) {
+      this.objects = objects;
+      this.bytes = bytes;
+    }
+
+    public long getObjects() {
+      return objects;
+    }
+
+    public long getBytes() {
+      return bytes;
+    }
+
+    Usage plus(Usage other) {
+      return new Usage(objects + other.objects, bytes + other.bytes);
+    }
+  }
+
+  static class Builder {
+
+    private final Map<String, List<Entry>> entries = new HashMap<>();
+
+    Builder add(String bucket, String key, long size) {
+      entries.computeIfAbsent(bucket, b -> new ArrayList<>()).add(new Entry(key, size));
+      return this;
+    }
+
+    S3Inventory build() {
+      Map<String, BucketIndex> buckets = new HashMap<>();
+      entries.forEach((bucket, bucketEntries) -> buckets.put(bucket, new BucketIndex(bucketEntries)));
+      entries.clear();
+      return new S3Inventory(buckets);
+    }
+  }
+
+  private static final class Entry {
+    private final String key;
+    private final long size;
+
+    private Entry(String key, long size) {
+      this.key = key;
+      this.size = size;
+    }
+  }
+
+  private static final class BucketIndex {
+    private final String[] keys;
+    // cumulativeSizes[i] is the size of the objects before keys[i]
+    private final long[] cumulativeSizes;
+
+    private BucketIndex(List<Entry> entries) {
+      entries.sort(Comparator.comparing(entry -> entry.key));
+      List<Entry> distinct = new ArrayList<>(entries.size());
+      for (Entry entry : entries) {
+        // several inventory files may list the same key, the last one wins
+        if (!distinct.isEmpty() && distinct.get(distinct.size() - 1).key.equals(entry.key)) {
+          distinct.set(distinct.size() - 1, entry);
+        } else {
+          distinct.add(entry);
+        }
+      }
+      keys = new String[distinct.size()];
+      cumulativeSizes = new long[distinct.size() + 1];
+      for (int i = 0; i < distinct.size(); i++) {
+        keys[i] = distinct.get(i).key;
+        cumulativeSizes[i + 1] = cumulativeSizes[i] + distinct.get(i).size;
+      }
+    }
+
+    private Usage usageOf(String key) {
+      int index = Arrays.binarySearch(keys, key);
+      return index < 0 ? Usage.EMPTY : new Usage(1, cumulativeSizes[index + 1] - cumulativeSizes[index]);
+    }
+
+    private Usage usageUnder(String prefix) {
+      int from = lowerBound(prefix);
+      int to = prefixEnd(prefix).map(this::lowerBound).orElse(keys.length);
+      return new Usage(to - from, cumulativeSizes[to] - cumulativeSizes[from]);
+    }
+
+    /**
+     * @return The index of the first key greater than or equal to {@code key}.
+     */
+    private int lowerBound(String key) {
+      int index = Arrays.binarySearch(keys, key);
+      return index < 0 ? -index - 1 : index;
+    }
+
+    /**
+     * @return The smallest string greater than all the strings starting with {@code prefix}, if any.
+     */
+    private static Optional<String> prefixEnd(String prefix) {
+      for (int i = prefix.length() - 1; i >= 0; i--) {
+        char c = prefix.charAt(i);
+        if (c != Character.MAX_VALUE) {
+          return Optional.of(prefix.substring(0, i) + (char) (c + 1));
+        }
+      }
+      return Optional.empty();
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter;
+import com.expediagroup.beekeeper.cleanup.path.PathCleaner;
+import com.expediagroup.beekeeper.core.config.FileSystemType;
+import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
+
+/**
+ * Dry run cleaner which estimates the objects and bytes each path would free from local S3 Inventory reports, without
+ * sending any request to S3. The estimates are reported as the bytes deleted of the dry run, one log line per path,
+ * and summed up at the end of each run. Paths in buckets missing from the inventory are handed to the regular dry run
+ * cleaner. The inventory is read again for each run, so that it picks up newer reports.
+ */
+public class S3InventoryDryRunPathCleaner implements PathCleaner {
+
+  private static final Logger log = LoggerFactory.getLogger(S3InventoryDryRunPathCleaner.class);
+
+  private final S3InventoryReader inventoryReader;
+  private final PathCleaner fallbackPathCleaner;
+  private final BytesDeletedReporter bytesDeletedReporter;
+  private final AtomicLong paths = new AtomicLong();
+  private final AtomicLong objects = new AtomicLong();
+  private final AtomicLong bytes = new AtomicLong();
+  private final AtomicLong pathsNotInInventory = new AtomicLong();
+  private S3Inventory inventory;
+
+  /**
+   * @param inventoryReader Reader of the S3 Inventory reports.
+   * @param fallbackPathCleaner Dry run cleaner of the paths in buckets without an inventory.
+   * @param bytesDeletedReporter Reporter of the dry run bytes deleted.
+   */
+  public S3InventoryDryRunPathCleaner(
+      S3InventoryReader inventoryReader,
+      PathCleaner fallbackPathCleaner,
+      BytesDeletedReporter bytesDeletedReporter) {
+    this.inventoryReader = inventoryReader;
+    this.fallbackPathCleaner = fallbackPathCleaner;
+    this.bytesDeletedReporter = bytesDeletedReporter;
+  }
+
+  @Override
+  public void cleanupPath(HousekeepingEntity housekeepingEntity) {
+    cleanupPath(housekeepingEntity, false);
+  }
+
+  @Override
+  public boolean cleanupPathOfPage(HousekeepingEntity housekeepingEntity) {
+    return cleanupPath(housekeepingEntity, true);
+  }
+
+  private boolean cleanupPath(HousekeepingEntity housekeepingEntity, boolean ofPage) {
+    S3SchemeURI s3SchemeURI = new S3SchemeURI(housekeepingEntity.getParsedLocation());
+    S3Inventory currentInventory = inventory();
+    if (!currentInventory.contains(s3SchemeURI.getBucket())) {
+      pathsNotInInventory.incrementAndGet();
+      if (ofPage) {
+        return fallbackPathCleaner.cleanupPathOfPage(housekeepingEntity);
+      }
+      fallbackPathCleaner.cleanupPath(housekeepingEntity);
+      return false;
+    }
+    S3Inventory.Usage usage = currentInventory.usage(s3SchemeURI.getBucket(), s3SchemeURI.getKey());
+    log.info("Dry run - deleting {} objects ({} bytes) at \"{}\", estimated from S3 Inventory", usage.getObjects(),
+        usage.getBytes(), s3SchemeURI.getPath());
+    paths.incrementAndGet();
+    objects.addAndGet(usage.getObjects());
+    bytes.addAndGet(usage.getBytes());
+    if (usage.getBytes() > 0) {
+      bytesDeletedReporter.reportTaggable(usage.getBytes(), housekeepingEntity, FileSystemType.S3);
+    }
+    return false;
+  }
+
+  @Override
+  public Map<HousekeepingEntity, Exception> completePage() {
+    return fallbackPathCleaner.completePage();
+  }
+
+  @Override
+  public void abandonPath(HousekeepingEntity housekeepingEntity) {
+    fallbackPathCleaner.abandonPath(housekeepingEntity);
+  }
+
+  /**
+   * Logs the summary of the run and drops the inventory, which is read again by the next run.
+   */
+  @Override
+  public void completeRun() {
+    try {
+      fallbackPathCleaner.completeRun();
+    } finally {
+      synchronized (this) {
+        if (inventory != null) {
+          log.info("Dry run summary: {} objects ({} bytes) would be deleted at {} paths, estimated from S3 Inventory. "
+              + "{} paths were not in the inventory.", objects.get(), bytes.get(), paths.get(),
+              pathsNotInInventory.get());
+        }
+        inventory = null;
+        paths.set(0);
+        objects.set(0);
+        bytes.set(0);
+        pathsNotInInventory.set(0);
+      }
+    }
+  }
+
+  private synchronized S3Inventory inventory() {
+    if (inventory == null) {
+      inventory = inventoryReader.read();
+    }
+    return inventory;
+  }
+}
@@ -0,0 +1,257 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.orc.OrcFile;
+import org.apache.orc.Reader;
+import org.apache.orc.RecordReader;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.schema.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.expediagroup.beekeeper.core.error.BeekeeperException;
+
+/**
+ * Reads local copies of S3 Inventory reports. Each {@code manifest.json} is expected in the layout S3 Inventory writes
+ * it, as copied with {@code aws s3 sync}: {@code <bucket>/<configuration>/<date>/manifest.json}, with the data files
+ * it lists in {@code <bucket>/<configuration>/data/}. CSV (gzipped), ORC and Parquet reports are supported; noncurrent
+ * versions and delete markers are skipped.
+ */
+public class S3InventoryReader {
+
+  private static final Logger log = LoggerFactory.getLogger(S3InventoryReader.class);
+
+  private static final String DATA_DIRECTORY = "data";
+  private static final String KEY = "key";
+  private static final String SIZE = "size";
+  private static final String IS_LATEST = "islatest";
+  private static final String IS_DELETE_MARKER = "isdeletemarker";
+
+  private final List<Path> manifests;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  public S3InventoryReader(List<Path> manifests) {
+    this.manifests = manifests;
+  }
+
+  public S3Inventory read() {
+    S3Inventory.Builder builder = new S3Inventory.Builder();
+    for (Path manifest : manifests) {
+      try {
+        readManifest(manifest, builder);
+      } catch (IOException | RuntimeException e) {
+        throw new BeekeeperException("Could not read S3 Inventory manifest \"" + manifest + "\"", e);
+      }
+    }
+    S3Inventory inventory = builder.build();
+    log.info("Read {} objects from {} S3 Inventory manifest(s)", inventory.getObjectCount(), manifests.size());
+    return inventory;
+  }
+
+  private void readManifest(Path manifest, S3Inventory.Builder builder) throws IOException {
+    JsonNode root = objectMapper.readTree(manifest.toFile());
+    String bucket = root.path("sourceBucket").asText();
+    String fileFormat = root.path("fileFormat").asText();
+    Path dataDirectory = manifest.toAbsolutePath().getParent().resolveSibling(DATA_DIRECTORY);
+    for (JsonNode file : root.path("files")) {
+      String fileKey = file.path(KEY).asText();
+      Path dataFile = dataDirectory.resolve(fileKey.substring(fileKey.lastIndexOf('/') + 1));
+      switch (fileFormat.toUpperCase(Locale.ROOT)) {
+      case "CSV":
+        readCsv(dataFile, columns(Arrays.asList(root.path("fileSchema").asText().split(","))), bucket, builder);
+        break;
+      case "ORC":
+        readOrc(dataFile, bucket, builder);
+        break;
+      case "PARQUET":
+        readParquet(dataFile, bucket, builder);
+        break;
+      default:
+        throw new BeekeeperException("Unsupported S3 Inventory format \"" + fileFormat + "\"");
+      }
+    }
+  }
+
+  /**
+   * @return The column names in lower case without separators, as they are written "IsLatest" in CSV reports and
+   *         "is_latest" in ORC and Parquet reports.
+   */
+  private static List<String> columns(List<String> names) {
+    return names.stream()
+        .map(name -> name.replaceAll("[_\\s]", "").toLowerCase(Locale.ROOT))
+        .collect(Collectors.toList());
+  }
+
+  private void readCsv(Path dataFile, List<String> columns, String bucket, S3Inventory.Builder builder)
+    throws IOException {
+    int keyIndex = columns.indexOf(KEY);
+    int sizeIndex = columns.indexOf(SIZE);
+    int isLatestIndex = columns.indexOf(IS_LATEST);
+    int isDeleteMarkerIndex = columns.indexOf(IS_DELETE_MARKER);
+    checkColumns(bucket, keyIndex, sizeIndex);
+    try (InputStream in = Files.newInputStream(dataFile);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+            dataFile.toString().endsWith(".gz") ? new GZIPInputStream(in) : in, UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        List<String> values = csvValues(line);
+        if (isCurrent(value(values, isLatestIndex), value(values, isDeleteMarkerIndex))
+            && !value(values, sizeIndex).isEmpty()) {
+          // keys are URL encoded in CSV reports
+          String key = URLDecoder.decode(value(values, keyIndex), UTF_8);
+          builder.add(bucket, key, Long.parseLong(value(values, sizeIndex)));
+        }
+      }
+    }
+  }
+
+  private void readOrc(Path dataFile, String bucket, S3Inventory.Builder builder) throws IOException {
+    Reader reader = OrcFile
+        .createReader(new org.apache.hadoop.fs.Path(dataFile.toUri()), OrcFile.readerOptions(new Configuration()));
+    List<String> columns = columns(reader.getSchema().getFieldNames());
+    int keyIndex = columns.indexOf(KEY);
+    int sizeIndex = columns.indexOf(SIZE);
+    int isLatestIndex = columns.indexOf(IS_LATEST);
+    int isDeleteMarkerIndex = columns.indexOf(IS_DELETE_MARKER);
+    checkColumns(bucket, keyIndex, sizeIndex);
+    VectorizedRowBatch batch = reader.getSchema().createRowBatch();
+    RecordReader rows = reader.rows();
+    try {
+      while (rows.nextBatch(batch)) {
+        BytesColumnVector keys = (BytesColumnVector) batch.cols[keyIndex];
+        LongColumnVector sizes = (LongColumnVector) batch.cols[sizeIndex];
+        for (int row = 0; row < batch.size; row++) {
+          if (!isNull(sizes, row)
+              && isCurrent(booleanValue(batch, isLatestIndex, row), booleanValue(batch, isDeleteMarkerIndex, row))) {
+            int keyRow = keys.isRepeating ? 0 : row;
+            String key = new String(keys.vector[keyRow], keys.start[keyRow], keys.length[keyRow], UTF_8);
+            builder.add(bucket, key, sizes.vector[sizes.isRepeating ? 0 : row]);
+          }
+        }
+      }
+    } finally {
+      rows.close();
+    }
+  }
+
+  private void readParquet(Path dataFile, String bucket, S3Inventory.Builder builder) throws IOException {
+    try (ParquetReader<Group> reader = ParquetReader
+        .builder(new GroupReadSupport(), new org.apache.hadoop.fs.Path(dataFile.toUri()))
+        .build()) {
+      List<String> columns = null;
+      Group record;
+      while ((record = reader.read()) != null) {
+        if (columns == null) {
+          columns = columns(record.getType().getFields().stream().map(Type::getName).collect(Collectors.toList()));
+          checkColumns(bucket, columns.indexOf(KEY), columns.indexOf(SIZE));
+        }
+        int sizeIndex = columns.indexOf(SIZE);
+        if (record.getFieldRepetitionCount(sizeIndex) > 0
+            && isCurrent(booleanValue(record, columns.indexOf(IS_LATEST)),
+                booleanValue(record, columns.indexOf(IS_DELETE_MARKER)))) {
+          builder.add(bucket, record.getString(columns.indexOf(KEY), 0), record.getLong(sizeIndex, 0));
+        }
+      }
+    }
+  }
+
+  private static void checkColumns(String bucket, int keyIndex, int sizeIndex) {
+    if (keyIndex < 0 || sizeIndex < 0) {
+      throw new BeekeeperException("S3 Inventory report of \"" + bucket + "\" must contain the key and size");
+    }
+  }
+
+  private static boolean isCurrent(String isLatest, String isDeleteMarker) {
+    return !"false".equalsIgnoreCase(isLatest) && !"true".equalsIgnoreCase(isDeleteMarker);
+  }
+
+  private static String value(List<String> values, int index) {
+    return index < 0 || index >= values.size() ? "" : values.get(index);
+  }
+
+  private static boolean isNull(ColumnVector vector, int row) {
+    return !vector.noNulls && vector.isNull[vector.isRepeating ? 0 : row];
+  }
+
+  private static String booleanValue(VectorizedRowBatch batch, int index, int row) {
+    if (index < 0 || isNull(batch.cols[index], row)) {
+      return "";
+    }
+    LongColumnVector vector = (LongColumnVector) batch.cols[index];
+    return String.valueOf(vector.vector[vector.isRepeating ? 0 : row] != 0);
+  }
+
+  private static String booleanValue(Group record, int index) {
+    if (index < 0 || record.getFieldRepetitionCount(index) == 0) {
+      return "";
+    }
+    return String.valueOf(record.getBoolean(index, 0));
+  }
+
+  /**
+   * Splits a line of a CSV report, where every value is quoted.
+   */
+  static List<String> csvValues(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          value.append(c);
+          i++;
+        } else {
+          quoted = !quoted;
+        }
+      } else if (c == ',' && !quoted) {
+        values.add(value.toString());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    values.add(value.toString());
+    return values;
+  }
+}
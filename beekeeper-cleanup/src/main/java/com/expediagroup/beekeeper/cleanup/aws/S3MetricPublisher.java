@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.BUCKET_LOCATION;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.DELETE;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.DELETE_BATCH;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.HEAD;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.LIST;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.OTHER;
+import static com.expediagroup.beekeeper.cleanup.aws.S3RedirectCounter.REDIRECTS_METRIC_NAME;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+/**
+ * Records the requests sent by the SDK v2 {@link software.amazon.awssdk.services.s3.S3AsyncClient} it is registered on
+ * as a metric publisher, into the same meters as {@link S3MetricsCollector} and {@link S3RedirectCounter}. The SDK v2
+ * metrics do not hold the requests themselves, so the {@value S3MetricsCollector#KEYS_PER_REQUEST_METRIC_NAME} metric
+ * is not recorded.
+ */
+public class S3MetricPublisher implements MetricPublisher {
+
+  private static final String ATTEMPT = "ApiCallAttempt";
+  private static final Map<String, String> OPERATIONS = Map.of("ListObjectsV2", LIST, "ListObjects", LIST,
+      "DeleteObjects", DELETE_BATCH, "DeleteObject", DELETE, "HeadObject", HEAD, "GetBucketLocation", BUCKET_LOCATION);
+  private static final int MOVED_PERMANENTLY = 301;
+  private static final int TEMPORARY_REDIRECT = 307;
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final int SERVICE_UNAVAILABLE = 503;
+
+  private final S3MetricsCollector metricsCollector;
+  private final Counter redirects;
+
+  /**
+   * @param meterRegistry Registry for the request metrics.
+   * @param clientName Name of the client the publisher is registered on, which should differ from the names of the SDK
+   *          v1 clients.
+   */
+  public S3MetricPublisher(MeterRegistry meterRegistry, String clientName) {
+    metricsCollector = new S3MetricsCollector(meterRegistry, clientName);
+    redirects = meterRegistry.counter(REDIRECTS_METRIC_NAME, "client", clientName);
+  }
+
+  @Override
+  public void publish(MetricCollection apiCall) {
+    int throttles = 0;
+    for (MetricCollection attempt : apiCall.childrenWithName(ATTEMPT).collect(Collectors.toList())) {
+      Integer statusCode = first(attempt, HttpMetric.HTTP_STATUS_CODE);
+      if (statusCode != null && (statusCode == TOO_MANY_REQUESTS || statusCode == SERVICE_UNAVAILABLE)) {
+        throttles++;
+      }
+      if (statusCode != null && (statusCode == MOVED_PERMANENTLY || statusCode == TEMPORARY_REDIRECT)) {
+        redirects.increment();
+      }
+      for (MetricCollection httpClient : attempt.children()) {
+        metricsCollector.recordPool(first(httpClient, HttpMetric.LEASED_CONCURRENCY),
+            first(httpClient, HttpMetric.PENDING_CONCURRENCY_ACQUIRES));
+      }
+    }
+    Duration latency = first(apiCall, CoreMetric.API_CALL_DURATION);
+    metricsCollector.record(OPERATIONS.getOrDefault(first(apiCall, CoreMetric.OPERATION_NAME), OTHER),
+        Boolean.TRUE.equals(first(apiCall, CoreMetric.API_CALL_SUCCESSFUL)),
+        latency == null ? null : latency.toNanos() / 1000, first(apiCall, CoreMetric.RETRY_COUNT), throttles, null);
+  }
+
+  @Override
+  public void close() {}
+
+  private static <T> T first(MetricCollection collection, SdkMetric<T> metric) {
+    List<T> values = collection.metricValues(metric);
+    return values.isEmpty() ? null : values.get(0);
+  }
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.metrics.RequestMetricCollector;
+import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GetBucketLocationRequest;
+import com.amazonaws.services.s3.model.GetObjectMetadataRequest;
+import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.TimingInfo;
+
+/**
+ * Records the requests sent by the {@link com.amazonaws.services.s3.AmazonS3} clients it is registered on as their
+ * metric collector, and those of the SDK v2 client through {@link S3MetricPublisher}, tagged by operation: list,
+ * delete-batch, delete, head (also used to check if an object exists) and bucket-location.
+ * <ul>
+ * <li>{@value #LATENCY_METRIC_NAME}: latency histogram of each operation, retries included, tagged with its
+ * outcome.</li>
+ * <li>{@value #RETRIES_METRIC_NAME} and {@value #THROTTLES_METRIC_NAME}: attempts retried by the SDK and attempts
+ * throttled by S3.</li>
+ * <li>{@value #KEYS_PER_REQUEST_METRIC_NAME}: keys sent in each DeleteObjects request or returned by each listing.</li>
+ * <li>{@value #POOL_LEASED_METRIC_NAME} and {@value #POOL_PENDING_METRIC_NAME}: connections of the HTTP pool leased,
+ * and requests waiting for one, when the last request was sent.</li>
+ * </ul>
+ */
+public class S3MetricsCollector extends RequestMetricCollector {
+
+  static final String LATENCY_METRIC_NAME = "s3-request-latency";
+  static final String RETRIES_METRIC_NAME = "s3-request-retries";
+  static final String THROTTLES_METRIC_NAME = "s3-request-throttles";
+  static final String KEYS_PER_REQUEST_METRIC_NAME = "s3-keys-per-request";
+  static final String POOL_LEASED_METRIC_NAME = "s3-connection-pool-leased";
+  static final String POOL_PENDING_METRIC_NAME = "s3-connection-pool-pending";
+
+  static final String LIST = "list";
+  static final String DELETE_BATCH = "delete-batch";
+  static final String DELETE = "delete";
+  static final String HEAD = "head";
+  static final String BUCKET_LOCATION = "bucket-location";
+  static final String OTHER = "other";
+
+  private static final String SUCCESS = "success";
+  private static final String ERROR = "error";
+
+  private final MeterRegistry meterRegistry;
+  private final String clientName;
+  private final AtomicLong poolLeased = new AtomicLong();
+  private final AtomicLong poolPending = new AtomicLong();
+  private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+  /**
+   * @param meterRegistry Registry for the request metrics.
+   * @param clientName Name of the client the collector is registered on, such as "default" or its region.
+   */
+  public S3MetricsCollector(MeterRegistry meterRegistry, String clientName) {
+    this.meterRegistry = meterRegistry;
+    this.clientName = clientName;
+    meterRegistry.gauge(POOL_LEASED_METRIC_NAME, Tags.of("client", clientName), poolLeased);
+    meterRegistry.gauge(POOL_PENDING_METRIC_NAME, Tags.of("client", clientName), poolPending);
+  }
+
+  @Override
+  public void collectMetrics(Request<?> request, Response<?> response) {
+    AWSRequestMetrics requestMetrics = request.getAWSRequestMetrics();
+    if (requestMetrics == null) {
+      return;
+    }
+    TimingInfo timingInfo = requestMetrics.getTimingInfo();
+    AmazonWebServiceRequest originalRequest = request.getOriginalRequest();
+
+    TimingInfo executeTime = timingInfo.getSubMeasurement(Field.ClientExecuteTime.name());
+    Double latencyMillis = executeTime == null ? null : executeTime.getTimeTakenMillisIfKnown();
+    Number retries = timingInfo.getCounter(Field.HttpClientRetryCount.name());
+    List<Object> throttles = requestMetrics.getProperty(Field.ThrottleException);
+    record(operationOf(originalRequest), response != null,
+        latencyMillis == null ? null : (long) (latencyMillis * 1000), retries,
+        throttles == null ? null : throttles.size(), keysOf(originalRequest, response));
+    recordPool(timingInfo.getCounter(Field.HttpClientPoolLeasedCount.name()),
+        timingInfo.getCounter(Field.HttpClientPoolPendingCount.name()));
+  }
+
+  /**
+   * Records a request, whichever SDK sent it. Values which are not known are null.
+   *
+   * @param operation Operation of the request, such as {@value #LIST}.
+   * @param successful Whether the request succeeded, retries included.
+   * @param latencyMicros Latency of the request, retries included.
+   * @param retries Attempts retried by the SDK.
+   * @param throttles Attempts throttled by S3.
+   * @param keys Keys sent in a DeleteObjects request or returned by a listing.
+   */
+  void record(String operation, boolean successful, Long latencyMicros, Number retries, Number throttles,
+      Integer keys) {
+    Meters operationMeters = meters(operation);
+    if (latencyMicros != null) {
+      Timer latency = successful ? operationMeters.successLatency : operationMeters.errorLatency;
+      latency.record(latencyMicros, TimeUnit.MICROSECONDS);
+    }
+    if (retries != null) {
+      operationMeters.retries.increment(retries.doubleValue());
+    }
+    if (throttles != null) {
+      operationMeters.throttles.increment(throttles.doubleValue());
+    }
+    if (keys != null) {
+      operationMeters.keysPerRequest.record(keys);
+    }
+  }
+
+  /**
+   * Records the connections of the HTTP pool leased, and the requests waiting for one, when a request was sent.
+   */
+  void recordPool(Number leased, Number pending) {
+    if (leased != null) {
+      poolLeased.set(leased.longValue());
+    }
+    if (pending != null) {
+      poolPending.set(pending.longValue());
+    }
+  }
+
+  private Meters meters(String operation) {
+    return meters.computeIfAbsent(operation, Meters::new);
+  }
+
+  private static String operationOf(AmazonWebServiceRequest request) {
+    if (request instanceof ListObjectsV2Request || request instanceof ListObjectsRequest) {
+      return LIST;
+    }
+    if (request instanceof DeleteObjectsRequest) {
+      return DELETE_BATCH;
+    }
+    if (request instanceof DeleteObjectRequest) {
+      return DELETE;
+    }
+    if (request instanceof GetObjectMetadataRequest) {
+      return HEAD;
+    }
+    if (request instanceof GetBucketLocationRequest) {
+      return BUCKET_LOCATION;
+    }
+    return OTHER;
+  }
+
+  private static Integer keysOf(AmazonWebServiceRequest request, Response<?> response) {
+    if (request instanceof DeleteObjectsRequest) {
+      return ((DeleteObjectsRequest) request).getKeys().size();
+    }
+    if (response != null && response.getAwsResponse() instanceof ListObjectsV2Result) {
+      return ((ListObjectsV2Result) response.getAwsResponse()).getKeyCount();
+    }
+    return null;
+  }
+
+  private final class Meters {
+    private final Timer successLatency;
+    private final Timer errorLatency;
+    private final Counter retries;
+    private final Counter throttles;
+    private final DistributionSummary keysPerRequest;
+
+    private Meters(String operation) {
+      successLatency = latency(operation, SUCCESS);
+      errorLatency = latency(operation, ERROR);
+      retries = Counter.builder(RETRIES_METRIC_NAME)
+          .tags("client", clientName, "operation", operation)
+          .register(meterRegistry);
+      throttles = Counter.builder(THROTTLES_METRIC_NAME)
+          .tags("client", clientName, "operation", operation)
+          .register(meterRegistry);
+      keysPerRequest = DistributionSummary.builder(KEYS_PER_REQUEST_METRIC_NAME)
+          .tags("client", clientName, "operation", operation)
+          .publishPercentileHistogram()
+          .register(meterRegistry);
+    }
+
+    private Timer latency(String operation, String outcome) {
+      return Timer.builder(LATENCY_METRIC_NAME)
+          .tags("client", clientName, "operation", operation, "outcome", outcome)
+          .publishPercentileHistogram()
+          .register(meterRegistry);
+    }
+  }
+}
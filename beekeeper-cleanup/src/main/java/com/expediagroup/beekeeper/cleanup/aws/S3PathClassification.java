@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+/**
+ * What a single ListObjectsV2 request, using a path's key as prefix, tells about that path.
+ * <p>
+ * Keys are returned in lexicographic order and a key sorts before every other key it is a prefix of, so the path is a
+ * file if and only if the first object listed has the exact key. Otherwise the path is treated as a directory and the
+ * listed objects under {@code key/} are its first children. They are followed by the objects of sibling keys which
+ * only share the prefix (e.g. {@code partition=10} for {@code partition=1}); once one of those sorts after the
+ * directory, all the children have been seen.
+ * </p>
+ */
+final class S3PathClassification {
+
+  private static final String DELIMITER = "/";
+
+  private final S3ObjectSummary file;
+  private final String directoryKey;
+  private final List<S3ObjectSummary> firstChildren;
+  private final boolean complete;
+  private final String startAfter;
+
+  private S3PathClassification(
+      S3ObjectSummary file,
+      String directoryKey,
+      List<S3ObjectSummary> firstChildren,
+      boolean complete) {
+    this(file, directoryKey, firstChildren, complete, null);
+  }
+
+  private S3PathClassification(
+      S3ObjectSummary file,
+      String directoryKey,
+      List<S3ObjectSummary> firstChildren,
+      boolean complete,
+      String startAfter) {
+    this.file = file;
+    this.directoryKey = directoryKey;
+    this.firstChildren = firstChildren;
+    this.complete = complete;
+    this.startAfter = startAfter;
+  }
+
+  /**
+   * @param key Key used as the prefix of the listing.
+   * @param objectSummaries Objects returned by the listing.
+   * @param truncated Whether more objects under {@code key} are left to list.
+   */
+  static S3PathClassification of(String key, List<S3ObjectSummary> objectSummaries, boolean truncated) {
+    String directoryKey = key.endsWith(DELIMITER) ? key : key + DELIMITER;
+    if (!objectSummaries.isEmpty() && objectSummaries.get(0).getKey().equals(key)) {
+      return new S3PathClassification(objectSummaries.get(0), directoryKey, Collections.emptyList(), true);
+    }
+    List<S3ObjectSummary> firstChildren = objectSummaries.stream()
+        .filter(objectSummary -> objectSummary.getKey().startsWith(directoryKey))
+        .collect(Collectors.toList());
+    boolean complete = !truncated || !objectSummaries.isEmpty()
+        && isAfterDirectory(objectSummaries.get(objectSummaries.size() - 1).getKey(), directoryKey);
+    return new S3PathClassification(null, directoryKey, firstChildren, complete);
+  }
+
+  /**
+   * Classifies a path whose deletion was checkpointed as a directory, without listing it, so that it is listed again
+   * from the checkpoint.
+   *
+   * @param key Key of the path.
+   * @param lastDeletedKey Last key deleted before the checkpoint.
+   */
+  static S3PathClassification resume(String key, String lastDeletedKey) {
+    String directoryKey = key.endsWith(DELIMITER) ? key : key + DELIMITER;
+    return new S3PathClassification(null, directoryKey, Collections.emptyList(), false, lastDeletedKey);
+  }
+
+  private static boolean isAfterDirectory(String key, String directoryKey) {
+    return !key.startsWith(directoryKey) && key.compareTo(directoryKey) > 0;
+  }
+
+  boolean isFile() {
+    return file != null;
+  }
+
+  /**
+   * @return The summary of the object at the path, if it is a file.
+   */
+  S3ObjectSummary getFile() {
+    return file;
+  }
+
+  /**
+   * @return The key of the path as a directory, ending with "/".
+   */
+  String getDirectoryKey() {
+    return directoryKey;
+  }
+
+  List<S3ObjectSummary> getFirstChildren() {
+    return firstChildren;
+  }
+
+  /**
+   * @return Whether {@link #getFirstChildren()} holds all the objects in the directory.
+   */
+  boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * @return The key after which the rest of the directory has to be listed, or null to list it from the start.
+   *         When resuming from a checkpoint, the last key deleted before it.
+   */
+  String getStartAfter() {
+    return firstChildren.isEmpty() ? startAfter : firstChildren.get(firstChildren.size() - 1).getKey();
+  }
+}
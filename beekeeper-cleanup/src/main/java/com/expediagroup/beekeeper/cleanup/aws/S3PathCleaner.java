@@ -1,5 +1,5 @@
 /**
- * Copyright (C) 2019-2022 Expedia, Inc.
+ * Copyright (C) 2019-2026 Expedia, Inc.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,22 +17,37 @@ package com.expediagroup.beekeeper.cleanup.aws;
 
 import static java.lang.String.format;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.google.common.base.Strings;
 
 import com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter;
 import com.expediagroup.beekeeper.cleanup.path.PathCleaner;
+import com.expediagroup.beekeeper.cleanup.path.ResumableDeletionException;
 import com.expediagroup.beekeeper.cleanup.path.SentinelFilesCleaner;
 import com.expediagroup.beekeeper.core.config.FileSystemType;
 import com.expediagroup.beekeeper.core.error.BeekeeperException;
 import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
+import com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpoint;
 import com.expediagroup.beekeeper.core.monitoring.TimedTaggable;
+import com.expediagroup.beekeeper.core.service.DeletionCheckpointService;
 
 public class S3PathCleaner implements PathCleaner {
 
@@ -40,65 +55,380 @@ public class S3PathCleaner implements PathCleaner {
 
   private final S3Client s3Client;
   private final SentinelFilesCleaner sentinelFilesCleaner;
+  private final S3SentinelFilesResolver sentinelFilesResolver;
   private final BytesDeletedReporter bytesDeletedReporter;
+  private final DeletionCheckpointService checkpointService;
+  private final long checkpointInterval;
+  private final boolean deleteNonCurrentVersions;
+  private final Map<String, List<PendingFile>> pendingFiles = new LinkedHashMap<>();
 
+  /**
+   * Creates a cleaner which deletes the sentinel files of each path as soon as it is cleaned up.
+   */
   public S3PathCleaner(S3Client s3Client, SentinelFilesCleaner sentinelFilesCleaner,
       BytesDeletedReporter bytesDeletedReporter) {
+    this(s3Client, sentinelFilesCleaner, null, bytesDeletedReporter, null, 0L, false);
+  }
+
+  /**
+   * Creates a cleaner which defers the deletion of sentinel files to {@link #completePage()}, so that they are
+   * resolved for all the paths of a page at once, and the deletion of the sentinel files of their parents to
+   * {@link #completeRun()}.
+   */
+  public S3PathCleaner(S3Client s3Client, S3SentinelFilesResolver sentinelFilesResolver,
+      BytesDeletedReporter bytesDeletedReporter) {
+    this(s3Client, null, sentinelFilesResolver, bytesDeletedReporter, null, 0L, false);
+  }
+
+  /**
+   * Creates a cleaner which defers the deletion of sentinel files like
+   * {@link #S3PathCleaner(S3Client, S3SentinelFilesResolver, BytesDeletedReporter)}, and checkpoints the deletion of
+   * directories every {@code checkpointInterval} objects, so that a cleanup which is interrupted resumes after the last
+   * deleted key. Checkpoints are only saved when directories are listed with a single cursor, as they are then
+   * deleted in key order.
+   */
+  public S3PathCleaner(S3Client s3Client, S3SentinelFilesResolver sentinelFilesResolver,
+      BytesDeletedReporter bytesDeletedReporter, DeletionCheckpointService checkpointService,
+      long checkpointInterval) {
+    this(s3Client, sentinelFilesResolver, bytesDeletedReporter, checkpointService, checkpointInterval, false);
+  }
+
+  /**
+   * Creates a cleaner like
+   * {@link #S3PathCleaner(S3Client, S3SentinelFilesResolver, BytesDeletedReporter, DeletionCheckpointService, long)}
+   * which, if {@code deleteNonCurrentVersions} is set, also permanently deletes the non-current versions and delete
+   * markers left under each path once its objects are deleted. On a versioned bucket deleting an object only hides it
+   * behind a delete marker, the bytes of its versions are only reclaimed once they are deleted too. A null
+   * {@code checkpointService} disables checkpoints.
+   */
+  public S3PathCleaner(S3Client s3Client, S3SentinelFilesResolver sentinelFilesResolver,
+      BytesDeletedReporter bytesDeletedReporter, DeletionCheckpointService checkpointService,
+      long checkpointInterval, boolean deleteNonCurrentVersions) {
+    this(s3Client, null, sentinelFilesResolver, bytesDeletedReporter, checkpointService, checkpointInterval,
+        deleteNonCurrentVersions);
+  }
+
+  private S3PathCleaner(
+      S3Client s3Client,
+      SentinelFilesCleaner sentinelFilesCleaner,
+      S3SentinelFilesResolver sentinelFilesResolver,
+      BytesDeletedReporter bytesDeletedReporter,
+      DeletionCheckpointService checkpointService,
+      long checkpointInterval,
+      boolean deleteNonCurrentVersions) {
     this.s3Client = s3Client;
     this.sentinelFilesCleaner = sentinelFilesCleaner;
+    this.sentinelFilesResolver = sentinelFilesResolver;
     this.bytesDeletedReporter = bytesDeletedReporter;
+    this.checkpointService = checkpointService;
+    this.checkpointInterval = checkpointInterval;
+    this.deleteNonCurrentVersions = deleteNonCurrentVersions;
   }
 
   @Override
   @TimedTaggable("s3-paths-deleted")
   public void cleanupPath(HousekeepingEntity housekeepingEntity) {
-    S3SchemeURI s3SchemeURI = new S3SchemeURI(housekeepingEntity.getPath());
+    cleanupPath(housekeepingEntity, false);
+  }
+
+  /**
+   * Cleans up the path like {@link #cleanupPath(HousekeepingEntity)}, except that a path which is a single file is only
+   * deleted by {@link #completePage()}, together with the other files of the page.
+   */
+  @Override
+  @TimedTaggable("s3-paths-deleted")
+  public boolean cleanupPathOfPage(HousekeepingEntity housekeepingEntity) {
+    return cleanupPath(housekeepingEntity, true);
+  }
+
+  private boolean cleanupPath(HousekeepingEntity housekeepingEntity, boolean deferFileDeletion) {
+    S3SchemeURI s3SchemeURI = new S3SchemeURI(housekeepingEntity.getParsedLocation());
     String key = s3SchemeURI.getKey();
     String bucket = s3SchemeURI.getBucket();
-    S3BytesDeletedCalculator bytesDeletedCalculator = new S3BytesDeletedCalculator(s3Client);
-    boolean isFile = s3Client.doesObjectExist(bucket, key);
+    S3BytesDeletedCalculator bytesDeletedCalculator = new S3BytesDeletedCalculator();
+    AtomicLong bytesReclaimed = new AtomicLong();
+    Optional<DeletionCheckpoint> checkpoint = findCheckpoint(housekeepingEntity);
+    S3PathClassification pathClassification = checkpoint
+        .map(c -> S3PathClassification.resume(key, c.getLastDeletedKey()))
+        .orElseGet(() -> s3Client.classifyPath(bucket, key));
     try {
-      if (isFile) {
-        deleteFile(bucket, key, bytesDeletedCalculator);
+      if (pathClassification.isFile() && deferFileDeletion) {
+        synchronized (pendingFiles) {
+          pendingFiles.computeIfAbsent(bucket, b -> new ArrayList<>())
+              .add(new PendingFile(housekeepingEntity, pathClassification.getFile()));
+        }
+        return true;
+      } else if (pathClassification.isFile()) {
+        deleteFile(bucket, key, pathClassification.getFile(), bytesDeletedCalculator);
+        deleteNonCurrentVersions(bucket, key, false, bytesReclaimed);
       } else {
-        deleteFilesInDirectory(bucket, key, bytesDeletedCalculator);
+        S3DeletionCheckpointer checkpointer = checkpointer(housekeepingEntity, checkpoint);
+        try {
+          deleteFilesInDirectory(bucket, pathClassification, bytesDeletedCalculator, checkpointer);
+        } catch (RuntimeException e) {
+          if (checkpointer.saveProgress()) {
+            throw new ResumableDeletionException(format(
+                "Cleanup of path \"%s\" failed, it will resume after the last checkpointed key.",
+                housekeepingEntity.getPath()), e);
+          }
+          throw e;
+        }
+        checkpointer.deleteCheckpoint();
+        deleteNonCurrentVersions(bucket, pathClassification.getDirectoryKey(), true, bytesReclaimed);
         deleteSentinelFiles(s3SchemeURI, key, bucket, housekeepingEntity.getTableName());
       }
+      return false;
     } finally {
       long bytesDeleted = bytesDeletedCalculator.getBytesDeleted();
       if (bytesDeleted > 0) {
         bytesDeletedReporter.reportTaggable(bytesDeleted, housekeepingEntity, FileSystemType.S3);
       }
+      if (bytesReclaimed.get() > 0) {
+        bytesDeletedReporter.reportBytesReclaimed(bytesReclaimed.get(), housekeepingEntity, FileSystemType.S3);
+      }
     }
   }
 
-  private void deleteFile(String bucket, String key, S3BytesDeletedCalculator bytesDeletedCalculator) {
-    bytesDeletedCalculator.storeFileSize(bucket, key);
+  private Optional<DeletionCheckpoint> findCheckpoint(HousekeepingEntity housekeepingEntity) {
+    if (checkpointService == null || s3Client.isDryRunEnabled()) {
+      return Optional.empty();
+    }
+    try {
+      Optional<DeletionCheckpoint> checkpoint = checkpointService.findCheckpoint(housekeepingEntity);
+      checkpoint.ifPresent(c -> log.info("Resuming cleanup of path \"{}\" after \"{}\", {} objects already deleted",
+          housekeepingEntity.getPath(), c.getLastDeletedKey(), c.getObjectsDeleted()));
+      return checkpoint;
+    } catch (RuntimeException e) {
+      log.warn("Deletion checkpoint of path \"{}\" could not be read", housekeepingEntity.getPath(), e);
+      return Optional.empty();
+    }
+  }
+
+  private S3DeletionCheckpointer checkpointer(
+      HousekeepingEntity housekeepingEntity,
+      Optional<DeletionCheckpoint> checkpoint) {
+    if (checkpointService == null || s3Client.isDryRunEnabled()) {
+      return S3DeletionCheckpointer.none();
+    }
+    // sub-prefixes listed in parallel are not deleted in key order
+    boolean inKeyOrder = s3Client.getListParallelism() <= 1;
+    return new S3DeletionCheckpointer(checkpointService, housekeepingEntity, checkpointInterval, checkpoint,
+        inKeyOrder);
+  }
+
+  private void deleteFile(
+      String bucket,
+      String key,
+      S3ObjectSummary file,
+      S3BytesDeletedCalculator bytesDeletedCalculator) {
     s3Client.deleteObject(bucket, key);
-    bytesDeletedCalculator.calculateBytesDeleted(List.of(key));
+    bytesDeletedCalculator.calculateBytesDeleted(List.of(file), List.of(key));
+  }
+
+  /**
+   * Deletes files of a bucket in batches and maps the outcome of each key back to the entities of the files. The bytes
+   * deleted are reported once per key.
+   */
+  private void deleteFiles(String bucket, List<PendingFile> files, Map<HousekeepingEntity, Exception> failures) {
+    Map<String, List<PendingFile>> filesByKey = files.stream()
+        .collect(Collectors.groupingBy(file -> file.objectSummary.getKey(), LinkedHashMap::new, Collectors.toList()));
+    List<String> keys = new ArrayList<>(filesByKey.keySet());
+    List<List<String>> batches = new ArrayList<>();
+    List<CompletableFuture<List<String>>> deletions = new ArrayList<>();
+    for (int i = 0; i < keys.size(); i += S3Client.REQUEST_CHUNK_SIZE) {
+      List<String> batch = keys.subList(i, Math.min(i + S3Client.REQUEST_CHUNK_SIZE, keys.size()));
+      batches.add(batch);
+      deletions.add(deleteObjects(bucket, batch));
+    }
+    for (int i = 0; i < batches.size(); i++) {
+      List<String> batch = batches.get(i);
+      Set<String> deletedKeys;
+      try {
+        deletedKeys = new HashSet<>(deletions.get(i).join());
+      } catch (RuntimeException e) {
+        Exception cause = e instanceof CompletionException && e.getCause() instanceof Exception
+            ? (Exception) e.getCause()
+            : e;
+        batch.forEach(key -> filesByKey.get(key).forEach(file -> failures.put(file.housekeepingEntity, cause)));
+        continue;
+      }
+      for (String key : batch) {
+        List<PendingFile> keyFiles = filesByKey.get(key);
+        if (deletedKeys.contains(key)) {
+          PendingFile file = keyFiles.get(0);
+          long bytesDeleted = file.objectSummary.getSize();
+          if (bytesDeleted > 0) {
+            bytesDeletedReporter.reportTaggable(bytesDeleted, file.housekeepingEntity, FileSystemType.S3);
+          }
+          deleteNonCurrentVersionsOfFile(bucket, key, keyFiles, failures);
+        } else {
+          BeekeeperException failure = new BeekeeperException(
+              format("File could not be deleted at path \"%s/%s\".", bucket, key));
+          keyFiles.forEach(file -> failures.put(file.housekeepingEntity, failure));
+        }
+      }
+    }
   }
 
-  private void deleteFilesInDirectory(String bucket, String key, S3BytesDeletedCalculator bytesDeletedCalculator) {
-    if (!key.endsWith("/")) {
-      key += "/";
+  private void deleteNonCurrentVersionsOfFile(
+      String bucket,
+      String key,
+      List<PendingFile> keyFiles,
+      Map<HousekeepingEntity, Exception> failures) {
+    if (!deleteNonCurrentVersions) {
+      return;
     }
-    List<S3ObjectSummary> objectSummaries = s3Client.listObjects(bucket, key);
-    bytesDeletedCalculator.storeFileSizes(objectSummaries);
-    List<String> keys = objectSummaries.stream()
-        .map(S3ObjectSummary::getKey)
+    AtomicLong bytesReclaimed = new AtomicLong();
+    try {
+      deleteNonCurrentVersions(bucket, key, false, bytesReclaimed);
+    } catch (RuntimeException e) {
+      keyFiles.forEach(file -> failures.put(file.housekeepingEntity, e));
+    } finally {
+      if (bytesReclaimed.get() > 0) {
+        bytesDeletedReporter.reportBytesReclaimed(bytesReclaimed.get(), keyFiles.get(0).housekeepingEntity,
+            FileSystemType.S3);
+      }
+    }
+  }
+
+  private CompletableFuture<List<String>> deleteObjects(String bucket, List<String> keys) {
+    try {
+      return s3Client.deleteObjectsAsync(bucket, keys);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Deletes the contents of the directory one listing page at a time, so that the number of keys held in memory does
+   * not depend on the size of the directory. Pages are deleted while the next ones are listed, up to the delete
+   * concurrency of the {@link S3Client}. The first page returned when classifying the path is deleted without being
+   * listed again. The bytes deleted are added up per page, so no page is retained once its deletion completes. The
+   * outcome of each page is handed to {@code checkpointer}.
+   */
+  private void deleteFilesInDirectory(
+      String bucket,
+      S3PathClassification pathClassification,
+      S3BytesDeletedCalculator bytesDeletedCalculator,
+      S3DeletionCheckpointer checkpointer) {
+    String key = pathClassification.getDirectoryKey();
+    S3DeletionTracker deletionTracker = new S3DeletionTracker(bucket, key);
+    try {
+      Consumer<List<S3ObjectSummary>> pageDeleter = objectSummaries -> {
+        deletionTracker.throwIfFailed();
+        List<String> keys = objectSummaries.stream()
+            .map(S3ObjectSummary::getKey)
+            .collect(Collectors.toList());
+        long batch = checkpointer.nextBatch();
+        CompletableFuture<List<String>> deletion = s3Client.deleteObjectsAsync(bucket, keys)
+            .thenApply(deletedKeys -> {
+              bytesDeletedCalculator.calculateBytesDeleted(objectSummaries, deletedKeys);
+              checkpointer.batchCompleted(batch, objectSummaries, deletedKeys.size());
+              return deletedKeys;
+            });
+        deletion.exceptionally(throwable -> {
+          checkpointer.batchFailed();
+          return null;
+        });
+        deletionTracker.trackBatch(keys, deletion);
+      };
+      if (!pathClassification.getFirstChildren().isEmpty()) {
+        pageDeleter.accept(pathClassification.getFirstChildren());
+      }
+      if (!pathClassification.isComplete()) {
+        s3Client.listObjects(bucket, key, pathClassification.getStartAfter(), pageDeleter);
+      }
+    } finally {
+      deletionTracker.awaitCompletion();
+    }
+    deletionTracker.verifyAllDeleted();
+  }
+
+  /**
+   * Permanently deletes the non-current versions and delete markers of the objects under {@code key} if the cleaner
+   * was created to do so. Versions are deleted one ListObjectVersions page at a time, while the next pages are listed,
+   * like the objects of a directory. Versions which are still current, such as objects written since the path was
+   * listed, are kept. In a dry run the current versions are counted too, as they would no longer be current once their
+   * objects were deleted.
+   *
+   * @param directory Whether {@code key} is a directory, otherwise only the versions of that exact key are deleted.
+   * @param bytesReclaimed Incremented with the size of the versions deleted, delete markers having none.
+   */
+  private void deleteNonCurrentVersions(String bucket, String key, boolean directory, AtomicLong bytesReclaimed) {
+    if (!deleteNonCurrentVersions) {
+      return;
+    }
+    S3DeletionTracker deletionTracker = new S3DeletionTracker(bucket, key);
+    try {
+      s3Client.listObjectVersions(bucket, key, versionSummaries -> {
+        deletionTracker.throwIfFailed();
+        List<S3VersionSummary> versions = versionSummaries.stream()
+            .filter(version -> directory || version.getKey().equals(key))
+            .filter(version -> s3Client.isDryRunEnabled() || !version.isLatest() || version.isDeleteMarker())
+            .collect(Collectors.toList());
+        if (versions.isEmpty()) {
+          return;
+        }
+        CompletableFuture<List<String>> deletion = s3Client.deleteObjectVersionsAsync(bucket, versions)
+            .thenApply(deletedVersions -> {
+              bytesReclaimed.addAndGet(deletedVersions.stream()
+                  .filter(version -> !version.isDeleteMarker())
+                  .mapToLong(S3VersionSummary::getSize)
+                  .sum());
+              return versionIds(deletedVersions);
+            });
+        deletionTracker.trackBatch(versionIds(versions), deletion);
+      });
+    } finally {
+      deletionTracker.awaitCompletion();
+    }
+    deletionTracker.verifyAllDeleted();
+  }
+
+  private static List<String> versionIds(List<S3VersionSummary> versions) {
+    return versions.stream()
+        .map(version -> S3Client.versionId(version.getKey(), version.getVersionId()))
         .collect(Collectors.toList());
-    List<String> deletedKeys = s3Client.deleteObjects(bucket, keys);
-    bytesDeletedCalculator.calculateBytesDeleted(deletedKeys);
-    int totalFiles = keys.size();
-    int successfulDeletes = deletedKeys.size();
-    if (successfulDeletes != totalFiles) {
-      keys.removeAll(deletedKeys);
-      String failedDeletions = keys.stream()
-          .map(k -> format("'%s'", k))
-          .collect(Collectors.joining(", "));
-      throw new BeekeeperException(
-          format("Not all files could be deleted at path \"%s/%s\"; deleted %s/%s objects. Objects not deleted: %s.",
-              bucket, key, successfulDeletes, totalFiles, failedDeletions));
+  }
+
+  /**
+   * Deletes the files of the page with DeleteObjects requests of up to 1000 keys per bucket, then the sentinel files
+   * of the directories of the page.
+   */
+  @Override
+  public Map<HousekeepingEntity, Exception> completePage() {
+    Map<HousekeepingEntity, Exception> failures = new IdentityHashMap<>();
+    Map<String, List<PendingFile>> files;
+    synchronized (pendingFiles) {
+      files = new LinkedHashMap<>(pendingFiles);
+      pendingFiles.clear();
+    }
+    files.forEach((bucket, bucketFiles) -> deleteFiles(bucket, bucketFiles, failures));
+    if (sentinelFilesResolver != null) {
+      sentinelFilesResolver.deleteSentinelFiles();
+    }
+    return failures;
+  }
+
+  /**
+   * Deletes the checkpoint of the path, if its deletion was checkpointed.
+   */
+  @Override
+  public void abandonPath(HousekeepingEntity housekeepingEntity) {
+    if (checkpointService == null || s3Client.isDryRunEnabled()) {
+      return;
+    }
+    try {
+      checkpointService.deleteCheckpoint(housekeepingEntity);
+    } catch (RuntimeException e) {
+      log.warn("Deletion checkpoint of path \"{}\" could not be deleted", housekeepingEntity.getPath(), e);
+    }
+  }
+
+  @Override
+  public void completeRun() {
+    if (sentinelFilesResolver != null) {
+      sentinelFilesResolver.completeRun();
     }
   }
 
@@ -108,6 +438,11 @@ public class S3PathCleaner implements PathCleaner {
       if (path.endsWith("/")) {
         path = path.substring(0, path.length() - 1);
       }
+      if (sentinelFilesResolver != null) {
+        sentinelFilesResolver.add(bucket, key.endsWith("/") ? key.substring(0, key.length() - 1) : key, path,
+            tableName);
+        return;
+      }
       sentinelFilesCleaner.deleteSentinelFiles(path);
 
       // attempt to delete parents if there is at least one parent
@@ -137,4 +472,15 @@ public class S3PathCleaner implements PathCleaner {
     String tableDirectory = "/" + tableName + "/";
     return !Strings.isNullOrEmpty(tableName) && parent.contains(tableDirectory) && !parent.endsWith("/" + tableName);
   }
+
+  private static class PendingFile {
+
+    private final HousekeepingEntity housekeepingEntity;
+    private final S3ObjectSummary objectSummary;
+
+    private PendingFile(HousekeepingEntity housekeepingEntity, S3ObjectSummary objectSummary) {
+      this.housekeepingEntity = housekeepingEntity;
+      this.objectSummary = objectSummary;
+    }
+  }
 }
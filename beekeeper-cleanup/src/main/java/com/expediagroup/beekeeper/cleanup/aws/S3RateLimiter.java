@@ -0,0 +1,314 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.handlers.HandlerAfterAttemptContext;
+import com.amazonaws.handlers.HandlerBeforeAttemptContext;
+import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GetObjectMetadataRequest;
+import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+
+/**
+ * Adaptive (AIMD) rate limiter for S3 requests. A request budget is kept for each bucket and key prefix, where the
+ * prefix is made of the first {@code prefixDepth} segments of the key. Each budget starts at the maximum rate, is
+ * halved when S3 throttles a request (SlowDown, 503 or 429) and then grows back linearly while requests succeed.
+ * <p>
+ * It is registered on the {@link com.amazonaws.services.s3.AmazonS3} client as a request handler, so every attempt
+ * made by {@link S3Client} is paced, including the retries done by the SDK itself.
+ * </p>
+ * <p>
+ * DeleteObjects requests are also throttled per key, in a successful response listing {@code SlowDown} errors, which
+ * the handler never sees as an exception. {@link S3Client} reports those errors through
+ * {@link #throttledDeletes(String, List)}.
+ * </p>
+ * <p>
+ * The SDK v2 client has no request handler: {@link AsyncS3Client} reserves each request and reports the throttled ones
+ * itself, so the retries done by the SDK v2 itself are not paced.
+ * </p>
+ */
+public class S3RateLimiter extends RequestHandler2 {
+
+  private static final Logger log = LoggerFactory.getLogger(S3RateLimiter.class);
+
+  static final String ALLOWED_RATE_METRIC_NAME = "s3-rate-limiter-allowed-rate";
+  static final String THROTTLES_METRIC_NAME = "s3-rate-limiter-throttles";
+  static final String SLOW_DOWN_ERROR_CODE = "SlowDown";
+
+  private static final double DECREASE_FACTOR = 0.5;
+  private static final double INCREASE_PER_SECOND_RATIO = 0.05;
+  private static final double MIN_REQUESTS_PER_SECOND = 1.0;
+  private static final long DECREASE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final String DELIMITER = "/";
+
+  private final MeterRegistry meterRegistry;
+  private final double maxRequestsPerSecond;
+  private final int prefixDepth;
+  private final LongSupplier nanoClock;
+  private final Map<Scope, Budget> budgets = new ConcurrentHashMap<>();
+
+  /**
+   * @param meterRegistry Registry for the allowed rate and throttle count gauges.
+   * @param maxRequestsPerSecond Maximum rate of requests per bucket and prefix, also used as the initial rate.
+   * @param prefixDepth Number of key segments used to tell prefixes apart. 0 keeps a single budget per bucket.
+   */
+  public S3RateLimiter(MeterRegistry meterRegistry, double maxRequestsPerSecond, int prefixDepth) {
+    this(meterRegistry, maxRequestsPerSecond, prefixDepth, System::nanoTime);
+  }
+
+  S3RateLimiter(MeterRegistry meterRegistry, double maxRequestsPerSecond, int prefixDepth, LongSupplier nanoClock) {
+    if (maxRequestsPerSecond < MIN_REQUESTS_PER_SECOND) {
+      throw new IllegalArgumentException("Maximum requests per second must be at least 1, was " + maxRequestsPerSecond);
+    }
+    if (prefixDepth < 0) {
+      throw new IllegalArgumentException("Prefix depth cannot be negative, was " + prefixDepth);
+    }
+    this.meterRegistry = meterRegistry;
+    this.maxRequestsPerSecond = maxRequestsPerSecond;
+    this.prefixDepth = prefixDepth;
+    this.nanoClock = nanoClock;
+  }
+
+  @Override
+  public void beforeAttempt(HandlerBeforeAttemptContext context) {
+    Scope scope = scopeOf(context.getRequest().getOriginalRequest());
+    if (scope != null) {
+      pause(budget(scope).reserve(nanoClock.getAsLong()));
+    }
+  }
+
+  @Override
+  public void afterAttempt(HandlerAfterAttemptContext context) {
+    Exception exception = context.getException();
+    if (exception instanceof AmazonServiceException && isThrottling((AmazonServiceException) exception)) {
+      Scope scope = scopeOf(context.getRequest().getOriginalRequest());
+      if (scope != null) {
+        budget(scope).throttled(nanoClock.getAsLong());
+      }
+    }
+  }
+
+  /**
+   * Reduces the rate of each prefix of the bucket with a key S3 refused to delete because of throttling.
+   *
+   * @param errors Per-key errors of a DeleteObjects request.
+   */
+  public void throttledDeletes(String bucket, List<MultiObjectDeleteException.DeleteError> errors) {
+    throttledKeys(bucket, errors
+        .stream()
+        .filter(error -> SLOW_DOWN_ERROR_CODE.equals(error.getCode()))
+        .map(MultiObjectDeleteException.DeleteError::getKey)
+        .collect(Collectors.toList()));
+  }
+
+  /**
+   * Reduces the rate of each prefix of the bucket with a key S3 throttled, once per prefix.
+   */
+  void throttledKeys(String bucket, Collection<String> keys) {
+    Set<Scope> throttledScopes = new LinkedHashSet<>();
+    keys.forEach(key -> throttledScopes.add(scope(bucket, key)));
+    long now = nanoClock.getAsLong();
+    throttledScopes.forEach(scope -> budget(scope).throttled(now));
+  }
+
+  /**
+   * @return The delay in nanoseconds before a request to the given bucket and key may be sent.
+   */
+  long reserve(String bucket, String key) {
+    return budget(scope(bucket, key)).reserve(nanoClock.getAsLong());
+  }
+
+  void throttled(String bucket, String key) {
+    budget(scope(bucket, key)).throttled(nanoClock.getAsLong());
+  }
+
+  double getAllowedRate(String bucket, String key) {
+    return budget(scope(bucket, key)).getAllowedRate();
+  }
+
+  private Budget budget(Scope scope) {
+    return budgets.computeIfAbsent(scope, s -> {
+      Budget budget = new Budget(s, nanoClock.getAsLong());
+      Gauge.builder(ALLOWED_RATE_METRIC_NAME, budget, Budget::getAllowedRate)
+          .tags("bucket", s.bucket, "prefix", s.prefix)
+          .register(meterRegistry);
+      Gauge.builder(THROTTLES_METRIC_NAME, budget, Budget::getThrottles)
+          .tags("bucket", s.bucket, "prefix", s.prefix)
+          .register(meterRegistry);
+      return budget;
+    });
+  }
+
+  private Scope scopeOf(AmazonWebServiceRequest request) {
+    if (request instanceof ListObjectsV2Request) {
+      ListObjectsV2Request listRequest = (ListObjectsV2Request) request;
+      return scope(listRequest.getBucketName(), listRequest.getPrefix());
+    }
+    if (request instanceof ListObjectsRequest) {
+      ListObjectsRequest listRequest = (ListObjectsRequest) request;
+      return scope(listRequest.getBucketName(), listRequest.getPrefix());
+    }
+    if (request instanceof DeleteObjectsRequest) {
+      DeleteObjectsRequest deleteRequest = (DeleteObjectsRequest) request;
+      String key = deleteRequest.getKeys().isEmpty() ? null : deleteRequest.getKeys().get(0).getKey();
+      return scope(deleteRequest.getBucketName(), key);
+    }
+    if (request instanceof DeleteObjectRequest) {
+      DeleteObjectRequest deleteRequest = (DeleteObjectRequest) request;
+      return scope(deleteRequest.getBucketName(), deleteRequest.getKey());
+    }
+    if (request instanceof GetObjectMetadataRequest) {
+      GetObjectMetadataRequest metadataRequest = (GetObjectMetadataRequest) request;
+      return scope(metadataRequest.getBucketName(), metadataRequest.getKey());
+    }
+    return null;
+  }
+
+  private Scope scope(String bucket, String key) {
+    if (bucket == null) {
+      return null;
+    }
+    StringBuilder prefix = new StringBuilder();
+    if (key != null) {
+      String[] segments = key.split(DELIMITER, -1);
+      // the last segment is the object name, or what follows the final delimiter of a prefix
+      for (int i = 0; i < Math.min(prefixDepth, segments.length - 1); i++) {
+        prefix.append(segments[i]).append(DELIMITER);
+      }
+    }
+    return new Scope(bucket, prefix.toString());
+  }
+
+  private static boolean isThrottling(AmazonServiceException e) {
+    return RetryUtils.isThrottlingException(e) || e.getStatusCode() == 503;
+  }
+
+  private static void pause(long nanos) {
+    if (nanos > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(nanos);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static final class Scope {
+    private final String bucket;
+    private final String prefix;
+
+    private Scope(String bucket, String prefix) {
+      this.bucket = bucket;
+      this.prefix = prefix;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Scope)) {
+        return false;
+      }
+      Scope scope = (Scope) o;
+      return bucket.equals(scope.bucket) && prefix.equals(scope.prefix);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(bucket, prefix);
+    }
+
+    @Override
+    public String toString() {
+      return bucket + "/" + prefix;
+    }
+  }
+
+  private final class Budget {
+    private final Scope scope;
+    private double allowedRate;
+    private long nextFreeNanos;
+    private long lastIncreaseNanos;
+    private long lastDecreaseNanos;
+    private long throttles = 0;
+
+    private Budget(Scope scope, long now) {
+      this.scope = scope;
+      this.allowedRate = maxRequestsPerSecond;
+      this.nextFreeNanos = now;
+      this.lastIncreaseNanos = now;
+      this.lastDecreaseNanos = now - DECREASE_INTERVAL_NANOS;
+    }
+
+    synchronized long reserve(long now) {
+      increase(now);
+      long delay = Math.max(0, nextFreeNanos - now);
+      nextFreeNanos = Math.max(nextFreeNanos, now) + (long) (TimeUnit.SECONDS.toNanos(1) / allowedRate);
+      return delay;
+    }
+
+    synchronized void throttled(long now) {
+      throttles++;
+      increase(now);
+      // requests in flight when the rate was cut are throttled too; only react once per interval
+      if (now - lastDecreaseNanos >= DECREASE_INTERVAL_NANOS) {
+        allowedRate = Math.max(MIN_REQUESTS_PER_SECOND, allowedRate * DECREASE_FACTOR);
+        lastDecreaseNanos = now;
+        log.warn("S3 throttled requests to \"{}\", reducing the allowed rate to {} requests per second", scope,
+            (long) allowedRate);
+      }
+    }
+
+    private void increase(long now) {
+      double seconds = (now - lastIncreaseNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+      allowedRate = Math.min(maxRequestsPerSecond,
+          allowedRate + maxRequestsPerSecond * INCREASE_PER_SECOND_RATIO * seconds);
+      lastIncreaseNanos = now;
+    }
+
+    synchronized double getAllowedRate() {
+      return allowedRate;
+    }
+
+    synchronized long getThrottles() {
+      return throttles;
+    }
+  }
+}
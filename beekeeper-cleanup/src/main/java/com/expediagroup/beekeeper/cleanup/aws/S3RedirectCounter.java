@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import java.util.Set;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.handlers.HandlerAfterAttemptContext;
+import com.amazonaws.handlers.RequestHandler2;
+
+/**
+ * Counts the S3 requests rejected because they were sent to the wrong region of a bucket, whether S3 redirected them
+ * or refused their signature. It is registered on each {@link com.amazonaws.services.s3.AmazonS3} client as a request
+ * handler, and its count is tagged with the name of the client, so the redirects of the default client can be
+ * compared with those of the regional clients of {@link S3ClientRegistry}.
+ */
+public class S3RedirectCounter extends RequestHandler2 {
+
+  static final String REDIRECTS_METRIC_NAME = "s3-redirects";
+
+  private static final Set<String> REDIRECT_ERROR_CODES = Set.of("PermanentRedirect", "TemporaryRedirect",
+      "AuthorizationHeaderMalformed", "IllegalLocationConstraintException");
+
+  private final Counter redirects;
+
+  /**
+   * @param meterRegistry Registry for the redirect counter.
+   * @param clientName Name of the client the handler is registered on, such as "default" or its region.
+   */
+  public S3RedirectCounter(MeterRegistry meterRegistry, String clientName) {
+    redirects = meterRegistry.counter(REDIRECTS_METRIC_NAME, "client", clientName);
+  }
+
+  @Override
+  public void afterAttempt(HandlerAfterAttemptContext context) {
+    Exception exception = context.getException();
+    if (exception instanceof AmazonServiceException && isRedirect((AmazonServiceException) exception)) {
+      redirects.increment();
+    }
+  }
+
+  private static boolean isRedirect(AmazonServiceException e) {
+    return e.getStatusCode() == 301 || e.getStatusCode() == 307 || REDIRECT_ERROR_CODES.contains(e.getErrorCode());
+  }
+}
@@ -17,35 +17,37 @@ package com.expediagroup.beekeeper.cleanup.aws;
 
 import static java.lang.String.format;
 
-import com.amazonaws.services.s3.AmazonS3URI;
+import java.util.Objects;
 
 import com.expediagroup.beekeeper.core.error.BeekeeperException;
+import com.expediagroup.beekeeper.core.model.ParsedLocation;
 
 public class S3SchemeURI {
 
-  private static final String S3_SCHEME = "s3://";
-  private static final String S3_SCHEME_REGEX = "^s3(a|n):\\/\\/";
-
-  private AmazonS3URI amazonS3URI;
+  private final ParsedLocation location;
 
   public S3SchemeURI(String housekeepingPath) {
-    if (!housekeepingPath.startsWith("s3")) {
-      throw new BeekeeperException(format("'%s' is not an S3 path.", housekeepingPath));
+    this(ParsedLocation.parse(housekeepingPath));
+  }
+
+  public S3SchemeURI(ParsedLocation location) {
+    Objects.requireNonNull(location, "location");
+    if (!location.isS3() || location.getBucket().isEmpty()) {
+      throw new BeekeeperException(format("'%s' is not an S3 path.", location));
     }
-    String s3Path = housekeepingPath.replaceFirst(S3_SCHEME_REGEX, S3_SCHEME);
-    this.amazonS3URI = new AmazonS3URI(s3Path);
+    this.location = location;
   }
 
   public String getPath() {
-    return "s3://" + amazonS3URI.getBucket() + "/" + amazonS3URI.getKey();
+    return location.getS3Location();
   }
 
   public String getKey() {
-    return amazonS3URI.getKey();
+    return location.getKey();
   }
 
   public String getBucket() {
-    return amazonS3URI.getBucket();
+    return location.getBucket();
   }
 
 }
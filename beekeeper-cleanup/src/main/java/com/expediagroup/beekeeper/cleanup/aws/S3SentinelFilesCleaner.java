@@ -17,9 +17,8 @@ package com.expediagroup.beekeeper.cleanup.aws;
 
 import java.util.Optional;
 
-import com.amazonaws.services.s3.AmazonS3URI;
-
 import com.expediagroup.beekeeper.cleanup.path.SentinelFilesCleaner;
+import com.expediagroup.beekeeper.core.model.ParsedLocation;
 
 public class S3SentinelFilesCleaner implements SentinelFilesCleaner {
 
@@ -32,7 +31,10 @@ public class S3SentinelFilesCleaner implements SentinelFilesCleaner {
 
   @Override
   public void deleteSentinelFiles(String absolutePath) {
-    AmazonS3URI s3Path = new AmazonS3URI(absolutePath, true);
+    ParsedLocation s3Path = ParsedLocation.parse(absolutePath);
+    if (s3Path.getBucket() == null) {
+      throw new IllegalArgumentException("Invalid S3 URI: no hostname: " + absolutePath);
+    }
     String bucket = s3Path.getBucket();
     String key = s3Path.getKey();
 
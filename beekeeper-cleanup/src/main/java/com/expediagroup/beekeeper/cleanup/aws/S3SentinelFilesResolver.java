@@ -0,0 +1,285 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static com.expediagroup.beekeeper.cleanup.aws.S3SentinelFilesCleaner.SENTINEL_SUFFIX;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.google.common.base.Strings;
+
+/**
+ * Finds and deletes the sentinel files of cleaned up directories in batches.
+ * <p>
+ * Directories are resolved level by level: the candidates sharing a parent are looked up with a single delimiter
+ * listing of that parent, which returns their zero-byte {@code _$folder$} files and tells whether the parent is left
+ * empty. The directories cleaned up in a page are resolved at the end of the page, while the parents they leave empty
+ * are recorded and resolved at the end of the run, up to the table directory. The sentinel files found are deleted
+ * with one DeleteObjects call per bucket.
+ * </p>
+ */
+public class S3SentinelFilesResolver {
+
+  private static final Logger log = LoggerFactory.getLogger(S3SentinelFilesResolver.class);
+
+  private static final String DELIMITER = "/";
+
+  private final S3Client s3Client;
+  private final Map<String, Candidate> candidates = new LinkedHashMap<>();
+  private final Map<String, Candidate> emptyParents = new LinkedHashMap<>();
+
+  public S3SentinelFilesResolver(S3Client s3Client) {
+    this.s3Client = s3Client;
+  }
+
+  /**
+   * Registers a cleaned up directory whose sentinel files will be deleted by the next call to
+   * {@link #deleteSentinelFiles()}.
+   *
+   * @param bucket Bucket of the directory.
+   * @param key Key of the directory, without trailing "/".
+   * @param path Absolute path of the directory, without trailing "/".
+   * @param tableName Name of the table the directory belongs to, used to stop at the table directory.
+   */
+  synchronized void add(String bucket, String key, String path, String tableName) {
+    Candidate candidate = new Candidate(bucket, key, path, tableName);
+    candidates.putIfAbsent(candidate.id(), candidate);
+  }
+
+  /**
+   * Deletes the sentinel files of the directories registered since the last call. Their parents left empty are
+   * recorded, and their sentinel files are only looked up by {@link #completeRun()}, so that each parent is resolved
+   * once per run however many pages its children were deleted in. Failures are logged as sentinel files are not
+   * required for the cleanup to succeed.
+   */
+  public void deleteSentinelFiles() {
+    Collection<Candidate> level;
+    synchronized (this) {
+      level = new ArrayList<>(candidates.values());
+      candidates.clear();
+    }
+    Map<String, Set<String>> sentinelFilesPerBucket = new LinkedHashMap<>();
+    Map<String, Candidate> parents = resolveLevel(level, 0, sentinelFilesPerBucket);
+    synchronized (this) {
+      parents.forEach(emptyParents::putIfAbsent);
+    }
+    deleteSentinelFiles(sentinelFilesPerBucket);
+  }
+
+  /**
+   * Deletes the sentinel files of the parents left empty during the run, and of their own parents left empty, up to
+   * the table directory.
+   */
+  public void completeRun() {
+    Collection<Candidate> level;
+    synchronized (this) {
+      level = new ArrayList<>(emptyParents.values());
+      emptyParents.clear();
+    }
+    Map<String, Set<String>> sentinelFilesPerBucket = new LinkedHashMap<>();
+    int depth = 1;
+    while (!level.isEmpty()) {
+      level = resolveLevel(level, depth++, sentinelFilesPerBucket).values();
+    }
+    deleteSentinelFiles(sentinelFilesPerBucket);
+  }
+
+  /**
+   * @return The parents left empty, which are candidates for the next level.
+   */
+  private Map<String, Candidate> resolveLevel(
+      Collection<Candidate> level,
+      int depth,
+      Map<String, Set<String>> sentinelFilesPerBucket) {
+    Map<String, List<Candidate>> siblings = new LinkedHashMap<>();
+    level.forEach(candidate -> siblings
+        .computeIfAbsent(candidate.bucket + DELIMITER + candidate.parentKey(), parent -> new ArrayList<>())
+        .add(candidate));
+    Map<String, Candidate> parents = new LinkedHashMap<>();
+    for (List<Candidate> group : siblings.values()) {
+      try {
+        resolve(group, depth, sentinelFilesPerBucket, parents);
+      } catch (Exception e) {
+        log.warn("Sentinel file(s) could not be deleted", e);
+      }
+    }
+    return parents;
+  }
+
+  private void deleteSentinelFiles(Map<String, Set<String>> sentinelFilesPerBucket) {
+    sentinelFilesPerBucket.forEach((bucket, sentinelFiles) -> {
+      try {
+        s3Client.deleteObjects(bucket, new ArrayList<>(sentinelFiles));
+      } catch (Exception e) {
+        log.warn("Sentinel file(s) could not be deleted", e);
+      }
+    });
+  }
+
+  /**
+   * Lists the common parent of {@code siblings} once, collecting their zero-byte sentinel files and, if the parent is
+   * left empty, adding it as a candidate for the next level.
+   */
+  private void resolve(
+      List<Candidate> siblings,
+      int depth,
+      Map<String, Set<String>> sentinelFilesPerBucket,
+      Map<String, Candidate> parents) {
+    Candidate first = siblings.get(0);
+    String bucket = first.bucket;
+    String parentKey = first.parentKey();
+    String directoryKey = parentKey == null ? "" : parentKey + DELIMITER;
+    Candidate parent = siblings.stream()
+        .filter(Candidate::hasValidParent)
+        .findFirst()
+        .map(Candidate::parent)
+        .orElse(null);
+
+    Set<String> childKeys = new LinkedHashSet<>();
+    TreeSet<String> sentinelFiles = new TreeSet<>(S3SentinelFilesResolver::compareKeys);
+    siblings.forEach(candidate -> {
+      childKeys.add(candidate.key);
+      sentinelFiles.add(candidate.key + SENTINEL_SUFFIX);
+    });
+    // the sentinel files of lower levels are only deleted at the end, directories holding nothing else are empty
+    boolean ignoreChildDirectories = s3Client.isDryRunEnabled() || depth > 0;
+    Set<String> found = new LinkedHashSet<>();
+    boolean empty = true;
+    String startAfter = null;
+    String continuationToken = null;
+    while (true) {
+      ListObjectsV2Result result = s3Client.listDirectoryPage(bucket, directoryKey, startAfter, continuationToken);
+      String lastKey = null;
+      for (S3ObjectSummary objectSummary : result.getObjectSummaries()) {
+        String key = objectSummary.getKey();
+        lastKey = max(lastKey, key);
+        if (sentinelFiles.contains(key)) {
+          if (objectSummary.getSize() == 0L) {
+            found.add(key);
+            continue;
+          }
+          if (s3Client.isDryRunEnabled()) {
+            continue;
+          }
+        }
+        empty = false;
+      }
+      for (String commonPrefix : result.getCommonPrefixes()) {
+        lastKey = max(lastKey, commonPrefix);
+        String childKey = commonPrefix.substring(0, commonPrefix.length() - DELIMITER.length());
+        if (!ignoreChildDirectories || !childKeys.contains(childKey)) {
+          empty = false;
+        }
+      }
+      if (!result.isTruncated()) {
+        break;
+      }
+      if (parent != null && empty || lastKey == null) {
+        startAfter = null;
+        continuationToken = result.getNextContinuationToken();
+        continue;
+      }
+      // emptiness is settled, only the sentinel files not listed yet are left to look up
+      String next = sentinelFiles.higher(lastKey);
+      if (next == null) {
+        break;
+      }
+      startAfter = max(lastKey, next.substring(0, next.length() - SENTINEL_SUFFIX.length()));
+      continuationToken = null;
+    }
+
+    if (!found.isEmpty()) {
+      sentinelFilesPerBucket.computeIfAbsent(bucket, b -> new LinkedHashSet<>()).addAll(found);
+    }
+    if (parent != null && empty) {
+      parents.putIfAbsent(parent.id(), parent);
+    }
+  }
+
+  private static String max(String key, String other) {
+    return key == null || compareKeys(other, key) > 0 ? other : key;
+  }
+
+  /**
+   * Compares keys in the order S3 lists them, that is by their UTF-8 bytes, which is the order of their code points.
+   */
+  static int compareKeys(String key, String other) {
+    int i = 0;
+    int j = 0;
+    while (i < key.length() && j < other.length()) {
+      int codePoint = key.codePointAt(i);
+      int otherCodePoint = other.codePointAt(j);
+      if (codePoint != otherCodePoint) {
+        return Integer.compare(codePoint, otherCodePoint);
+      }
+      i += Character.charCount(codePoint);
+      j += Character.charCount(otherCodePoint);
+    }
+    return Integer.compare(key.length() - i, other.length() - j);
+  }
+
+  private static class Candidate {
+
+    private final String bucket;
+    private final String key;
+    private final String path;
+    private final String tableName;
+
+    private Candidate(String bucket, String key, String path, String tableName) {
+      this.bucket = bucket;
+      this.key = key;
+      this.path = path;
+      this.tableName = tableName;
+    }
+
+    private String id() {
+      return bucket + DELIMITER + key;
+    }
+
+    private String parentKey() {
+      int index = key.lastIndexOf(DELIMITER);
+      return index < 0 ? null : key.substring(0, index);
+    }
+
+    // stop at the root of the bucket, when the path doesn't contain the table name or at the table directory
+    private boolean hasValidParent() {
+      if (!key.contains(DELIMITER)) {
+        return false;
+      }
+      String parentPath = path.substring(0, path.lastIndexOf(DELIMITER));
+      String tableDirectory = DELIMITER + tableName + DELIMITER;
+      return !Strings.isNullOrEmpty(tableName)
+          && parentPath.contains(tableDirectory)
+          && !parentPath.endsWith(DELIMITER + tableName);
+    }
+
+    private Candidate parent() {
+      return new Candidate(bucket, parentKey(), path.substring(0, path.lastIndexOf(DELIMITER)), tableName);
+    }
+  }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.hadoop;
+
+import static java.lang.String.format;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter;
+import com.expediagroup.beekeeper.cleanup.path.PathCleaner;
+import com.expediagroup.beekeeper.cleanup.service.WorkerThreads;
+import com.expediagroup.beekeeper.core.config.FileSystemType;
+import com.expediagroup.beekeeper.core.error.BeekeeperException;
+import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
+import com.expediagroup.beekeeper.core.monitoring.TimedTaggable;
+
+/**
+ * Cleans up paths of any file system with a Hadoop {@link FileSystem} connector, such as HDFS.
+ * <p>
+ * Directories are not deleted with a single recursive delete, which holds the whole deletion in one call and cannot be
+ * sped up. The tree is traversed instead, with up to {@code deleteParallelism} directories listed and batches of files
+ * deleted at the same time. Each directory is deleted once its contents are, with a non-recursive delete which fails
+ * if files were written to it in the meantime.
+ * </p>
+ */
+public class HadoopFileSystemPathCleaner implements PathCleaner {
+
+  private static final Logger log = LoggerFactory.getLogger(HadoopFileSystemPathCleaner.class);
+
+  static final int FILES_PER_BATCH = 1000;
+
+  private final Configuration configuration;
+  private final BytesDeletedReporter bytesDeletedReporter;
+  private final boolean dryRunEnabled;
+  private final int deleteParallelism;
+  private ExecutorService deleteExecutor;
+
+  /**
+   * @param configuration Hadoop configuration the file systems are created from.
+   * @param bytesDeletedReporter Reporter of the bytes deleted.
+   * @param dryRunEnabled Whether deletions are only logged.
+   * @param deleteParallelism Maximum number of directories listed and batches of files deleted at the same time.
+   */
+  public HadoopFileSystemPathCleaner(
+      Configuration configuration,
+      BytesDeletedReporter bytesDeletedReporter,
+      boolean dryRunEnabled,
+      int deleteParallelism) {
+    if (deleteParallelism < 1) {
+      throw new IllegalArgumentException("Delete parallelism must be at least 1, was " + deleteParallelism);
+    }
+    this.configuration = configuration;
+    this.bytesDeletedReporter = bytesDeletedReporter;
+    this.dryRunEnabled = dryRunEnabled;
+    this.deleteParallelism = deleteParallelism;
+  }
+
+  @Override
+  @TimedTaggable("hadoop-paths-deleted")
+  public void cleanupPath(HousekeepingEntity housekeepingEntity) {
+    Path path = new Path(housekeepingEntity.getPath());
+    AtomicLong bytesDeleted = new AtomicLong();
+    try {
+      FileSystem fileSystem = path.getFileSystem(configuration);
+      FileStatus fileStatus;
+      try {
+        fileStatus = fileSystem.getFileStatus(path);
+      } catch (FileNotFoundException e) {
+        log.info("Path \"{}\" does not exist", path);
+        return;
+      }
+      log.info(dryRunEnabled ? "Dry run - deleting \"{}\"" : "Deleting \"{}\"", path);
+      if (fileStatus.isDirectory()) {
+        join(deleteDirectory(fileSystem, path, bytesDeleted));
+      } else {
+        deleteFiles(fileSystem, List.of(fileStatus), bytesDeleted);
+      }
+    } catch (IOException e) {
+      throw new BeekeeperException(format("Cleanup of path \"%s\" failed.", path), e);
+    } finally {
+      if (bytesDeleted.get() > 0) {
+        bytesDeletedReporter.reportTaggable(bytesDeleted.get(), housekeepingEntity, FileSystemType.HADOOP);
+      }
+    }
+  }
+
+  /**
+   * Lists the directory and deletes its files in batches while its sub-directories are deleted, then deletes the
+   * directory itself once they all are.
+   */
+  private CompletableFuture<Void> deleteDirectory(FileSystem fileSystem, Path directory, AtomicLong bytesDeleted) {
+    return CompletableFuture
+        .supplyAsync(() -> {
+          List<CompletableFuture<Void>> children = new ArrayList<>();
+          List<FileStatus> files = new ArrayList<>();
+          try {
+            RemoteIterator<LocatedFileStatus> statuses = fileSystem.listLocatedStatus(directory);
+            while (statuses.hasNext()) {
+              LocatedFileStatus status = statuses.next();
+              if (status.isDirectory()) {
+                children.add(deleteDirectory(fileSystem, status.getPath(), bytesDeleted));
+              } else {
+                files.add(status);
+                if (files.size() == FILES_PER_BATCH) {
+                  children.add(deleteFilesAsync(fileSystem, files, bytesDeleted));
+                  files = new ArrayList<>();
+                }
+              }
+            }
+          } catch (IOException e) {
+            children.add(CompletableFuture
+                .failedFuture(new BeekeeperException(format("Directory \"%s\" could not be listed.", directory), e)));
+          }
+          if (!files.isEmpty()) {
+            children.add(deleteFilesAsync(fileSystem, files, bytesDeleted));
+          }
+          return CompletableFuture.allOf(children.toArray(CompletableFuture[]::new));
+        }, deleteExecutor())
+        .thenCompose(children -> children)
+        .thenRunAsync(() -> delete(fileSystem, directory), deleteExecutor());
+  }
+
+  private CompletableFuture<Void> deleteFilesAsync(
+      FileSystem fileSystem,
+      List<FileStatus> files,
+      AtomicLong bytesDeleted) {
+    return CompletableFuture.runAsync(() -> deleteFiles(fileSystem, files, bytesDeleted), deleteExecutor());
+  }
+
+  private void deleteFiles(FileSystem fileSystem, List<FileStatus> files, AtomicLong bytesDeleted) {
+    for (FileStatus file : files) {
+      delete(fileSystem, file.getPath());
+      bytesDeleted.addAndGet(file.getLen());
+    }
+  }
+
+  private void delete(FileSystem fileSystem, Path path) {
+    if (dryRunEnabled) {
+      log.debug("Dry run - deleting: \"{}\"", path);
+      return;
+    }
+    try {
+      if (!fileSystem.delete(path, false) && fileSystem.exists(path)) {
+        throw new BeekeeperException(format("Path \"%s\" could not be deleted.", path));
+      }
+    } catch (IOException e) {
+      throw new BeekeeperException(format("Path \"%s\" could not be deleted.", path), e);
+    }
+  }
+
+  private static void join(CompletableFuture<Void> future) {
+    try {
+      future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new BeekeeperException("Unexpected error deleting files", e.getCause());
+    }
+  }
+
+  // tasks only ever chain on each other without blocking, so a fixed number of threads cannot deadlock
+  private synchronized ExecutorService deleteExecutor() {
+    if (deleteExecutor == null) {
+      deleteExecutor = WorkerThreads.newFixedPool("hadoop-delete-", deleteParallelism);
+    }
+    return deleteExecutor;
+  }
+}
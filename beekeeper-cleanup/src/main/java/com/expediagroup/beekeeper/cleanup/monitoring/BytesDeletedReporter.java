@@ -32,17 +32,37 @@ public class BytesDeletedReporter {
   private static final Logger log = LoggerFactory.getLogger(BytesDeletedReporter.class);
   public static final String METRIC_NAME = "bytes-deleted";
   public static final String DRY_RUN_METRIC_NAME = "dry-run-" + METRIC_NAME;
+  public static final String RECLAIMED_METRIC_NAME = "bytes-reclaimed";
+  public static final String DRY_RUN_RECLAIMED_METRIC_NAME = "dry-run-" + RECLAIMED_METRIC_NAME;
 
   private MeterRegistry meterRegistry;
   private String metricName;
+  private String reclaimedMetricName;
 
   public BytesDeletedReporter(MeterRegistry meterRegistry, boolean dryRunEnabled) {
     this.meterRegistry = meterRegistry;
     this.metricName = dryRunEnabled ? DRY_RUN_METRIC_NAME : METRIC_NAME;
+    this.reclaimedMetricName = dryRunEnabled ? DRY_RUN_RECLAIMED_METRIC_NAME : RECLAIMED_METRIC_NAME;
   }
 
+  /**
+   * Reports the size of the objects deleted. On a versioned bucket these bytes are only hidden behind delete markers
+   * and are still stored, see {@link #reportBytesReclaimed(long, Taggable, FileSystemType)}.
+   */
   public void reportTaggable(long bytesDeleted, Taggable taggable, FileSystemType fileSystemType) {
     log.info("Bytes deleted: {}", bytesDeleted);
+    increment(metricName, bytesDeleted, taggable, fileSystemType);
+  }
+
+  /**
+   * Reports the size of the object versions permanently deleted, which are no longer stored.
+   */
+  public void reportBytesReclaimed(long bytesReclaimed, Taggable taggable, FileSystemType fileSystemType) {
+    log.info("Bytes reclaimed: {}", bytesReclaimed);
+    increment(reclaimedMetricName, bytesReclaimed, taggable, fileSystemType);
+  }
+
+  private void increment(String metricName, long bytes, Taggable taggable, FileSystemType fileSystemType) {
     String fileSystemMetricName = String.join("-", fileSystemType.toString()
         .toLowerCase(), metricName);
     Counter counter = Counter
@@ -50,7 +70,7 @@ public class BytesDeletedReporter {
         .baseUnit("bytes")
         .tags(tags(taggable.getMetricTag()))
         .register(meterRegistry);
-    counter.increment(bytesDeleted);
+    counter.increment(bytes);
   }
 
   private Iterable<Tag> tags(MetricTag metricTag) {
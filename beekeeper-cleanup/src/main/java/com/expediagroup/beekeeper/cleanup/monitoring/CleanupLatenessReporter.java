@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.monitoring;
+
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.DELETED;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
+import com.expediagroup.beekeeper.core.monitoring.MetricTag;
+
+/**
+ * Reports per table how long after their cleanup timestamp the records were cleaned up, showing which tables are
+ * falling behind.
+ */
+public class CleanupLatenessReporter {
+
+  public static final String METRIC_NAME = "cleanup-lateness";
+
+  private final MeterRegistry meterRegistry;
+  private final Clock clock;
+
+  public CleanupLatenessReporter(MeterRegistry meterRegistry) {
+    this(meterRegistry, Clock.systemUTC());
+  }
+
+  CleanupLatenessReporter(MeterRegistry meterRegistry, Clock clock) {
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+  }
+
+  /**
+   * Reports the lateness of the records of a page which were deleted.
+   */
+  public void reportCleanedUp(List<? extends HousekeepingEntity> records) {
+    LocalDateTime now = LocalDateTime.now(clock);
+    records
+        .stream()
+        .filter(record -> record.getHousekeepingStatus() == DELETED)
+        .forEach(record -> {
+          Duration lateness = Duration.between(record.getCleanupTimestamp(), now);
+          MetricTag tag = record.getMetricTag();
+          Timer
+              .builder(METRIC_NAME)
+              .tags(tag.getKey(), tag.getTag())
+              .register(meterRegistry)
+              .record(lateness.isNegative() ? Duration.ZERO : lateness);
+        });
+  }
+}
@@ -15,10 +15,46 @@
  */
 package com.expediagroup.beekeeper.cleanup.path;
 
+import java.util.Collections;
+import java.util.Map;
+
 import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
 
 public interface PathCleaner {
 
   void cleanupPath(HousekeepingEntity housekeepingEntity);
 
+  /**
+   * Cleans up a path of a page. Part of the cleanup may be deferred to {@link #completePage()}, so that it can be
+   * batched with the other paths of the page.
+   *
+   * @return Whether the cleanup of the path was deferred to {@link #completePage()}, in which case the path is only
+   *         cleaned up once it completes.
+   */
+  default boolean cleanupPathOfPage(HousekeepingEntity housekeepingEntity) {
+    cleanupPath(housekeepingEntity);
+    return false;
+  }
+
+  /**
+   * Completes the work deferred by {@link #cleanupPath(HousekeepingEntity)} and
+   * {@link #cleanupPathOfPage(HousekeepingEntity)} once all the paths of a page have been cleaned up.
+   *
+   * @return The entities whose deferred cleanup failed, mapped to the cause of the failure.
+   */
+  default Map<HousekeepingEntity, Exception> completePage() {
+    return Collections.emptyMap();
+  }
+
+  /**
+   * Drops what was kept to resume the cleanup of a path which won't be cleaned up again, because it was skipped or ran
+   * out of cleanup attempts.
+   */
+  default void abandonPath(HousekeepingEntity housekeepingEntity) {}
+
+  /**
+   * Completes the work deferred by {@link #completePage()} once all the pages of a cleanup run have been processed.
+   */
+  default void completeRun() {}
+
 }
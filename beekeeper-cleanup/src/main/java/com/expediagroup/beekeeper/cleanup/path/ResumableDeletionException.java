@@ -0,0 +1,31 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.path;
+
+import com.expediagroup.beekeeper.core.error.BeekeeperException;
+
+/**
+ * Thrown when the cleanup of a path fails after deleting part of it and checkpointing its progress. The next attempt
+ * resumes from the checkpoint, so the failure doesn't have to count as a full failed attempt.
+ */
+public class ResumableDeletionException extends BeekeeperException {
+
+  private static final long serialVersionUID = 1L;
+
+  public ResumableDeletionException(String message, Throwable e) {
+    super(message, e);
+  }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.path;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
+import com.expediagroup.beekeeper.core.model.ParsedLocation;
+
+/**
+ * Hands each path to the cleaner of its scheme, such as "hdfs", and the paths of any other scheme to a default cleaner.
+ * The deferred work of all the cleaners is completed with each page and run.
+ */
+public class SchemeRoutingPathCleaner implements PathCleaner {
+
+  private final PathCleaner defaultPathCleaner;
+  private final Map<String, PathCleaner> pathCleanersByScheme;
+  private final List<PathCleaner> pathCleaners = new ArrayList<>();
+
+  /**
+   * @param defaultPathCleaner Cleaner of the paths whose scheme has no cleaner of its own.
+   * @param pathCleanersByScheme Cleaners of the paths of each scheme, case insensitive.
+   */
+  public SchemeRoutingPathCleaner(PathCleaner defaultPathCleaner, Map<String, PathCleaner> pathCleanersByScheme) {
+    this.defaultPathCleaner = defaultPathCleaner;
+    this.pathCleanersByScheme = new LinkedHashMap<>();
+    pathCleanersByScheme.forEach((scheme, pathCleaner) -> this.pathCleanersByScheme
+        .put(scheme.toLowerCase(Locale.ROOT), pathCleaner));
+    Set<PathCleaner> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+    distinct.add(defaultPathCleaner);
+    distinct.addAll(this.pathCleanersByScheme.values());
+    pathCleaners.addAll(distinct);
+  }
+
+  @Override
+  public void cleanupPath(HousekeepingEntity housekeepingEntity) {
+    pathCleaner(housekeepingEntity).cleanupPath(housekeepingEntity);
+  }
+
+  @Override
+  public boolean cleanupPathOfPage(HousekeepingEntity housekeepingEntity) {
+    return pathCleaner(housekeepingEntity).cleanupPathOfPage(housekeepingEntity);
+  }
+
+  @Override
+  public Map<HousekeepingEntity, Exception> completePage() {
+    Map<HousekeepingEntity, Exception> failures = new IdentityHashMap<>();
+    pathCleaners.forEach(pathCleaner -> failures.putAll(pathCleaner.completePage()));
+    return failures;
+  }
+
+  @Override
+  public void abandonPath(HousekeepingEntity housekeepingEntity) {
+    pathCleaner(housekeepingEntity).abandonPath(housekeepingEntity);
+  }
+
+  @Override
+  public void completeRun() {
+    RuntimeException failure = null;
+    for (PathCleaner pathCleaner : pathCleaners) {
+      try {
+        pathCleaner.completeRun();
+      } catch (RuntimeException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private PathCleaner pathCleaner(HousekeepingEntity housekeepingEntity) {
+    ParsedLocation location = housekeepingEntity.getParsedLocation();
+    String scheme = location == null ? null : location.getScheme();
+    if (scheme == null) {
+      return defaultPathCleaner;
+    }
+    return pathCleanersByScheme.getOrDefault(scheme, defaultPathCleaner);
+  }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.service;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Runs the entities of a page on a bounded pool of threads and returns once all of them have been processed, so that
+ * the next page is only fetched when none of the entities of the previous one is still in flight. With a parallelism
+ * of 1 the entities are run one after another on the calling thread.
+ * <p>
+ * The entities are isolated from each other: a failing entity doesn't stop the others, its failure is only thrown
+ * once the whole page has been run.
+ */
+public class CleanupWorkerPool {
+
+  private final int parallelism;
+  private final ExecutorService executor;
+
+  /**
+   * Runs the entities on the calling thread.
+   */
+  public CleanupWorkerPool() {
+    this(1);
+  }
+
+  /**
+   * @param parallelism Maximum number of entities processed at the same time.
+   */
+  public CleanupWorkerPool(int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Cleanup parallelism must be at least 1, was " + parallelism);
+    }
+    this.parallelism = parallelism;
+    executor = parallelism == 1 ? null : WorkerThreads.newFixedPool("cleanup-worker-", parallelism);
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Runs {@code task} on every item and returns once all the items have been processed.
+   *
+   * @param items Items of a page.
+   * @param task Task run on each item.
+   * @throws RuntimeException The first failure of the items, with the failures of the other items suppressed.
+   */
+  public <T> void runAll(List<T> items, Consumer<T> task) {
+    Executor itemExecutor = items.size() <= 1 ? null : executor;
+    WorkerThreads.runAll(items, item -> itemExecutor, task);
+  }
+
+  /**
+   * Stops the threads of the pool. Entities already submitted are allowed to complete.
+   */
+  public void close() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.service;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.expediagroup.beekeeper.core.error.BeekeeperException;
+import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
+
+/**
+ * Fetches the pages of records to clean up on a thread of its own, up to {@code prefetchPages} pages ahead of the
+ * pages being processed, so that the database is queried while the previous pages are cleaned up.
+ * <p>
+ * Outside of dry runs, processed records are updated so that they are no longer returned and the first page is always
+ * fetched. The records handed out are in flight until their page is completed: each fetch asks for as many more
+ * records as are in flight and leaves them out, so that no record is handed out twice. When no other record is due,
+ * the next fetch waits for a page to be completed, as its records may be due again, and the last page is only
+ * returned once nothing is in flight. In dry runs, records are not updated and each page is made of the records
+ * following the last one of the previous page.
+ */
+public class PagePrefetcher<T extends HousekeepingEntity> implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(PagePrefetcher.class);
+
+  private final Function<Pageable, Slice<T>> recordFinder;
+  private final BiFunction<Long, Pageable, Slice<T>> recordFinderAfterId;
+  private final int pageSize;
+  private final boolean dryRunEnabled;
+  private final BlockingQueue<Batch<T>> batches;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition pageCompleted = lock.newCondition();
+  private final Set<Long> inFlight = new HashSet<>();
+  private long completedPages;
+  private Thread producer;
+
+  /**
+   * @param recordFinder Fetches a page of the records to clean up.
+   * @param recordFinderAfterId Fetches a page of the records to clean up following the one with the given id.
+   * @param pageSize Number of records of a page.
+   * @param prefetchPages Maximum number of pages fetched but not yet handed out.
+   * @param dryRunEnabled Whether the records are left as they are once processed.
+   */
+  public PagePrefetcher(
+      Function<Pageable, Slice<T>> recordFinder,
+      BiFunction<Long, Pageable, Slice<T>> recordFinderAfterId,
+      int pageSize,
+      int prefetchPages,
+      boolean dryRunEnabled) {
+    if (prefetchPages < 1) {
+      throw new IllegalArgumentException("Number of pages fetched ahead must be at least 1, was " + prefetchPages);
+    }
+    this.recordFinder = recordFinder;
+    this.recordFinderAfterId = recordFinderAfterId;
+    this.pageSize = pageSize;
+    this.dryRunEnabled = dryRunEnabled;
+    batches = new ArrayBlockingQueue<>(prefetchPages);
+  }
+
+  /**
+   * Starts fetching the pages.
+   */
+  public void start() {
+    producer = new Thread(this::fetchPages, "page-prefetch");
+    producer.setDaemon(true);
+    producer.start();
+  }
+
+  /**
+   * Waits for the next page.
+   *
+   * @return The records of the next page, empty once there is no record left to clean up.
+   */
+  public List<T> nextPage() {
+    Batch<T> batch;
+    try {
+      batch = batches.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BeekeeperException("Interrupted waiting for the next page", e);
+    }
+    if (batch.failure != null) {
+      throw new BeekeeperException("Could not fetch the next page", batch.failure);
+    }
+    return batch.records;
+  }
+
+  /**
+   * Marks the records of a page as no longer in flight, once their status has been recorded.
+   */
+  public void pageCompleted(List<T> page) {
+    lock.lock();
+    try {
+      page.forEach(record -> inFlight.remove(record.getId()));
+      completedPages++;
+      pageCompleted.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stops fetching pages.
+   */
+  @Override
+  public void close() {
+    if (producer != null) {
+      producer.interrupt();
+    }
+  }
+
+  private void fetchPages() {
+    try {
+      long lastId = 0L;
+      List<T> records;
+      do {
+        records = dryRunEnabled ? fetchRecordsAfter(lastId) : fetchRecordsNotInFlight();
+        batches.put(new Batch<>(records, null));
+        if (!records.isEmpty()) {
+          lastId = records.get(records.size() - 1).getId();
+        }
+      } while (!records.isEmpty());
+    } catch (InterruptedException e) {
+      log.debug("Stopped fetching pages");
+    } catch (Exception e) {
+      // the queue is only full if the pages are no longer being processed
+      batches.offer(new Batch<>(Collections.emptyList(), e));
+    }
+  }
+
+  private List<T> fetchRecordsAfter(long lastId) {
+    return recordFinderAfterId.apply(lastId, PageRequest.of(0, pageSize)).getContent();
+  }
+
+  private List<T> fetchRecordsNotInFlight() throws InterruptedException {
+    while (true) {
+      Set<Long> excluded;
+      long completed;
+      lock.lock();
+      try {
+        excluded = Set.copyOf(inFlight);
+        completed = completedPages;
+      } finally {
+        lock.unlock();
+      }
+      List<T> records = recordFinder
+          .apply(PageRequest.of(0, pageSize + excluded.size()))
+          .getContent()
+          .stream()
+          .filter(record -> !excluded.contains(record.getId()))
+          .limit(pageSize)
+          .collect(Collectors.toList());
+      lock.lock();
+      try {
+        if (!records.isEmpty()) {
+          records.forEach(record -> inFlight.add(record.getId()));
+          return records;
+        }
+        if (excluded.isEmpty()) {
+          return records;
+        }
+        while (completedPages == completed) {
+          pageCompleted.await();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private static class Batch<T> {
+
+    private final List<T> records;
+    private final Exception failure;
+
+    private Batch(List<T> records, Exception failure) {
+      this.records = records;
+      this.failure = failure;
+    }
+  }
+}
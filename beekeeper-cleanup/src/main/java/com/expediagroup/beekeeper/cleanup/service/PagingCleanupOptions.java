@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.service;
+
+import io.micrometer.core.instrument.Metrics;
+
+import com.expediagroup.beekeeper.cleanup.monitoring.CleanupLatenessReporter;
+
+/**
+ * How a paging cleanup service fetches its pages. Every setting has a default, so callers only set what they change.
+ */
+public class PagingCleanupOptions {
+
+  private final int prefetchPages;
+  private final int tablePageSharePercent;
+  private final CleanupLatenessReporter cleanupLatenessReporter;
+
+  private PagingCleanupOptions(Builder builder) {
+    this.prefetchPages = builder.prefetchPages;
+    this.tablePageSharePercent = builder.tablePageSharePercent;
+    this.cleanupLatenessReporter = builder.cleanupLatenessReporter != null
+        ? builder.cleanupLatenessReporter
+        : new CleanupLatenessReporter(Metrics.globalRegistry);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int getPrefetchPages() {
+    return prefetchPages;
+  }
+
+  public int getTablePageSharePercent() {
+    return tablePageSharePercent;
+  }
+
+  public CleanupLatenessReporter getCleanupLatenessReporter() {
+    return cleanupLatenessReporter;
+  }
+
+  public static class Builder {
+
+    private int prefetchPages;
+    private int tablePageSharePercent;
+    private CleanupLatenessReporter cleanupLatenessReporter;
+
+    private Builder() {}
+
+    /**
+     * @param prefetchPages Number of pages fetched ahead of the page being processed. With the default of 0 each page
+     *          is fetched once the previous one is done.
+     */
+    public Builder prefetchPages(int prefetchPages) {
+      this.prefetchPages = prefetchPages;
+      return this;
+    }
+
+    /**
+     * @param tablePageSharePercent Maximum share of a page taken by the records of one table, the pages then being
+     *          filled round-robin across tables. With the default of 0 the pages are filled in the order of the
+     *          records.
+     */
+    public Builder tablePageSharePercent(int tablePageSharePercent) {
+      this.tablePageSharePercent = tablePageSharePercent;
+      return this;
+    }
+
+    /**
+     * @param cleanupLatenessReporter Reports how late the records of each table are cleaned up. Defaults to a reporter
+     *          on the global meter registry.
+     */
+    public Builder cleanupLatenessReporter(CleanupLatenessReporter cleanupLatenessReporter) {
+      this.cleanupLatenessReporter = cleanupLatenessReporter;
+      return this;
+    }
+
+    public PagingCleanupOptions build() {
+      return new PagingCleanupOptions(this);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.service;
+
+/**
+ * Share of a page the records of one table can take when the pages are filled round-robin across tables.
+ */
+public final class TablePageShare {
+
+  private TablePageShare() {}
+
+  /**
+   * @param pageSize Number of records of a page.
+   * @param tablePageSharePercent Maximum share of a page taken by the records of one table, from 1 to 100, or 0 when
+   *          the pages are filled in the order of the records.
+   * @return The maximum number of records of one table in a page, at least 1, or 0 when the pages are filled in the
+   *         order of the records.
+   */
+  public static int maxRecordsPerTable(int pageSize, int tablePageSharePercent) {
+    if (tablePageSharePercent < 0 || tablePageSharePercent > 100) {
+      throw new IllegalArgumentException(
+          "Share of a page taken by one table must be between 0 and 100 percent, was " + tablePageSharePercent);
+    }
+    if (tablePageSharePercent == 0) {
+      return 0;
+    }
+    return Math.max(1, pageSize * tablePageSharePercent / 100);
+  }
+}
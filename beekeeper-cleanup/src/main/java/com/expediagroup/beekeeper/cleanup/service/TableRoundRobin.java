@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
+import com.expediagroup.beekeeper.core.model.TableName;
+
+/**
+ * Fills the pages of records to clean up round-robin across tables, so that a table with many records due doesn't hold
+ * back the others, at a cost bounded by the tables visited for a page rather than by all the records due.
+ * <p>
+ * The tables with records due are listed once per cleanup run, the table with the most overdue record first. Each page
+ * then takes the most overdue records of the next tables in turn, up to {@code maxRecordsPerTable} of each with one
+ * query per table, until the page is full or every table has been visited. The next page carries on from the table
+ * following the last one visited, so the tables take turns across the pages of a run. A table which has no record
+ * left is dropped from the turn. Within a page, the most overdue record of each table visited comes first, then the
+ * second most overdue of each and so on.
+ */
+public class TableRoundRobin<T extends HousekeepingEntity> {
+
+  /**
+   * Fetches the most overdue records to clean up of a table.
+   */
+  @FunctionalInterface
+  public interface TableRecordFinder<T> {
+
+    List<T> findRecords(TableName table, int maxRecords);
+  }
+
+  private final Function<LocalDateTime, List<TableName>> tableFinder;
+  private final Deque<TableName> tables = new ArrayDeque<>();
+  private LocalDateTime instant;
+
+  /**
+   * @param tableFinder Lists the tables with records to clean up at the given instant.
+   */
+  public TableRoundRobin(Function<LocalDateTime, List<TableName>> tableFinder) {
+    this.tableFinder = tableFinder;
+  }
+
+  /**
+   * @param instant Reference time of the cleanup run, the tables are listed again when it changes.
+   * @param maxRecordsPerTable Maximum number of records of one table in the page, at least 1.
+   * @param pageSize Maximum number of records of the page.
+   * @param recordFinder Fetches the most overdue records to clean up of a table.
+   * @return The records of the page, empty once no table has records left.
+   */
+  public synchronized List<T> nextPage(
+      LocalDateTime instant,
+      int maxRecordsPerTable,
+      int pageSize,
+      TableRecordFinder<T> recordFinder) {
+    if (!instant.equals(this.instant)) {
+      tables.clear();
+      tables.addAll(tableFinder.apply(instant));
+      this.instant = instant;
+    }
+    List<List<T>> tableRecords = new ArrayList<>();
+    int records = 0;
+    int tablesToVisit = tables.size();
+    for (int visited = 0; visited < tablesToVisit && records < pageSize; visited++) {
+      TableName table = tables.poll();
+      List<T> found = recordFinder.findRecords(table, Math.min(maxRecordsPerTable, pageSize - records));
+      if (!found.isEmpty()) {
+        tables.add(table);
+        tableRecords.add(found);
+        records += found.size();
+      }
+    }
+    return interleave(tableRecords, records);
+  }
+
+  private static <T> List<T> interleave(List<List<T>> tableRecords, int records) {
+    List<T> page = new ArrayList<>(records);
+    for (int rank = 0; page.size() < records; rank++) {
+      for (List<T> found : tableRecords) {
+        if (rank < found.size()) {
+          page.add(found.get(rank));
+        }
+      }
+    }
+    return page;
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.expediagroup.beekeeper.core.error.BeekeeperException;
+
+/**
+ * Creates the pools of daemon threads the cleanups run on, and runs the items of a page on them.
+ */
+public final class WorkerThreads {
+
+  private static final long KEEP_ALIVE_SECONDS = 60L;
+
+  private WorkerThreads() {}
+
+  /**
+   * Creates a pool of at most {@code threads} threads, which are only kept while they are busy every now and then.
+   *
+   * @param threadNamePrefix Prefix of the names of the threads, followed by their number.
+   */
+  public static ExecutorService newFixedPool(String threadNamePrefix, int threads) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), daemonThreads(threadNamePrefix));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Creates a pool with as many threads as tasks in flight, the number of tasks having to be bounded by the caller.
+   *
+   * @param threadNamePrefix Prefix of the names of the threads, followed by their number.
+   */
+  public static ExecutorService newCachedPool(String threadNamePrefix) {
+    return Executors.newCachedThreadPool(daemonThreads(threadNamePrefix));
+  }
+
+  /**
+   * Runs {@code task} on every item and returns once all the items have been processed. Each item runs on the executor
+   * {@code executorOf} returns for it, or on the calling thread when it returns null.
+   * <p>
+   * The items are isolated from each other: a failing item doesn't stop the others, its failure is only thrown once all
+   * the items have been run.
+   *
+   * @throws RuntimeException The first failure of the items, with the failures of the other items suppressed.
+   */
+  public static <T> void runAll(List<T> items, Function<T, Executor> executorOf, Consumer<T> task) {
+    List<Throwable> failures = new ArrayList<>();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (T item : items) {
+      Executor executor = executorOf.apply(item);
+      if (executor == null) {
+        try {
+          task.accept(item);
+        } catch (RuntimeException e) {
+          failures.add(e);
+        }
+      } else {
+        futures.add(CompletableFuture.runAsync(() -> task.accept(item), executor));
+      }
+    }
+    for (CompletableFuture<Void> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(f -> f.cancel(false));
+        throw new BeekeeperException("Interrupted waiting for the items of a page", e);
+      } catch (ExecutionException e) {
+        failures.add(e.getCause());
+      }
+    }
+    if (!failures.isEmpty()) {
+      throw failure(failures);
+    }
+  }
+
+  private static RuntimeException failure(List<Throwable> failures) {
+    Throwable first = failures.get(0);
+    if (first instanceof Error) {
+      throw (Error) first;
+    }
+    RuntimeException failure = first instanceof RuntimeException
+        ? (RuntimeException) first
+        : new BeekeeperException("Unexpected error processing the items of a page", first);
+    failures.stream().skip(1).filter(other -> other != failure).forEach(failure::addSuppressed);
+    return failure;
+  }
+
+  private static ThreadFactory daemonThreads(String threadNamePrefix) {
+    AtomicInteger threadCount = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class AsyncPermitsTest {
+
+  private final AsyncPermits permits = new AsyncPermits(1);
+
+  @Test
+  void typical() {
+    CompletableFuture<String> first = new CompletableFuture<>();
+    CompletableFuture<String> second = new CompletableFuture<>();
+
+    CompletableFuture<String> firstResult = permits.run(() -> first);
+    CompletableFuture<String> secondResult = permits.run(() -> second);
+    CompletableFuture<Void> noWaiters = permits.awaitNoWaiters();
+
+    assertThat(noWaiters).isNotDone();
+    first.complete("first");
+    assertThat(firstResult).isCompletedWithValue("first");
+    assertThat(noWaiters).isDone();
+    assertThat(secondResult).isNotDone();
+    second.complete("second");
+    assertThat(secondResult).isCompletedWithValue("second");
+  }
+
+  @Test
+  void permitIsReleasedOnFailure() {
+    CompletableFuture<String> failed = permits.run(() -> CompletableFuture.failedFuture(new IllegalStateException()));
+    CompletableFuture<String> thrown = permits.run(() -> {
+      throw new IllegalStateException();
+    });
+    CompletableFuture<String> next = permits.run(() -> CompletableFuture.completedFuture("next"));
+
+    assertThat(failed).isCompletedExceptionally();
+    assertThat(thrown).isCompletedExceptionally();
+    assertThat(next).isCompletedWithValue("next");
+  }
+
+  @Test
+  void awaitNoWaitersWhenIdle() {
+    assertThat(permits.awaitNoWaiters()).isDone();
+  }
+}
@@ -0,0 +1,353 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.testcontainers.containers.localstack.LocalStackContainer.Service.S3;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.hadoop.fs.s3a.BasicAWSCredentialsProvider;
+import org.junit.Rule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+@Testcontainers
+class AsyncS3ClientTest {
+
+  private final String content = "content";
+  private final String keyRoot = "table/partition_1";
+  private final String key1 = "table/partition_1/file1";
+  private final String key2 = "table/partition_1/file2";
+  private final String bucket = "bucket";
+
+  private AsyncS3Client s3Client;
+  private AsyncS3Client s3ClientDryRun;
+  private AmazonS3 amazonS3;
+
+  @Rule
+  public static LocalStackContainer awsContainer = new LocalStackContainer(
+      DockerImageName.parse("localstack/localstack:0.14.2")).withServices(S3);
+
+  static {
+    awsContainer.start();
+  }
+
+  public static String S3_ENDPOINT = awsContainer.getEndpointOverride(S3).toString();
+
+  @BeforeEach
+  void setUp() {
+    amazonS3 = AmazonS3ClientBuilder
+        .standard()
+        .withCredentials(new BasicAWSCredentialsProvider("accesskey", "secretkey"))
+        .withEndpointConfiguration(
+            new AwsClientBuilder.EndpointConfiguration(S3_ENDPOINT, "region")).build();
+    amazonS3.createBucket(bucket);
+    emptyBucket(bucket);
+    assertThat(amazonS3.listObjectsV2(bucket).getObjectSummaries()).isEmpty();
+    s3Client = newAsyncS3Client(false, 1, 1);
+    s3ClientDryRun = newAsyncS3Client(true, 1, 1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    s3Client.close();
+    s3ClientDryRun.close();
+  }
+
+  private AsyncS3Client newAsyncS3Client(boolean dryRunEnabled, int deleteConcurrency, int listParallelism) {
+    S3AsyncClient s3AsyncClient = S3AsyncClient.builder()
+        .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("accesskey", "secretkey")))
+        .endpointOverride(URI.create(S3_ENDPOINT))
+        .region(Region.US_EAST_1)
+        .forcePathStyle(true)
+        .build();
+    return new AsyncS3Client(s3AsyncClient, S3ClientOptions.builder()
+        .dryRunEnabled(dryRunEnabled)
+        .deleteConcurrency(deleteConcurrency)
+        .listParallelism(listParallelism)
+        .build());
+  }
+
+  private void emptyBucket(String bucket) {
+    ListObjectsV2Result listObjectsV2Result;
+    String continuationToken = null;
+    do {
+      ListObjectsV2Request request = new ListObjectsV2Request()
+          .withBucketName(bucket)
+          .withContinuationToken(continuationToken);
+      listObjectsV2Result = amazonS3.listObjectsV2(request);
+      DeleteObjectsRequest deleteObjectsRequest = new DeleteObjectsRequest(bucket);
+      List<String> keys = listObjectsV2Result
+          .getObjectSummaries()
+          .stream()
+          .map(S3ObjectSummary::getKey)
+          .collect(Collectors.toList());
+      if (keys.size() > 0) {
+        amazonS3.deleteObjects(deleteObjectsRequest.withKeys(keys.toArray(new String[] {})));
+      }
+      continuationToken = listObjectsV2Result.getNextContinuationToken();
+    } while (listObjectsV2Result.isTruncated());
+  }
+
+  @Test
+  void deleteObject() {
+    amazonS3.putObject(bucket, key1, content);
+    s3Client.deleteObject(bucket, key1);
+    assertThat(amazonS3.doesObjectExist(bucket, key1)).isFalse();
+  }
+
+  @Test
+  void deleteObjectDryRun() {
+    amazonS3.putObject(bucket, key1, content);
+    s3ClientDryRun.deleteObject(bucket, key1);
+    assertThat(amazonS3.doesObjectExist(bucket, key1)).isTrue();
+  }
+
+  @Test
+  void deleteObjectsWithSpace() {
+    String spacedKey1 = keyRoot + "/ /file1";
+    String spacedKey2 = keyRoot + "/ /file2";
+    amazonS3.putObject(bucket, spacedKey1, content);
+    amazonS3.putObject(bucket, spacedKey2, content);
+
+    List<String> result = s3Client.deleteObjects(bucket, List.of(spacedKey1, spacedKey2));
+
+    assertThat(result).containsExactly(spacedKey1, spacedKey2);
+    assertThat(amazonS3.doesObjectExist(bucket, spacedKey1)).isFalse();
+    assertThat(amazonS3.doesObjectExist(bucket, spacedKey2)).isFalse();
+  }
+
+  @Test
+  void deleteObjectsInDirectoryDryRun() {
+    amazonS3.putObject(bucket, key1, content);
+    amazonS3.putObject(bucket, key2, content);
+
+    List<String> result = s3ClientDryRun.deleteObjects(bucket, List.of(key1, key2));
+
+    assertThat(result).containsExactly(key1, key2);
+    assertThat(amazonS3.doesObjectExist(bucket, key1)).isTrue();
+    assertThat(amazonS3.doesObjectExist(bucket, key2)).isTrue();
+  }
+
+  @Test
+  void splitDeleteObjectsConcurrently() {
+    AsyncS3Client concurrentS3Client = newAsyncS3Client(false, 2, 1);
+    List<String> keys = new ArrayList<>();
+    for (int i = 1; i <= 2500; i++) {
+      keys.add(keyRoot + "/file" + i);
+    }
+    keys.parallelStream().forEach(key -> amazonS3.putObject(bucket, key, content));
+
+    List<String> result = concurrentS3Client.deleteObjects(bucket, keys);
+
+    assertThat(result).containsExactlyElementsOf(keys);
+    assertThat(amazonS3.listObjectsV2(bucket, keyRoot).getObjectSummaries()).isEmpty();
+    concurrentS3Client.close();
+  }
+
+  @Test
+  void listObjectsWithSpace() {
+    String spacedKey1 = keyRoot + "/ /file1";
+    String spacedKey2 = keyRoot + "/ /file2";
+    amazonS3.putObject(bucket, spacedKey1, content);
+    amazonS3.putObject(bucket, spacedKey2, content);
+
+    List<S3ObjectSummary> result = s3Client.listObjects(bucket, keyRoot);
+
+    assertThat(result.size()).isEqualTo(2);
+    assertThat(result.get(0).getBucketName()).isEqualTo(bucket);
+    assertThat(result.get(0).getKey()).isEqualTo(spacedKey1);
+    assertThat(result.get(0).getSize()).isEqualTo(content.length());
+    assertThat(result.get(1).getKey()).isEqualTo(spacedKey2);
+  }
+
+  @Test
+  void listObjectsPageByPage() {
+    int s3BatchSize = 1000;
+    int extraKeys = 100;
+    List<String> keys = new ArrayList<>();
+    for (int i = 1; i <= s3BatchSize + extraKeys; i++) {
+      keys.add(keyRoot + "/file" + i);
+    }
+    keys.parallelStream().forEach(key -> amazonS3.putObject(bucket, key, content));
+
+    List<Integer> pageSizes = new ArrayList<>();
+    s3Client.listObjects(bucket, keyRoot, page -> pageSizes.add(page.size()));
+
+    assertThat(pageSizes).containsExactly(s3BatchSize, extraKeys);
+  }
+
+  @Test
+  void listObjectsPageByPageOnCallingThread() {
+    amazonS3.putObject(bucket, key1, content);
+    Thread caller = Thread.currentThread();
+
+    List<Thread> consumerThreads = new ArrayList<>();
+    s3Client.listObjects(bucket, keyRoot, page -> consumerThreads.add(Thread.currentThread()));
+
+    assertThat(consumerThreads).containsExactly(caller);
+  }
+
+  @Test
+  void listObjectsBySubPrefixInParallel() {
+    AsyncS3Client parallelS3Client = newAsyncS3Client(false, 1, 3);
+    List<String> keys = new ArrayList<>();
+    keys.add("table/file0");
+    keys.add("table/partition= /file1");
+    for (int i = 1; i <= 10; i++) {
+      keys.add("table/partition=" + i + "/file1");
+      keys.add("table/partition=" + i + "/nested/file2");
+    }
+    keys.parallelStream().forEach(key -> amazonS3.putObject(bucket, key, content));
+
+    List<String> result = new ArrayList<>();
+    parallelS3Client.listObjects(bucket, "table/", page -> page.forEach(summary -> result.add(summary.getKey())));
+
+    assertThat(result).containsExactlyInAnyOrderElementsOf(keys);
+    parallelS3Client.close();
+  }
+
+  @Test
+  void listObjectsBySubPrefixStartAfter() {
+    AsyncS3Client parallelS3Client = newAsyncS3Client(false, 1, 3);
+    List<String> keys = List.of("table/partition=1/file1", "table/partition=1/file2", "table/partition=2/file1");
+    keys.forEach(key -> amazonS3.putObject(bucket, key, content));
+
+    List<String> result = new ArrayList<>();
+    parallelS3Client.listObjects(bucket, "table/", keys.get(0),
+        page -> page.forEach(summary -> result.add(summary.getKey())));
+
+    assertThat(result).containsExactlyInAnyOrderElementsOf(keys.subList(1, 3));
+    parallelS3Client.close();
+  }
+
+  @Test
+  void classifyPath() {
+    amazonS3.putObject(bucket, key1, content);
+    amazonS3.putObject(bucket, "table/partition_10/file1", content);
+
+    S3PathClassification file = s3Client.classifyPath(bucket, key1);
+    S3PathClassification directory = s3Client.classifyPath(bucket, keyRoot);
+
+    assertThat(file.isFile()).isTrue();
+    assertThat(file.getFile().getSize()).isEqualTo(content.length());
+    assertThat(directory.isFile()).isFalse();
+    assertThat(directory.getFirstChildren()).extracting(S3ObjectSummary::getKey).containsExactly(key1);
+    assertThat(directory.isComplete()).isTrue();
+  }
+
+  @Test
+  void listObjectsStopsWhenPageConsumerFails() {
+    List<String> keys = new ArrayList<>();
+    for (int i = 1; i <= 1100; i++) {
+      keys.add(keyRoot + "/file" + i);
+    }
+    keys.parallelStream().forEach(key -> amazonS3.putObject(bucket, key, content));
+
+    List<Integer> pageSizes = new ArrayList<>();
+    assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> s3Client.listObjects(bucket, keyRoot,
+        page -> {
+          pageSizes.add(page.size());
+          throw new IllegalStateException("Error");
+        }));
+    assertThat(pageSizes).containsExactly(1000);
+  }
+
+  @Test
+  void listObjectsPageByPageForEmptyDirectory() {
+    List<List<S3ObjectSummary>> pages = new ArrayList<>();
+    s3Client.listObjects(bucket, keyRoot, pages::add);
+    assertThat(pages).isEmpty();
+  }
+
+  @Test
+  void deleteObjectsEmptyRequest() {
+    List<String> result = s3Client.deleteObjects(bucket, Collections.emptyList());
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  void doesObjectExistForFileWithSpaceInKey() {
+    String spacedKey = key2 + "/ /file";
+    amazonS3.putObject(bucket, spacedKey, content);
+    assertThat(s3Client.doesObjectExist(bucket, spacedKey)).isTrue();
+  }
+
+  @Test
+  void doesObjectExistForDirectory() {
+    amazonS3.putObject(bucket, key2, content);
+    assertThat(s3Client.doesObjectExist(bucket, keyRoot)).isFalse();
+    assertThat(s3Client.doesObjectExist(bucket, keyRoot + "/")).isFalse();
+  }
+
+  @Test
+  void getObjectSize() {
+    amazonS3.putObject(bucket, key2, content);
+    assertThat(s3Client.getObjectMetadata(bucket, key2).getContentLength()).isEqualTo(content.length());
+  }
+
+  @Test
+  void getObjectSizeForEmptyFile() {
+    amazonS3.putObject(bucket, key2, "");
+    assertThat(s3Client.getObjectMetadata(bucket, key2).getContentLength()).isEqualTo(0L);
+  }
+
+  @Test
+  void isEmptyForNonEmptyDirectory() {
+    amazonS3.putObject(bucket, key1, content);
+    assertThat(s3Client.isEmpty(bucket, keyRoot, null)).isFalse();
+  }
+
+  @Test
+  void isEmptyForEmptyDirectory() {
+    assertThat(s3Client.isEmpty(bucket, keyRoot, null)).isTrue();
+  }
+
+  @Test
+  void isEmptyDryRunForNonEmptyDirectoryAndCorrectLeafKey() {
+    amazonS3.putObject(bucket, key1, content);
+    assertThat(s3ClientDryRun.isEmpty(bucket, "table", keyRoot)).isTrue();
+  }
+
+  @Test
+  void isEmptyDryRunForOtherHighLevelDirectory() {
+    amazonS3.putObject(bucket, "table/partition_2", content);
+    assertThat(s3ClientDryRun.isEmpty(bucket, "table", keyRoot)).isFalse();
+  }
+}
@@ -16,79 +16,40 @@
 package com.expediagroup.beekeeper.cleanup.aws;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 
-@ExtendWith(MockitoExtension.class)
 class S3BytesDeletedCalculatorTest {
 
   private long contentBytes = "content".getBytes().length;
-  private String bucket = "bucket";
   private String key1 = "db/table/id/partition1/file1";
   private String key2 = "db/table/id/partition1/file2";
   private String key3 = "db/table/id/partition1/file3";
-  private ObjectMetadata objectMetadata = new ObjectMetadata();
-  private @Mock S3Client s3Client;
-  private S3BytesDeletedCalculator s3BytesDeletedCalculator;
-
-  @BeforeEach
-  void setUp() {
-    s3BytesDeletedCalculator = new S3BytesDeletedCalculator(s3Client);
-  }
-
-  @Test
-  void typicalKeySuccessfullyDeleted() {
-    objectMetadata.setContentLength(contentBytes);
-    when(s3Client.getObjectMetadata(any(), any())).thenReturn(objectMetadata);
-    s3BytesDeletedCalculator.storeFileSize(bucket, key1);
-    s3BytesDeletedCalculator.calculateBytesDeleted(List.of(key1));
-    assertThat(s3BytesDeletedCalculator.getBytesDeleted()).isEqualTo(contentBytes);
-  }
-
-  @Test
-  void differentKeyDeleted() {
-    objectMetadata.setContentLength(contentBytes);
-    when(s3Client.getObjectMetadata(any(), any())).thenReturn(objectMetadata);
-    s3BytesDeletedCalculator.storeFileSize(bucket, key1);
-    s3BytesDeletedCalculator.calculateBytesDeleted(List.of(key2));
-    assertThat(s3BytesDeletedCalculator.getBytesDeleted()).isEqualTo(0);
-  }
+  private S3BytesDeletedCalculator s3BytesDeletedCalculator = new S3BytesDeletedCalculator();
 
   @Test
-  void allObjectsSuccessfullyDeleted() {
-    List<S3ObjectSummary> objectSummaries = objectSummaries(key1, key2, key3);
-    s3BytesDeletedCalculator.storeFileSizes(objectSummaries);
-    s3BytesDeletedCalculator.calculateBytesDeleted(Arrays.asList(key1, key2, key3));
+  void batchSuccessfullyDeleted() {
+    s3BytesDeletedCalculator.calculateBytesDeleted(objectSummaries(key1, key2), Arrays.asList(key1, key2));
+    s3BytesDeletedCalculator.calculateBytesDeleted(objectSummaries(key3), List.of(key3));
     assertThat(s3BytesDeletedCalculator.getBytesDeleted()).isEqualTo(contentBytes * 3);
   }
 
   @Test
-  void someObjectsSuccessfullyDeleted() {
-    List<S3ObjectSummary> objectSummaries = objectSummaries(key1, key2, key3);
-    s3BytesDeletedCalculator.storeFileSizes(objectSummaries);
-    s3BytesDeletedCalculator.calculateBytesDeleted(Arrays.asList(key1));
-    assertThat(s3BytesDeletedCalculator.getBytesDeleted()).isEqualTo(contentBytes);
+  void batchPartiallyDeleted() {
+    s3BytesDeletedCalculator.calculateBytesDeleted(objectSummaries(key1, key2, key3), Arrays.asList(key3, key1));
+    assertThat(s3BytesDeletedCalculator.getBytesDeleted()).isEqualTo(contentBytes * 2);
   }
 
   @Test
-  void noObjectsSuccessfullyDeleted() {
-    List<S3ObjectSummary> objectSummaries = objectSummaries(key1, key2, key3);
-    s3BytesDeletedCalculator.storeFileSizes(objectSummaries);
-    s3BytesDeletedCalculator.calculateBytesDeleted(Collections.emptyList());
+  void batchNotDeleted() {
+    s3BytesDeletedCalculator.calculateBytesDeleted(objectSummaries(key1, key2, key3), Collections.emptyList());
     assertThat(s3BytesDeletedCalculator.getBytesDeleted()).isEqualTo(0);
   }
 
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.jupiter.api.Test;
+
+class S3ClientOptionsTest {
+
+  @Test
+  void defaults() {
+    S3ClientOptions options = S3ClientOptions.builder().build();
+
+    assertThat(options.isDryRunEnabled()).isFalse();
+    assertThat(options.getDeleteConcurrency()).isEqualTo(1);
+    assertThat(options.getListParallelism()).isEqualTo(1);
+    assertThat(options.getDeleteRetryPolicy()).isSameAs(S3DeleteRetryPolicy.none());
+    assertThat(options.getRateLimiter()).isNull();
+  }
+
+  @Test
+  void zeroDeleteConcurrency() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> S3ClientOptions.builder().deleteConcurrency(0).build());
+  }
+
+  @Test
+  void zeroListParallelism() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> S3ClientOptions.builder().listParallelism(0).build());
+  }
+
+  @Test
+  void nullDeleteRetryPolicy() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> S3ClientOptions.builder().deleteRetryPolicy(null).build());
+  }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+
+@ExtendWith(MockitoExtension.class)
+class S3ClientRegistryTest {
+
+  private @Mock AmazonS3 defaultClient;
+  private @Mock Function<String, AmazonS3> regionalClientFactory;
+
+  private final AmazonS3 euClient = mock(AmazonS3.class);
+  private S3ClientRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new S3ClientRegistry(defaultClient, regionalClientFactory);
+  }
+
+  @Test
+  void singleClient() {
+    registry = new S3ClientRegistry(defaultClient);
+
+    assertThat(registry.clientFor("bucket")).isSameAs(defaultClient);
+    verify(defaultClient, never()).getBucketLocation(anyString());
+  }
+
+  @Test
+  void regionalClient() {
+    when(defaultClient.getRegionName()).thenReturn("us-west-2");
+    when(defaultClient.getBucketLocation("bucket")).thenReturn("eu-west-1");
+    when(regionalClientFactory.apply("eu-west-1")).thenReturn(euClient);
+
+    assertThat(registry.clientFor("bucket")).isSameAs(euClient);
+  }
+
+  @Test
+  void regionLookedUpOncePerBucket() {
+    when(defaultClient.getRegionName()).thenReturn("us-west-2");
+    when(defaultClient.getBucketLocation("bucket")).thenReturn("eu-west-1");
+    when(regionalClientFactory.apply("eu-west-1")).thenReturn(euClient);
+
+    registry.clientFor("bucket");
+    registry.clientFor("bucket");
+
+    verify(defaultClient, times(1)).getBucketLocation("bucket");
+  }
+
+  @Test
+  void clientSharedByTheBucketsOfARegion() {
+    when(defaultClient.getRegionName()).thenReturn("us-west-2");
+    when(defaultClient.getBucketLocation("bucket1")).thenReturn("eu-west-1");
+    when(defaultClient.getBucketLocation("bucket2")).thenReturn("EU");
+    when(regionalClientFactory.apply("eu-west-1")).thenReturn(euClient);
+
+    assertThat(registry.clientFor("bucket1")).isSameAs(euClient);
+    assertThat(registry.clientFor("bucket2")).isSameAs(euClient);
+    verify(regionalClientFactory, times(1)).apply("eu-west-1");
+  }
+
+  @Test
+  void bucketInTheRegionOfTheDefaultClient() {
+    when(defaultClient.getRegionName()).thenReturn("us-east-1");
+    when(defaultClient.getBucketLocation("bucket")).thenReturn("US");
+
+    assertThat(registry.clientFor("bucket")).isSameAs(defaultClient);
+    verify(regionalClientFactory, never()).apply(anyString());
+  }
+
+  @Test
+  void regionLookupFails() {
+    when(defaultClient.getBucketLocation("bucket")).thenThrow(new AmazonS3Exception("Access Denied"));
+
+    assertThat(registry.clientFor("bucket")).isSameAs(defaultClient);
+    assertThat(registry.clientFor("bucket")).isSameAs(defaultClient);
+    verify(defaultClient, times(1)).getBucketLocation("bucket");
+  }
+
+  @Test
+  void regionNames() {
+    assertThat(S3ClientRegistry.toRegionName("US")).isEqualTo("us-east-1");
+    assertThat(S3ClientRegistry.toRegionName("EU")).isEqualTo("eu-west-1");
+    assertThat(S3ClientRegistry.toRegionName("ap-southeast-2")).isEqualTo("ap-southeast-2");
+    assertThat(S3ClientRegistry.toRegionName("xx-new-1")).isEqualTo("xx-new-1");
+  }
+}
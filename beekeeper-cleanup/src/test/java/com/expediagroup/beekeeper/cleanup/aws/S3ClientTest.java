@@ -16,12 +16,18 @@
 package com.expediagroup.beekeeper.cleanup.aws;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 import static org.testcontainers.containers.localstack.LocalStackContainer.Service.S3;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.hadoop.fs.s3a.BasicAWSCredentialsProvider;
@@ -30,16 +36,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.testcontainers.containers.localstack.LocalStackContainer;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
@@ -197,6 +207,118 @@ class S3ClientTest {
     assertThat(result.size()).isEqualTo(s3BatchSize + extraKeys);
   }
 
+  @Test
+  void listObjectsPageByPage() {
+    int s3BatchSize = 1000;
+    int extraKeys = 100;
+    List<String> keys = new ArrayList<>();
+    for (int i = 1; i <= s3BatchSize + extraKeys; i++) {
+      keys.add(keyRoot + "/file" + i);
+    }
+    keys.parallelStream().forEach(key -> amazonS3.putObject(bucket, key, content));
+
+    List<Integer> pageSizes = new ArrayList<>();
+    s3Client.listObjects(bucket, keyRoot, page -> pageSizes.add(page.size()));
+
+    assertThat(pageSizes).containsExactly(s3BatchSize, extraKeys);
+  }
+
+  @Test
+  void listObjectsPageByPageForEmptyDirectory() {
+    List<List<S3ObjectSummary>> pages = new ArrayList<>();
+    s3Client.listObjects(bucket, keyRoot, pages::add);
+    assertThat(pages).isEmpty();
+  }
+
+  @Test
+  void listObjectsBySubPrefixInParallel() {
+    S3Client parallelS3Client = new S3Client(new S3ClientRegistry(amazonS3),
+        S3ClientOptions.builder().listParallelism(3).build());
+    List<String> keys = new ArrayList<>();
+    keys.add("table/file0");
+    keys.add("table/partition= /file1");
+    for (int i = 1; i <= 10; i++) {
+      keys.add("table/partition=" + i + "/file1");
+      keys.add("table/partition=" + i + "/nested/file2");
+    }
+    keys.parallelStream().forEach(key -> amazonS3.putObject(bucket, key, content));
+
+    List<String> result = Collections.synchronizedList(new ArrayList<>());
+    parallelS3Client.listObjects(bucket, "table/", page -> page.forEach(summary -> result.add(summary.getKey())));
+
+    assertThat(result).containsExactlyInAnyOrderElementsOf(keys);
+    parallelS3Client.close();
+  }
+
+  @Test
+  void listObjectsBySubPrefixFails() {
+    AmazonS3 amazonS3 = Mockito.mock(AmazonS3.class);
+    ListObjectsV2Result subPrefixes = new ListObjectsV2Result();
+    subPrefixes.setCommonPrefixes(List.of("table/partition=1/", "table/partition=2/"));
+    when(amazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenAnswer(invocation -> {
+      ListObjectsV2Request request = invocation.getArgument(0);
+      if (request.getDelimiter() != null) {
+        return subPrefixes;
+      }
+      throw new AmazonServiceException("Error");
+    });
+    S3Client parallelS3Client = new S3Client(new S3ClientRegistry(amazonS3),
+        S3ClientOptions.builder().listParallelism(2).build());
+
+    assertThatExceptionOfType(AmazonServiceException.class)
+        .isThrownBy(() -> parallelS3Client.listObjects(bucket, "table/", page -> {}));
+    parallelS3Client.close();
+  }
+
+  @Test
+  void listObjectsStartAfter() {
+    amazonS3.putObject(bucket, key1, content);
+    amazonS3.putObject(bucket, key2, content);
+
+    List<String> result = new ArrayList<>();
+    s3Client.listObjects(bucket, keyRoot + "/", key1, page -> page.forEach(summary -> result.add(summary.getKey())));
+
+    assertThat(result).containsExactly(key2);
+  }
+
+  @Test
+  void listObjectsBySubPrefixStartAfter() {
+    S3Client parallelS3Client = new S3Client(new S3ClientRegistry(amazonS3),
+        S3ClientOptions.builder().listParallelism(3).build());
+    List<String> keys = List.of("table/partition=1/file1", "table/partition=1/file2", "table/partition=2/file1");
+    keys.forEach(key -> amazonS3.putObject(bucket, key, content));
+
+    List<String> result = Collections.synchronizedList(new ArrayList<>());
+    parallelS3Client.listObjects(bucket, "table/", keys.get(0),
+        page -> page.forEach(summary -> result.add(summary.getKey())));
+
+    assertThat(result).containsExactlyInAnyOrderElementsOf(keys.subList(1, 3));
+    parallelS3Client.close();
+  }
+
+  @Test
+  void classifyPathForFile() {
+    amazonS3.putObject(bucket, key1, content);
+    amazonS3.putObject(bucket, key1 + "/nested", content);
+
+    S3PathClassification result = s3Client.classifyPath(bucket, key1);
+
+    assertThat(result.isFile()).isTrue();
+    assertThat(result.getFile().getSize()).isEqualTo(content.length());
+  }
+
+  @Test
+  void classifyPathForDirectory() {
+    amazonS3.putObject(bucket, key1, content);
+    amazonS3.putObject(bucket, "table/partition_10/file1", content);
+
+    S3PathClassification result = s3Client.classifyPath(bucket, keyRoot);
+
+    assertThat(result.isFile()).isFalse();
+    assertThat(result.getFirstChildren()).extracting(S3ObjectSummary::getKey).containsExactly(key1);
+    assertThat(result.isComplete()).isTrue();
+  }
+
   @Test
   void deleteObjectsInDirectory() {
     amazonS3.putObject(bucket, key1, content);
@@ -230,6 +352,119 @@ class S3ClientTest {
     assertThat(keys).isEqualTo(result);
   }
 
+  @Test
+  void splitDeleteObjectsConcurrently() {
+    S3Client concurrentS3Client = new S3Client(new S3ClientRegistry(amazonS3),
+        S3ClientOptions.builder().deleteConcurrency(3).build());
+    List<String> keys = new ArrayList<>();
+    for (int i = 1; i <= 2500; i++) {
+      keys.add(keyRoot + "/file" + i);
+    }
+    keys.parallelStream().forEach(key -> amazonS3.putObject(bucket, key, content));
+
+    List<String> result = concurrentS3Client.deleteObjects(bucket, keys);
+
+    assertThat(result).isEqualTo(keys);
+    assertThat(amazonS3.listObjectsV2(bucket, keyRoot).getObjectSummaries()).isEmpty();
+    concurrentS3Client.close();
+  }
+
+  @Test
+  void deleteObjectsConcurrencyIsBoundedPerBucket() {
+    AmazonS3 amazonS3 = Mockito.mock(AmazonS3.class);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    when(amazonS3.deleteObjects(any())).thenAnswer(invocation -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      Thread.sleep(50);
+      inFlight.decrementAndGet();
+      DeleteObjectsRequest request = invocation.getArgument(0);
+      return new DeleteObjectsResult(request.getKeys()
+          .stream()
+          .map(keyVersion -> {
+            DeleteObjectsResult.DeletedObject deletedObject = new DeleteObjectsResult.DeletedObject();
+            deletedObject.setKey(keyVersion.getKey());
+            return deletedObject;
+          })
+          .collect(Collectors.toList()));
+    });
+    S3Client concurrentS3Client = new S3Client(new S3ClientRegistry(amazonS3),
+        S3ClientOptions.builder().deleteConcurrency(2).build());
+    List<String> keys = new ArrayList<>();
+    for (int i = 1; i <= 5000; i++) {
+      keys.add(keyRoot + "/file" + i);
+    }
+
+    List<String> result = concurrentS3Client.deleteObjects(bucket, keys);
+
+    assertThat(result).isEqualTo(keys);
+    assertThat(maxInFlight.get()).isEqualTo(2);
+    verify(amazonS3, times(5)).deleteObjects(any());
+    concurrentS3Client.close();
+  }
+
+  @Test
+  void deleteObjectsConcurrentlyFails() {
+    AmazonS3 amazonS3 = Mockito.mock(AmazonS3.class);
+    when(amazonS3.deleteObjects(any())).thenThrow(new AmazonServiceException("Error"));
+    S3Client concurrentS3Client = new S3Client(new S3ClientRegistry(amazonS3),
+        S3ClientOptions.builder().deleteConcurrency(2).build());
+
+    assertThatExceptionOfType(AmazonServiceException.class)
+        .isThrownBy(() -> concurrentS3Client.deleteObjects(bucket, List.of(key1, key2)));
+    concurrentS3Client.close();
+  }
+
+  @Test
+  void deleteObjectsRetriesOnlyFailedKeys() {
+    AmazonS3 amazonS3 = Mockito.mock(AmazonS3.class);
+    when(amazonS3.deleteObjects(any()))
+        .thenThrow(multiObjectDeleteException(List.of(key1), key2, "SlowDown"))
+        .thenReturn(new DeleteObjectsResult(List.of(deletedObject(key2))));
+    S3Client retryingS3Client = new S3Client(new S3ClientRegistry(amazonS3),
+        S3ClientOptions.builder().deleteRetryPolicy(new S3DeleteRetryPolicy(2, 0L)).build());
+
+    List<String> result = retryingS3Client.deleteObjects(bucket, List.of(key1, key2));
+
+    assertThat(result).containsExactly(key1, key2);
+    ArgumentCaptor<DeleteObjectsRequest> requestCaptor = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+    verify(amazonS3, times(2)).deleteObjects(requestCaptor.capture());
+    assertThat(requestCaptor.getAllValues().get(1).getKeys())
+        .extracting(DeleteObjectsRequest.KeyVersion::getKey)
+        .containsExactly(key2);
+    retryingS3Client.close();
+  }
+
+  @Test
+  void deleteObjectsDoesNotRetryNonRetryableErrors() {
+    AmazonS3 amazonS3 = Mockito.mock(AmazonS3.class);
+    when(amazonS3.deleteObjects(any())).thenThrow(multiObjectDeleteException(List.of(key1), key2, "AccessDenied"));
+    S3Client retryingS3Client = new S3Client(new S3ClientRegistry(amazonS3),
+        S3ClientOptions.builder().deleteRetryPolicy(new S3DeleteRetryPolicy(2, 0L)).build());
+
+    List<String> result = retryingS3Client.deleteObjects(bucket, List.of(key1, key2));
+
+    assertThat(result).containsExactly(key1);
+    verify(amazonS3, times(1)).deleteObjects(any());
+    retryingS3Client.close();
+  }
+
+  @Test
+  void deleteObjectsRetriesAreBounded() {
+    AmazonS3 amazonS3 = Mockito.mock(AmazonS3.class);
+    when(amazonS3.deleteObjects(any()))
+        .thenThrow(multiObjectDeleteException(List.of(key1), key2, "SlowDown"))
+        .thenThrow(multiObjectDeleteException(List.of(), key2, "SlowDown"));
+    S3Client retryingS3Client = new S3Client(new S3ClientRegistry(amazonS3),
+        S3ClientOptions.builder().deleteRetryPolicy(new S3DeleteRetryPolicy(2, 0L)).build());
+
+    List<String> result = retryingS3Client.deleteObjects(bucket, List.of(key1, key2));
+
+    assertThat(result).containsExactly(key1);
+    verify(amazonS3, times(3)).deleteObjects(any());
+    retryingS3Client.close();
+  }
+
   @Test
   void deleteObjectsInDirectoryDryRun() {
     amazonS3.putObject(bucket, key1, content);
@@ -386,4 +621,23 @@ class S3ClientTest {
     assertThat(s3ClientDryRun.isEmpty(bucket, folder2, folder3)).isTrue();
     assertThat(s3ClientDryRun.isEmpty(bucket, folder1, folder2)).isTrue();
   }
+
+  private static MultiObjectDeleteException multiObjectDeleteException(
+      List<String> deletedKeys,
+      String failedKey,
+      String errorCode) {
+    MultiObjectDeleteException.DeleteError error = new MultiObjectDeleteException.DeleteError();
+    error.setKey(failedKey);
+    error.setCode(errorCode);
+    List<DeleteObjectsResult.DeletedObject> deletedObjects = deletedKeys.stream()
+        .map(S3ClientTest::deletedObject)
+        .collect(Collectors.toList());
+    return new MultiObjectDeleteException(List.of(error), deletedObjects);
+  }
+
+  private static DeleteObjectsResult.DeletedObject deletedObject(String key) {
+    DeleteObjectsResult.DeletedObject deletedObject = new DeleteObjectsResult.DeletedObject();
+    deletedObject.setKey(key);
+    return deletedObject;
+  }
 }
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.jupiter.api.Test;
+
+class S3DeleteRetryPolicyTest {
+
+  @Test
+  void delayIsBoundedByBackoff() {
+    S3DeleteRetryPolicy policy = new S3DeleteRetryPolicy(3, 100L);
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(policy.delayMillis(1)).isBetween(0L, 100L);
+      assertThat(policy.delayMillis(2)).isBetween(0L, 200L);
+      assertThat(policy.delayMillis(3)).isBetween(0L, 400L);
+    }
+  }
+
+  @Test
+  void delayOfLateRoundsDoesNotOverflow() {
+    S3DeleteRetryPolicy policy = new S3DeleteRetryPolicy(100, 100L);
+
+    assertThat(policy.delayMillis(100)).isBetween(0L, 100L << 20);
+  }
+
+  @Test
+  void noDelay() {
+    S3DeleteRetryPolicy policy = new S3DeleteRetryPolicy(3, 0L);
+
+    assertThat(policy.delayMillis(1)).isZero();
+    assertThat(policy.delayMillis(3)).isZero();
+  }
+
+  @Test
+  void none() {
+    assertThat(S3DeleteRetryPolicy.none().getMaxRounds()).isZero();
+  }
+
+  @Test
+  void retryableErrorCodes() {
+    S3DeleteRetryPolicy policy = new S3DeleteRetryPolicy(3, 100L);
+
+    assertThat(policy.isRetryable("SlowDown")).isTrue();
+    assertThat(policy.isRetryable("InternalError")).isTrue();
+    assertThat(policy.isRetryable(null)).isTrue();
+    assertThat(policy.isRetryable("AccessDenied")).isFalse();
+    assertThat(policy.isRetryable("NoSuchBucket")).isFalse();
+  }
+
+  @Test
+  void negativeRounds() {
+    assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new S3DeleteRetryPolicy(-1, 100L));
+  }
+
+  @Test
+  void negativeDelay() {
+    assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new S3DeleteRetryPolicy(3, -1L));
+  }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpoint;
+import com.expediagroup.beekeeper.core.service.DeletionCheckpointService;
+
+@ExtendWith(MockitoExtension.class)
+class S3DeletionCheckpointerTest {
+
+  private final HousekeepingPath housekeepingPath = new HousekeepingPath();
+  private @Mock DeletionCheckpointService checkpointService;
+
+  @Test
+  void checkpointEveryInterval() {
+    S3DeletionCheckpointer checkpointer = checkpointer(3L, Optional.empty());
+
+    checkpointer.batchCompleted(checkpointer.nextBatch(), List.of(object("a", 1L), object("b", 2L)), 2);
+    verifyNoInteractions(checkpointService);
+    checkpointer.batchCompleted(checkpointer.nextBatch(), List.of(object("c", 4L)), 1);
+    verify(checkpointService).saveCheckpoint(housekeepingPath, "c", 3L, 7L);
+  }
+
+  @Test
+  void checkpointOnlyMovesPastContiguousBatches() {
+    S3DeletionCheckpointer checkpointer = checkpointer(1L, Optional.empty());
+    long first = checkpointer.nextBatch();
+    long second = checkpointer.nextBatch();
+
+    checkpointer.batchCompleted(second, List.of(object("b", 2L)), 1);
+    verifyNoInteractions(checkpointService);
+    checkpointer.batchCompleted(first, List.of(object("a", 1L)), 1);
+    verify(checkpointService).saveCheckpoint(housekeepingPath, "b", 2L, 3L);
+  }
+
+  @Test
+  void checkpointStopsMovingOnceABatchFails() {
+    S3DeletionCheckpointer checkpointer = checkpointer(10L, Optional.empty());
+    long first = checkpointer.nextBatch();
+    long second = checkpointer.nextBatch();
+    long third = checkpointer.nextBatch();
+
+    checkpointer.batchCompleted(first, List.of(object("a", 1L)), 1);
+    checkpointer.batchCompleted(third, List.of(object("c", 1L)), 1);
+    checkpointer.batchCompleted(second, List.of(object("b", 1L), object("b2", 1L)), 1);
+
+    assertThat(checkpointer.saveProgress()).isTrue();
+    verify(checkpointService).saveCheckpoint(housekeepingPath, "a", 1L, 1L);
+    verifyNoMoreInteractions(checkpointService);
+  }
+
+  @Test
+  void noProgress() {
+    S3DeletionCheckpointer checkpointer = checkpointer(10L, Optional.empty());
+    checkpointer.nextBatch();
+    checkpointer.batchFailed();
+
+    assertThat(checkpointer.saveProgress()).isFalse();
+    checkpointer.deleteCheckpoint();
+    verifyNoInteractions(checkpointService);
+  }
+
+  @Test
+  void resumeFromCheckpoint() {
+    DeletionCheckpoint checkpoint = DeletionCheckpoint.builder()
+        .lastDeletedKey("b")
+        .objectsDeleted(2L)
+        .bytesDeleted(20L)
+        .build();
+    S3DeletionCheckpointer checkpointer = checkpointer(1L, Optional.of(checkpoint));
+
+    checkpointer.batchCompleted(checkpointer.nextBatch(), List.of(object("c", 5L)), 1);
+    verify(checkpointService).saveCheckpoint(housekeepingPath, "c", 3L, 25L);
+    checkpointer.deleteCheckpoint();
+    verify(checkpointService).deleteCheckpoint(housekeepingPath);
+  }
+
+  @Test
+  void noCheckpointWhenNotInKeyOrder() {
+    DeletionCheckpoint checkpoint = DeletionCheckpoint.builder().lastDeletedKey("b").build();
+    S3DeletionCheckpointer checkpointer = new S3DeletionCheckpointer(checkpointService, housekeepingPath, 1L,
+        Optional.of(checkpoint), false);
+
+    checkpointer.batchCompleted(checkpointer.nextBatch(), List.of(object("c", 5L)), 1);
+    assertThat(checkpointer.saveProgress()).isFalse();
+    verify(checkpointService, never()).saveCheckpoint(any(), anyString(), anyLong(), anyLong());
+    checkpointer.deleteCheckpoint();
+    verify(checkpointService).deleteCheckpoint(housekeepingPath);
+  }
+
+  @Test
+  void checkpointFailureIsIgnored() {
+    doThrow(new RuntimeException("Error")).when(checkpointService).saveCheckpoint(housekeepingPath, "a", 1L, 1L);
+    S3DeletionCheckpointer checkpointer = checkpointer(1L, Optional.empty());
+
+    checkpointer.batchCompleted(checkpointer.nextBatch(), List.of(object("a", 1L)), 1);
+    checkpointer.batchCompleted(checkpointer.nextBatch(), List.of(object("b", 1L)), 1);
+    verify(checkpointService).saveCheckpoint(housekeepingPath, "b", 2L, 2L);
+  }
+
+  @Test
+  void none() {
+    S3DeletionCheckpointer checkpointer = S3DeletionCheckpointer.none();
+    checkpointer.batchCompleted(checkpointer.nextBatch(), List.of(object("a", 1L)), 1);
+
+    assertThat(checkpointer.saveProgress()).isFalse();
+    checkpointer.deleteCheckpoint();
+  }
+
+  private S3DeletionCheckpointer checkpointer(long interval, Optional<DeletionCheckpoint> checkpoint) {
+    return new S3DeletionCheckpointer(checkpointService, housekeepingPath, interval, checkpoint, true);
+  }
+
+  private S3ObjectSummary object(String key, long size) {
+    S3ObjectSummary objectSummary = new S3ObjectSummary();
+    objectSummary.setKey(key);
+    objectSummary.setSize(size);
+    return objectSummary;
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter;
+import com.expediagroup.beekeeper.cleanup.path.PathCleaner;
+import com.expediagroup.beekeeper.core.config.FileSystemType;
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.PeriodDuration;
+
+@ExtendWith(MockitoExtension.class)
+class S3InventoryDryRunPathCleanerTest {
+
+  private @Mock S3InventoryReader inventoryReader;
+  private @Mock PathCleaner fallbackPathCleaner;
+  private @Mock BytesDeletedReporter bytesDeletedReporter;
+
+  private S3InventoryDryRunPathCleaner pathCleaner;
+
+  @BeforeEach
+  void setUp() {
+    pathCleaner = new S3InventoryDryRunPathCleaner(inventoryReader, fallbackPathCleaner, bytesDeletedReporter);
+  }
+
+  @Test
+  void typical() {
+    when(inventoryReader.read()).thenReturn(inventory());
+    HousekeepingPath path = housekeepingPath("s3://bucket/table/partition=1");
+
+    pathCleaner.cleanupPath(path);
+
+    verify(bytesDeletedReporter).reportTaggable(30L, path, FileSystemType.S3);
+    verifyNoInteractions(fallbackPathCleaner);
+  }
+
+  @Test
+  void pathOfPage() {
+    when(inventoryReader.read()).thenReturn(inventory());
+    HousekeepingPath path = housekeepingPath("s3a://bucket/table/file");
+
+    pathCleaner.cleanupPathOfPage(path);
+
+    verify(bytesDeletedReporter).reportTaggable(40L, path, FileSystemType.S3);
+  }
+
+  @Test
+  void emptyPathReportsNothing() {
+    when(inventoryReader.read()).thenReturn(inventory());
+
+    pathCleaner.cleanupPath(housekeepingPath("s3://bucket/table/partition=3"));
+
+    verify(bytesDeletedReporter, never()).reportTaggable(anyLong(), any(), any());
+  }
+
+  @Test
+  void bucketNotInInventory() {
+    when(inventoryReader.read()).thenReturn(inventory());
+    HousekeepingPath path = housekeepingPath("s3://other-bucket/table/partition=1");
+    HousekeepingPath pathOfPage = housekeepingPath("s3://other-bucket/table/partition=2");
+
+    pathCleaner.cleanupPath(path);
+    pathCleaner.cleanupPathOfPage(pathOfPage);
+    pathCleaner.completePage();
+    pathCleaner.completeRun();
+
+    verify(fallbackPathCleaner).cleanupPath(path);
+    verify(fallbackPathCleaner).cleanupPathOfPage(pathOfPage);
+    verify(fallbackPathCleaner).completePage();
+    verify(fallbackPathCleaner).completeRun();
+    verifyNoInteractions(bytesDeletedReporter);
+  }
+
+  @Test
+  void inventoryReadOncePerRun() {
+    when(inventoryReader.read()).thenReturn(inventory());
+
+    pathCleaner.cleanupPath(housekeepingPath("s3://bucket/table/partition=1"));
+    pathCleaner.cleanupPath(housekeepingPath("s3://bucket/table/partition=2"));
+    verify(inventoryReader, times(1)).read();
+
+    pathCleaner.completeRun();
+    pathCleaner.cleanupPath(housekeepingPath("s3://bucket/table/partition=1"));
+    verify(inventoryReader, times(2)).read();
+  }
+
+  private S3Inventory inventory() {
+    return new S3Inventory.Builder()
+        .add("bucket", "table/partition=1/file1", 10)
+        .add("bucket", "table/partition=1/file2", 20)
+        .add("bucket", "table/partition=2/file1", 30)
+        .add("bucket", "table/file", 40)
+        .build();
+  }
+
+  private HousekeepingPath housekeepingPath(String path) {
+    return HousekeepingPath
+        .builder()
+        .path(path)
+        .tableName("table")
+        .creationTimestamp(LocalDateTime.now())
+        .cleanupDelay(PeriodDuration.of(Duration.ofDays(1)))
+        .build();
+  }
+}
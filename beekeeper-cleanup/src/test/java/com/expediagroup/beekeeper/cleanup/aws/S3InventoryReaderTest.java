@@ -0,0 +1,183 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.orc.OrcFile;
+import org.apache.orc.TypeDescription;
+import org.apache.orc.Writer;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.GroupWriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.expediagroup.beekeeper.core.error.BeekeeperException;
+
+class S3InventoryReaderTest {
+
+  private static final String BUCKET = "bucket";
+
+  private @TempDir Path inventoryDirectory;
+  private Path manifestDirectory;
+  private Path dataDirectory;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    manifestDirectory = Files.createDirectories(inventoryDirectory.resolve(BUCKET + "/config/2026-10-16T01-00Z"));
+    dataDirectory = Files.createDirectories(inventoryDirectory.resolve(BUCKET + "/config/data"));
+  }
+
+  @Test
+  void csv() throws IOException {
+    writeCsv("file1.csv.gz",
+        "\"bucket\",\"table/partition%3D1/file%201\",\"v1\",\"true\",\"false\",\"10\"",
+        "\"bucket\",\"table/partition%3D1/file%201\",\"v0\",\"false\",\"false\",\"5\"",
+        "\"bucket\",\"table/partition%3D1/file2\",\"v2\",\"true\",\"true\",\"\"");
+    writeCsv("file2.csv.gz", "\"bucket\",\"table/partition%3D2/file1\",\"v1\",\"true\",\"false\",\"20\"");
+    Path manifest = writeManifest("CSV", "Bucket, Key, VersionId, IsLatest, IsDeleteMarker, Size", "file1.csv.gz",
+        "file2.csv.gz");
+
+    S3Inventory inventory = new S3InventoryReader(List.of(manifest)).read();
+
+    assertThat(inventory.getObjectCount()).isEqualTo(2L);
+    assertThat(inventory.usage(BUCKET, "table/partition=1").getBytes()).isEqualTo(10L);
+    assertThat(inventory.usage(BUCKET, "table/partition=1/file 1").getObjects()).isEqualTo(1L);
+    assertThat(inventory.usage(BUCKET, "table").getBytes()).isEqualTo(30L);
+  }
+
+  @Test
+  void orc() throws IOException {
+    TypeDescription schema = TypeDescription
+        .fromString("struct<bucket:string,key:string,size:bigint,is_latest:boolean,is_delete_marker:boolean>");
+    Writer writer = OrcFile
+        .createWriter(new org.apache.hadoop.fs.Path(dataDirectory.resolve("file.orc").toUri()),
+            OrcFile.writerOptions(new Configuration()).setSchema(schema));
+    VectorizedRowBatch batch = schema.createRowBatch();
+    addOrcRow(batch, "table/partition=1/file1", 10L, true);
+    addOrcRow(batch, "table/partition=1/file1", 5L, false);
+    addOrcRow(batch, "table/partition=2/file1", 20L, true);
+    writer.addRowBatch(batch);
+    writer.close();
+    Path manifest = writeManifest("ORC", "struct<bucket:string,key:string,size:bigint>", "file.orc");
+
+    S3Inventory inventory = new S3InventoryReader(List.of(manifest)).read();
+
+    assertThat(inventory.getObjectCount()).isEqualTo(2L);
+    assertThat(inventory.usage(BUCKET, "table/partition=1").getBytes()).isEqualTo(10L);
+    assertThat(inventory.usage(BUCKET, "table").getBytes()).isEqualTo(30L);
+  }
+
+  @Test
+  void parquet() throws IOException {
+    MessageType schema = MessageTypeParser.parseMessageType("message s3_inventory { required binary bucket (UTF8); "
+        + "required binary key (UTF8); optional int64 size; optional boolean is_latest; }");
+    Configuration configuration = new Configuration();
+    GroupWriteSupport.setSchema(schema, configuration);
+    SimpleGroupFactory groups = new SimpleGroupFactory(schema);
+    try (ParquetWriter<Group> writer = new ParquetWriter<>(
+        new org.apache.hadoop.fs.Path(dataDirectory.resolve("file.parquet").toUri()), new GroupWriteSupport(),
+        CompressionCodecName.UNCOMPRESSED, ParquetWriter.DEFAULT_BLOCK_SIZE, ParquetWriter.DEFAULT_PAGE_SIZE,
+        ParquetWriter.DEFAULT_PAGE_SIZE, false, false, ParquetProperties.WriterVersion.PARQUET_1_0, configuration)) {
+      writer.write(groups.newGroup().append("bucket", BUCKET).append("key", "table/partition=1/file1")
+          .append("size", 10L).append("is_latest", true));
+      writer.write(groups.newGroup().append("bucket", BUCKET).append("key", "table/partition=1/file1")
+          .append("size", 5L).append("is_latest", false));
+      writer.write(groups.newGroup().append("bucket", BUCKET).append("key", "table/partition=2/file1")
+          .append("size", 20L).append("is_latest", true));
+    }
+    Path manifest = writeManifest("Parquet", "message s3_inventory", "file.parquet");
+
+    S3Inventory inventory = new S3InventoryReader(List.of(manifest)).read();
+
+    assertThat(inventory.getObjectCount()).isEqualTo(2L);
+    assertThat(inventory.usage(BUCKET, "table/partition=1").getBytes()).isEqualTo(10L);
+    assertThat(inventory.usage(BUCKET, "table").getBytes()).isEqualTo(30L);
+  }
+
+  @Test
+  void unsupportedFormat() throws IOException {
+    Path manifest = writeManifest("JSON", "", "file.json");
+
+    assertThatExceptionOfType(BeekeeperException.class)
+        .isThrownBy(() -> new S3InventoryReader(List.of(manifest)).read())
+        .withMessageContaining(manifest.toString());
+  }
+
+  @Test
+  void missingDataFile() throws IOException {
+    Path manifest = writeManifest("CSV", "Bucket, Key, Size", "missing.csv.gz");
+
+    assertThatExceptionOfType(BeekeeperException.class)
+        .isThrownBy(() -> new S3InventoryReader(List.of(manifest)).read());
+  }
+
+  @Test
+  void csvValues() {
+    assertThat(S3InventoryReader.csvValues("\"bucket\",\"a,b\",\"say \"\"hi\"\"\",\"\""))
+        .containsExactly("bucket", "a,b", "say \"hi\"", "");
+  }
+
+  private Path writeManifest(String fileFormat, String fileSchema, String... dataFiles) throws IOException {
+    StringBuilder files = new StringBuilder();
+    for (String dataFile : dataFiles) {
+      if (files.length() > 0) {
+        files.append(",");
+      }
+      files.append("{\"key\": \"inventory/" + BUCKET + "/config/data/" + dataFile + "\", \"size\": 1}");
+    }
+    String manifest = "{\"sourceBucket\": \"" + BUCKET + "\", \"destinationBucket\": \"arn:aws:s3:::inventory\", "
+        + "\"fileFormat\": \"" + fileFormat + "\", \"fileSchema\": \"" + fileSchema + "\", "
+        + "\"files\": [" + files + "]}";
+    return Files.writeString(manifestDirectory.resolve("manifest.json"), manifest);
+  }
+
+  private void writeCsv(String name, String... lines) throws IOException {
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(dataDirectory.resolve(name)))) {
+      out.write(String.join("\n", lines).getBytes(UTF_8));
+    }
+  }
+
+  private void addOrcRow(VectorizedRowBatch batch, String key, long size, boolean isLatest) {
+    int row = batch.size++;
+    ((BytesColumnVector) batch.cols[0]).setVal(row, BUCKET.getBytes(UTF_8));
+    ((BytesColumnVector) batch.cols[1]).setVal(row, key.getBytes(UTF_8));
+    ((LongColumnVector) batch.cols[2]).vector[row] = size;
+    ((LongColumnVector) batch.cols[3]).vector[row] = isLatest ? 1 : 0;
+    ((LongColumnVector) batch.cols[4]).vector[row] = 0;
+  }
+}
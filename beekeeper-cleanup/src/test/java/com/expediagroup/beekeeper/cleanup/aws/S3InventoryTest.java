@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class S3InventoryTest {
+
+  private final String bucket = "bucket";
+  private S3Inventory inventory;
+
+  @BeforeEach
+  void setUp() {
+    inventory = new S3Inventory.Builder()
+        .add(bucket, "table/partition=1/file1", 10)
+        .add(bucket, "table/partition=1/file2", 20)
+        .add(bucket, "table/partition=1_$folder$", 0)
+        .add(bucket, "table/partition=10/file1", 40)
+        .add(bucket, "table/partition=2/file1", 80)
+        .add(bucket, "table/file", 160)
+        .add("other-bucket", "table/partition=1/file1", 320)
+        .build();
+  }
+
+  @Test
+  void directory() {
+    assertUsage(inventory.usage(bucket, "table/partition=1"), 3, 30);
+    assertUsage(inventory.usage(bucket, "table/partition=1/"), 2, 30);
+    assertUsage(inventory.usage(bucket, "table"), 6, 310);
+  }
+
+  @Test
+  void file() {
+    assertUsage(inventory.usage(bucket, "table/file"), 1, 160);
+    assertUsage(inventory.usage(bucket, "table/partition=2/file1"), 1, 80);
+  }
+
+  @Test
+  void missingPath() {
+    assertUsage(inventory.usage(bucket, "table/partition=3"), 0, 0);
+    assertUsage(inventory.usage(bucket, "other-table"), 0, 0);
+    assertUsage(inventory.usage("missing-bucket", "table"), 0, 0);
+  }
+
+  @Test
+  void buckets() {
+    assertThat(inventory.contains(bucket)).isTrue();
+    assertThat(inventory.contains("missing-bucket")).isFalse();
+    assertThat(inventory.getObjectCount()).isEqualTo(7L);
+  }
+
+  @Test
+  void keyListedTwice() {
+    inventory = new S3Inventory.Builder()
+        .add(bucket, "table/file", 10)
+        .add(bucket, "table/file", 20)
+        .build();
+
+    assertUsage(inventory.usage(bucket, "table"), 1, 20);
+  }
+
+  private void assertUsage(S3Inventory.Usage usage, long objects, long bytes) {
+    assertThat(usage.getObjects()).isEqualTo(objects);
+    assertThat(usage.getBytes()).isEqualTo(bytes);
+  }
+}
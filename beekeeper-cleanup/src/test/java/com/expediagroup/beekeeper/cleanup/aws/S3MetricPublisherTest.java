@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.DELETE_BATCH;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.HEAD;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.LATENCY_METRIC_NAME;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.POOL_LEASED_METRIC_NAME;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.RETRIES_METRIC_NAME;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.THROTTLES_METRIC_NAME;
+import static com.expediagroup.beekeeper.cleanup.aws.S3RedirectCounter.REDIRECTS_METRIC_NAME;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+class S3MetricPublisherTest {
+
+  private MeterRegistry meterRegistry;
+  private S3MetricPublisher publisher;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    publisher = new S3MetricPublisher(meterRegistry, "async");
+  }
+
+  @Test
+  void throttledAndRetriedRequest() {
+    MetricCollector apiCall = apiCall("DeleteObjects", true, 1);
+    attempt(apiCall, 503);
+    MetricCollector attempt = attempt(apiCall, 200);
+    MetricCollector httpClient = attempt.createChild("HttpClient");
+    httpClient.reportMetric(HttpMetric.LEASED_CONCURRENCY, 40);
+
+    publisher.publish(apiCall.collect());
+
+    assertThat(latency(DELETE_BATCH, "success").count()).isEqualTo(1L);
+    assertThat(latency(DELETE_BATCH, "success").totalTime(TimeUnit.MILLISECONDS)).isEqualTo(20.0);
+    assertThat(counter(RETRIES_METRIC_NAME, DELETE_BATCH)).isEqualTo(1.0);
+    assertThat(counter(THROTTLES_METRIC_NAME, DELETE_BATCH)).isEqualTo(1.0);
+    assertThat(meterRegistry.get(POOL_LEASED_METRIC_NAME).tag("client", "async").gauge().value()).isEqualTo(40.0);
+  }
+
+  @Test
+  void redirectedRequest() {
+    MetricCollector apiCall = apiCall("HeadObject", false, 1);
+    attempt(apiCall, 301);
+    attempt(apiCall, 403);
+
+    publisher.publish(apiCall.collect());
+
+    assertThat(latency(HEAD, "error").count()).isEqualTo(1L);
+    assertThat(counter(THROTTLES_METRIC_NAME, HEAD)).isEqualTo(0.0);
+    assertThat(meterRegistry.get(REDIRECTS_METRIC_NAME).tag("client", "async").counter().count()).isEqualTo(1.0);
+  }
+
+  private static MetricCollector apiCall(String operation, boolean successful, int retries) {
+    MetricCollector apiCall = MetricCollector.create("ApiCall");
+    apiCall.reportMetric(CoreMetric.OPERATION_NAME, operation);
+    apiCall.reportMetric(CoreMetric.API_CALL_SUCCESSFUL, successful);
+    apiCall.reportMetric(CoreMetric.API_CALL_DURATION, Duration.ofMillis(20));
+    apiCall.reportMetric(CoreMetric.RETRY_COUNT, retries);
+    return apiCall;
+  }
+
+  private static MetricCollector attempt(MetricCollector apiCall, int statusCode) {
+    MetricCollector attempt = apiCall.createChild("ApiCallAttempt");
+    attempt.reportMetric(HttpMetric.HTTP_STATUS_CODE, statusCode);
+    return attempt;
+  }
+
+  private Timer latency(String operation, String outcome) {
+    return meterRegistry.get(LATENCY_METRIC_NAME)
+        .tag("client", "async")
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .timer();
+  }
+
+  private double counter(String name, String operation) {
+    return meterRegistry.get(name).tag("client", "async").tag("operation", operation).counter().count();
+  }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.DELETE_BATCH;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.HEAD;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.KEYS_PER_REQUEST_METRIC_NAME;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.LATENCY_METRIC_NAME;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.LIST;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.POOL_LEASED_METRIC_NAME;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.POOL_PENDING_METRIC_NAME;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.RETRIES_METRIC_NAME;
+import static com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector.THROTTLES_METRIC_NAME;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GetObjectMetadataRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.util.AWSRequestMetrics;
+import com.amazonaws.util.AWSRequestMetrics.Field;
+import com.amazonaws.util.AWSRequestMetricsFullSupport;
+
+class S3MetricsCollectorTest {
+
+  private final String bucket = "bucket";
+  private MeterRegistry meterRegistry;
+  private S3MetricsCollector collector;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    collector = new S3MetricsCollector(meterRegistry, "default");
+  }
+
+  @Test
+  void latencyPerOperation() {
+    collector.collectMetrics(request(new ListObjectsV2Request().withBucketName(bucket)), response(null));
+    collector.collectMetrics(request(new GetObjectMetadataRequest(bucket, "key")), null);
+
+    assertThat(latency(LIST, "success").count()).isEqualTo(1L);
+    assertThat(latency(HEAD, "error").count()).isEqualTo(1L);
+    assertThat(latency(HEAD, "success").count()).isEqualTo(0L);
+  }
+
+  @Test
+  void retriesAndThrottles() {
+    Request<?> request = request(new DeleteObjectsRequest(bucket).withKeys("key1", "key2"));
+    AWSRequestMetrics requestMetrics = request.getAWSRequestMetrics();
+    requestMetrics.setCounter(Field.HttpClientRetryCount, 2);
+    requestMetrics.addPropertyWith(Field.ThrottleException, "SlowDown");
+    requestMetrics.addPropertyWith(Field.ThrottleException, "SlowDown");
+
+    collector.collectMetrics(request, response(null));
+
+    assertThat(counter(RETRIES_METRIC_NAME, DELETE_BATCH)).isEqualTo(2.0);
+    assertThat(counter(THROTTLES_METRIC_NAME, DELETE_BATCH)).isEqualTo(2.0);
+  }
+
+  @Test
+  void keysPerRequest() {
+    ListObjectsV2Result listResult = new ListObjectsV2Result();
+    listResult.setKeyCount(3);
+
+    collector.collectMetrics(request(new DeleteObjectsRequest(bucket).withKeys("key1", "key2")), response(null));
+    collector.collectMetrics(request(new ListObjectsV2Request().withBucketName(bucket)), response(listResult));
+
+    assertThat(meterRegistry.get(KEYS_PER_REQUEST_METRIC_NAME).tag("operation", DELETE_BATCH).summary().totalAmount())
+        .isEqualTo(2.0);
+    assertThat(meterRegistry.get(KEYS_PER_REQUEST_METRIC_NAME).tag("operation", LIST).summary().totalAmount())
+        .isEqualTo(3.0);
+  }
+
+  @Test
+  void connectionPool() {
+    Request<?> request = request(new GetObjectMetadataRequest(bucket, "key"));
+    request.getAWSRequestMetrics().setCounter(Field.HttpClientPoolLeasedCount, 40);
+    request.getAWSRequestMetrics().setCounter(Field.HttpClientPoolPendingCount, 5);
+
+    collector.collectMetrics(request, response(null));
+
+    assertThat(meterRegistry.get(POOL_LEASED_METRIC_NAME).tag("client", "default").gauge().value()).isEqualTo(40.0);
+    assertThat(meterRegistry.get(POOL_PENDING_METRIC_NAME).tag("client", "default").gauge().value()).isEqualTo(5.0);
+  }
+
+  @Test
+  void requestMetricsDisabled() {
+    Request<?> request = new DefaultRequest<>(new GetObjectMetadataRequest(bucket, "key"), "Amazon S3");
+    request.setAWSRequestMetrics(null);
+
+    collector.collectMetrics(request, null);
+
+    assertThat(meterRegistry.find(LATENCY_METRIC_NAME).timers()).isEmpty();
+  }
+
+  private Timer latency(String operation, String outcome) {
+    return meterRegistry.get(LATENCY_METRIC_NAME).tag("operation", operation).tag("outcome", outcome).timer();
+  }
+
+  private double counter(String name, String operation) {
+    return meterRegistry.get(name).tag("client", "default").tag("operation", operation).counter().count();
+  }
+
+  private Request<?> request(AmazonWebServiceRequest originalRequest) {
+    Request<?> request = new DefaultRequest<>(originalRequest, "Amazon S3");
+    AWSRequestMetrics requestMetrics = new AWSRequestMetricsFullSupport();
+    requestMetrics.startEvent(Field.ClientExecuteTime);
+    requestMetrics.endEvent(Field.ClientExecuteTime);
+    request.setAWSRequestMetrics(requestMetrics);
+    return request;
+  }
+
+  private <T> Response<T> response(T awsResponse) {
+    return new Response<>(awsResponse, null);
+  }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+class S3PathClassificationTest {
+
+  private final String key = "table/partition=1";
+  private final String file1 = "table/partition=1/file1";
+  private final String file2 = "table/partition=1/file2";
+
+  @Test
+  void file() {
+    S3ObjectSummary file = objectSummary(key);
+    S3PathClassification classification = S3PathClassification.of(key, List.of(file, objectSummary(file1)), true);
+
+    assertThat(classification.isFile()).isTrue();
+    assertThat(classification.getFile()).isSameAs(file);
+  }
+
+  @Test
+  void completeDirectory() {
+    S3PathClassification classification = S3PathClassification
+        .of(key, List.of(objectSummary(file1), objectSummary(file2)), false);
+
+    assertThat(classification.isFile()).isFalse();
+    assertThat(classification.getDirectoryKey()).isEqualTo(key + "/");
+    assertThat(classification.getFirstChildren()).extracting(S3ObjectSummary::getKey).containsExactly(file1, file2);
+    assertThat(classification.isComplete()).isTrue();
+  }
+
+  @Test
+  void truncatedDirectory() {
+    S3PathClassification classification = S3PathClassification
+        .of(key, List.of(objectSummary(file1), objectSummary(file2)), true);
+
+    assertThat(classification.isComplete()).isFalse();
+    assertThat(classification.getStartAfter()).isEqualTo(file2);
+  }
+
+  @Test
+  void directoryFollowedBySiblings() {
+    S3PathClassification classification = S3PathClassification
+        .of(key, List.of(objectSummary(file1), objectSummary("table/partition=10/file1")), true);
+
+    assertThat(classification.getFirstChildren()).extracting(S3ObjectSummary::getKey).containsExactly(file1);
+    assertThat(classification.isComplete()).isTrue();
+  }
+
+  @Test
+  void directoryPrecededBySiblings() {
+    S3PathClassification classification = S3PathClassification
+        .of(key, List.of(objectSummary("table/partition=1-backup/file1")), true);
+
+    assertThat(classification.isFile()).isFalse();
+    assertThat(classification.getFirstChildren()).isEmpty();
+    assertThat(classification.isComplete()).isFalse();
+    assertThat(classification.getStartAfter()).isNull();
+  }
+
+  @Test
+  void directoryWithTrailingSlash() {
+    S3PathClassification classification = S3PathClassification.of(key + "/", List.of(objectSummary(file1)), false);
+
+    assertThat(classification.isFile()).isFalse();
+    assertThat(classification.getDirectoryKey()).isEqualTo(key + "/");
+    assertThat(classification.getFirstChildren()).extracting(S3ObjectSummary::getKey).containsExactly(file1);
+  }
+
+  @Test
+  void pathDoesNotExist() {
+    S3PathClassification classification = S3PathClassification.of(key, List.of(), false);
+
+    assertThat(classification.isFile()).isFalse();
+    assertThat(classification.getFirstChildren()).isEmpty();
+    assertThat(classification.isComplete()).isTrue();
+  }
+
+  private S3ObjectSummary objectSummary(String key) {
+    S3ObjectSummary objectSummary = new S3ObjectSummary();
+    objectSummary.setKey(key);
+    return objectSummary;
+  }
+}
@@ -21,23 +21,33 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testcontainers.containers.localstack.LocalStackContainer.Service.S3;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.apache.hadoop.fs.s3a.BasicAWSCredentialsProvider;
 import org.junit.Rule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.testcontainers.containers.localstack.LocalStackContainer;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -51,14 +61,21 @@ import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsResult;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
-import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.ListVersionsRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.model.S3VersionSummary;
+import com.amazonaws.services.s3.model.VersionListing;
 
 import com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter;
+import com.expediagroup.beekeeper.cleanup.path.ResumableDeletionException;
 import com.expediagroup.beekeeper.core.config.FileSystemType;
 import com.expediagroup.beekeeper.core.error.BeekeeperException;
+import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
 import com.expediagroup.beekeeper.core.model.HousekeepingPath;
 import com.expediagroup.beekeeper.core.model.PeriodDuration;
+import com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpoint;
+import com.expediagroup.beekeeper.core.service.DeletionCheckpointService;
 
 @ExtendWith(MockitoExtension.class)
 @Testcontainers
@@ -78,6 +95,7 @@ class S3PathCleanerTest {
   private S3Client s3Client;
   private S3SentinelFilesCleaner s3SentinelFilesCleaner;
   private @Mock BytesDeletedReporter bytesDeletedReporter;
+  private @Mock DeletionCheckpointService checkpointService;
 
   private S3PathCleaner s3PathCleaner;
 
@@ -247,6 +265,28 @@ class S3PathCleanerTest {
     verify(bytesDeletedReporter).reportTaggable(content.getBytes().length * 2, housekeepingPath, FileSystemType.S3);
   }
 
+  @Test
+  void deleteTableBySubPrefixInParallel() {
+    S3Client parallelS3Client = new S3Client(new S3ClientRegistry(amazonS3),
+        S3ClientOptions.builder().deleteConcurrency(2).listParallelism(2).build());
+    s3PathCleaner = new S3PathCleaner(parallelS3Client, new S3SentinelFilesCleaner(parallelS3Client),
+        bytesDeletedReporter);
+    String key3 = "table/id1/partition_2/file1";
+    String key4 = "table/id2/partition_1/file1";
+    amazonS3.putObject(bucket, key1, content);
+    amazonS3.putObject(bucket, key2, content);
+    amazonS3.putObject(bucket, key3, content);
+    amazonS3.putObject(bucket, key4, content);
+    amazonS3.putObject(bucket, partition1Sentinel, "");
+
+    housekeepingPath.setPath("s3://" + bucket + "/table");
+    s3PathCleaner.cleanupPath(housekeepingPath);
+
+    assertThat(amazonS3.listObjectsV2(bucket, "table").getObjectSummaries()).isEmpty();
+    verify(bytesDeletedReporter).reportTaggable(content.getBytes().length * 4, housekeepingPath, FileSystemType.S3);
+    parallelS3Client.close();
+  }
+
   @Test
   void pathDoesNotExist() {
     assertThatCode(() -> s3PathCleaner.cleanupPath(housekeepingPath)).doesNotThrowAnyException();
@@ -325,10 +365,8 @@ class S3PathCleanerTest {
   void noBytesDeletedMetricWhenFileDeletionFails() {
     S3Client mockS3Client = mock(S3Client.class);
     s3PathCleaner = new S3PathCleaner(mockS3Client, s3SentinelFilesCleaner, bytesDeletedReporter);
-    when(mockS3Client.doesObjectExist(bucket, key1)).thenReturn(true);
-    ObjectMetadata objectMetadata = new ObjectMetadata();
-    objectMetadata.setContentLength(10);
-    when(mockS3Client.getObjectMetadata(bucket, key1)).thenReturn(objectMetadata);
+    when(mockS3Client.classifyPath(bucket, key1))
+        .thenReturn(S3PathClassification.of(key1, List.of(objectSummary(key1, 10L)), false));
     doThrow(AmazonServiceException.class).when(mockS3Client).deleteObject(bucket, key1);
 
     housekeepingPath.setPath(absolutePath + "/file1");
@@ -341,7 +379,9 @@ class S3PathCleanerTest {
   void noBytesDeletedMetricWhenDirectoryDeletionFails() {
     S3Client mockS3Client = mock(S3Client.class);
     s3PathCleaner = new S3PathCleaner(mockS3Client, s3SentinelFilesCleaner, bytesDeletedReporter);
-    doThrow(AmazonServiceException.class).when(mockS3Client).listObjects(bucket, keyRootAsDirectory);
+    when(mockS3Client.classifyPath(bucket, keyRoot)).thenReturn(S3PathClassification.of(keyRoot, List.of(), true));
+    doThrow(AmazonServiceException.class).when(mockS3Client)
+        .listObjects(eq(bucket), eq(keyRootAsDirectory), isNull(), any());
 
     assertThatExceptionOfType(AmazonServiceException.class)
         .isThrownBy(() -> s3PathCleaner.cleanupPath(housekeepingPath));
@@ -361,6 +401,353 @@ class S3PathCleanerTest {
     verify(bytesDeletedReporter).reportTaggable(100L, housekeepingPath, FileSystemType.S3);
   }
 
+  @Test
+  void deleteFileWithSingleListRequest() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client mockS3Client = new S3Client(mockAmazonS3, false);
+    ListObjectsV2Result listObjectsV2Result = mock(ListObjectsV2Result.class);
+    when(listObjectsV2Result.getObjectSummaries()).thenReturn(List.of(objectSummary(key1, 100L)));
+    when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(listObjectsV2Result);
+
+    housekeepingPath.setPath(absolutePath + "/file1");
+    s3PathCleaner = new S3PathCleaner(mockS3Client, s3SentinelFilesCleaner, bytesDeletedReporter);
+    s3PathCleaner.cleanupPath(housekeepingPath);
+
+    verify(mockAmazonS3).listObjectsV2(any(ListObjectsV2Request.class));
+    verify(mockAmazonS3).deleteObject(bucket, key1);
+    verifyNoMoreInteractions(mockAmazonS3);
+    verify(bytesDeletedReporter).reportTaggable(100L, housekeepingPath, FileSystemType.S3);
+  }
+
+  @Test
+  void deleteDirectoryWithSingleListRequest() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client mockS3Client = new S3Client(mockAmazonS3, false);
+    ListObjectsV2Result listObjectsV2Result = mock(ListObjectsV2Result.class);
+    String siblingKey = "table/id1/partition_10/file1";
+    when(listObjectsV2Result.getObjectSummaries())
+        .thenReturn(List.of(objectSummary(key1, 100L), objectSummary(key2, 50L), objectSummary(siblingKey, 10L)));
+    when(listObjectsV2Result.isTruncated()).thenReturn(true);
+    when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(listObjectsV2Result);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class)))
+        .thenReturn(new DeleteObjectsResult(List.of(deletedObject(key1), deletedObject(key2))));
+
+    s3PathCleaner = new S3PathCleaner(mockS3Client, s3SentinelFilesCleaner, bytesDeletedReporter);
+    s3PathCleaner.cleanupPath(housekeepingPath);
+
+    ArgumentCaptor<DeleteObjectsRequest> request = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+    verify(mockAmazonS3).deleteObjects(request.capture());
+    assertThat(request.getValue().getKeys()).extracting(DeleteObjectsRequest.KeyVersion::getKey)
+        .containsExactly(key1, key2);
+    verify(mockAmazonS3, times(1)).listObjectsV2(any(ListObjectsV2Request.class));
+    verify(bytesDeletedReporter).reportTaggable(150L, housekeepingPath, FileSystemType.S3);
+  }
+
+  @Test
+  void deleteFilesOfPage() {
+    HousekeepingPath otherHousekeepingPath = housekeepingPath(absolutePath + "/file2");
+    housekeepingPath.setPath(absolutePath + "/file1");
+    amazonS3.putObject(bucket, key1, content);
+    amazonS3.putObject(bucket, key2, content);
+
+    s3PathCleaner.cleanupPathOfPage(housekeepingPath);
+    s3PathCleaner.cleanupPathOfPage(otherHousekeepingPath);
+
+    assertThat(amazonS3.doesObjectExist(bucket, key1)).isTrue();
+    assertThat(amazonS3.doesObjectExist(bucket, key2)).isTrue();
+
+    assertThat(s3PathCleaner.completePage()).isEmpty();
+
+    assertThat(amazonS3.doesObjectExist(bucket, key1)).isFalse();
+    assertThat(amazonS3.doesObjectExist(bucket, key2)).isFalse();
+    verify(bytesDeletedReporter).reportTaggable(content.getBytes().length, housekeepingPath, FileSystemType.S3);
+    verify(bytesDeletedReporter).reportTaggable(content.getBytes().length, otherHousekeepingPath, FileSystemType.S3);
+  }
+
+  @Test
+  void deleteFilesOfPageWithOneRequest() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client mockS3Client = new S3Client(mockAmazonS3, false);
+    mockFiles(mockAmazonS3);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class)))
+        .thenReturn(new DeleteObjectsResult(List.of(deletedObject(key1), deletedObject(key2))));
+    HousekeepingPath otherHousekeepingPath = housekeepingPath(absolutePath + "/file2");
+    housekeepingPath.setPath(absolutePath + "/file1");
+
+    s3PathCleaner = new S3PathCleaner(mockS3Client, s3SentinelFilesCleaner, bytesDeletedReporter);
+    s3PathCleaner.cleanupPathOfPage(housekeepingPath);
+    s3PathCleaner.cleanupPathOfPage(otherHousekeepingPath);
+    Map<HousekeepingEntity, Exception> failures = s3PathCleaner.completePage();
+
+    assertThat(failures).isEmpty();
+    ArgumentCaptor<DeleteObjectsRequest> request = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+    verify(mockAmazonS3).deleteObjects(request.capture());
+    assertThat(request.getValue().getKeys()).extracting(DeleteObjectsRequest.KeyVersion::getKey)
+        .containsExactly(key1, key2);
+    verify(mockAmazonS3, never()).deleteObject(any(), any());
+    verify(bytesDeletedReporter).reportTaggable(100L, housekeepingPath, FileSystemType.S3);
+    verify(bytesDeletedReporter).reportTaggable(50L, otherHousekeepingPath, FileSystemType.S3);
+  }
+
+  @Test
+  void deleteFilesOfPagePartiallyFails() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client mockS3Client = new S3Client(mockAmazonS3, false);
+    mockFiles(mockAmazonS3);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class)))
+        .thenReturn(new DeleteObjectsResult(List.of(deletedObject(key1))));
+    HousekeepingPath otherHousekeepingPath = housekeepingPath(absolutePath + "/file2");
+    housekeepingPath.setPath(absolutePath + "/file1");
+
+    s3PathCleaner = new S3PathCleaner(mockS3Client, s3SentinelFilesCleaner, bytesDeletedReporter);
+    s3PathCleaner.cleanupPathOfPage(housekeepingPath);
+    s3PathCleaner.cleanupPathOfPage(otherHousekeepingPath);
+    Map<HousekeepingEntity, Exception> failures = s3PathCleaner.completePage();
+
+    assertThat(failures).containsOnlyKeys(otherHousekeepingPath);
+    assertThat(failures.get(otherHousekeepingPath))
+        .isInstanceOf(BeekeeperException.class)
+        .hasMessage(format("File could not be deleted at path \"%s/%s\".", bucket, key2));
+    verify(bytesDeletedReporter).reportTaggable(100L, housekeepingPath, FileSystemType.S3);
+    verifyNoMoreInteractions(bytesDeletedReporter);
+  }
+
+  @Test
+  void deleteFilesOfPageRequestFails() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client mockS3Client = new S3Client(mockAmazonS3, false);
+    mockFiles(mockAmazonS3);
+    AmazonServiceException exception = new AmazonServiceException("Some error");
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class))).thenThrow(exception);
+    HousekeepingPath otherHousekeepingPath = housekeepingPath(absolutePath + "/file2");
+    housekeepingPath.setPath(absolutePath + "/file1");
+
+    s3PathCleaner = new S3PathCleaner(mockS3Client, s3SentinelFilesCleaner, bytesDeletedReporter);
+    s3PathCleaner.cleanupPathOfPage(housekeepingPath);
+    s3PathCleaner.cleanupPathOfPage(otherHousekeepingPath);
+    Map<HousekeepingEntity, Exception> failures = s3PathCleaner.completePage();
+
+    assertThat(failures).containsOnlyKeys(housekeepingPath, otherHousekeepingPath);
+    assertThat(failures.get(housekeepingPath)).isSameAs(exception);
+    verifyNoInteractions(bytesDeletedReporter);
+  }
+
+  @Test
+  void deleteDirectoryPageByPage() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client mockS3Client = new S3Client(mockAmazonS3, false);
+    mockTwoPages(mockAmazonS3);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class)))
+        .thenReturn(new DeleteObjectsResult(List.of(deletedObject(key1))))
+        .thenReturn(new DeleteObjectsResult(List.of(deletedObject(key2))));
+
+    s3PathCleaner = new S3PathCleaner(mockS3Client, s3SentinelFilesCleaner, bytesDeletedReporter);
+    s3PathCleaner.cleanupPath(housekeepingPath);
+
+    verify(mockAmazonS3, times(2)).deleteObjects(any(DeleteObjectsRequest.class));
+    verify(bytesDeletedReporter).reportTaggable(150L, housekeepingPath, FileSystemType.S3);
+  }
+
+  @Test
+  void deleteDirectoryWithConcurrentDeletes() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client concurrentS3Client = new S3Client(new S3ClientRegistry(mockAmazonS3),
+        S3ClientOptions.builder().deleteConcurrency(2).build());
+    mockTwoPages(mockAmazonS3);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class))).thenAnswer(invocation -> {
+      DeleteObjectsRequest request = invocation.getArgument(0);
+      return new DeleteObjectsResult(List.of(deletedObject(request.getKeys().get(0).getKey())));
+    });
+
+    s3PathCleaner = new S3PathCleaner(concurrentS3Client, s3SentinelFilesCleaner, bytesDeletedReporter);
+    s3PathCleaner.cleanupPath(housekeepingPath);
+
+    verify(mockAmazonS3, times(2)).deleteObjects(any(DeleteObjectsRequest.class));
+    verify(bytesDeletedReporter).reportTaggable(150L, housekeepingPath, FileSystemType.S3);
+    concurrentS3Client.close();
+  }
+
+  @Test
+  void concurrentDirectoryDeletionFails() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client concurrentS3Client = new S3Client(new S3ClientRegistry(mockAmazonS3),
+        S3ClientOptions.builder().deleteConcurrency(2).build());
+    mockTwoPages(mockAmazonS3);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class))).thenThrow(new AmazonServiceException("Error"));
+
+    s3PathCleaner = new S3PathCleaner(concurrentS3Client, s3SentinelFilesCleaner, bytesDeletedReporter);
+    assertThatExceptionOfType(AmazonServiceException.class)
+        .isThrownBy(() -> s3PathCleaner.cleanupPath(housekeepingPath));
+    verifyNoInteractions(bytesDeletedReporter);
+    concurrentS3Client.close();
+  }
+
+  @Test
+  void checkpointDirectoryDeletion() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client mockS3Client = new S3Client(mockAmazonS3, false);
+    mockTwoPages(mockAmazonS3);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class)))
+        .thenReturn(new DeleteObjectsResult(List.of(deletedObject(key1))))
+        .thenThrow(new AmazonServiceException("Error"));
+
+    s3PathCleaner = new S3PathCleaner(mockS3Client, new S3SentinelFilesResolver(mockS3Client), bytesDeletedReporter,
+        checkpointService, 1L);
+    assertThatExceptionOfType(ResumableDeletionException.class)
+        .isThrownBy(() -> s3PathCleaner.cleanupPath(housekeepingPath))
+        .withCauseInstanceOf(AmazonServiceException.class);
+    verify(checkpointService).saveCheckpoint(housekeepingPath, key1, 1L, 100L);
+    verify(checkpointService, never()).deleteCheckpoint(housekeepingPath);
+  }
+
+  @Test
+  void resumeDirectoryDeletionFromCheckpoint() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client mockS3Client = new S3Client(mockAmazonS3, false);
+    DeletionCheckpoint checkpoint = DeletionCheckpoint.builder().lastDeletedKey(key1).objectsDeleted(1L).build();
+    when(checkpointService.findCheckpoint(housekeepingPath)).thenReturn(Optional.of(checkpoint));
+    ListObjectsV2Result page = mock(ListObjectsV2Result.class);
+    when(page.getObjectSummaries()).thenReturn(List.of(objectSummary(key2, 50L)));
+    when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(page);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class)))
+        .thenReturn(new DeleteObjectsResult(List.of(deletedObject(key2))));
+
+    s3PathCleaner = new S3PathCleaner(mockS3Client, new S3SentinelFilesResolver(mockS3Client), bytesDeletedReporter,
+        checkpointService, 1000L);
+    s3PathCleaner.cleanupPath(housekeepingPath);
+
+    ArgumentCaptor<ListObjectsV2Request> request = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+    verify(mockAmazonS3).listObjectsV2(request.capture());
+    assertThat(request.getValue().getPrefix()).isEqualTo(keyRootAsDirectory);
+    assertThat(request.getValue().getStartAfter()).isEqualTo(key1);
+    verify(checkpointService).deleteCheckpoint(housekeepingPath);
+    verify(bytesDeletedReporter).reportTaggable(50L, housekeepingPath, FileSystemType.S3);
+  }
+
+  @Test
+  void directoryDeletionWithoutProgressIsNotResumable() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client mockS3Client = new S3Client(mockAmazonS3, false);
+    mockTwoPages(mockAmazonS3);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class))).thenThrow(new AmazonServiceException("Error"));
+
+    s3PathCleaner = new S3PathCleaner(mockS3Client, new S3SentinelFilesResolver(mockS3Client), bytesDeletedReporter,
+        checkpointService, 1L);
+    assertThatExceptionOfType(AmazonServiceException.class)
+        .isThrownBy(() -> s3PathCleaner.cleanupPath(housekeepingPath));
+    verify(checkpointService).findCheckpoint(housekeepingPath);
+    verifyNoMoreInteractions(checkpointService);
+  }
+
+  @Test
+  void abandonedPathDropsItsCheckpoint() {
+    s3PathCleaner = new S3PathCleaner(s3Client, new S3SentinelFilesResolver(s3Client), bytesDeletedReporter,
+        checkpointService, 1L);
+    doThrow(new RuntimeException("Error")).when(checkpointService).deleteCheckpoint(housekeepingPath);
+
+    s3PathCleaner.abandonPath(housekeepingPath);
+
+    verify(checkpointService).deleteCheckpoint(housekeepingPath);
+  }
+
+  @Test
+  void deleteNonCurrentVersionsOfDirectory() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client mockS3Client = new S3Client(mockAmazonS3, false);
+    ListObjectsV2Result listObjectsV2Result = mock(ListObjectsV2Result.class);
+    when(listObjectsV2Result.getObjectSummaries())
+        .thenReturn(List.of(objectSummary(key1, 100L), objectSummary(key2, 50L)));
+    when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(listObjectsV2Result);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class))).thenAnswer(this::deleteAll);
+    String newKey = "table/id1/partition_1/file3";
+    VersionListing versionListing = new VersionListing();
+    versionListing.setVersionSummaries(List.of(
+        versionSummary(key1, "3", 0L, true, true),
+        versionSummary(key1, "2", 100L, false, false),
+        versionSummary(key1, "1", 30L, false, false),
+        versionSummary(key2, "2", 0L, true, true),
+        versionSummary(key2, "1", 50L, false, false),
+        versionSummary(newKey, "1", 10L, true, false)));
+    when(mockAmazonS3.listVersions(any(ListVersionsRequest.class))).thenReturn(versionListing);
+
+    s3PathCleaner = new S3PathCleaner(mockS3Client, new S3SentinelFilesResolver(mockS3Client), bytesDeletedReporter,
+        null, 0L, true);
+    s3PathCleaner.cleanupPath(housekeepingPath);
+
+    ArgumentCaptor<DeleteObjectsRequest> requests = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+    verify(mockAmazonS3, times(2)).deleteObjects(requests.capture());
+    assertThat(requests.getAllValues().get(1).getKeys())
+        .extracting(keyVersion -> keyVersion.getKey() + "@" + keyVersion.getVersion())
+        .containsExactly(key1 + "@3", key1 + "@2", key1 + "@1", key2 + "@2", key2 + "@1");
+    ArgumentCaptor<ListVersionsRequest> listVersionsRequest = ArgumentCaptor.forClass(ListVersionsRequest.class);
+    verify(mockAmazonS3).listVersions(listVersionsRequest.capture());
+    assertThat(listVersionsRequest.getValue().getPrefix()).isEqualTo(keyRootAsDirectory);
+    verify(bytesDeletedReporter).reportTaggable(150L, housekeepingPath, FileSystemType.S3);
+    verify(bytesDeletedReporter).reportBytesReclaimed(180L, housekeepingPath, FileSystemType.S3);
+  }
+
+  @Test
+  void deleteNonCurrentVersionsOfFile() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client mockS3Client = new S3Client(mockAmazonS3, false);
+    ListObjectsV2Result listObjectsV2Result = mock(ListObjectsV2Result.class);
+    when(listObjectsV2Result.getObjectSummaries()).thenReturn(List.of(objectSummary(key1, 100L)));
+    when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(listObjectsV2Result);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class))).thenAnswer(this::deleteAll);
+    VersionListing versionListing = new VersionListing();
+    versionListing.setVersionSummaries(List.of(
+        versionSummary(key1, "2", 0L, true, true),
+        versionSummary(key1, "1", 100L, false, false),
+        versionSummary(key1 + "0", "1", 10L, false, false)));
+    when(mockAmazonS3.listVersions(any(ListVersionsRequest.class))).thenReturn(versionListing);
+
+    housekeepingPath.setPath(absolutePath + "/file1");
+    s3PathCleaner = new S3PathCleaner(mockS3Client, new S3SentinelFilesResolver(mockS3Client), bytesDeletedReporter,
+        null, 0L, true);
+    s3PathCleaner.cleanupPath(housekeepingPath);
+
+    verify(mockAmazonS3).deleteObject(bucket, key1);
+    ArgumentCaptor<DeleteObjectsRequest> request = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+    verify(mockAmazonS3).deleteObjects(request.capture());
+    assertThat(request.getValue().getKeys())
+        .extracting(keyVersion -> keyVersion.getKey() + "@" + keyVersion.getVersion())
+        .containsExactly(key1 + "@2", key1 + "@1");
+    verify(bytesDeletedReporter).reportTaggable(100L, housekeepingPath, FileSystemType.S3);
+    verify(bytesDeletedReporter).reportBytesReclaimed(100L, housekeepingPath, FileSystemType.S3);
+  }
+
+  @Test
+  void deleteNonCurrentVersionsPartiallyFails() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    S3Client mockS3Client = new S3Client(mockAmazonS3, false);
+    ListObjectsV2Result listObjectsV2Result = mock(ListObjectsV2Result.class);
+    when(listObjectsV2Result.getObjectSummaries()).thenReturn(List.of(objectSummary(key1, 100L)));
+    when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(listObjectsV2Result);
+    MultiObjectDeleteException.DeleteError error = new MultiObjectDeleteException.DeleteError();
+    error.setKey(key1);
+    error.setVersionId("1");
+    error.setCode("AccessDenied");
+    DeleteObjectsResult.DeletedObject deleteMarker = deletedObject(key1);
+    deleteMarker.setVersionId("2");
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class)))
+        .thenReturn(new DeleteObjectsResult(List.of(deletedObject(key1))))
+        .thenThrow(new MultiObjectDeleteException(List.of(error), List.of(deleteMarker)));
+    VersionListing versionListing = new VersionListing();
+    versionListing.setVersionSummaries(List.of(
+        versionSummary(key1, "2", 0L, true, true),
+        versionSummary(key1, "1", 100L, false, false)));
+    when(mockAmazonS3.listVersions(any(ListVersionsRequest.class))).thenReturn(versionListing);
+
+    s3PathCleaner = new S3PathCleaner(mockS3Client, new S3SentinelFilesResolver(mockS3Client), bytesDeletedReporter,
+        null, 0L, true);
+
+    assertThatExceptionOfType(BeekeeperException.class)
+        .isThrownBy(() -> s3PathCleaner.cleanupPath(housekeepingPath))
+        .withMessageContaining("Not all files could be deleted");
+    verify(bytesDeletedReporter).reportTaggable(100L, housekeepingPath, FileSystemType.S3);
+    verify(bytesDeletedReporter, never()).reportBytesReclaimed(any(Long.class), any(), any());
+  }
+
   @Test
   void extractingURIFails() {
     String path = "not a real path";
@@ -370,21 +757,79 @@ class S3PathCleanerTest {
         .withMessage(format("'%s' is not an S3 path.", path));
   }
 
+  private void mockFiles(AmazonS3 mockAmazonS3) {
+    ListObjectsV2Result file1 = mock(ListObjectsV2Result.class);
+    when(file1.getObjectSummaries()).thenReturn(List.of(objectSummary(key1, 100L)));
+    ListObjectsV2Result file2 = mock(ListObjectsV2Result.class);
+    when(file2.getObjectSummaries()).thenReturn(List.of(objectSummary(key2, 50L)));
+    when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(file1, file2);
+  }
+
+  private HousekeepingPath housekeepingPath(String path) {
+    return HousekeepingPath
+        .builder()
+        .path(path)
+        .tableName(housekeepingPath.getTableName())
+        .databaseName(housekeepingPath.getDatabaseName())
+        .creationTimestamp(LocalDateTime.now())
+        .cleanupDelay(PeriodDuration.of(Duration.ofDays(1)))
+        .build();
+  }
+
+  private void mockTwoPages(AmazonS3 mockAmazonS3) {
+    ListObjectsV2Result firstPage = mock(ListObjectsV2Result.class);
+    when(firstPage.getObjectSummaries()).thenReturn(List.of(objectSummary(key1, 100L)));
+    when(firstPage.isTruncated()).thenReturn(true);
+    ListObjectsV2Result secondPage = mock(ListObjectsV2Result.class);
+    when(secondPage.getObjectSummaries()).thenReturn(List.of(objectSummary(key2, 50L)));
+    when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(firstPage, secondPage);
+  }
+
   private void mockOneOutOfTwoObjectsDeleted(AmazonS3 mockAmazonS3) {
-    S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
-    s3ObjectSummary.setBucketName(bucket);
-    s3ObjectSummary.setKey(key1);
-    s3ObjectSummary.setSize(100L);
-    S3ObjectSummary s3ObjectSummary2 = new S3ObjectSummary();
-    s3ObjectSummary2.setBucketName(bucket);
-    s3ObjectSummary2.setKey(key2);
-    s3ObjectSummary2.setSize(50L);
     ListObjectsV2Result listObjectsV2Result = mock(ListObjectsV2Result.class);
-    when(listObjectsV2Result.getObjectSummaries()).thenReturn(List.of(s3ObjectSummary, s3ObjectSummary2));
+    when(listObjectsV2Result.getObjectSummaries())
+        .thenReturn(List.of(objectSummary(key1, 100L), objectSummary(key2, 50L)));
     when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(listObjectsV2Result);
-    DeleteObjectsResult.DeletedObject deletedObject = new DeleteObjectsResult.DeletedObject();
-    deletedObject.setKey(key1);
     when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class)))
-        .thenReturn(new DeleteObjectsResult(List.of(deletedObject)));
+        .thenReturn(new DeleteObjectsResult(List.of(deletedObject(key1))));
+  }
+
+  private S3ObjectSummary objectSummary(String key, long size) {
+    S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+    s3ObjectSummary.setBucketName(bucket);
+    s3ObjectSummary.setKey(key);
+    s3ObjectSummary.setSize(size);
+    return s3ObjectSummary;
+  }
+
+  private S3VersionSummary versionSummary(
+      String key,
+      String versionId,
+      long size,
+      boolean latest,
+      boolean deleteMarker) {
+    S3VersionSummary versionSummary = new S3VersionSummary();
+    versionSummary.setBucketName(bucket);
+    versionSummary.setKey(key);
+    versionSummary.setVersionId(versionId);
+    versionSummary.setSize(size);
+    versionSummary.setIsLatest(latest);
+    versionSummary.setIsDeleteMarker(deleteMarker);
+    return versionSummary;
+  }
+
+  private DeleteObjectsResult deleteAll(InvocationOnMock invocation) {
+    DeleteObjectsRequest request = invocation.getArgument(0);
+    return new DeleteObjectsResult(request.getKeys().stream().map(keyVersion -> {
+      DeleteObjectsResult.DeletedObject deletedObject = deletedObject(keyVersion.getKey());
+      deletedObject.setVersionId(keyVersion.getVersion());
+      return deletedObject;
+    }).collect(Collectors.toList()));
+  }
+
+  private DeleteObjectsResult.DeletedObject deletedObject(String key) {
+    DeleteObjectsResult.DeletedObject deletedObject = new DeleteObjectsResult.DeletedObject();
+    deletedObject.setKey(key);
+    return deletedObject;
   }
 }
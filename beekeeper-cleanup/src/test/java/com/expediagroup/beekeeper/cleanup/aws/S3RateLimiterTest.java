@@ -0,0 +1,245 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import static com.expediagroup.beekeeper.cleanup.aws.S3RateLimiter.ALLOWED_RATE_METRIC_NAME;
+import static com.expediagroup.beekeeper.cleanup.aws.S3RateLimiter.THROTTLES_METRIC_NAME;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.handlers.HandlerAfterAttemptContext;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.DeletedObject;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+class S3RateLimiterTest {
+
+  private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final String bucket = "bucket";
+  private final AtomicLong now = new AtomicLong(0);
+  private MeterRegistry meterRegistry;
+  private S3RateLimiter rateLimiter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    rateLimiter = new S3RateLimiter(meterRegistry, 100, 1, now::get);
+  }
+
+  @Test
+  void typical() {
+    assertThat(rateLimiter.reserve(bucket, "table/partition=1/file1")).isEqualTo(0L);
+    assertThat(rateLimiter.reserve(bucket, "table/partition=1/file2")).isEqualTo(ONE_SECOND / 100);
+    assertThat(rateLimiter.reserve(bucket, "table/partition=2/file1")).isEqualTo(2 * ONE_SECOND / 100);
+    assertThat(rateLimiter.getAllowedRate(bucket, "table/")).isEqualTo(100.0);
+  }
+
+  @Test
+  void budgetPerPrefix() {
+    rateLimiter.reserve(bucket, "table1/file1");
+    assertThat(rateLimiter.reserve(bucket, "table2/file1")).isEqualTo(0L);
+    assertThat(rateLimiter.reserve("other-bucket", "table1/file1")).isEqualTo(0L);
+  }
+
+  @Test
+  void throttlingHalvesTheRate() {
+    rateLimiter.throttled(bucket, "table/file1");
+
+    assertThat(rateLimiter.getAllowedRate(bucket, "table/file1")).isEqualTo(50.0);
+    rateLimiter.reserve(bucket, "table/file1");
+    assertThat(rateLimiter.reserve(bucket, "table/file1")).isEqualTo(ONE_SECOND / 50);
+  }
+
+  @Test
+  void throttlingOnlyCutsTheRateOncePerInterval() {
+    rateLimiter.throttled(bucket, "table/file1");
+    rateLimiter.throttled(bucket, "table/file2");
+    assertThat(rateLimiter.getAllowedRate(bucket, "table/")).isEqualTo(50.0);
+
+    now.addAndGet(ONE_SECOND);
+    rateLimiter.throttled(bucket, "table/file3");
+    assertThat(rateLimiter.getAllowedRate(bucket, "table/")).isEqualTo(27.5);
+  }
+
+  @Test
+  void rateGrowsBackUpToTheMaximum() {
+    rateLimiter.throttled(bucket, "table/file1");
+
+    now.addAndGet(4 * ONE_SECOND);
+    rateLimiter.reserve(bucket, "table/file1");
+    assertThat(rateLimiter.getAllowedRate(bucket, "table/")).isEqualTo(70.0);
+
+    now.addAndGet(60 * ONE_SECOND);
+    rateLimiter.reserve(bucket, "table/file1");
+    assertThat(rateLimiter.getAllowedRate(bucket, "table/")).isEqualTo(100.0);
+  }
+
+  @Test
+  void rateNeverDropsBelowOneRequestPerSecond() {
+    for (int i = 0; i < 10; i++) {
+      now.addAndGet(ONE_SECOND);
+      rateLimiter.throttled(bucket, "table/file1");
+    }
+    assertThat(rateLimiter.getAllowedRate(bucket, "table/")).isGreaterThanOrEqualTo(1.0);
+  }
+
+  @Test
+  void throttlingResponseReducesTheRate() {
+    AmazonServiceException slowDown = new AmazonServiceException("Slow Down");
+    slowDown.setErrorCode("SlowDown");
+    slowDown.setStatusCode(503);
+    DeleteObjectsRequest request = new DeleteObjectsRequest(bucket).withKeys("table/partition=1/file1");
+
+    rateLimiter.afterAttempt(afterAttempt(request, slowDown));
+
+    assertThat(rateLimiter.getAllowedRate(bucket, "table/")).isEqualTo(50.0);
+    assertThat(meterRegistry.get(THROTTLES_METRIC_NAME).tag("bucket", bucket).tag("prefix", "table/").gauge().value())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void otherErrorsDoNotReduceTheRate() {
+    AmazonServiceException notFound = new AmazonServiceException("Not Found");
+    notFound.setStatusCode(404);
+    ListObjectsV2Request request = new ListObjectsV2Request().withBucketName(bucket).withPrefix("table/");
+
+    rateLimiter.afterAttempt(afterAttempt(request, notFound));
+
+    assertThat(rateLimiter.getAllowedRate(bucket, "table/")).isEqualTo(100.0);
+  }
+
+  @Test
+  void throttledDeletesReduceTheRateOncePerPrefix() {
+    rateLimiter.throttledDeletes(bucket, List.of(
+        deleteError("table1/file1", "SlowDown"),
+        deleteError("table1/file2", "SlowDown"),
+        deleteError("table2/file1", "AccessDenied")));
+
+    assertThat(rateLimiter.getAllowedRate(bucket, "table1/")).isEqualTo(50.0);
+    assertThat(rateLimiter.getAllowedRate(bucket, "table2/")).isEqualTo(100.0);
+    assertThat(meterRegistry.get(THROTTLES_METRIC_NAME).tag("bucket", bucket).tag("prefix", "table1/").gauge().value())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void partiallyThrottledDeleteObjectsReducesTheRate() {
+    AmazonS3 amazonS3 = mock(AmazonS3.class);
+    DeleteObjectsResult.DeletedObject deletedObject = new DeleteObjectsResult.DeletedObject();
+    deletedObject.setKey("table1/file1");
+    when(amazonS3.deleteObjects(any())).thenThrow(new MultiObjectDeleteException(
+        List.of(deleteError("table2/file1", "SlowDown")), List.of(deletedObject)));
+    S3Client s3Client = new S3Client(new S3ClientRegistry(amazonS3),
+        S3ClientOptions.builder().rateLimiter(rateLimiter).build());
+
+    List<String> result = s3Client.deleteObjects(bucket, List.of("table1/file1", "table2/file1"));
+
+    assertThat(result).containsExactly("table1/file1");
+    assertThat(rateLimiter.getAllowedRate(bucket, "table1/")).isEqualTo(100.0);
+    assertThat(rateLimiter.getAllowedRate(bucket, "table2/")).isEqualTo(50.0);
+    s3Client.close();
+  }
+
+  @Test
+  void throttledAsyncRequestReducesTheRate() {
+    S3AsyncClient s3AsyncClient = mock(S3AsyncClient.class);
+    when(s3AsyncClient.headObject(any(Consumer.class))).thenReturn(CompletableFuture
+        .failedFuture(S3Exception.builder().statusCode(503).message("Slow Down").build()));
+    AsyncS3Client s3Client = new AsyncS3Client(s3AsyncClient,
+        S3ClientOptions.builder().rateLimiter(rateLimiter).build());
+
+    assertThatExceptionOfType(S3Exception.class).isThrownBy(() -> s3Client.getObjectMetadata(bucket, "table1/file1"));
+
+    assertThat(rateLimiter.getAllowedRate(bucket, "table1/")).isEqualTo(50.0);
+    s3Client.close();
+  }
+
+  @Test
+  void partiallyThrottledAsyncDeleteObjectsReducesTheRate() {
+    S3AsyncClient s3AsyncClient = mock(S3AsyncClient.class);
+    when(s3AsyncClient.deleteObjects(any(software.amazon.awssdk.services.s3.model.DeleteObjectsRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(DeleteObjectsResponse.builder()
+            .deleted(DeletedObject.builder().key("table1/file1").build())
+            .errors(S3Error.builder().key("table2/file1").code("SlowDown").build())
+            .build()));
+    AsyncS3Client s3Client = new AsyncS3Client(s3AsyncClient,
+        S3ClientOptions.builder().rateLimiter(rateLimiter).build());
+
+    List<String> result = s3Client.deleteObjects(bucket, List.of("table1/file1", "table2/file1"));
+
+    assertThat(result).containsExactly("table1/file1");
+    assertThat(rateLimiter.getAllowedRate(bucket, "table1/")).isEqualTo(100.0);
+    assertThat(rateLimiter.getAllowedRate(bucket, "table2/")).isEqualTo(50.0);
+    s3Client.close();
+  }
+
+  @Test
+  void gauges() {
+    rateLimiter.throttled(bucket, "table/file1");
+
+    assertThat(meterRegistry.get(ALLOWED_RATE_METRIC_NAME).tag("bucket", bucket).tag("prefix", "table/").gauge().value())
+        .isEqualTo(50.0);
+    assertThat(meterRegistry.get(THROTTLES_METRIC_NAME).tag("bucket", bucket).tag("prefix", "table/").gauge().value())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void invalidMaximumRate() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new S3RateLimiter(meterRegistry, 0, 1));
+  }
+
+  private static MultiObjectDeleteException.DeleteError deleteError(String key, String errorCode) {
+    MultiObjectDeleteException.DeleteError error = new MultiObjectDeleteException.DeleteError();
+    error.setKey(key);
+    error.setCode(errorCode);
+    return error;
+  }
+
+  private HandlerAfterAttemptContext afterAttempt(AmazonWebServiceRequest request, Exception exception) {
+    return HandlerAfterAttemptContext.builder()
+        .withRequest(new DefaultRequest<>(request, "Amazon S3"))
+        .withException(exception)
+        .build();
+  }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static com.expediagroup.beekeeper.cleanup.aws.S3RedirectCounter.REDIRECTS_METRIC_NAME;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.DefaultRequest;
+import com.amazonaws.handlers.HandlerAfterAttemptContext;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+
+class S3RedirectCounterTest {
+
+  private MeterRegistry meterRegistry;
+  private S3RedirectCounter redirectCounter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    redirectCounter = new S3RedirectCounter(meterRegistry, "default");
+  }
+
+  @Test
+  void permanentRedirect() {
+    redirectCounter.afterAttempt(afterAttempt(serviceException(301, "PermanentRedirect")));
+
+    assertThat(redirects()).isEqualTo(1.0);
+  }
+
+  @Test
+  void temporaryRedirect() {
+    redirectCounter.afterAttempt(afterAttempt(serviceException(307, "TemporaryRedirect")));
+
+    assertThat(redirects()).isEqualTo(1.0);
+  }
+
+  @Test
+  void wrongRegionSignature() {
+    redirectCounter.afterAttempt(afterAttempt(serviceException(400, "AuthorizationHeaderMalformed")));
+
+    assertThat(redirects()).isEqualTo(1.0);
+  }
+
+  @Test
+  void otherErrorsAreNotCounted() {
+    redirectCounter.afterAttempt(afterAttempt(serviceException(404, "NoSuchKey")));
+    redirectCounter.afterAttempt(afterAttempt(null));
+
+    assertThat(redirects()).isEqualTo(0.0);
+  }
+
+  @Test
+  void taggedByClient() {
+    new S3RedirectCounter(meterRegistry, "eu-west-1").afterAttempt(afterAttempt(serviceException(301, null)));
+
+    assertThat(redirects()).isEqualTo(0.0);
+    assertThat(meterRegistry.get(REDIRECTS_METRIC_NAME).tag("client", "eu-west-1").counter().count()).isEqualTo(1.0);
+  }
+
+  private double redirects() {
+    return meterRegistry.get(REDIRECTS_METRIC_NAME).tag("client", "default").counter().count();
+  }
+
+  private AmazonServiceException serviceException(int statusCode, String errorCode) {
+    AmazonServiceException exception = new AmazonServiceException("error");
+    exception.setStatusCode(statusCode);
+    exception.setErrorCode(errorCode);
+    return exception;
+  }
+
+  private HandlerAfterAttemptContext afterAttempt(Exception exception) {
+    return HandlerAfterAttemptContext.builder()
+        .withRequest(new DefaultRequest<>(new ListObjectsV2Request().withBucketName("bucket"), "Amazon S3"))
+        .withException(exception)
+        .build();
+  }
+}
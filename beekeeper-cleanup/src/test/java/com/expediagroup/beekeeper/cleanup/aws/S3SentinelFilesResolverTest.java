@@ -0,0 +1,333 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testcontainers.containers.localstack.LocalStackContainer.Service.S3;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.hadoop.fs.s3a.BasicAWSCredentialsProvider;
+import org.junit.Rule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+import com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter;
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.PeriodDuration;
+
+@ExtendWith(MockitoExtension.class)
+@Testcontainers
+class S3SentinelFilesResolverTest {
+
+  private final String content = "Some content";
+  private final String bucket = "bucket";
+  private final String tableName = "table";
+  private final String partition1File = "table/id1/partition_1/file1";
+  private final String partition2File = "table/id1/partition_2/file1";
+  private final String partition1Sentinel = "table/id1/partition_1_$folder$";
+  private final String partition2Sentinel = "table/id1/partition_2_$folder$";
+  private final String partitionParentSentinel = "table/id1_$folder$";
+  private final String tableSentinel = "table_$folder$";
+
+  private AmazonS3 amazonS3;
+  private S3Client s3Client;
+  private S3SentinelFilesResolver sentinelFilesResolver;
+  private S3PathCleaner s3PathCleaner;
+  private @Mock BytesDeletedReporter bytesDeletedReporter;
+
+  @Rule
+  public static LocalStackContainer awsContainer = new LocalStackContainer(
+      DockerImageName.parse("localstack/localstack:0.14.2")).withServices(S3);
+
+  static {
+    awsContainer.start();
+  }
+
+  public static String S3_ENDPOINT = awsContainer.getEndpointOverride(S3).toString();
+
+  @BeforeEach
+  void setUp() {
+    amazonS3 = AmazonS3ClientBuilder
+        .standard()
+        .withCredentials(new BasicAWSCredentialsProvider("accesskey", "secretkey"))
+        .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(S3_ENDPOINT, "region"))
+        .build();
+    amazonS3.createBucket(bucket);
+    amazonS3
+        .listObjectsV2(bucket)
+        .getObjectSummaries()
+        .forEach(object -> amazonS3.deleteObject(bucket, object.getKey()));
+    s3Client = new S3Client(amazonS3, false);
+    sentinelFilesResolver = new S3SentinelFilesResolver(s3Client);
+    s3PathCleaner = new S3PathCleaner(s3Client, sentinelFilesResolver, bytesDeletedReporter);
+  }
+
+  @Test
+  void sentinelFilesDeletedOnceThePageIsComplete() {
+    amazonS3.putObject(bucket, partition1File, content);
+    amazonS3.putObject(bucket, partition2File, content);
+    amazonS3.putObject(bucket, partition1Sentinel, "");
+    amazonS3.putObject(bucket, partition2Sentinel, "");
+    amazonS3.putObject(bucket, partitionParentSentinel, "");
+    amazonS3.putObject(bucket, tableSentinel, "");
+
+    s3PathCleaner.cleanupPath(housekeepingPath("s3://bucket/table/id1/partition_1"));
+    s3PathCleaner.cleanupPath(housekeepingPath("s3://bucket/table/id1/partition_2/"));
+
+    assertThat(amazonS3.doesObjectExist(bucket, partition1File)).isFalse();
+    assertThat(amazonS3.doesObjectExist(bucket, partition2File)).isFalse();
+    assertThat(amazonS3.doesObjectExist(bucket, partition1Sentinel)).isTrue();
+    assertThat(amazonS3.doesObjectExist(bucket, partition2Sentinel)).isTrue();
+
+    s3PathCleaner.completePage();
+
+    assertThat(amazonS3.doesObjectExist(bucket, partition1Sentinel)).isFalse();
+    assertThat(amazonS3.doesObjectExist(bucket, partition2Sentinel)).isFalse();
+    assertThat(amazonS3.doesObjectExist(bucket, partitionParentSentinel)).isTrue();
+
+    s3PathCleaner.completeRun();
+
+    assertThat(amazonS3.doesObjectExist(bucket, partitionParentSentinel)).isFalse();
+    assertThat(amazonS3.doesObjectExist(bucket, tableSentinel)).isTrue();
+  }
+
+  @Test
+  void parentSentinelFileDeletedWhenParentIsEmptiedOverSeveralPages() {
+    amazonS3.putObject(bucket, partition1File, content);
+    amazonS3.putObject(bucket, partition2File, content);
+    amazonS3.putObject(bucket, partition1Sentinel, "");
+    amazonS3.putObject(bucket, partition2Sentinel, "");
+    amazonS3.putObject(bucket, partitionParentSentinel, "");
+
+    s3PathCleaner.cleanupPath(housekeepingPath("s3://bucket/table/id1/partition_1"));
+    s3PathCleaner.completePage();
+    s3PathCleaner.cleanupPath(housekeepingPath("s3://bucket/table/id1/partition_2"));
+    s3PathCleaner.completePage();
+    s3PathCleaner.completeRun();
+
+    assertThat(amazonS3.listObjectsV2(bucket).getObjectSummaries()).isEmpty();
+  }
+
+  @Test
+  void parentSentinelFileKeptWhenParentIsNotEmpty() {
+    String partition10File = "table/id1/partition_10/data.file";
+    String partition10Sentinel = "table/id1/partition_10_$folder$";
+    amazonS3.putObject(bucket, partition1File, content);
+    amazonS3.putObject(bucket, partition1Sentinel, "");
+    amazonS3.putObject(bucket, partition10File, content);
+    amazonS3.putObject(bucket, partition10Sentinel, "");
+    amazonS3.putObject(bucket, partitionParentSentinel, "");
+
+    s3PathCleaner.cleanupPath(housekeepingPath("s3://bucket/table/id1/partition_1"));
+    s3PathCleaner.completePage();
+    s3PathCleaner.completeRun();
+
+    assertThat(amazonS3.doesObjectExist(bucket, partition1Sentinel)).isFalse();
+    assertThat(amazonS3.doesObjectExist(bucket, partition10File)).isTrue();
+    assertThat(amazonS3.doesObjectExist(bucket, partition10Sentinel)).isTrue();
+    assertThat(amazonS3.doesObjectExist(bucket, partitionParentSentinel)).isTrue();
+  }
+
+  @Test
+  void sentinelFileWithContentKept() {
+    amazonS3.putObject(bucket, partition1File, content);
+    amazonS3.putObject(bucket, partition1Sentinel, content);
+    amazonS3.putObject(bucket, partitionParentSentinel, "");
+
+    s3PathCleaner.cleanupPath(housekeepingPath("s3://bucket/table/id1/partition_1"));
+    s3PathCleaner.completePage();
+    s3PathCleaner.completeRun();
+
+    assertThat(amazonS3.doesObjectExist(bucket, partition1Sentinel)).isTrue();
+    assertThat(amazonS3.doesObjectExist(bucket, partitionParentSentinel)).isTrue();
+  }
+
+  @Test
+  void deleteTable() {
+    amazonS3.putObject(bucket, partition1File, content);
+    amazonS3.putObject(bucket, partition1Sentinel, "");
+    amazonS3.putObject(bucket, partitionParentSentinel, "");
+    amazonS3.putObject(bucket, tableSentinel, "");
+
+    s3PathCleaner.cleanupPath(housekeepingPath("s3://bucket/table"));
+    s3PathCleaner.completePage();
+
+    assertThat(amazonS3.listObjectsV2(bucket).getObjectSummaries()).isEmpty();
+  }
+
+  @Test
+  void dryRun() {
+    S3Client dryRunS3Client = new S3Client(amazonS3, true);
+    s3PathCleaner = new S3PathCleaner(dryRunS3Client, new S3SentinelFilesResolver(dryRunS3Client),
+        bytesDeletedReporter);
+    amazonS3.putObject(bucket, partition1File, content);
+    amazonS3.putObject(bucket, partition1Sentinel, "");
+    amazonS3.putObject(bucket, partitionParentSentinel, "");
+
+    s3PathCleaner.cleanupPath(housekeepingPath("s3://bucket/table/id1/partition_1"));
+    s3PathCleaner.completePage();
+    s3PathCleaner.completeRun();
+
+    assertThat(amazonS3.doesObjectExist(bucket, partition1File)).isTrue();
+    assertThat(amazonS3.doesObjectExist(bucket, partition1Sentinel)).isTrue();
+    assertThat(amazonS3.doesObjectExist(bucket, partitionParentSentinel)).isTrue();
+  }
+
+  @Test
+  void nothingToResolve() {
+    assertThatCode(() -> sentinelFilesResolver.deleteSentinelFiles()).doesNotThrowAnyException();
+  }
+
+  @Test
+  void oneListingPerParentAndOneDeletionPerBucket() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    sentinelFilesResolver = new S3SentinelFilesResolver(new S3Client(mockAmazonS3, false));
+    ListObjectsV2Result listObjectsV2Result = new ListObjectsV2Result();
+    listObjectsV2Result.getObjectSummaries().add(objectSummary("table/partition_1_$folder$", 0L));
+    listObjectsV2Result.getObjectSummaries().add(objectSummary("table/partition_2_$folder$", 0L));
+    listObjectsV2Result.getObjectSummaries().add(objectSummary("table/partition_3_$folder$", 0L));
+    when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(listObjectsV2Result);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(new DeleteObjectsResult(List.of()));
+
+    sentinelFilesResolver.add(bucket, "table/partition_1", "s3://bucket/table/partition_1", tableName);
+    sentinelFilesResolver.add(bucket, "table/partition_2", "s3://bucket/table/partition_2", tableName);
+    sentinelFilesResolver.deleteSentinelFiles();
+
+    ArgumentCaptor<ListObjectsV2Request> listRequest = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+    verify(mockAmazonS3, times(1)).listObjectsV2(listRequest.capture());
+    assertThat(listRequest.getValue().getPrefix()).isEqualTo("table/");
+    assertThat(listRequest.getValue().getDelimiter()).isEqualTo("/");
+    ArgumentCaptor<DeleteObjectsRequest> deleteRequest = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+    verify(mockAmazonS3, times(1)).deleteObjects(deleteRequest.capture());
+    assertThat(deleteRequest.getValue().getKeys())
+        .extracting(DeleteObjectsRequest.KeyVersion::getKey)
+        .containsExactly("table/partition_1_$folder$", "table/partition_2_$folder$");
+  }
+
+  @Test
+  void parentsListedOncePerRun() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    sentinelFilesResolver = new S3SentinelFilesResolver(new S3Client(mockAmazonS3, false));
+    when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class)))
+        .thenAnswer(invocation -> new ListObjectsV2Result());
+
+    sentinelFilesResolver.add(bucket, "table/id1/date=1/hour=1", "s3://bucket/table/id1/date=1/hour=1", tableName);
+    sentinelFilesResolver.add(bucket, "table/id1/date=1/hour=2", "s3://bucket/table/id1/date=1/hour=2", tableName);
+    sentinelFilesResolver.deleteSentinelFiles();
+    sentinelFilesResolver.add(bucket, "table/id1/date=1/hour=3", "s3://bucket/table/id1/date=1/hour=3", tableName);
+    sentinelFilesResolver.add(bucket, "table/id1/date=2/hour=1", "s3://bucket/table/id1/date=2/hour=1", tableName);
+    sentinelFilesResolver.deleteSentinelFiles();
+    sentinelFilesResolver.completeRun();
+
+    ArgumentCaptor<ListObjectsV2Request> listRequest = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+    verify(mockAmazonS3, times(5)).listObjectsV2(listRequest.capture());
+    assertThat(listRequest.getAllValues())
+        .extracting(ListObjectsV2Request::getPrefix)
+        .containsExactly("table/id1/date=1/", "table/id1/date=1/", "table/id1/date=2/", "table/id1/", "table/");
+  }
+
+  @Test
+  void skipToSentinelFilesOnceParentIsNotEmpty() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    sentinelFilesResolver = new S3SentinelFilesResolver(new S3Client(mockAmazonS3, false));
+    ListObjectsV2Result firstPage = new ListObjectsV2Result();
+    firstPage.getObjectSummaries().add(objectSummary("table/id1/a_file", 10L));
+    firstPage.setTruncated(true);
+    firstPage.setNextContinuationToken("token");
+    ListObjectsV2Result secondPage = new ListObjectsV2Result();
+    secondPage.getObjectSummaries().add(objectSummary(partition1Sentinel, 0L));
+    when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(firstPage, secondPage);
+    when(mockAmazonS3.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(new DeleteObjectsResult(List.of()));
+
+    sentinelFilesResolver.add(bucket, "table/id1/partition_1", "s3://bucket/table/id1/partition_1", tableName);
+    sentinelFilesResolver.deleteSentinelFiles();
+
+    ArgumentCaptor<ListObjectsV2Request> listRequest = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+    verify(mockAmazonS3, times(2)).listObjectsV2(listRequest.capture());
+    ListObjectsV2Request secondRequest = listRequest.getAllValues().get(1);
+    assertThat(secondRequest.getStartAfter()).isEqualTo("table/id1/partition_1");
+    assertThat(secondRequest.getContinuationToken()).isNull();
+    ArgumentCaptor<DeleteObjectsRequest> deleteRequest = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+    verify(mockAmazonS3).deleteObjects(deleteRequest.capture());
+    assertThat(deleteRequest.getValue().getKeys())
+        .extracting(DeleteObjectsRequest.KeyVersion::getKey)
+        .containsExactly(partition1Sentinel);
+  }
+
+  @Test
+  void listingFailureIsNotPropagated() {
+    AmazonS3 mockAmazonS3 = mock(AmazonS3.class);
+    sentinelFilesResolver = new S3SentinelFilesResolver(new S3Client(mockAmazonS3, false));
+    when(mockAmazonS3.listObjectsV2(any(ListObjectsV2Request.class))).thenThrow(IllegalStateException.class);
+
+    sentinelFilesResolver.add(bucket, "table/id1/partition_1", "s3://bucket/table/id1/partition_1", tableName);
+
+    assertThatCode(() -> sentinelFilesResolver.deleteSentinelFiles()).doesNotThrowAnyException();
+  }
+
+  @Test
+  void compareKeysByCodePoint() {
+    String supplementaryCharacter = new String(Character.toChars(0x1F600));
+    assertThat(S3SentinelFilesResolver.compareKeys(supplementaryCharacter, "\uFFFF")).isPositive();
+    assertThat(S3SentinelFilesResolver.compareKeys("a/", "a_")).isNegative();
+    assertThat(S3SentinelFilesResolver.compareKeys("a", "a/")).isNegative();
+    assertThat(S3SentinelFilesResolver.compareKeys("a", "a")).isZero();
+  }
+
+  private HousekeepingPath housekeepingPath(String path) {
+    return HousekeepingPath
+        .builder()
+        .path(path)
+        .tableName(tableName)
+        .databaseName("database")
+        .creationTimestamp(LocalDateTime.now())
+        .cleanupDelay(PeriodDuration.of(Duration.ofDays(1)))
+        .build();
+  }
+
+  private S3ObjectSummary objectSummary(String key, long size) {
+    S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+    s3ObjectSummary.setBucketName(bucket);
+    s3ObjectSummary.setKey(key);
+    s3ObjectSummary.setSize(size);
+    return s3ObjectSummary;
+  }
+}
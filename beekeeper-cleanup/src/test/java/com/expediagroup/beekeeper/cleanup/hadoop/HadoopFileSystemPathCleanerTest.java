@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.hadoop;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter;
+import com.expediagroup.beekeeper.core.config.FileSystemType;
+import com.expediagroup.beekeeper.core.error.BeekeeperException;
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.PeriodDuration;
+
+@ExtendWith(MockitoExtension.class)
+class HadoopFileSystemPathCleanerTest {
+
+  private final String content = "Some content";
+
+  private @TempDir Path tempDir;
+  private @Mock BytesDeletedReporter bytesDeletedReporter;
+
+  private Path table;
+  private HousekeepingPath housekeepingPath;
+  private HadoopFileSystemPathCleaner pathCleaner;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    table = Files.createDirectories(tempDir.resolve("table"));
+    housekeepingPath = HousekeepingPath
+        .builder()
+        .path(table.toUri().toString())
+        .tableName("table")
+        .databaseName("database")
+        .creationTimestamp(LocalDateTime.now())
+        .cleanupDelay(PeriodDuration.of(Duration.ofDays(1)))
+        .build();
+    pathCleaner = new HadoopFileSystemPathCleaner(new Configuration(), bytesDeletedReporter, false, 4);
+  }
+
+  @Test
+  void typicalForDirectory() throws IOException {
+    write(table.resolve("partition_1/file1"));
+    write(table.resolve("partition_1/file2"));
+    write(table.resolve("partition_2/nested/file1"));
+
+    pathCleaner.cleanupPath(housekeepingPath);
+
+    assertThat(table).doesNotExist();
+    assertThat(tempDir).exists();
+    verify(bytesDeletedReporter)
+        .reportTaggable(content.length() * 3L, housekeepingPath, FileSystemType.HADOOP);
+  }
+
+  @Test
+  void directoryWithManyFiles() throws IOException {
+    int files = HadoopFileSystemPathCleaner.FILES_PER_BATCH * 2 + 1;
+    for (int i = 0; i < files; i++) {
+      write(table.resolve("partition_1/file" + i));
+    }
+
+    pathCleaner.cleanupPath(housekeepingPath);
+
+    assertThat(table).doesNotExist();
+    verify(bytesDeletedReporter)
+        .reportTaggable((long) content.length() * files, housekeepingPath, FileSystemType.HADOOP);
+  }
+
+  @Test
+  void typicalForFile() throws IOException {
+    Path file = table.resolve("file1");
+    write(file);
+    write(table.resolve("file2"));
+    housekeepingPath.setPath(file.toUri().toString());
+
+    pathCleaner.cleanupPath(housekeepingPath);
+
+    assertThat(file).doesNotExist();
+    assertThat(table.resolve("file2")).exists();
+    verify(bytesDeletedReporter).reportTaggable(content.length(), housekeepingPath, FileSystemType.HADOOP);
+  }
+
+  @Test
+  void emptyDirectory() {
+    pathCleaner.cleanupPath(housekeepingPath);
+
+    assertThat(table).doesNotExist();
+    verifyNoInteractions(bytesDeletedReporter);
+  }
+
+  @Test
+  void pathDoesNotExist() {
+    housekeepingPath.setPath(tempDir.resolve("other").toUri().toString());
+
+    pathCleaner.cleanupPath(housekeepingPath);
+
+    verifyNoInteractions(bytesDeletedReporter);
+  }
+
+  @Test
+  void dryRun() throws IOException {
+    write(table.resolve("partition_1/file1"));
+    pathCleaner = new HadoopFileSystemPathCleaner(new Configuration(), bytesDeletedReporter, true, 4);
+
+    pathCleaner.cleanupPath(housekeepingPath);
+
+    assertThat(table.resolve("partition_1/file1")).exists();
+    verify(bytesDeletedReporter).reportTaggable(content.length(), housekeepingPath, FileSystemType.HADOOP);
+  }
+
+  @Test
+  void fileDeletionFails() throws IOException {
+    write(table.resolve("partition_1/file1"));
+    write(table.resolve("partition_2/undeletable"));
+    Configuration configuration = new Configuration();
+    configuration.setClass("fs.file.impl", FailingLocalFileSystem.class, FileSystem.class);
+    configuration.setBoolean("fs.file.impl.disable.cache", true);
+    pathCleaner = new HadoopFileSystemPathCleaner(configuration, bytesDeletedReporter, false, 4);
+
+    assertThatExceptionOfType(BeekeeperException.class)
+        .isThrownBy(() -> pathCleaner.cleanupPath(housekeepingPath))
+        .withMessageContaining("undeletable");
+    assertThat(table.resolve("partition_1")).doesNotExist();
+    assertThat(table.resolve("partition_2/undeletable")).exists();
+    verify(bytesDeletedReporter).reportTaggable(content.length(), housekeepingPath, FileSystemType.HADOOP);
+  }
+
+  @Test
+  void invalidParallelism() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new HadoopFileSystemPathCleaner(new Configuration(), bytesDeletedReporter, false, 0));
+  }
+
+  private void write(Path file) throws IOException {
+    Files.createDirectories(file.getParent());
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static class FailingLocalFileSystem extends LocalFileSystem {
+
+    @Override
+    public boolean delete(org.apache.hadoop.fs.Path path, boolean recursive) throws IOException {
+      if (path.getName().equals("undeletable")) {
+        throw new IOException("Permission denied");
+      }
+      return super.delete(path, recursive);
+    }
+  }
+}
@@ -19,7 +19,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import static com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter.DRY_RUN_METRIC_NAME;
+import static com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter.DRY_RUN_RECLAIMED_METRIC_NAME;
 import static com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter.METRIC_NAME;
+import static com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter.RECLAIMED_METRIC_NAME;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -93,6 +95,33 @@ public class BytesDeletedReporterTest {
         .containsExactly((double) BYTES_DELETED);
   }
 
+  @Test
+  public void bytesReclaimedAreReportedSeparately() {
+    bytesDeletedReporter.reportTaggable(BYTES_DELETED, taggable, FileSystemType.S3);
+    bytesDeletedReporter.reportBytesReclaimed(BYTES_DELETED * 3, taggable, FileSystemType.S3);
+    Counter deleted = RequiredSearch.in(meterRegistry)
+        .name("s3-" + METRIC_NAME)
+        .tags("table", TABLE)
+        .counter();
+    Counter reclaimed = RequiredSearch.in(meterRegistry)
+        .name("s3-" + RECLAIMED_METRIC_NAME)
+        .tags("table", TABLE)
+        .counter();
+    assertThat(deleted.count()).isEqualTo((double) BYTES_DELETED);
+    assertThat(reclaimed.count()).isEqualTo((double) BYTES_DELETED * 3);
+  }
+
+  @Test
+  public void bytesReclaimedDryRun() {
+    bytesDeletedReporter = new BytesDeletedReporter(meterRegistry, true);
+    bytesDeletedReporter.reportBytesReclaimed(BYTES_DELETED, taggable, FileSystemType.S3);
+    Counter counter = RequiredSearch.in(meterRegistry)
+        .name("s3-" + DRY_RUN_RECLAIMED_METRIC_NAME)
+        .tags("table", TABLE)
+        .counter();
+    assertThat(counter.count()).isEqualTo((double) BYTES_DELETED);
+  }
+
   @Test
   public void multipleTablesCreateMultipleCounters() {
     Taggable taggable2 = Mockito.mock(Taggable.class);
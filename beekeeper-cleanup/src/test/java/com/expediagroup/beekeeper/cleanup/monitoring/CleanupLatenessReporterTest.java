@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.monitoring;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static com.expediagroup.beekeeper.cleanup.monitoring.CleanupLatenessReporter.METRIC_NAME;
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.DELETED;
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.FAILED;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.search.RequiredSearch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.HousekeepingStatus;
+import com.expediagroup.beekeeper.core.model.PeriodDuration;
+
+public class CleanupLatenessReporterTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-02T12:00:00Z");
+  private static final LocalDateTime LOCAL_NOW = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CleanupLatenessReporter reporter = new CleanupLatenessReporter(meterRegistry,
+      Clock.fixed(NOW, ZoneOffset.UTC));
+
+  @Test
+  public void typical() {
+    reporter
+        .reportCleanedUp(List
+            .of(path("table1", DELETED, Duration.ofHours(3)), path("table1", DELETED, Duration.ofHours(1)),
+                path("table2", DELETED, Duration.ofHours(5))));
+
+    Timer table1 = RequiredSearch.in(meterRegistry).name(METRIC_NAME).tags("table", "database.table1").timer();
+    assertThat(table1.count()).isEqualTo(2);
+    assertThat(table1.max(HOURS)).isEqualTo(3);
+    assertThat(table1.totalTime(HOURS)).isEqualTo(4);
+    Timer table2 = RequiredSearch.in(meterRegistry).name(METRIC_NAME).tags("table", "database.table2").timer();
+    assertThat(table2.count()).isEqualTo(1);
+    assertThat(table2.max(HOURS)).isEqualTo(5);
+  }
+
+  @Test
+  public void onlyDeletedRecordsAreReported() {
+    reporter.reportCleanedUp(List.of(path("table1", FAILED, Duration.ofHours(3))));
+
+    assertThat(meterRegistry.find(METRIC_NAME).timer()).isNull();
+  }
+
+  @Test
+  public void recordsCleanedUpEarlyAreNotLate() {
+    reporter.reportCleanedUp(List.of(path("table1", DELETED, Duration.ofHours(-1))));
+
+    Timer timer = RequiredSearch.in(meterRegistry).name(METRIC_NAME).tags("table", "database.table1").timer();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.totalTime(HOURS)).isZero();
+  }
+
+  private static HousekeepingPath path(String tableName, HousekeepingStatus status, Duration lateness) {
+    return HousekeepingPath
+        .builder()
+        .path("s3://bucket/" + tableName)
+        .databaseName("database")
+        .tableName(tableName)
+        .housekeepingStatus(status)
+        .creationTimestamp(LOCAL_NOW.minus(lateness).minusDays(1))
+        .cleanupDelay(PeriodDuration.of(Duration.ofDays(1)))
+        .build();
+  }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.expediagroup.beekeeper.core.error.BeekeeperException;
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.PeriodDuration;
+
+@ExtendWith(MockitoExtension.class)
+class SchemeRoutingPathCleanerTest {
+
+  private @Mock PathCleaner s3PathCleaner;
+  private @Mock PathCleaner hadoopPathCleaner;
+
+  private SchemeRoutingPathCleaner pathCleaner;
+
+  @BeforeEach
+  void setUp() {
+    pathCleaner = new SchemeRoutingPathCleaner(s3PathCleaner, Map.of("HDFS", hadoopPathCleaner, "file",
+        hadoopPathCleaner));
+  }
+
+  @Test
+  void pathsAreRoutedByScheme() {
+    HousekeepingPath hdfsPath = path("hdfs://namenode/table/partition");
+    HousekeepingPath filePath = path("file:///tmp/table/partition");
+    HousekeepingPath s3Path = path("s3://bucket/table/partition with space");
+
+    pathCleaner.cleanupPath(hdfsPath);
+    pathCleaner.cleanupPathOfPage(filePath);
+    pathCleaner.cleanupPath(s3Path);
+    pathCleaner.abandonPath(s3Path);
+
+    verify(hadoopPathCleaner).cleanupPath(hdfsPath);
+    verify(hadoopPathCleaner).cleanupPathOfPage(filePath);
+    verify(s3PathCleaner).cleanupPath(s3Path);
+    verify(s3PathCleaner).abandonPath(s3Path);
+  }
+
+  @Test
+  void pathsWithoutSchemeUseDefault() {
+    HousekeepingPath invalidPath = path("not a real path");
+
+    pathCleaner.cleanupPath(invalidPath);
+
+    verify(s3PathCleaner).cleanupPath(invalidPath);
+    verifyNoInteractions(hadoopPathCleaner);
+  }
+
+  @Test
+  void completePageOfAllCleaners() {
+    HousekeepingPath s3Path = path("s3://bucket/table/partition");
+    HousekeepingPath hdfsPath = path("hdfs://namenode/table/partition");
+    BeekeeperException s3Failure = new BeekeeperException("s3");
+    BeekeeperException hdfsFailure = new BeekeeperException("hdfs");
+    when(s3PathCleaner.completePage()).thenReturn(Map.of(s3Path, s3Failure));
+    when(hadoopPathCleaner.completePage()).thenReturn(Map.of(hdfsPath, hdfsFailure));
+
+    assertThat(pathCleaner.completePage()).containsOnly(Map.entry(s3Path, s3Failure), Map.entry(hdfsPath, hdfsFailure));
+  }
+
+  @Test
+  void completeRunOfAllCleanersEvenIfOneFails() {
+    doThrow(new BeekeeperException("s3")).when(s3PathCleaner).completeRun();
+
+    assertThatExceptionOfType(BeekeeperException.class).isThrownBy(() -> pathCleaner.completeRun());
+    verify(hadoopPathCleaner).completeRun();
+  }
+
+  private HousekeepingPath path(String path) {
+    return HousekeepingPath
+        .builder()
+        .path(path)
+        .creationTimestamp(LocalDateTime.now())
+        .cleanupDelay(PeriodDuration.of(Duration.ofDays(1)))
+        .build();
+  }
+}
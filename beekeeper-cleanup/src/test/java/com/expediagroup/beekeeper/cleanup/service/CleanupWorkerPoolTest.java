@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CleanupWorkerPoolTest {
+
+  private CleanupWorkerPool pool;
+
+  @AfterEach
+  void tearDown() {
+    if (pool != null) {
+      pool.close();
+    }
+  }
+
+  @Test
+  void defaultRunsOnCallingThread() {
+    pool = new CleanupWorkerPool();
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    pool.runAll(List.of(1, 2, 3), item -> threads.add(Thread.currentThread()));
+
+    assertThat(threads).containsExactly(Thread.currentThread());
+  }
+
+  @Test
+  void itemsRunConcurrently() {
+    pool = new CleanupWorkerPool(2);
+    CountDownLatch bothStarted = new CountDownLatch(2);
+
+    // each item waits for the other one, which would never happen if they ran one after another
+    assertTimeoutPreemptively(Duration.ofSeconds(10), () -> pool.runAll(List.of(1, 2), item -> {
+      bothStarted.countDown();
+      try {
+        assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }));
+  }
+
+  @Test
+  void returnsOnceAllItemsAreDone() {
+    pool = new CleanupWorkerPool(4);
+    Set<Integer> done = ConcurrentHashMap.newKeySet();
+
+    pool.runAll(List.of(1, 2, 3, 4, 5, 6, 7, 8), done::add);
+
+    assertThat(done).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8);
+  }
+
+  @Test
+  void failureDoesNotStopOtherItems() {
+    pool = new CleanupWorkerPool(2);
+    Set<Integer> done = ConcurrentHashMap.newKeySet();
+    RuntimeException failure = new RuntimeException("1");
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> pool.runAll(List.of(1, 2, 3, 4), item -> {
+          if (item == 1) {
+            throw failure;
+          }
+          if (item == 3) {
+            throw new IllegalStateException("3");
+          }
+          done.add(item);
+        }))
+        .isSameAs(failure)
+        .satisfies(e -> assertThat(e.getSuppressed()).extracting(Throwable::getMessage).containsExactly("3"));
+    assertThat(done).containsExactlyInAnyOrder(2, 4);
+  }
+
+  @Test
+  void failureDoesNotStopOtherItemsOnCallingThread() {
+    pool = new CleanupWorkerPool();
+    Set<Integer> done = ConcurrentHashMap.newKeySet();
+
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> pool.runAll(List.of(1, 2), item -> {
+          if (item == 1) {
+            throw new IllegalStateException("1");
+          }
+          done.add(item);
+        }));
+    assertThat(done).containsExactly(2);
+  }
+
+  @Test
+  void invalidParallelism() {
+    assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new CleanupWorkerPool(0));
+  }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import com.expediagroup.beekeeper.core.error.BeekeeperException;
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.PeriodDuration;
+
+@Timeout(10)
+class PagePrefetcherTest {
+
+  // stands for the due records of the housekeeping table, by id
+  private final Map<Long, HousekeepingPath> dueRecords = new ConcurrentSkipListMap<>();
+  private PagePrefetcher<HousekeepingPath> prefetcher;
+
+  @AfterEach
+  void tearDown() {
+    if (prefetcher != null) {
+      prefetcher.close();
+    }
+  }
+
+  @Test
+  void everyRecordIsHandedOutOnce() {
+    addDueRecords(5);
+    prefetcher = new PagePrefetcher<>(this::findDueRecords, this::findDueRecordsAfter, 2, 2, false);
+    prefetcher.start();
+
+    List<List<Long>> pages = new ArrayList<>();
+    List<HousekeepingPath> page = prefetcher.nextPage();
+    while (!page.isEmpty()) {
+      pages.add(ids(page));
+      page.forEach(record -> dueRecords.remove(record.getId()));
+      prefetcher.pageCompleted(page);
+      page = prefetcher.nextPage();
+    }
+
+    assertThat(pages).containsExactly(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+  }
+
+  @Test
+  void recordsInFlightAreNotHandedOutAgain() {
+    addDueRecords(4);
+    prefetcher = new PagePrefetcher<>(this::findDueRecords, this::findDueRecordsAfter, 2, 1, false);
+    prefetcher.start();
+
+    // the records of the first page are still due while it is being processed
+    List<HousekeepingPath> first = prefetcher.nextPage();
+    List<HousekeepingPath> second = prefetcher.nextPage();
+
+    assertThat(ids(first)).containsExactly(1L, 2L);
+    assertThat(ids(second)).containsExactly(3L, 4L);
+
+    dueRecords.clear();
+    prefetcher.pageCompleted(first);
+    prefetcher.pageCompleted(second);
+    assertThat(prefetcher.nextPage()).isEmpty();
+  }
+
+  @Test
+  void recordsStillDueAreHandedOutAgainOnceTheirPageIsCompleted() {
+    addDueRecords(1);
+    prefetcher = new PagePrefetcher<>(this::findDueRecords, this::findDueRecordsAfter, 2, 1, false);
+    prefetcher.start();
+
+    List<HousekeepingPath> first = prefetcher.nextPage();
+    prefetcher.pageCompleted(first);
+    List<HousekeepingPath> second = prefetcher.nextPage();
+
+    assertThat(ids(second)).isEqualTo(ids(first));
+    dueRecords.clear();
+    prefetcher.pageCompleted(second);
+    assertThat(prefetcher.nextPage()).isEmpty();
+  }
+
+  @Test
+  void dryRunFetchesTheRecordsFollowingThePreviousPage() {
+    addDueRecords(3);
+    prefetcher = new PagePrefetcher<>(this::findDueRecords, this::findDueRecordsAfter, 2, 2, true);
+    prefetcher.start();
+
+    assertThat(ids(prefetcher.nextPage())).containsExactly(1L, 2L);
+    assertThat(ids(prefetcher.nextPage())).containsExactly(3L);
+    assertThat(prefetcher.nextPage()).isEmpty();
+  }
+
+  @Test
+  void fetchFailureIsThrown() {
+    IllegalStateException failure = new IllegalStateException("Database unavailable");
+    prefetcher = new PagePrefetcher<>(pageable -> {
+      throw failure;
+    }, this::findDueRecordsAfter, 2, 1, false);
+    prefetcher.start();
+
+    assertThatExceptionOfType(BeekeeperException.class)
+        .isThrownBy(() -> prefetcher.nextPage())
+        .withCause(failure);
+  }
+
+  @Test
+  void invalidPrefetchPages() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new PagePrefetcher<>(this::findDueRecords, this::findDueRecordsAfter, 2, 0, false));
+  }
+
+  private Slice<HousekeepingPath> findDueRecords(Pageable pageable) {
+    List<HousekeepingPath> records = dueRecords
+        .values()
+        .stream()
+        .skip(pageable.getOffset())
+        .limit(pageable.getPageSize())
+        .collect(Collectors.toList());
+    return new SliceImpl<>(records, pageable, false);
+  }
+
+  private Slice<HousekeepingPath> findDueRecordsAfter(Long lastId, Pageable pageable) {
+    assertThat(pageable.getPageNumber()).isZero();
+    List<HousekeepingPath> records = dueRecords
+        .values()
+        .stream()
+        .filter(record -> record.getId() > lastId)
+        .limit(pageable.getPageSize())
+        .collect(Collectors.toList());
+    return new SliceImpl<>(records, pageable, false);
+  }
+
+  private void addDueRecords(int count) {
+    LongStream.rangeClosed(1, count).forEach(id -> dueRecords.put(id, HousekeepingPath
+        .builder()
+        .id(id)
+        .path("s3://bucket/table/partition=" + id)
+        .creationTimestamp(LocalDateTime.now())
+        .cleanupDelay(PeriodDuration.of(Duration.ofDays(1)))
+        .build()));
+  }
+
+  private static List<Long> ids(List<HousekeepingPath> page) {
+    return page.stream().map(HousekeepingPath::getId).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.jupiter.api.Test;
+
+class TablePageShareTest {
+
+  @Test
+  void typical() {
+    assertThat(TablePageShare.maxRecordsPerTable(500, 10)).isEqualTo(50);
+    assertThat(TablePageShare.maxRecordsPerTable(500, 100)).isEqualTo(500);
+  }
+
+  @Test
+  void disabled() {
+    assertThat(TablePageShare.maxRecordsPerTable(500, 0)).isZero();
+  }
+
+  @Test
+  void atLeastOneRecordPerTable() {
+    assertThat(TablePageShare.maxRecordsPerTable(5, 10)).isEqualTo(1);
+  }
+
+  @Test
+  void invalidShare() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> TablePageShare.maxRecordsPerTable(500, 101));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> TablePageShare.maxRecordsPerTable(500, -1));
+  }
+}
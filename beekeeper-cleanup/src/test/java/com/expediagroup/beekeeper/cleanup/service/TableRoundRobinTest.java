@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.PeriodDuration;
+import com.expediagroup.beekeeper.core.model.TableName;
+
+class TableRoundRobinTest {
+
+  private static final LocalDateTime INSTANT = LocalDateTime.parse("2026-01-01T10:00:00");
+
+  private final Map<TableName, List<HousekeepingPath>> records = new LinkedHashMap<>();
+  private final AtomicInteger tableListings = new AtomicInteger();
+  private final TableRoundRobin<HousekeepingPath> tableRoundRobin = new TableRoundRobin<>(instant -> {
+    tableListings.incrementAndGet();
+    return new ArrayList<>(records.keySet());
+  });
+
+  @Test
+  void pagesTakeTurnsAcrossTables() {
+    addRecords("a", 5);
+    addRecords("b", 1);
+    addRecords("c", 2);
+
+    assertThat(nextPage(INSTANT)).containsExactly("a1", "b1", "a2");
+    assertThat(nextPage(INSTANT)).containsExactly("c1", "a3", "c2");
+    assertThat(nextPage(INSTANT)).containsExactly("a4", "a5");
+    assertThat(nextPage(INSTANT)).isEmpty();
+    assertThat(tableListings).hasValue(1);
+  }
+
+  @Test
+  void tablesAreListedAgainForANewInstant() {
+    addRecords("a", 1);
+
+    assertThat(nextPage(INSTANT)).containsExactly("a1");
+    assertThat(nextPage(INSTANT)).isEmpty();
+    addRecords("b", 1);
+    assertThat(nextPage(INSTANT)).isEmpty();
+    assertThat(nextPage(INSTANT.plusHours(1))).containsExactly("b1");
+    assertThat(tableListings).hasValue(2);
+  }
+
+  private void addRecords(String table, int count) {
+    List<HousekeepingPath> tableRecords = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      tableRecords.add(HousekeepingPath
+          .builder()
+          .path(table + i)
+          .databaseName("database")
+          .tableName(table)
+          .creationTimestamp(INSTANT.minusDays(2))
+          .cleanupDelay(PeriodDuration.of(Duration.ofDays(1)))
+          .build());
+    }
+    records.put(new TableName("database", table), tableRecords);
+  }
+
+  /**
+   * Returns the paths of the next page of 3 records, with at most 2 records of one table, and cleans them up.
+   */
+  private List<String> nextPage(LocalDateTime instant) {
+    List<HousekeepingPath> page = tableRoundRobin.nextPage(instant, 2, 3, (table, maxRecords) -> {
+      List<HousekeepingPath> tableRecords = records.get(table);
+      return List.copyOf(tableRecords.subList(0, Math.min(maxRecords, tableRecords.size())));
+    });
+    page.forEach(path -> records.get(new TableName("database", path.getTableName())).remove(path));
+    return page.stream().map(HousekeepingPath::getPath).toList();
+  }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.cleanup.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WorkerThreadsTest {
+
+  private final ExecutorService pool = WorkerThreads.newFixedPool("worker-", 2);
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  void itemsRunOnTheirExecutor() {
+    Map<Integer, Thread> threads = new ConcurrentHashMap<>();
+
+    WorkerThreads.runAll(List.of(1, 2, 3), item -> item == 2 ? null : pool,
+        item -> threads.put(item, Thread.currentThread()));
+
+    assertThat(threads.get(2)).isSameAs(Thread.currentThread());
+    assertThat(threads.get(1).getName()).startsWith("worker-");
+    assertThat(threads.get(1).isDaemon()).isTrue();
+    assertThat(threads.get(3).getName()).startsWith("worker-");
+  }
+
+  @Test
+  void failureDoesNotStopOtherItems() {
+    Map<Integer, Boolean> done = new ConcurrentHashMap<>();
+
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> WorkerThreads.runAll(List.of(1, 2, 3), item -> item == 1 ? null : pool, item -> {
+          if (item != 3) {
+            throw new IllegalStateException(String.valueOf(item));
+          }
+          done.put(item, true);
+        }))
+        .withMessage("1")
+        .satisfies(e -> assertThat(e.getSuppressed()).extracting(Throwable::getMessage).containsExactly("2"));
+    assertThat(done).containsOnlyKeys(3);
+  }
+}
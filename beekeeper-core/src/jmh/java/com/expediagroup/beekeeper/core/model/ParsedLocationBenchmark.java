@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.model;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the parsing of a location by {@link ParsedLocation} with the string handling it replaced, per path cleaned
+ * up and per ALTER event filtered. Run with the {@code gc} profiler, its {@code gc.alloc.rate.norm} gives the bytes
+ * allocated per operation.
+ * <p>
+ * The per path baseline reproduces what {@code S3SchemeURI} and {@code S3PathValidator} used to do: a regular
+ * expression replacing the scheme, a URL encoded {@link URI} standing for {@code AmazonS3URI}, the rebuilt path and a
+ * count of the "/" chars. The per event baseline strips the trailing "/" chars of both locations before comparing them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParsedLocationBenchmark {
+
+  private static final String[] LOCATIONS = {
+      "s3://bucket/database/table/event_date=2020-01-01/event_hour=0",
+      "s3a://bucket/database/table/event_date=2020-01-01/event_hour=1/",
+      "s3://other-bucket/database/table with space/part-00000.parquet",
+      "s3n://bucket/database/table" };
+  private static final String[] ALTERED_LOCATIONS = {
+      "s3://bucket/database/table/event_date=2020-01-01/event_hour=0/",
+      "s3a://bucket/database/table/event_date=2020-01-01/event_hour=1",
+      "s3://other-bucket/database/table with space/part-00001.parquet",
+      "s3n://bucket/database/table//" };
+
+  private int index;
+
+  @Benchmark
+  public void perPathBaseline(Blackhole blackhole) {
+    String location = next();
+    String s3Location = location.replaceFirst("^s3(a|n):\\/\\/", "s3://");
+    URI uri = URI.create(s3Location.replace(" ", "%20"));
+    String bucket = uri.getAuthority();
+    String key = uri.getPath().length() <= 1 ? null : uri.getPath().substring(1);
+    blackhole.consume(bucket);
+    blackhole.consume(key);
+    blackhole.consume("s3://" + bucket + "/" + key);
+    blackhole.consume(StringUtils.countMatches(location, "/"));
+  }
+
+  @Benchmark
+  public void perPathParsedLocation(Blackhole blackhole) {
+    ParsedLocation location = ParsedLocation.parse(next());
+    blackhole.consume(location.getBucket());
+    blackhole.consume(location.getKey());
+    blackhole.consume(location.getS3Location());
+    blackhole.consume(location.getDepth());
+  }
+
+  @Benchmark
+  public boolean perEventBaseline() {
+    String location = next();
+    return StringUtils.stripEnd(location, "/").equals(StringUtils.stripEnd(ALTERED_LOCATIONS[index], "/"));
+  }
+
+  @Benchmark
+  public boolean perEventParsedLocation() {
+    String location = next();
+    return ParsedLocation.sameLocation(location, ALTERED_LOCATIONS[index]);
+  }
+
+  private String next() {
+    index = (index + 1) % LOCATIONS.length;
+    return LOCATIONS[index];
+  }
+}
@@ -17,6 +17,7 @@ package com.expediagroup.beekeeper.core.config;
 
 public enum FileSystemType {
 
-  S3
+  S3,
+  HADOOP
 
 }
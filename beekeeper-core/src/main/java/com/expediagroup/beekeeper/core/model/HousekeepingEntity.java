@@ -31,6 +31,14 @@ public interface HousekeepingEntity extends Taggable {
 
   String getPath();
 
+  /**
+   * The path parsed into its scheme, bucket and key, or {@code null} if there is no path. Entities keep it once parsed,
+   * so that the path is parsed once while it is grouped, validated and cleaned up.
+   */
+  default ParsedLocation getParsedLocation() {
+    return getPath() == null ? null : ParsedLocation.parse(getPath());
+  }
+
   HousekeepingStatus getHousekeepingStatus();
 
   PeriodDuration getCleanupDelay();
@@ -26,10 +26,14 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import com.expediagroup.beekeeper.core.error.BeekeeperException;
 import com.expediagroup.beekeeper.core.monitoring.MetricTag;
@@ -85,6 +89,23 @@ public class HousekeepingMetadata implements HousekeepingEntity {
   @Column(name = "lifecycle_type", nullable = false)
   private String lifecycleType;
 
+  /**
+   * Cleanup worker holding a claim on the record, written by {@code claim} and {@code releaseClaims} only.
+   */
+  @EqualsAndHashCode.Exclude
+  @Column(name = "claim_owner", insertable = false, updatable = false)
+  private String claimOwner;
+
+  @EqualsAndHashCode.Exclude
+  @Column(name = "claim_expiry", insertable = false, updatable = false)
+  private LocalDateTime claimExpiry;
+
+  @Transient
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  @Setter(AccessLevel.NONE)
+  private ParsedLocation parsedLocation;
+
   @Builder
   public HousekeepingMetadata(
       Long id,
@@ -129,6 +150,19 @@ public class HousekeepingMetadata implements HousekeepingEntity {
     cleanupTimestamp = creationTimestamp.plus(cleanupDelay);
   }
 
+  public void setPath(String path) {
+    this.path = path;
+    parsedLocation = null;
+  }
+
+  @Override
+  public ParsedLocation getParsedLocation() {
+    if (parsedLocation == null && path != null) {
+      parsedLocation = ParsedLocation.parse(path);
+    }
+    return parsedLocation;
+  }
+
   @Override
   public MetricTag getMetricTag() {
     return new MetricTag("table", String.join(".", databaseName, tableName));
@@ -0,0 +1,181 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.model;
+
+import java.util.Locale;
+import java.util.Objects;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * A location, e.g. {@code s3://bucket/database/table/partition}, split once into its scheme, bucket (the authority of
+ * the location) and key.
+ * <p>
+ * Parsing scans the location without any regular expression, {@link java.net.URI} or encoding round trip, and the
+ * scheme and bucket are interned so that the many locations of a page retain a single copy of them. The key is kept as
+ * is, without any decoding, and is {@code null} when the location has no path below its bucket.
+ * <p>
+ * Locations without a scheme, such as relative paths, are accepted: their scheme and bucket are {@code null} and
+ * their key is the whole location.
+ */
+public final class ParsedLocation {
+
+  private static final String SCHEME_SEPARATOR = "://";
+  private static final String S3_SCHEME = "s3";
+  private static final String S3A_SCHEME = "s3a";
+  private static final String S3N_SCHEME = "s3n";
+  private static final Interner<String> NAMES = Interners.newWeakInterner();
+
+  private final String location;
+  private final String scheme;
+  private final String bucket;
+  private final String key;
+  private final int depth;
+
+  private ParsedLocation(String location, String scheme, String bucket, String key, int depth) {
+    this.location = location;
+    this.scheme = scheme;
+    this.bucket = bucket;
+    this.key = key;
+    this.depth = depth;
+  }
+
+  public static ParsedLocation parse(String location) {
+    Objects.requireNonNull(location, "location");
+    int schemeEnd = schemeEnd(location);
+    if (schemeEnd < 0) {
+      return new ParsedLocation(location, null, null, location.isEmpty() ? null : location, depthOf(location));
+    }
+    int bucketStart = schemeEnd + SCHEME_SEPARATOR.length();
+    int bucketEnd = location.indexOf('/', bucketStart);
+    if (bucketEnd < 0) {
+      bucketEnd = location.length();
+    }
+    String bucket = NAMES.intern(location.substring(bucketStart, bucketEnd));
+    String key = bucketEnd + 1 < location.length() ? location.substring(bucketEnd + 1) : null;
+    return new ParsedLocation(location, scheme(location, schemeEnd), bucket, key, depthOf(location));
+  }
+
+  /**
+   * Number of "/" chars of {@code location}, counted without parsing it: {@code s3://bucket/table} has a depth of 3.
+   */
+  public static int depthOf(String location) {
+    int depth = 0;
+    for (int i = location.indexOf('/'); i >= 0; i = location.indexOf('/', i + 1)) {
+      depth++;
+    }
+    return depth;
+  }
+
+  /**
+   * Whether two locations are the same once their trailing "/" chars are ignored, compared without stripping them.
+   */
+  public static boolean sameLocation(String location, String otherLocation) {
+    int length = lengthWithoutTrailingSlashes(location);
+    return length == lengthWithoutTrailingSlashes(otherLocation) && location.regionMatches(0, otherLocation, 0, length);
+  }
+
+  public static String stripTrailingSlashes(String location) {
+    int length = lengthWithoutTrailingSlashes(location);
+    return length == location.length() ? location : location.substring(0, length);
+  }
+
+  public String getLocation() {
+    return location;
+  }
+
+  public String getScheme() {
+    return scheme;
+  }
+
+  public String getBucket() {
+    return bucket;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public int getDepth() {
+    return depth;
+  }
+
+  public boolean isS3() {
+    return S3_SCHEME.equals(scheme) || S3A_SCHEME.equals(scheme) || S3N_SCHEME.equals(scheme);
+  }
+
+  /**
+   * The location with its {@code s3a} or {@code s3n} scheme, if any, replaced by {@code s3}.
+   */
+  public String getS3Location() {
+    if (scheme == null || S3_SCHEME.equals(scheme)) {
+      return location;
+    }
+    return S3_SCHEME + location.substring(location.indexOf(SCHEME_SEPARATOR));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return location.equals(((ParsedLocation) o).location);
+  }
+
+  @Override
+  public int hashCode() {
+    return location.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return location;
+  }
+
+  // a "/" before the separator means the location is a path which merely contains "://"
+  private static int schemeEnd(String location) {
+    int schemeEnd = location.indexOf(SCHEME_SEPARATOR);
+    if (schemeEnd <= 0 || location.lastIndexOf('/', schemeEnd - 1) >= 0) {
+      return -1;
+    }
+    return schemeEnd;
+  }
+
+  private static String scheme(String location, int schemeEnd) {
+    if (schemeEnd == S3_SCHEME.length() && location.regionMatches(true, 0, S3_SCHEME, 0, schemeEnd)) {
+      return S3_SCHEME;
+    }
+    if (schemeEnd == S3A_SCHEME.length() && location.regionMatches(true, 0, S3A_SCHEME, 0, schemeEnd)) {
+      return S3A_SCHEME;
+    }
+    if (schemeEnd == S3N_SCHEME.length() && location.regionMatches(true, 0, S3N_SCHEME, 0, schemeEnd)) {
+      return S3N_SCHEME;
+    }
+    return NAMES.intern(location.substring(0, schemeEnd).toLowerCase(Locale.ROOT));
+  }
+
+  private static int lengthWithoutTrailingSlashes(String location) {
+    int length = location.length();
+    while (length > 0 && location.charAt(length - 1) == '/') {
+      length--;
+    }
+    return length;
+  }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.model.checkpoint;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of the deletion of a housekeeping entity's path, saved while its objects are deleted so that a cleanup
+ * interrupted part way through resumes after the last deleted key instead of listing the path from the start.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@IdClass(DeletionCheckpointId.class)
+@Table(name = "deletion_checkpoint")
+public class DeletionCheckpoint {
+
+  public static final String PATH_ENTITY_TYPE = "PATH";
+  public static final String METADATA_ENTITY_TYPE = "METADATA";
+
+  @Id
+  @Column(name = "entity_type", nullable = false)
+  private String entityType;
+
+  @Id
+  @Column(name = "housekeeping_entity_id", nullable = false)
+  private Long housekeepingEntityId;
+
+  @Column(name = "path", nullable = false)
+  private String path;
+
+  @Column(name = "last_deleted_key", nullable = false)
+  private String lastDeletedKey;
+
+  @Column(name = "objects_deleted", nullable = false)
+  private long objectsDeleted;
+
+  @Column(name = "bytes_deleted", nullable = false)
+  private long bytesDeleted;
+
+  @EqualsAndHashCode.Exclude
+  @Column(name = "modified_timestamp")
+  @UpdateTimestamp
+  private LocalDateTime modifiedTimestamp;
+
+  @Builder
+  public DeletionCheckpoint(
+      String entityType,
+      Long housekeepingEntityId,
+      String path,
+      String lastDeletedKey,
+      long objectsDeleted,
+      long bytesDeleted,
+      LocalDateTime modifiedTimestamp) {
+    this.entityType = entityType;
+    this.housekeepingEntityId = housekeepingEntityId;
+    this.path = path;
+    this.lastDeletedKey = lastDeletedKey;
+    this.objectsDeleted = objectsDeleted;
+    this.bytesDeleted = bytesDeleted;
+    this.modifiedTimestamp = modifiedTimestamp;
+  }
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.model.checkpoint;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Key of a {@link DeletionCheckpoint}: paths and metadata are stored in different tables, so their ids may collide.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletionCheckpointId implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private String entityType;
+  private Long housekeepingEntityId;
+}
@@ -24,9 +24,25 @@ import org.springframework.data.repository.query.Param;
 import com.expediagroup.beekeeper.core.model.history.BeekeeperHistory;
 
 public interface BeekeeperHistoryRepository extends PagingAndSortingRepository<BeekeeperHistory, Long>,
-        CrudRepository<BeekeeperHistory, Long>, JpaSpecificationExecutor<BeekeeperHistory> {
+        CrudRepository<BeekeeperHistory, Long>, JpaSpecificationExecutor<BeekeeperHistory>,
+        BeekeeperHistoryRepositoryCustom {
 
   @Query(value = "from BeekeeperHistory t where t.lifecycleType = :lifecycle")
   Slice<BeekeeperHistory> findRecordsByLifecycleType(
       @Param("lifecycle") String lifecycle, Pageable pageable);
+
+  /**
+   * Returns the records of a lifecycle type whose id is greater than {@code lastId}, in the order of their ids, so that
+   * the history is paged through without an offset.
+   *
+   * @param lifecycle
+   * @param lastId Id of the last record of the previous page, 0 for the first page.
+   * @param pageable Size of the page, its page number is expected to be 0.
+   * @return The page of records following {@code lastId}.
+   */
+  @Query(value = "from BeekeeperHistory t where t.lifecycleType = :lifecycle and t.id > :lastId order by t.id")
+  Slice<BeekeeperHistory> findRecordsByLifecycleTypeAfterId(
+      @Param("lifecycle") String lifecycle,
+      @Param("lastId") long lastId,
+      Pageable pageable);
 }
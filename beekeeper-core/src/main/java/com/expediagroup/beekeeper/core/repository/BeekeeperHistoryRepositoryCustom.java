@@ -0,0 +1,34 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.repository;
+
+import java.util.List;
+
+import com.expediagroup.beekeeper.core.model.history.BeekeeperHistory;
+
+/**
+ * Implemented by {@link BeekeeperHistoryRepositoryCustomImpl}. Spring Data only looks for the implementation of the
+ * interfaces a repository extends directly, so a repository extending {@link BeekeeperHistoryRepository} has to
+ * extend this interface too.
+ */
+public interface BeekeeperHistoryRepositoryCustom {
+
+  /**
+   * Inserts the events with multi-row inserts, as the ids of the events are generated by the database which prevents
+   * JDBC batching. The ids of the events are not set.
+   *
+   * @param events Events to insert.
+   */
+  void insertAll(List<BeekeeperHistory> events);
+}
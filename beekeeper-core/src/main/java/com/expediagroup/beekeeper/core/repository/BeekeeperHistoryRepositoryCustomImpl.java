@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * <p>Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ * <p>http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * <p>Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.repository;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expediagroup.beekeeper.core.model.history.BeekeeperHistory;
+
+public class BeekeeperHistoryRepositoryCustomImpl implements BeekeeperHistoryRepositoryCustom {
+
+  static final int ROWS_PER_INSERT = 100;
+
+  private static final String INSERT = "insert into beekeeper_history "
+      + "(event_timestamp, database_name, table_name, lifecycle_type, housekeeping_status, event_details) values ";
+  private static final String ROW = "(?, ?, ?, ?, ?, ?)";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @Transactional
+  public void insertAll(List<BeekeeperHistory> events) {
+    for (int from = 0; from < events.size(); from += ROWS_PER_INSERT) {
+      insert(events.subList(from, Math.min(from + ROWS_PER_INSERT, events.size())));
+    }
+  }
+
+  private void insert(List<BeekeeperHistory> rows) {
+    StringBuilder sql = new StringBuilder(INSERT);
+    for (int i = 0; i < rows.size(); i++) {
+      sql.append(i == 0 ? ROW : ", " + ROW);
+    }
+    Query query = entityManager.createNativeQuery(sql.toString());
+    int position = 1;
+    for (BeekeeperHistory event : rows) {
+      query.setParameter(position++, event.getEventTimestamp());
+      query.setParameter(position++, event.getDatabaseName());
+      query.setParameter(position++, event.getTableName());
+      query.setParameter(position++, event.getLifecycleType());
+      query.setParameter(position++, event.getHousekeepingStatus());
+      query.setParameter(position++, event.getEventDetails());
+    }
+    query.executeUpdate();
+  }
+}
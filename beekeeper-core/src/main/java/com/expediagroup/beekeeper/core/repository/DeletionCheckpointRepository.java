@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpoint;
+import com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpointId;
+
+@Repository
+public interface DeletionCheckpointRepository extends CrudRepository<DeletionCheckpoint, DeletionCheckpointId> {
+
+  /**
+   * Deletes the checkpoints of the paths which will not be cleaned up again: deleted, skipped, out of cleanup attempts
+   * or no longer in the database. A checkpoint is normally deleted with its path, this sweeps the ones left behind.
+   */
+  @Modifying
+  @Query(value = "delete from DeletionCheckpoint c where c.entityType = 'PATH' and not exists ("
+      + "select p.id from HousekeepingPath p where p.id = c.housekeepingEntityId "
+      + "and (p.housekeepingStatus = 'SCHEDULED' or p.housekeepingStatus = 'FAILED') and p.cleanupAttempts < 10)")
+  void cleanUpCheckpointsOfFinishedPaths();
+
+  /**
+   * Deletes the checkpoints of the metadata which will not be cleaned up again, see
+   * {@link #cleanUpCheckpointsOfFinishedPaths()}.
+   */
+  @Modifying
+  @Query(value = "delete from DeletionCheckpoint c where c.entityType = 'METADATA' and not exists ("
+      + "select t.id from HousekeepingMetadata t where t.id = c.housekeepingEntityId "
+      + "and (t.housekeepingStatus = 'SCHEDULED' or t.housekeepingStatus = 'FAILED') and t.cleanupAttempts < 10)")
+  void cleanUpCheckpointsOfFinishedMetadata();
+}
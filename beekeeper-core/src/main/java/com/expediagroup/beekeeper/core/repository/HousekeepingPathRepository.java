@@ -14,6 +14,8 @@
 package com.expediagroup.beekeeper.core.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -24,8 +26,11 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.HousekeepingStatus;
+import com.expediagroup.beekeeper.core.model.TableName;
 
 @Repository
 public interface HousekeepingPathRepository
@@ -34,11 +39,137 @@ public interface HousekeepingPathRepository
 
   @Query(value = "from HousekeepingPath p where p.cleanupTimestamp <= :instant "
       + "and (p.housekeepingStatus = 'SCHEDULED' or p.housekeepingStatus = 'FAILED') "
-      + "and p.modifiedTimestamp <= :instant and p.cleanupAttempts < 10")
+      + "and p.modifiedTimestamp <= :instant and p.cleanupAttempts < 10 order by p.id")
   Slice<HousekeepingPath> findRecordsForCleanup(@Param("instant") LocalDateTime instant, Pageable pageable);
 
+  /**
+   * Returns the records to clean up which no cleanup worker holds a claim on, see {@code findRecordsForCleanup}.
+   *
+   * @param instant
+   * @param now Current time, claims expiring at or before it are no longer held.
+   * @param pageable
+   * @return The page of records to claim.
+   */
+  @Query(value = "from HousekeepingPath p where p.cleanupTimestamp <= :instant "
+      + "and (p.housekeepingStatus = 'SCHEDULED' or p.housekeepingStatus = 'FAILED') "
+      + "and p.modifiedTimestamp <= :instant and p.cleanupAttempts < 10 "
+      + "and (p.claimExpiry is null or p.claimExpiry <= :now) order by p.id")
+  Slice<HousekeepingPath> findUnclaimedRecordsForCleanup(
+      @Param("instant") LocalDateTime instant,
+      @Param("now") LocalDateTime now,
+      Pageable pageable);
+
+  /**
+   * Returns the tables with records to clean up, the table with the most overdue record first. The pages are filled
+   * round-robin across these tables, see {@code findRecordsForCleanupOfTable}.
+   *
+   * @param instant
+   * @return The tables with records to clean up.
+   */
+  @Query(value = "select new com.expediagroup.beekeeper.core.model.TableName(p.databaseName, p.tableName) "
+      + "from HousekeepingPath p where p.cleanupTimestamp <= :instant "
+      + "and (p.housekeepingStatus = 'SCHEDULED' or p.housekeepingStatus = 'FAILED') "
+      + "and p.modifiedTimestamp <= :instant and p.cleanupAttempts < 10 "
+      + "group by p.databaseName, p.tableName order by min(p.cleanupTimestamp)")
+  List<TableName> findTablesForCleanup(@Param("instant") LocalDateTime instant);
+
+  /**
+   * Returns the most overdue records to clean up of one table which no cleanup worker holds a claim on, in the order
+   * of their cleanup timestamps. Served by the index on the database name, table name and cleanup timestamp, so its
+   * cost depends on the records due of the table rather than on all the records due.
+   *
+   * @param instant
+   * @param now Current time, claims expiring at or before it are no longer held.
+   * @param databaseName
+   * @param tableName
+   * @param pageable Maximum number of records returned, its page number is expected to be 0.
+   * @return The records to clean up of the table.
+   */
+  @Query(value = "from HousekeepingPath p where p.cleanupTimestamp <= :instant "
+      + "and (p.databaseName = :databaseName or (p.databaseName is null and :databaseName is null)) "
+      + "and (p.tableName = :tableName or (p.tableName is null and :tableName is null)) "
+      + "and (p.housekeepingStatus = 'SCHEDULED' or p.housekeepingStatus = 'FAILED') "
+      + "and p.modifiedTimestamp <= :instant and p.cleanupAttempts < 10 "
+      + "and (p.claimExpiry is null or p.claimExpiry <= :now) order by p.cleanupTimestamp, p.id")
+  List<HousekeepingPath> findRecordsForCleanupOfTable(
+      @Param("instant") LocalDateTime instant,
+      @Param("now") LocalDateTime now,
+      @Param("databaseName") String databaseName,
+      @Param("tableName") String tableName,
+      Pageable pageable);
+
+  /**
+   * Returns the records to clean up whose id is greater than {@code lastId}, in the order of their ids. Records which
+   * are left as they are, as in dry runs, are paged through by passing the id of the last record of the previous page
+   * rather than an offset, so each page costs the same whatever its position.
+   *
+   * @param instant
+   * @param lastId Id of the last record of the previous page, 0 for the first page.
+   * @param pageable Size of the page, its page number is expected to be 0.
+   * @return The page of records following {@code lastId}.
+   */
+  @Query(value = "from HousekeepingPath p where p.cleanupTimestamp <= :instant "
+      + "and (p.housekeepingStatus = 'SCHEDULED' or p.housekeepingStatus = 'FAILED') "
+      + "and p.modifiedTimestamp <= :instant and p.cleanupAttempts < 10 "
+      + "and p.id > :lastId order by p.id")
+  Slice<HousekeepingPath> findRecordsForCleanupAfterId(
+      @Param("instant") LocalDateTime instant,
+      @Param("lastId") long lastId,
+      Pageable pageable);
+
   @Modifying
   @Query(value = "delete from HousekeepingPath p where p.cleanupTimestamp < :instant "
       + "and p.housekeepingStatus = 'DELETED'")
   void cleanUpOldDeletedRecords(@Param("instant") LocalDateTime instant);
+
+  /**
+   * Sets the status, cleanup attempts and modified timestamp of the records with the given ids in one statement, for
+   * the records of a page which end up in the same state.
+   *
+   * @param ids
+   * @param status
+   * @param cleanupAttempts
+   * @param modifiedTimestamp
+   */
+  @Modifying
+  @Transactional
+  @Query(value = "update HousekeepingPath p set p.housekeepingStatus = :status, "
+      + "p.cleanupAttempts = :cleanupAttempts, p.modifiedTimestamp = :modifiedTimestamp "
+      + "where p.id in :ids")
+  void updateStatus(
+      @Param("ids") Collection<Long> ids,
+      @Param("status") HousekeepingStatus status,
+      @Param("cleanupAttempts") int cleanupAttempts,
+      @Param("modifiedTimestamp") LocalDateTime modifiedTimestamp);
+
+  /**
+   * Claims the records with the given ids which are still to be cleaned up and which no other cleanup worker holds a
+   * claim on. Of the workers claiming a record at the same time only one updates it, as the condition is evaluated
+   * again once the row is locked.
+   *
+   * @param ids
+   * @param owner Cleanup worker claiming the records.
+   * @param claimExpiry End of the lease of the claims.
+   * @param now Current time, claims expiring at or before it are no longer held.
+   * @return The number of records claimed.
+   */
+  @Modifying
+  @Transactional
+  @Query(value = "update housekeeping_path set claim_owner = :owner, claim_expiry = :claimExpiry "
+      + "where id in (:ids) and (housekeeping_status = 'SCHEDULED' or housekeeping_status = 'FAILED') "
+      + "and (claim_expiry is null or claim_expiry <= :now)", nativeQuery = true)
+  int claim(
+      @Param("ids") Collection<Long> ids,
+      @Param("owner") String owner,
+      @Param("claimExpiry") LocalDateTime claimExpiry,
+      @Param("now") LocalDateTime now);
+
+  @Query(value = "from HousekeepingPath p where p.id in :ids and p.claimOwner = :owner order by p.id")
+  List<HousekeepingPath> findClaimed(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+  @Modifying
+  @Transactional
+  @Query(value = "update housekeeping_path set claim_owner = null, claim_expiry = null "
+      + "where id in (:ids) and claim_owner = :owner", nativeQuery = true)
+  void releaseClaims(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
 }
@@ -16,6 +16,7 @@
 package com.expediagroup.beekeeper.core.service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,7 +37,28 @@ public class BeekeeperHistoryService {
   }
 
   public void saveHistory(HousekeepingEntity housekeepingEntity, HousekeepingStatus status) {
-    BeekeeperHistory event = BeekeeperHistory.builder()
+    BeekeeperHistory event = newEvent(housekeepingEntity, status);
+
+    log.info("Saving activity in Beekeeper History table; {}", event);
+    beekeeperHistoryRepository.save(event);
+  }
+
+  /**
+   * Saves the events with multi-row inserts.
+   */
+  public void saveHistory(List<BeekeeperHistory> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    events.forEach(event -> log.info("Saving activity in Beekeeper History table; {}", event));
+    beekeeperHistoryRepository.insertAll(events);
+  }
+
+  /**
+   * Creates the event recording the status of the entity, with the current state of the entity as its details.
+   */
+  public BeekeeperHistory newEvent(HousekeepingEntity housekeepingEntity, HousekeepingStatus status) {
+    return BeekeeperHistory.builder()
         .eventTimestamp(LocalDateTime.now())
         .databaseName(housekeepingEntity.getDatabaseName())
         .tableName(housekeepingEntity.getTableName())
@@ -44,8 +66,5 @@ public class BeekeeperHistoryService {
         .housekeepingStatus(status.name())
         .eventDetails(housekeepingEntity.toString())
         .build();
-
-    log.info("Saving activity in Beekeeper History table; {}", event);
-    beekeeperHistoryRepository.save(event);
   }
 }
@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.service;
+
+import static com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpoint.METADATA_ENTITY_TYPE;
+import static com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpoint.PATH_ENTITY_TYPE;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
+import com.expediagroup.beekeeper.core.model.HousekeepingMetadata;
+import com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpoint;
+import com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpointId;
+import com.expediagroup.beekeeper.core.repository.DeletionCheckpointRepository;
+
+/**
+ * Saves, finds and deletes the deletion checkpoints of housekeeping entities. Entities without an id, which have not
+ * been persisted, never have a checkpoint.
+ */
+public class DeletionCheckpointService {
+
+  private static final Logger log = LoggerFactory.getLogger(DeletionCheckpointService.class);
+
+  private final DeletionCheckpointRepository deletionCheckpointRepository;
+
+  public DeletionCheckpointService(DeletionCheckpointRepository deletionCheckpointRepository) {
+    this.deletionCheckpointRepository = deletionCheckpointRepository;
+  }
+
+  /**
+   * @return The checkpoint of the entity, if it has one for its current path.
+   */
+  public Optional<DeletionCheckpoint> findCheckpoint(HousekeepingEntity housekeepingEntity) {
+    if (housekeepingEntity.getId() == null) {
+      return Optional.empty();
+    }
+    return deletionCheckpointRepository.findById(idOf(housekeepingEntity))
+        .filter(checkpoint -> checkpoint.getPath().equals(housekeepingEntity.getPath()));
+  }
+
+  public void saveCheckpoint(
+      HousekeepingEntity housekeepingEntity,
+      String lastDeletedKey,
+      long objectsDeleted,
+      long bytesDeleted) {
+    if (housekeepingEntity.getId() == null) {
+      return;
+    }
+    DeletionCheckpoint checkpoint = DeletionCheckpoint.builder()
+        .entityType(entityTypeOf(housekeepingEntity))
+        .housekeepingEntityId(housekeepingEntity.getId())
+        .path(housekeepingEntity.getPath())
+        .lastDeletedKey(lastDeletedKey)
+        .objectsDeleted(objectsDeleted)
+        .bytesDeleted(bytesDeleted)
+        .build();
+    log.debug("Saving deletion checkpoint; {}", checkpoint);
+    deletionCheckpointRepository.save(checkpoint);
+  }
+
+  public void deleteCheckpoint(HousekeepingEntity housekeepingEntity) {
+    if (housekeepingEntity.getId() == null) {
+      return;
+    }
+    DeletionCheckpointId id = idOf(housekeepingEntity);
+    if (deletionCheckpointRepository.existsById(id)) {
+      deletionCheckpointRepository.deleteById(id);
+    }
+  }
+
+  private static DeletionCheckpointId idOf(HousekeepingEntity housekeepingEntity) {
+    return new DeletionCheckpointId(entityTypeOf(housekeepingEntity), housekeepingEntity.getId());
+  }
+
+  private static String entityTypeOf(HousekeepingEntity housekeepingEntity) {
+    return housekeepingEntity instanceof HousekeepingMetadata ? METADATA_ENTITY_TYPE : PATH_ENTITY_TYPE;
+  }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import lombok.Value;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
+import com.expediagroup.beekeeper.core.model.HousekeepingStatus;
+import com.expediagroup.beekeeper.core.model.history.BeekeeperHistory;
+
+/**
+ * Writes the status and history of the entities of a page.
+ * <p>
+ * Immediate writes save each entity and each history event as they are recorded, one round trip each. Batched writes
+ * collect them until the page is flushed: the entities are then updated with one statement per status and number of
+ * cleanup attempts, and the history events are inserted a chunk of rows at a time, so a page takes a handful of round
+ * trips rather than two per entity. The status and cleanup attempts of an entity are taken when it is recorded, the
+ * last record of an entity wins.
+ */
+public class PageWrites<T extends HousekeepingEntity> {
+
+  /**
+   * Updates the status, cleanup attempts and modified timestamp of the entities with the given ids.
+   */
+  @FunctionalInterface
+  public interface StatusWriter {
+    void updateStatus(
+        Collection<Long> ids,
+        HousekeepingStatus status,
+        int cleanupAttempts,
+        LocalDateTime modifiedTimestamp);
+  }
+
+  private final Consumer<T> entityWriter;
+  private final StatusWriter statusWriter;
+  private final BeekeeperHistoryService beekeeperHistoryService;
+  private final Map<Long, StatusChange> statusChanges = new LinkedHashMap<>();
+  private final List<BeekeeperHistory> events = new ArrayList<>();
+
+  private PageWrites(
+      Consumer<T> entityWriter,
+      StatusWriter statusWriter,
+      BeekeeperHistoryService beekeeperHistoryService) {
+    this.entityWriter = entityWriter;
+    this.statusWriter = statusWriter;
+    this.beekeeperHistoryService = beekeeperHistoryService;
+  }
+
+  /**
+   * @param entityWriter Saves an entity.
+   */
+  public static <T extends HousekeepingEntity> PageWrites<T> immediate(
+      Consumer<T> entityWriter,
+      BeekeeperHistoryService beekeeperHistoryService) {
+    return new PageWrites<>(entityWriter, null, beekeeperHistoryService);
+  }
+
+  public static <T extends HousekeepingEntity> PageWrites<T> batched(
+      StatusWriter statusWriter,
+      BeekeeperHistoryService beekeeperHistoryService) {
+    return new PageWrites<>(null, statusWriter, beekeeperHistoryService);
+  }
+
+  public boolean isBatched() {
+    return statusWriter != null;
+  }
+
+  /**
+   * Records the current status and cleanup attempts of the entity.
+   */
+  public void updateStatus(T entity) {
+    if (!isBatched()) {
+      entityWriter.accept(entity);
+      return;
+    }
+    synchronized (this) {
+      statusChanges.put(entity.getId(), new StatusChange(entity.getHousekeepingStatus(), entity.getCleanupAttempts()));
+    }
+  }
+
+  public void saveHistory(T entity, HousekeepingStatus status) {
+    if (!isBatched()) {
+      beekeeperHistoryService.saveHistory(entity, status);
+      return;
+    }
+    BeekeeperHistory event = beekeeperHistoryService.newEvent(entity, status);
+    synchronized (this) {
+      events.add(event);
+    }
+  }
+
+  /**
+   * Writes what has been recorded since the previous flush.
+   */
+  public void flush() {
+    if (!isBatched()) {
+      return;
+    }
+    Map<StatusChange, List<Long>> idsPerChange = new LinkedHashMap<>();
+    List<BeekeeperHistory> pageEvents;
+    synchronized (this) {
+      statusChanges.forEach((id, change) -> idsPerChange.computeIfAbsent(change, c -> new ArrayList<>()).add(id));
+      statusChanges.clear();
+      pageEvents = new ArrayList<>(events);
+      events.clear();
+    }
+    LocalDateTime modifiedTimestamp = LocalDateTime.now();
+    idsPerChange
+        .forEach((change, ids) -> statusWriter
+            .updateStatus(ids, change.getStatus(), change.getCleanupAttempts(), modifiedTimestamp));
+    beekeeperHistoryService.saveHistory(pageEvents);
+  }
+
+  @Value
+  private static class StatusChange {
+    HousekeepingStatus status;
+    int cleanupAttempts;
+  }
+}
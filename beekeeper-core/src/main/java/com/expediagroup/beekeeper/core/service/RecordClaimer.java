@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
+
+/**
+ * Claims the records a cleanup worker is about to clean up, so that several workers can share the records to clean up
+ * without cleaning up the same record twice.
+ * <p>
+ * The records to clean up which no worker holds a claim on are fetched, then claimed with a conditional update which
+ * only updates the records still to be cleaned up and not claimed in the meantime: of the workers racing for a record
+ * only one claims it. A claim is a lease, released once the record is cleaned up. The claims of a worker which stopped
+ * before releasing them expire at the end of their lease and the records are then claimed by the other workers.
+ */
+public class RecordClaimer<T extends HousekeepingEntity> {
+
+  private static final Logger log = LoggerFactory.getLogger(RecordClaimer.class);
+
+  /**
+   * Claims the records with the given ids which are not claimed, or whose claim expired at or before {@code now}.
+   */
+  @FunctionalInterface
+  public interface ClaimWriter {
+    int claim(Collection<Long> ids, String owner, LocalDateTime claimExpiry, LocalDateTime now);
+  }
+
+  private final ClaimWriter claimWriter;
+  private final BiFunction<Collection<Long>, String, List<T>> claimedRecordFinder;
+  private final BiConsumer<Collection<Long>, String> claimReleaser;
+  private final Duration lease;
+  private final Clock clock;
+  private final String owner;
+
+  private RecordClaimer(
+      ClaimWriter claimWriter,
+      BiFunction<Collection<Long>, String, List<T>> claimedRecordFinder,
+      BiConsumer<Collection<Long>, String> claimReleaser,
+      Duration lease,
+      Clock clock) {
+    this.claimWriter = claimWriter;
+    this.claimedRecordFinder = claimedRecordFinder;
+    this.claimReleaser = claimReleaser;
+    this.lease = lease;
+    this.clock = clock;
+    owner = UUID.randomUUID().toString();
+  }
+
+  /**
+   * Records are not claimed, for a single cleanup worker.
+   */
+  public static <T extends HousekeepingEntity> RecordClaimer<T> disabled() {
+    return new RecordClaimer<>(null, null, null, Duration.ZERO, Clock.systemUTC());
+  }
+
+  /**
+   * @param claimWriter Claims the records with the given ids.
+   * @param claimedRecordFinder Finds the records with the given ids claimed by the given owner.
+   * @param claimReleaser Releases the claims of the given owner on the records with the given ids.
+   * @param lease Time after which the claims of a worker expire if they haven't been released.
+   */
+  public static <T extends HousekeepingEntity> RecordClaimer<T> leasing(
+      ClaimWriter claimWriter,
+      BiFunction<Collection<Long>, String, List<T>> claimedRecordFinder,
+      BiConsumer<Collection<Long>, String> claimReleaser,
+      Duration lease) {
+    return leasing(claimWriter, claimedRecordFinder, claimReleaser, lease, Clock.systemUTC());
+  }
+
+  static <T extends HousekeepingEntity> RecordClaimer<T> leasing(
+      ClaimWriter claimWriter,
+      BiFunction<Collection<Long>, String, List<T>> claimedRecordFinder,
+      BiConsumer<Collection<Long>, String> claimReleaser,
+      Duration lease,
+      Clock clock) {
+    if (lease.isNegative() || lease.isZero()) {
+      throw new IllegalArgumentException("Lease of the claims must be positive, was " + lease);
+    }
+    RecordClaimer<T> recordClaimer = new RecordClaimer<>(claimWriter, claimedRecordFinder, claimReleaser, lease, clock);
+    log.info("Claiming records as \"{}\" with a lease of {}", recordClaimer.owner, lease);
+    return recordClaimer;
+  }
+
+  public boolean isEnabled() {
+    return claimWriter != null;
+  }
+
+  /**
+   * Fetches a page of the records which aren't claimed and claims them. The records claimed by another worker between
+   * the fetch and the claim are left out, and the records are fetched again if all of them were.
+   *
+   * @param unclaimedRecordFinder Fetches a page of the records to clean up which aren't claimed at the given time.
+   * @return The records claimed, empty once no record is left to claim.
+   */
+  public Slice<T> claim(Function<LocalDateTime, Slice<T>> unclaimedRecordFinder) {
+    while (true) {
+      LocalDateTime now = LocalDateTime.now(clock);
+      Slice<T> candidates = unclaimedRecordFinder.apply(now);
+      if (candidates.getContent().isEmpty()) {
+        return candidates;
+      }
+      List<Long> ids = ids(candidates.getContent());
+      if (claimWriter.claim(ids, owner, now.plus(lease), now) > 0) {
+        List<T> claimed = claimedRecordFinder.apply(ids, owner);
+        return new SliceImpl<>(claimed, candidates.getPageable(), candidates.hasNext());
+      }
+      log.debug("The {} records fetched were claimed by other workers, fetching again", ids.size());
+    }
+  }
+
+  /**
+   * Releases the claims on the records, once they have been cleaned up.
+   */
+  public void release(List<T> records) {
+    if (isEnabled() && !records.isEmpty()) {
+      claimReleaser.accept(ids(records), owner);
+    }
+  }
+
+  String getOwner() {
+    return owner;
+  }
+
+  private static List<Long> ids(List<? extends HousekeepingEntity> records) {
+    return records.stream().map(HousekeepingEntity::getId).collect(Collectors.toList());
+  }
+}
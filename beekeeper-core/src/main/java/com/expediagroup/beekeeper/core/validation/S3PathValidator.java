@@ -15,10 +15,11 @@
  */
 package com.expediagroup.beekeeper.core.validation;
 
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.expediagroup.beekeeper.core.model.ParsedLocation;
+
 public class S3PathValidator {
 
   private static final Logger log = LoggerFactory.getLogger(S3PathValidator.class);
@@ -27,7 +28,15 @@ public class S3PathValidator {
    * The minimum number of "/" chars for partition location: s3://basePath/table/partition = 4
    */
   public static boolean validPartitionPath(String location) {
-    boolean valid = getNumSlashes(location) >= 4;
+    return validPartitionPath(location, ParsedLocation.depthOf(location));
+  }
+
+  public static boolean validPartitionPath(ParsedLocation location) {
+    return validPartitionPath(location.getLocation(), location.getDepth());
+  }
+
+  private static boolean validPartitionPath(String location, int depth) {
+    boolean valid = depth >= 4;
     if (!valid) {
       log.warn("Partition \"{}\" doesn't have the correct number of levels in the path", location);
     }
@@ -38,14 +47,18 @@ public class S3PathValidator {
    * The minimum number of "/" chars for table location: s3://basePath/table = 3
    */
   public static boolean validTablePath(String location) {
-    boolean valid = getNumSlashes(location) >= 3;
+    return validTablePath(location, ParsedLocation.depthOf(location));
+  }
+
+  public static boolean validTablePath(ParsedLocation location) {
+    return validTablePath(location.getLocation(), location.getDepth());
+  }
+
+  private static boolean validTablePath(String location, int depth) {
+    boolean valid = depth >= 3;
     if (!valid) {
       log.warn("Table \"{}\" doesn't have the correct number of levels in the path", location);
     }
     return valid;
   }
-
-  private static int getNumSlashes(String location) {
-    return StringUtils.countMatches(location, "/");
-  }
 }
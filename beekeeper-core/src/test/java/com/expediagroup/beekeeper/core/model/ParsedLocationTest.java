@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ParsedLocationTest {
+
+  @Test
+  void typicalLocation() {
+    ParsedLocation location = ParsedLocation.parse("s3://bucket/table/partition");
+    assertThat(location.getScheme()).isEqualTo("s3");
+    assertThat(location.getBucket()).isEqualTo("bucket");
+    assertThat(location.getKey()).isEqualTo("table/partition");
+    assertThat(location.getDepth()).isEqualTo(4);
+    assertThat(location.isS3()).isTrue();
+    assertThat(location.getS3Location()).isSameAs(location.getLocation());
+  }
+
+  @Test
+  void s3aLocation() {
+    ParsedLocation location = ParsedLocation.parse("s3a://bucket/table");
+    assertThat(location.getScheme()).isEqualTo("s3a");
+    assertThat(location.isS3()).isTrue();
+    assertThat(location.getS3Location()).isEqualTo("s3://bucket/table");
+  }
+
+  @Test
+  void keyIsNotDecoded() {
+    ParsedLocation location = ParsedLocation.parse("s3://bucket/table/ /a%20b");
+    assertThat(location.getKey()).isEqualTo("table/ /a%20b");
+  }
+
+  @Test
+  void locationWithoutKey() {
+    assertThat(ParsedLocation.parse("s3://bucket").getKey()).isNull();
+    assertThat(ParsedLocation.parse("s3://bucket/").getKey()).isNull();
+    assertThat(ParsedLocation.parse("s3://bucket/").getBucket()).isEqualTo("bucket");
+  }
+
+  @Test
+  void locationWithoutScheme() {
+    ParsedLocation location = ParsedLocation.parse("/tmp/a://b");
+    assertThat(location.getScheme()).isNull();
+    assertThat(location.getBucket()).isNull();
+    assertThat(location.getKey()).isEqualTo("/tmp/a://b");
+    assertThat(location.isS3()).isFalse();
+  }
+
+  @Test
+  void otherScheme() {
+    ParsedLocation location = ParsedLocation.parse("HDFS://namenode/table");
+    assertThat(location.getScheme()).isEqualTo("hdfs");
+    assertThat(location.getBucket()).isEqualTo("namenode");
+    assertThat(location.isS3()).isFalse();
+  }
+
+  @Test
+  void bucketsAreInterned() {
+    String bucket = ParsedLocation.parse("s3://bucket/table/partition=1").getBucket();
+    assertThat(ParsedLocation.parse("s3://bucket/table/partition=2").getBucket()).isSameAs(bucket);
+  }
+
+  @Test
+  void sameLocation() {
+    assertThat(ParsedLocation.sameLocation("s3://bucket/table", "s3://bucket/table//")).isTrue();
+    assertThat(ParsedLocation.sameLocation("s3://bucket/table", "s3://bucket/tables")).isFalse();
+    assertThat(ParsedLocation.sameLocation("s3://bucket/table/", "s3://bucket/other/")).isFalse();
+  }
+
+  @Test
+  void stripTrailingSlashes() {
+    String location = "s3://bucket/table";
+    assertThat(ParsedLocation.stripTrailingSlashes(location)).isSameAs(location);
+    assertThat(ParsedLocation.stripTrailingSlashes(location + "//")).isEqualTo(location);
+    assertThat(ParsedLocation.stripTrailingSlashes("///")).isEmpty();
+  }
+
+  @Test
+  void entitiesKeepTheirParsedLocation() {
+    HousekeepingPath path = new HousekeepingPath();
+    path.setPath("s3://bucket/table");
+    ParsedLocation location = path.getParsedLocation();
+    assertThat(path.getParsedLocation()).isSameAs(location);
+
+    path.setPath("s3://other-bucket/table");
+    assertThat(path.getParsedLocation().getBucket()).isEqualTo("other-bucket");
+
+    HousekeepingMetadata metadata = new HousekeepingMetadata();
+    assertThat(metadata.getParsedLocation()).isNull();
+    metadata.setPath("s3://bucket/table");
+    assertThat(metadata.getParsedLocation()).isSameAs(metadata.getParsedLocation());
+  }
+}
@@ -23,6 +23,7 @@ import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.SCHEDULED
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.assertj.core.util.Lists;
@@ -119,6 +120,47 @@ public class BeekeeperHistoryRepositoryTest {
     assertThat(historyList.size()).isEqualTo(3);
   }
 
+  @Test
+  public void findRecordsByLifecycleTypeAfterId() {
+    repository.save(createExpiredEvent(SCHEDULED));
+    repository.save(createUnreferencedEvent(SCHEDULED));
+    repository.save(createExpiredEvent(DELETED));
+    repository.save(createExpiredEvent(FAILED));
+
+    List<BeekeeperHistory> first = repository
+        .findRecordsByLifecycleTypeAfterId("EXPIRED", 0L, PageRequest.of(PAGE, 2))
+        .getContent();
+    assertThat(first).extracting("housekeepingStatus").containsExactly("SCHEDULED", "DELETED");
+
+    List<BeekeeperHistory> second = repository
+        .findRecordsByLifecycleTypeAfterId("EXPIRED", first.get(1).getId(), PageRequest.of(PAGE, 2))
+        .getContent();
+    assertThat(second).extracting("housekeepingStatus").containsExactly("FAILED");
+  }
+
+  @Test
+  public void insertAll() {
+    List<BeekeeperHistory> events = new ArrayList<>();
+    for (int i = 0; i < BeekeeperHistoryRepositoryCustomImpl.ROWS_PER_INSERT + 1; i++) {
+      events.add(createHistoryEntry("UNREFERENCED", DELETED, "event " + i));
+    }
+
+    repository.insertAll(events);
+
+    List<BeekeeperHistory> historyList = Lists.newArrayList(repository.findAll());
+    assertThat(historyList).hasSize(events.size());
+    assertThat(historyList)
+        .extracting("eventDetails")
+        .containsExactlyInAnyOrderElementsOf(events.stream().map(BeekeeperHistory::getEventDetails).toList());
+    BeekeeperHistory history = historyList.get(0);
+    assertThat(history.getId()).isNotNull();
+    assertThat(history.getDatabaseName()).isEqualTo(DATABASE_NAME);
+    assertThat(history.getTableName()).isEqualTo(TABLE_NAME);
+    assertThat(history.getLifecycleType()).isEqualTo("UNREFERENCED");
+    assertThat(history.getHousekeepingStatus()).isEqualTo("DELETED");
+    assertThat(history.getEventTimestamp()).isNotNull();
+  }
+
   protected BeekeeperHistory createExpiredEvent(HousekeepingStatus status) {
     HousekeepingMetadata entity = HousekeepingMetadata.builder()
         .cleanupAttempts(3)
@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.DELETED;
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.FAILED;
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.SCHEDULED;
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.SKIPPED;
+import static com.expediagroup.beekeeper.core.model.LifecycleEventType.UNREFERENCED;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.expediagroup.beekeeper.core.TestApplication;
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.HousekeepingStatus;
+import com.expediagroup.beekeeper.core.model.PeriodDuration;
+import com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpoint;
+import com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpointId;
+
+@ExtendWith(SpringExtension.class)
+@TestPropertySource(properties = {
+    "hibernate.data-source.driver-class-name=org.h2.Driver",
+    "hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "hibernate.hbm2ddl.auto=create",
+    "spring.jpa.show-sql=true",
+    "spring.datasource.url=jdbc:h2:mem:beekeeper;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL" })
+@ContextConfiguration(classes = { TestApplication.class }, loader = AnnotationConfigContextLoader.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class DeletionCheckpointRepositoryTest {
+
+  @Autowired
+  private DeletionCheckpointRepository repository;
+  @Autowired
+  private HousekeepingPathRepository housekeepingPathRepository;
+
+  @BeforeEach
+  public void setupDb() {
+    repository.deleteAll();
+    housekeepingPathRepository.deleteAll();
+  }
+
+  @Test
+  public void typicalSave() {
+    repository.save(checkpoint(DeletionCheckpoint.PATH_ENTITY_TYPE, "table/partition=1/file1", 1000L));
+    repository.save(checkpoint(DeletionCheckpoint.METADATA_ENTITY_TYPE, "table/partition=1/file2", 2000L));
+
+    Optional<DeletionCheckpoint> checkpoint = repository
+        .findById(new DeletionCheckpointId(DeletionCheckpoint.PATH_ENTITY_TYPE, 1L));
+    assertThat(checkpoint).isPresent();
+    assertThat(checkpoint.get().getPath()).isEqualTo("s3://bucket/table/partition=1");
+    assertThat(checkpoint.get().getLastDeletedKey()).isEqualTo("table/partition=1/file1");
+    assertThat(checkpoint.get().getObjectsDeleted()).isEqualTo(1000L);
+    assertThat(checkpoint.get().getBytesDeleted()).isEqualTo(10000L);
+    assertThat(checkpoint.get().getModifiedTimestamp()).isNotNull();
+    assertThat(repository.count()).isEqualTo(2L);
+  }
+
+  @Test
+  public void updateCheckpoint() {
+    repository.save(checkpoint(DeletionCheckpoint.PATH_ENTITY_TYPE, "table/partition=1/file1", 1000L));
+    repository.save(checkpoint(DeletionCheckpoint.PATH_ENTITY_TYPE, "table/partition=1/file2", 2000L));
+
+    assertThat(repository.count()).isEqualTo(1L);
+    DeletionCheckpoint checkpoint = repository
+        .findById(new DeletionCheckpointId(DeletionCheckpoint.PATH_ENTITY_TYPE, 1L))
+        .orElseThrow();
+    assertThat(checkpoint.getLastDeletedKey()).isEqualTo("table/partition=1/file2");
+    assertThat(checkpoint.getObjectsDeleted()).isEqualTo(2000L);
+  }
+
+  @Test
+  @Transactional
+  public void cleanUpCheckpointsOfFinishedPaths() {
+    long scheduled = savePath(SCHEDULED, 0);
+    long failed = savePath(FAILED, 9);
+    long outOfAttempts = savePath(FAILED, 10);
+    long deleted = savePath(DELETED, 1);
+    long skipped = savePath(SKIPPED, 0);
+    for (long id : new long[] { scheduled, failed, outOfAttempts, deleted, skipped, 1000L }) {
+      repository.save(checkpoint(DeletionCheckpoint.PATH_ENTITY_TYPE, id, "table/partition=1/file1", 1000L));
+    }
+    repository.save(checkpoint(DeletionCheckpoint.METADATA_ENTITY_TYPE, deleted, "table/partition=1/file1", 1000L));
+
+    repository.cleanUpCheckpointsOfFinishedPaths();
+
+    assertThat(repository.findAll())
+        .extracting(DeletionCheckpoint::getEntityType, DeletionCheckpoint::getHousekeepingEntityId)
+        .containsExactlyInAnyOrder(
+            tuple(DeletionCheckpoint.PATH_ENTITY_TYPE, scheduled),
+            tuple(DeletionCheckpoint.PATH_ENTITY_TYPE, failed),
+            tuple(DeletionCheckpoint.METADATA_ENTITY_TYPE, deleted));
+  }
+
+  private long savePath(HousekeepingStatus status, int cleanupAttempts) {
+    LocalDateTime now = LocalDateTime.now();
+    return housekeepingPathRepository.save(HousekeepingPath.builder()
+        .path("s3://bucket/table/partition=" + status + cleanupAttempts)
+        .databaseName("database")
+        .tableName("table")
+        .housekeepingStatus(status)
+        .creationTimestamp(now)
+        .modifiedTimestamp(now)
+        .cleanupDelay(PeriodDuration.parse("P3D"))
+        .cleanupAttempts(cleanupAttempts)
+        .lifecycleType(UNREFERENCED.toString())
+        .build()).getId();
+  }
+
+  private DeletionCheckpoint checkpoint(String entityType, String lastDeletedKey, long objectsDeleted) {
+    return checkpoint(entityType, 1L, lastDeletedKey, objectsDeleted);
+  }
+
+  private DeletionCheckpoint checkpoint(
+      String entityType,
+      long housekeepingEntityId,
+      String lastDeletedKey,
+      long objectsDeleted) {
+    return DeletionCheckpoint.builder()
+        .entityType(entityType)
+        .housekeepingEntityId(housekeepingEntityId)
+        .path("s3://bucket/table/partition=1")
+        .lastDeletedKey(lastDeletedKey)
+        .objectsDeleted(objectsDeleted)
+        .bytesDeleted(objectsDeleted * 10)
+        .build();
+  }
+}
@@ -21,6 +21,7 @@ import static java.time.temporal.ChronoUnit.MICROS;
 import static java.time.temporal.ChronoUnit.MONTHS;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -56,6 +57,7 @@ import com.expediagroup.beekeeper.core.TestApplication;
 import com.expediagroup.beekeeper.core.model.HousekeepingMetadata;
 import com.expediagroup.beekeeper.core.model.HousekeepingStatus;
 import com.expediagroup.beekeeper.core.model.PeriodDuration;
+import com.expediagroup.beekeeper.core.model.TableName;
 
 @ExtendWith(SpringExtension.class)
 @TestPropertySource(properties = {
@@ -221,6 +223,57 @@ public class HousekeepingMetadataRepositoryTest {
     assertThat(result.get(1).getTableName()).isEqualTo(table2);
   }
 
+  @Test
+  public void findRecordsForCleanupAfterId() {
+    List<String> tables = List.of("table1", "table2", "table3");
+    tables.forEach(table -> housekeepingMetadataRepository
+        .save(createEntityHouseKeepingTable(DATABASE_NAME, table, PARTITION_NAME, CREATION_TIMESTAMP, SCHEDULED)));
+
+    List<HousekeepingMetadata> first = housekeepingMetadataRepository
+        .findRecordsForCleanupAfterId(CLEANUP_TIMESTAMP, 0L, PageRequest.of(0, 2))
+        .getContent();
+    assertThat(first).extracting("tableName").containsExactly("table1", "table2");
+
+    List<HousekeepingMetadata> second = housekeepingMetadataRepository
+        .findRecordsForCleanupAfterId(CLEANUP_TIMESTAMP, first.get(1).getId(), PageRequest.of(0, 2))
+        .getContent();
+    assertThat(second).extracting("tableName").containsExactly("table3");
+  }
+
+  @Test
+  public void findTablesForCleanup() {
+    housekeepingMetadataRepository
+        .save(createEntityHouseKeepingTable(DATABASE_NAME, "small_table", PARTITION_NAME, CREATION_TIMESTAMP,
+            SCHEDULED));
+    List.of("partition1", "partition2")
+        .forEach(partition -> housekeepingMetadataRepository
+            .save(createEntityHouseKeepingTable(DATABASE_NAME, "big_table", partition,
+                CREATION_TIMESTAMP.minusHours(1), SCHEDULED)));
+    housekeepingMetadataRepository
+        .save(createEntityHouseKeepingTable(DATABASE_NAME, "deleted_table", PARTITION_NAME,
+            CREATION_TIMESTAMP.minusHours(2), DELETED));
+
+    List<TableName> result = housekeepingMetadataRepository.findTablesForCleanup(CLEANUP_TIMESTAMP);
+    assertThat(result)
+        .containsExactly(new TableName(DATABASE_NAME, "big_table"), new TableName(DATABASE_NAME, "small_table"));
+  }
+
+  @Test
+  public void findRecordsForCleanupOfTable() {
+    List.of("partition1", "partition2", "partition3")
+        .forEach(partition -> housekeepingMetadataRepository
+            .save(createEntityHouseKeepingTable(DATABASE_NAME, "big_table", partition, CREATION_TIMESTAMP, SCHEDULED)));
+    housekeepingMetadataRepository
+        .save(createEntityHouseKeepingTable(DATABASE_NAME, "small_table", PARTITION_NAME, CREATION_TIMESTAMP,
+            SCHEDULED));
+
+    List<HousekeepingMetadata> result = housekeepingMetadataRepository
+        .findRecordsForCleanupOfTable(CLEANUP_TIMESTAMP, CLEANUP_TIMESTAMP, DATABASE_NAME, "big_table",
+            PageRequest.of(0, 2));
+    assertThat(result).extracting("tableName", "partitionName")
+        .containsExactly(tuple("big_table", "partition1"), tuple("big_table", "partition2"));
+  }
+
   @Test
   public void findRecordForCleanupByDatabaseAndTable() {
     HousekeepingMetadata table = createPartitionedEntityHousekeepingTable();
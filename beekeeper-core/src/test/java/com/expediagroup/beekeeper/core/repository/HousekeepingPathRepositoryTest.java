@@ -22,6 +22,7 @@ import static java.time.temporal.ChronoUnit.MONTHS;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.DELETED;
@@ -53,6 +54,7 @@ import com.expediagroup.beekeeper.core.TestApplication;
 import com.expediagroup.beekeeper.core.model.HousekeepingPath;
 import com.expediagroup.beekeeper.core.model.HousekeepingStatus;
 import com.expediagroup.beekeeper.core.model.PeriodDuration;
+import com.expediagroup.beekeeper.core.model.TableName;
 
 @ExtendWith(SpringExtension.class)
 @TestPropertySource(properties = {
@@ -171,6 +173,94 @@ public class HousekeepingPathRepositoryTest {
     assertThat(result.getContent().size()).isEqualTo(0);
   }
 
+  @Test
+  void findRecordsForCleanupAfterId() {
+    List<HousekeepingPath> paths = List
+        .of(createEntityHousekeepingPath("path1", CREATION_TIMESTAMP, SCHEDULED),
+            createEntityHousekeepingPath("path2", CREATION_TIMESTAMP, DELETED),
+            createEntityHousekeepingPath("path3", CREATION_TIMESTAMP, FAILED),
+            createEntityHousekeepingPath("path4", CREATION_TIMESTAMP, SCHEDULED));
+    housekeepingPathRepository.saveAll(paths);
+
+    Slice<HousekeepingPath> first = housekeepingPathRepository
+        .findRecordsForCleanupAfterId(CLEANUP_TIMESTAMP, 0L, PageRequest.of(0, 2));
+    assertThat(first.getContent()).extracting("path").containsExactly("path1", "path3");
+
+    long lastId = first.getContent().get(1).getId();
+    Slice<HousekeepingPath> second = housekeepingPathRepository
+        .findRecordsForCleanupAfterId(CLEANUP_TIMESTAMP, lastId, PageRequest.of(0, 2));
+    assertThat(second.getContent()).extracting("path").containsExactly("path4");
+    assertThat(second.hasNext()).isFalse();
+  }
+
+  @Test
+  void findTablesForCleanup() {
+    List<HousekeepingPath> paths = List
+        .of(createEntityHousekeepingPath("small1", CREATION_TIMESTAMP, SCHEDULED, "small_table"),
+            createEntityHousekeepingPath("big1", CREATION_TIMESTAMP.minusHours(3), SCHEDULED, "big_table"),
+            createEntityHousekeepingPath("big2", CREATION_TIMESTAMP, FAILED, "big_table"),
+            createEntityHousekeepingPath("deleted1", CREATION_TIMESTAMP.minusHours(4), DELETED, "deleted_table"),
+            createEntityHousekeepingPath("other1", CREATION_TIMESTAMP.minusMinutes(30), SCHEDULED, "other_table"));
+    housekeepingPathRepository.saveAll(paths);
+
+    List<TableName> result = housekeepingPathRepository.findTablesForCleanup(CLEANUP_TIMESTAMP);
+    assertThat(result)
+        .containsExactly(new TableName("database", "big_table"), new TableName("database", "other_table"),
+            new TableName("database", "small_table"));
+  }
+
+  @Test
+  void findRecordsForCleanupOfTable() {
+    List<HousekeepingPath> paths = List
+        .of(createEntityHousekeepingPath("big2", CREATION_TIMESTAMP.minusHours(2), SCHEDULED, "big_table"),
+            createEntityHousekeepingPath("big1", CREATION_TIMESTAMP.minusHours(3), SCHEDULED, "big_table"),
+            createEntityHousekeepingPath("big3", CREATION_TIMESTAMP.minusHours(1), FAILED, "big_table"),
+            createEntityHousekeepingPath("big4", CREATION_TIMESTAMP.minusHours(4), DELETED, "big_table"),
+            createEntityHousekeepingPath("small1", CREATION_TIMESTAMP.minusHours(5), SCHEDULED, "small_table"));
+    housekeepingPathRepository.saveAll(paths);
+
+    List<HousekeepingPath> result = housekeepingPathRepository
+        .findRecordsForCleanupOfTable(CLEANUP_TIMESTAMP, CLEANUP_TIMESTAMP, "database", "big_table",
+            PageRequest.of(0, 2));
+    assertThat(result).extracting("path").containsExactly("big1", "big2");
+  }
+
+  @Test
+  void findRecordsForCleanupOfTableWithoutName() {
+    List<HousekeepingPath> paths = List
+        .of(createEntityHousekeepingPath("unnamed1", CREATION_TIMESTAMP, SCHEDULED, null),
+            createEntityHousekeepingPath("named1", CREATION_TIMESTAMP, SCHEDULED, "table"));
+    housekeepingPathRepository.saveAll(paths);
+
+    assertThat(housekeepingPathRepository.findTablesForCleanup(CLEANUP_TIMESTAMP))
+        .contains(new TableName("database", null));
+    List<HousekeepingPath> result = housekeepingPathRepository
+        .findRecordsForCleanupOfTable(CLEANUP_TIMESTAMP, CLEANUP_TIMESTAMP, "database", null, PageRequest.of(0, 2));
+    assertThat(result).extracting("path").containsExactly("unnamed1");
+  }
+
+  @Test
+  void updateStatus() {
+    HousekeepingPath path1 = housekeepingPathRepository
+        .save(createEntityHousekeepingPath("path1", CREATION_TIMESTAMP, SCHEDULED));
+    HousekeepingPath path2 = housekeepingPathRepository
+        .save(createEntityHousekeepingPath("path2", CREATION_TIMESTAMP, SCHEDULED));
+    HousekeepingPath path3 = housekeepingPathRepository
+        .save(createEntityHousekeepingPath("path3", CREATION_TIMESTAMP, SCHEDULED));
+    LocalDateTime modifiedTimestamp = LocalDateTime.now().plusMinutes(1).withNano(0);
+
+    housekeepingPathRepository.updateStatus(List.of(path1.getId(), path3.getId()), DELETED, 1, modifiedTimestamp);
+
+    List<HousekeepingPath> result = Lists.newArrayList(housekeepingPathRepository.findAll());
+    assertThat(result).extracting("path", "housekeepingStatus", "cleanupAttempts")
+        .containsExactlyInAnyOrder(tuple("path1", DELETED, 1), tuple("path2", SCHEDULED, 0),
+            tuple("path3", DELETED, 1));
+    assertThat(housekeepingPathRepository.findById(path3.getId()).get().getModifiedTimestamp())
+        .isEqualTo(modifiedTimestamp);
+    assertThat(housekeepingPathRepository.findById(path2.getId()).get().getModifiedTimestamp())
+        .isNotEqualTo(modifiedTimestamp);
+  }
+
   @Test
   void findRecordsForCleanupZeroResults() {
     HousekeepingPath path = createEntityHousekeepingPath();
@@ -277,11 +367,19 @@ public class HousekeepingPathRepositoryTest {
       String path,
       LocalDateTime creationDate,
       HousekeepingStatus status) {
+    return createEntityHousekeepingPath(path, creationDate, status, "table");
+  }
+
+  private HousekeepingPath createEntityHousekeepingPath(
+      String path,
+      LocalDateTime creationDate,
+      HousekeepingStatus status,
+      String tableName) {
     return HousekeepingPath
         .builder()
         .path(path)
         .databaseName("database")
-        .tableName("table")
+        .tableName(tableName)
         .housekeepingStatus(status)
         .creationTimestamp(creationDate)
         .modifiedTimestamp(creationDate)
@@ -16,6 +16,7 @@
 package com.expediagroup.beekeeper.core.service;
 
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.DELETED;
 import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.SCHEDULED;
@@ -25,6 +26,8 @@ import static com.expediagroup.beekeeper.core.model.LifecycleEventType.UNREFEREN
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -79,6 +82,23 @@ public class BeekeeperHistoryServiceTest {
     verify(repository).save(history);
   }
 
+  @Test
+  void historyOfAPage() {
+    HousekeepingPath path = createHousekeepingPath();
+    HousekeepingMetadata metadata = createHousekeepingMetadata();
+    List<BeekeeperHistory> events = List
+        .of(beekeeperHistoryService.newEvent(path, DELETED), beekeeperHistoryService.newEvent(metadata, DELETED));
+
+    beekeeperHistoryService.saveHistory(events);
+    verify(repository).insertAll(events);
+  }
+
+  @Test
+  void emptyHistoryOfAPage() {
+    beekeeperHistoryService.saveHistory(Collections.emptyList());
+    verifyNoInteractions(repository);
+  }
+
   private BeekeeperHistory createHistoryEvent(HousekeepingEntity entity, String eventDetails, String status) {
     return BeekeeperHistory.builder()
         .id(entity.getId())
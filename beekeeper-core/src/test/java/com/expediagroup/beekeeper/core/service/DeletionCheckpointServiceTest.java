@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import static com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpoint.METADATA_ENTITY_TYPE;
+import static com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpoint.PATH_ENTITY_TYPE;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingMetadata;
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpoint;
+import com.expediagroup.beekeeper.core.model.checkpoint.DeletionCheckpointId;
+import com.expediagroup.beekeeper.core.repository.DeletionCheckpointRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class DeletionCheckpointServiceTest {
+
+  private static final String PATH = "s3://bucket/table/partition=1";
+  private static final String LAST_DELETED_KEY = "table/partition=1/file1";
+
+  private DeletionCheckpointService deletionCheckpointService;
+
+  private @Mock DeletionCheckpointRepository repository;
+
+  @BeforeEach
+  public void setup() {
+    deletionCheckpointService = new DeletionCheckpointService(repository);
+  }
+
+  @Test
+  void saveCheckpointOfPath() {
+    deletionCheckpointService.saveCheckpoint(housekeepingPath(1L), LAST_DELETED_KEY, 10L, 100L);
+    verify(repository).save(checkpoint(PATH_ENTITY_TYPE, PATH));
+  }
+
+  @Test
+  void saveCheckpointOfMetadata() {
+    HousekeepingMetadata housekeepingMetadata = new HousekeepingMetadata();
+    housekeepingMetadata.setId(1L);
+    housekeepingMetadata.setPath(PATH);
+
+    deletionCheckpointService.saveCheckpoint(housekeepingMetadata, LAST_DELETED_KEY, 10L, 100L);
+    verify(repository).save(checkpoint(METADATA_ENTITY_TYPE, PATH));
+  }
+
+  @Test
+  void findCheckpoint() {
+    DeletionCheckpoint checkpoint = checkpoint(PATH_ENTITY_TYPE, PATH);
+    when(repository.findById(new DeletionCheckpointId(PATH_ENTITY_TYPE, 1L))).thenReturn(Optional.of(checkpoint));
+
+    assertThat(deletionCheckpointService.findCheckpoint(housekeepingPath(1L))).contains(checkpoint);
+  }
+
+  @Test
+  void ignoreCheckpointOfAnotherPath() {
+    DeletionCheckpoint checkpoint = checkpoint(PATH_ENTITY_TYPE, "s3://bucket/table/partition=2");
+    when(repository.findById(new DeletionCheckpointId(PATH_ENTITY_TYPE, 1L))).thenReturn(Optional.of(checkpoint));
+
+    assertThat(deletionCheckpointService.findCheckpoint(housekeepingPath(1L))).isEmpty();
+  }
+
+  @Test
+  void deleteCheckpoint() {
+    DeletionCheckpointId id = new DeletionCheckpointId(PATH_ENTITY_TYPE, 1L);
+    when(repository.existsById(id)).thenReturn(true);
+
+    deletionCheckpointService.deleteCheckpoint(housekeepingPath(1L));
+    verify(repository).deleteById(id);
+  }
+
+  @Test
+  void deleteMissingCheckpoint() {
+    DeletionCheckpointId id = new DeletionCheckpointId(PATH_ENTITY_TYPE, 1L);
+    when(repository.existsById(id)).thenReturn(false);
+
+    deletionCheckpointService.deleteCheckpoint(housekeepingPath(1L));
+    verify(repository, never()).deleteById(id);
+  }
+
+  @Test
+  void noCheckpointWithoutId() {
+    HousekeepingPath housekeepingPath = housekeepingPath(null);
+
+    assertThat(deletionCheckpointService.findCheckpoint(housekeepingPath)).isEmpty();
+    deletionCheckpointService.saveCheckpoint(housekeepingPath, LAST_DELETED_KEY, 10L, 100L);
+    deletionCheckpointService.deleteCheckpoint(housekeepingPath);
+    verifyNoInteractions(repository);
+  }
+
+  private HousekeepingPath housekeepingPath(Long id) {
+    HousekeepingPath housekeepingPath = new HousekeepingPath();
+    housekeepingPath.setId(id);
+    housekeepingPath.setPath(PATH);
+    return housekeepingPath;
+  }
+
+  private DeletionCheckpoint checkpoint(String entityType, String path) {
+    return DeletionCheckpoint.builder()
+        .entityType(entityType)
+        .housekeepingEntityId(1L)
+        .path(path)
+        .lastDeletedKey(LAST_DELETED_KEY)
+        .objectsDeleted(10L)
+        .bytesDeleted(100L)
+        .build();
+  }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.DELETED;
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.FAILED;
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.FAILED_TO_DELETE;
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.SCHEDULED;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.HousekeepingStatus;
+import com.expediagroup.beekeeper.core.model.PeriodDuration;
+import com.expediagroup.beekeeper.core.model.history.BeekeeperHistory;
+
+@ExtendWith(MockitoExtension.class)
+public class PageWritesTest {
+
+  private @Mock Consumer<HousekeepingPath> entityWriter;
+  private @Mock PageWrites.StatusWriter statusWriter;
+  private @Mock BeekeeperHistoryService beekeeperHistoryService;
+  private @Captor ArgumentCaptor<List<Long>> idsCaptor;
+
+  @Test
+  public void immediateWrites() {
+    PageWrites<HousekeepingPath> pageWrites = PageWrites.immediate(entityWriter, beekeeperHistoryService);
+    HousekeepingPath path = createPath(1L, DELETED, 1);
+
+    pageWrites.updateStatus(path);
+    pageWrites.saveHistory(path, DELETED);
+    pageWrites.flush();
+
+    assertThat(pageWrites.isBatched()).isFalse();
+    verify(entityWriter).accept(path);
+    verify(beekeeperHistoryService).saveHistory(path, DELETED);
+    verifyNoMoreInteractions(entityWriter, beekeeperHistoryService);
+  }
+
+  @Test
+  public void batchedWritesAreOnlyWrittenOnFlush() {
+    PageWrites<HousekeepingPath> pageWrites = PageWrites.batched(statusWriter, beekeeperHistoryService);
+    HousekeepingPath path = createPath(1L, DELETED, 1);
+    when(beekeeperHistoryService.newEvent(path, DELETED)).thenReturn(new BeekeeperHistory());
+
+    pageWrites.updateStatus(path);
+    pageWrites.saveHistory(path, DELETED);
+
+    assertThat(pageWrites.isBatched()).isTrue();
+    verifyNoInteractions(statusWriter);
+    verify(beekeeperHistoryService, never()).saveHistory(any(), any());
+    verify(beekeeperHistoryService, never()).saveHistory(any());
+  }
+
+  @Test
+  public void batchedStatusChangesAreGroupedByStatusAndAttempts() {
+    PageWrites<HousekeepingPath> pageWrites = PageWrites.batched(statusWriter, beekeeperHistoryService);
+    pageWrites.updateStatus(createPath(1L, DELETED, 1));
+    pageWrites.updateStatus(createPath(2L, FAILED, 1));
+    pageWrites.updateStatus(createPath(3L, DELETED, 1));
+    pageWrites.updateStatus(createPath(4L, DELETED, 2));
+
+    pageWrites.flush();
+
+    verify(statusWriter).updateStatus(idsCaptor.capture(), eq(DELETED), eq(1), any(LocalDateTime.class));
+    assertThat(idsCaptor.getValue()).containsExactly(1L, 3L);
+    verify(statusWriter).updateStatus(eq(List.of(2L)), eq(FAILED), eq(1), any(LocalDateTime.class));
+    verify(statusWriter).updateStatus(eq(List.of(4L)), eq(DELETED), eq(2), any(LocalDateTime.class));
+    verifyNoMoreInteractions(statusWriter);
+  }
+
+  @Test
+  public void lastStatusChangeOfAnEntityWins() {
+    PageWrites<HousekeepingPath> pageWrites = PageWrites.batched(statusWriter, beekeeperHistoryService);
+    HousekeepingPath path = createPath(1L, SCHEDULED, 0);
+    path.setHousekeepingStatus(FAILED);
+    pageWrites.updateStatus(path);
+    path.setCleanupAttempts(1);
+    pageWrites.updateStatus(path);
+    // later changes of the entity are not written until it is recorded again
+    path.setHousekeepingStatus(DELETED);
+
+    pageWrites.flush();
+
+    verify(statusWriter).updateStatus(eq(List.of(1L)), eq(FAILED), eq(1), any(LocalDateTime.class));
+    verifyNoMoreInteractions(statusWriter);
+  }
+
+  @Test
+  public void batchedHistoryIsSavedTogether() {
+    PageWrites<HousekeepingPath> pageWrites = PageWrites.batched(statusWriter, beekeeperHistoryService);
+    List<BeekeeperHistory> events = new ArrayList<>();
+    for (long id = 1; id <= 3; id++) {
+      HousekeepingPath path = createPath(id, FAILED, 1);
+      BeekeeperHistory event = BeekeeperHistory.builder().id(id).build();
+      events.add(event);
+      when(beekeeperHistoryService.newEvent(path, FAILED_TO_DELETE)).thenReturn(event);
+      pageWrites.saveHistory(path, FAILED_TO_DELETE);
+    }
+
+    pageWrites.flush();
+    pageWrites.flush();
+
+    verify(beekeeperHistoryService).saveHistory(events);
+    verify(beekeeperHistoryService).saveHistory(List.of());
+    verify(statusWriter, never()).updateStatus(any(), any(), anyInt(), any());
+  }
+
+  private HousekeepingPath createPath(long id, HousekeepingStatus status, int cleanupAttempts) {
+    return HousekeepingPath
+        .builder()
+        .id(id)
+        .path("s3://bucket/table/partition=" + id)
+        .housekeepingStatus(status)
+        .cleanupAttempts(cleanupAttempts)
+        .creationTimestamp(LocalDateTime.now())
+        .cleanupDelay(PeriodDuration.parse("P3D"))
+        .build();
+  }
+}
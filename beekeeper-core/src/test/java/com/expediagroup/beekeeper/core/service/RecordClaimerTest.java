@@ -0,0 +1,211 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.DELETED;
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.SCHEDULED;
+import static com.expediagroup.beekeeper.core.model.LifecycleEventType.UNREFERENCED;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import com.expediagroup.beekeeper.core.TestApplication;
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.PeriodDuration;
+import com.expediagroup.beekeeper.core.repository.HousekeepingPathRepository;
+
+@ExtendWith(SpringExtension.class)
+@TestPropertySource(properties = {
+    "hibernate.data-source.driver-class-name=org.h2.Driver",
+    "hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "hibernate.hbm2ddl.auto=create",
+    "spring.jpa.show-sql=true",
+    "spring.datasource.url=jdbc:h2:mem:beekeeper;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=MySQL" })
+@ContextConfiguration(classes = { TestApplication.class }, loader = AnnotationConfigContextLoader.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class RecordClaimerTest {
+
+  private static final Duration LEASE = Duration.ofMinutes(30);
+  private static final Pageable PAGE = PageRequest.of(0, 2);
+
+  private final LocalDateTime instant = LocalDateTime.now(ZoneOffset.UTC).plusDays(1);
+
+  @Autowired
+  private HousekeepingPathRepository housekeepingPathRepository;
+
+  @BeforeEach
+  public void setupDb() {
+    housekeepingPathRepository.deleteAll();
+  }
+
+  @Test
+  public void workersClaimDifferentRecords() {
+    List<Long> ids = saveScheduledPaths(3);
+    RecordClaimer<HousekeepingPath> worker1 = newRecordClaimer();
+    RecordClaimer<HousekeepingPath> worker2 = newRecordClaimer();
+
+    Slice<HousekeepingPath> claimed1 = worker1.claim(this::findUnclaimed);
+    Slice<HousekeepingPath> claimed2 = worker2.claim(this::findUnclaimed);
+
+    assertThat(ids(claimed1)).containsExactly(ids.get(0), ids.get(1));
+    assertThat(claimed1.getContent()).extracting("claimOwner").containsOnly(worker1.getOwner());
+    assertThat(ids(claimed2)).containsExactly(ids.get(2));
+    assertThat(claimed2.getContent()).extracting("claimOwner").containsOnly(worker2.getOwner());
+    assertThat(worker2.claim(this::findUnclaimed).getContent()).isEmpty();
+  }
+
+  @Test
+  public void releasedRecordsAreClaimedAgain() {
+    saveScheduledPaths(2);
+    RecordClaimer<HousekeepingPath> worker1 = newRecordClaimer();
+    RecordClaimer<HousekeepingPath> worker2 = newRecordClaimer();
+
+    Slice<HousekeepingPath> claimed = worker1.claim(this::findUnclaimed);
+    worker1.release(claimed.getContent());
+
+    assertThat(ids(worker2.claim(this::findUnclaimed))).isEqualTo(ids(claimed));
+  }
+
+  @Test
+  public void expiredClaimsAreClaimedAgain() {
+    List<Long> ids = saveScheduledPaths(2);
+    // the claims of this worker expired an hour ago
+    Clock past = Clock.offset(Clock.systemUTC(), LEASE.plusHours(1).negated());
+    RecordClaimer<HousekeepingPath> stoppedWorker = RecordClaimer
+        .leasing(housekeepingPathRepository::claim, housekeepingPathRepository::findClaimed,
+            housekeepingPathRepository::releaseClaims, LEASE, past);
+    RecordClaimer<HousekeepingPath> worker = newRecordClaimer();
+
+    assertThat(ids(stoppedWorker.claim(this::findUnclaimed))).isEqualTo(ids);
+    assertThat(ids(worker.claim(this::findUnclaimed))).isEqualTo(ids);
+  }
+
+  @Test
+  public void recordsClaimedByAnotherWorkerSinceTheFetchAreLeftOut() {
+    List<Long> ids = saveScheduledPaths(3);
+    RecordClaimer<HousekeepingPath> worker1 = newRecordClaimer();
+    RecordClaimer<HousekeepingPath> worker2 = newRecordClaimer();
+
+    Slice<HousekeepingPath> claimed = worker1.claim(now -> {
+      Slice<HousekeepingPath> unclaimed = findUnclaimed(now);
+      worker2.claim(ignored -> housekeepingPathRepository.findRecordsForCleanup(instant, PageRequest.of(0, 1)));
+      return unclaimed;
+    });
+
+    assertThat(ids(claimed)).containsExactly(ids.get(1));
+  }
+
+  @Test
+  public void recordsAreFetchedAgainWhenAllWereClaimedByAnotherWorker() {
+    List<Long> ids = saveScheduledPaths(3);
+    RecordClaimer<HousekeepingPath> worker1 = newRecordClaimer();
+    RecordClaimer<HousekeepingPath> worker2 = newRecordClaimer();
+
+    Slice<HousekeepingPath> claimed = worker1.claim(now -> {
+      Slice<HousekeepingPath> unclaimed = findUnclaimed(now);
+      if (unclaimed.getContent().get(0).getId().equals(ids.get(0))) {
+        worker2.claim(this::findUnclaimed);
+      }
+      return unclaimed;
+    });
+
+    assertThat(ids(claimed)).containsExactly(ids.get(2));
+  }
+
+  @Test
+  public void recordsNoLongerToBeCleanedUpAreNotClaimed() {
+    List<Long> ids = saveScheduledPaths(2);
+    RecordClaimer<HousekeepingPath> worker = newRecordClaimer();
+
+    Slice<HousekeepingPath> claimed = worker.claim(now -> {
+      Slice<HousekeepingPath> unclaimed = findUnclaimed(now);
+      housekeepingPathRepository.updateStatus(List.of(ids.get(0)), DELETED, 1, LocalDateTime.now());
+      return unclaimed;
+    });
+
+    assertThat(ids(claimed)).containsExactly(ids.get(1));
+  }
+
+  @Test
+  public void disabled() {
+    RecordClaimer<HousekeepingPath> recordClaimer = RecordClaimer.disabled();
+
+    assertThat(recordClaimer.isEnabled()).isFalse();
+    recordClaimer.release(List.of(new HousekeepingPath()));
+  }
+
+  @Test
+  public void invalidLease() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> RecordClaimer
+            .leasing(housekeepingPathRepository::claim, housekeepingPathRepository::findClaimed,
+                housekeepingPathRepository::releaseClaims, Duration.ZERO));
+  }
+
+  private RecordClaimer<HousekeepingPath> newRecordClaimer() {
+    return RecordClaimer
+        .leasing(housekeepingPathRepository::claim, housekeepingPathRepository::findClaimed,
+            housekeepingPathRepository::releaseClaims, LEASE);
+  }
+
+  private Slice<HousekeepingPath> findUnclaimed(LocalDateTime now) {
+    return housekeepingPathRepository.findUnclaimedRecordsForCleanup(instant, now, PAGE);
+  }
+
+  private List<Long> saveScheduledPaths(int count) {
+    LocalDateTime creationTimestamp = LocalDateTime.now(ZoneOffset.UTC).minusDays(1);
+    return IntStream
+        .range(0, count)
+        .mapToObj(i -> housekeepingPathRepository
+            .save(HousekeepingPath
+                .builder()
+                .path("s3://bucket/table/partition=" + i)
+                .databaseName("database")
+                .tableName("table")
+                .housekeepingStatus(SCHEDULED)
+                .creationTimestamp(creationTimestamp)
+                .cleanupDelay(PeriodDuration.parse("PT1H"))
+                .lifecycleType(UNREFERENCED.toString())
+                .build())
+            .getId())
+        .collect(Collectors.toList());
+  }
+
+  private static List<Long> ids(Slice<HousekeepingPath> page) {
+    return page.getContent().stream().map(HousekeepingPath::getId).collect(Collectors.toList());
+  }
+}
@@ -91,6 +91,7 @@ public abstract class BeekeeperIntegrationTestBase {
   private static final String BEEKEEPER_HOUSEKEEPING_PATH_TABLE_NAME = "housekeeping_path";
   private static final String BEEKEEPER_HOUSEKEEPING_METADATA_TABLE_NAME = "housekeeping_metadata";
   private static final String BEEKEEPER_HISTORY_TABLE_NAME = "beekeeper_history";
+  private static final String BEEKEEPER_DELETION_CHECKPOINT_TABLE_NAME = "deletion_checkpoint";
 
   // FIELDS TO INSERT INTO BEEKEEPER TABLES
   private Long id = 1L;
@@ -156,6 +157,7 @@ public abstract class BeekeeperIntegrationTestBase {
     mySQLTestUtils.dropTable(BEEKEEPER_DB_NAME, BEEKEEPER_HOUSEKEEPING_PATH_TABLE_NAME);
     mySQLTestUtils.dropTable(BEEKEEPER_DB_NAME, BEEKEEPER_HOUSEKEEPING_METADATA_TABLE_NAME);
     mySQLTestUtils.dropTable(BEEKEEPER_DB_NAME, BEEKEEPER_HISTORY_TABLE_NAME);
+    mySQLTestUtils.dropTable(BEEKEEPER_DB_NAME, BEEKEEPER_DELETION_CHECKPOINT_TABLE_NAME);
   }
 
   protected void insertUnreferencedPath(String path) throws SQLException {
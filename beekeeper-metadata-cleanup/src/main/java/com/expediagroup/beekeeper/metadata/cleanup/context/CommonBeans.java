@@ -15,8 +15,14 @@
  */
 package com.expediagroup.beekeeper.metadata.cleanup.context;
 
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.apache.hadoop.hive.conf.HiveConf;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -35,24 +41,47 @@ import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+import com.expediagroup.beekeeper.cleanup.aws.AsyncS3Client;
 import com.expediagroup.beekeeper.cleanup.aws.S3Client;
+import com.expediagroup.beekeeper.cleanup.aws.S3DeleteRetryPolicy;
+import com.expediagroup.beekeeper.cleanup.aws.S3ClientOptions;
+import com.expediagroup.beekeeper.cleanup.aws.S3ClientRegistry;
+import com.expediagroup.beekeeper.cleanup.aws.S3InventoryDryRunPathCleaner;
+import com.expediagroup.beekeeper.cleanup.aws.S3InventoryReader;
+import com.expediagroup.beekeeper.cleanup.aws.S3MetricPublisher;
+import com.expediagroup.beekeeper.cleanup.aws.S3MetricsCollector;
 import com.expediagroup.beekeeper.cleanup.aws.S3PathCleaner;
-import com.expediagroup.beekeeper.cleanup.aws.S3SentinelFilesCleaner;
+import com.expediagroup.beekeeper.cleanup.aws.S3RateLimiter;
+import com.expediagroup.beekeeper.cleanup.aws.S3RedirectCounter;
+import com.expediagroup.beekeeper.cleanup.aws.S3SentinelFilesResolver;
+import com.expediagroup.beekeeper.cleanup.hadoop.HadoopFileSystemPathCleaner;
 import com.expediagroup.beekeeper.cleanup.hive.HiveClientFactory;
 import com.expediagroup.beekeeper.cleanup.hive.HiveMetadataCleaner;
 import com.expediagroup.beekeeper.cleanup.metadata.CleanerClientFactory;
 import com.expediagroup.beekeeper.cleanup.metadata.MetadataCleaner;
 import com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter;
+import com.expediagroup.beekeeper.cleanup.monitoring.CleanupLatenessReporter;
 import com.expediagroup.beekeeper.cleanup.monitoring.DeletedMetadataReporter;
 import com.expediagroup.beekeeper.cleanup.path.PathCleaner;
+import com.expediagroup.beekeeper.cleanup.path.SchemeRoutingPathCleaner;
 import com.expediagroup.beekeeper.cleanup.service.CleanupService;
+import com.expediagroup.beekeeper.cleanup.service.CleanupWorkerPool;
 import com.expediagroup.beekeeper.cleanup.service.DisableTablesService;
+import com.expediagroup.beekeeper.cleanup.service.PagingCleanupOptions;
 import com.expediagroup.beekeeper.cleanup.service.RepositoryCleanupService;
 import com.expediagroup.beekeeper.cleanup.validation.IcebergValidator;
+import com.expediagroup.beekeeper.core.model.HousekeepingMetadata;
 import com.expediagroup.beekeeper.core.repository.BeekeeperHistoryRepository;
+import com.expediagroup.beekeeper.core.repository.DeletionCheckpointRepository;
 import com.expediagroup.beekeeper.core.repository.HousekeepingMetadataRepository;
 import com.expediagroup.beekeeper.core.service.BeekeeperHistoryService;
+import com.expediagroup.beekeeper.core.service.DeletionCheckpointService;
+import com.expediagroup.beekeeper.core.service.RecordClaimer;
 import com.expediagroup.beekeeper.metadata.cleanup.handler.ExpiredMetadataHandler;
+import com.expediagroup.beekeeper.metadata.cleanup.handler.MetadataHandlerOptions;
 import com.expediagroup.beekeeper.metadata.cleanup.handler.MetadataHandler;
 import com.expediagroup.beekeeper.metadata.cleanup.service.MetadataDisableTablesService;
 import com.expediagroup.beekeeper.metadata.cleanup.service.MetadataRepositoryCleanupService;
@@ -69,6 +98,9 @@ import com.hotels.hcommon.hive.metastore.client.supplier.HiveMetaStoreClientSupp
 @EnableJpaRepositories(basePackages = { "com.expediagroup.beekeeper.core.repository" })
 public class CommonBeans {
 
+  private static final String DEFAULT_S3_CLIENT_NAME = "default";
+  private static final String ASYNC_S3_CLIENT_NAME = "async";
+
   @Bean
   public HiveConf hiveConf(@Value("${properties.metastore-uri}") String metastoreUri) {
     HiveConf conf = new HiveConf();
@@ -113,21 +145,58 @@ public class CommonBeans {
     return new HiveMetadataCleaner(deletedMetadataReporter, icebergValidator);
   }
 
+  @Bean
+  public S3RateLimiter s3RateLimiter(
+      MeterRegistry meterRegistry,
+      @Value("${properties.s3.rate-limiter.max-requests-per-second:3500}") double maxRequestsPerSecond,
+      @Value("${properties.s3.rate-limiter.prefix-depth:1}") int prefixDepth) {
+    return new S3RateLimiter(meterRegistry, maxRequestsPerSecond, prefixDepth);
+  }
+
   @Bean
   @Profile("default")
-  public AmazonS3 amazonS3() {
-    return AmazonS3ClientBuilder.defaultClient();
+  public AmazonS3 amazonS3(MeterRegistry meterRegistry, S3RateLimiter s3RateLimiter) {
+    return AmazonS3ClientBuilder.standard()
+        .withRequestHandlers(s3RateLimiter, new S3RedirectCounter(meterRegistry, DEFAULT_S3_CLIENT_NAME))
+        .withMetricsCollector(new S3MetricsCollector(meterRegistry, DEFAULT_S3_CLIENT_NAME))
+        .build();
   }
 
   @Bean
   @Profile("test")
-  public AmazonS3 amazonS3Test() {
+  public AmazonS3 amazonS3Test(S3RateLimiter s3RateLimiter) {
     String s3Endpoint = System.getProperty("aws.s3.endpoint");
     String region = System.getProperty("aws.region");
 
     return AmazonS3ClientBuilder
         .standard()
         .withEndpointConfiguration(new EndpointConfiguration(s3Endpoint, region))
+        .withRequestHandlers(s3RateLimiter)
+        .build();
+  }
+
+  @Bean
+  @Profile("default")
+  public Supplier<S3AsyncClient> s3AsyncClientSupplier(
+      MeterRegistry meterRegistry,
+      @Value("${properties.s3.bucket-region-clients-enabled:false}") boolean bucketRegionClientsEnabled) {
+    return () -> S3AsyncClient.builder()
+        .crossRegionAccessEnabled(bucketRegionClientsEnabled)
+        .overrideConfiguration(configuration -> configuration
+            .addMetricPublisher(new S3MetricPublisher(meterRegistry, ASYNC_S3_CLIENT_NAME)))
+        .build();
+  }
+
+  @Bean
+  @Profile("test")
+  public Supplier<S3AsyncClient> s3AsyncClientSupplierTest() {
+    String s3Endpoint = System.getProperty("aws.s3.endpoint");
+    String region = System.getProperty("aws.region");
+
+    return () -> S3AsyncClient.builder()
+        .endpointOverride(URI.create(s3Endpoint))
+        .region(Region.of(region))
+        .forcePathStyle(true)
         .build();
   }
 
@@ -139,15 +208,79 @@ public class CommonBeans {
   }
 
   @Bean
-  public S3Client s3Client(AmazonS3 amazonS3, @Value("${properties.dry-run-enabled}") boolean dryRunEnabled) {
-    return new S3Client(amazonS3, dryRunEnabled);
+  public S3ClientRegistry s3ClientRegistry(
+      AmazonS3 amazonS3,
+      MeterRegistry meterRegistry,
+      S3RateLimiter s3RateLimiter,
+      @Value("${properties.s3.bucket-region-clients-enabled:false}") boolean bucketRegionClientsEnabled) {
+    if (!bucketRegionClientsEnabled) {
+      return new S3ClientRegistry(amazonS3);
+    }
+    return new S3ClientRegistry(amazonS3, region -> AmazonS3ClientBuilder.standard()
+        .withRegion(region)
+        .withRequestHandlers(s3RateLimiter, new S3RedirectCounter(meterRegistry, region))
+        .withMetricsCollector(new S3MetricsCollector(meterRegistry, region))
+        .build());
+  }
+
+  @Bean
+  public S3DeleteRetryPolicy s3DeleteRetryPolicy(
+      @Value("${properties.s3.delete-retry.max-rounds:3}") int maxRounds,
+      @Value("${properties.s3.delete-retry.base-delay-ms:200}") long baseDelayMillis) {
+    return new S3DeleteRetryPolicy(maxRounds, baseDelayMillis);
+  }
+
+  @Bean
+  public S3Client s3Client(
+      S3ClientRegistry s3ClientRegistry,
+      Supplier<S3AsyncClient> s3AsyncClientSupplier,
+      S3DeleteRetryPolicy s3DeleteRetryPolicy,
+      S3RateLimiter s3RateLimiter,
+      @Value("${properties.dry-run-enabled}") boolean dryRunEnabled,
+      @Value("${properties.s3.delete-concurrency:1}") int deleteConcurrency,
+      @Value("${properties.s3.list-parallelism:1}") int listParallelism,
+      @Value("${properties.s3.async-client-enabled:false}") boolean asyncClientEnabled) {
+    S3ClientOptions options = S3ClientOptions.builder()
+        .dryRunEnabled(dryRunEnabled)
+        .deleteConcurrency(deleteConcurrency)
+        .listParallelism(listParallelism)
+        .deleteRetryPolicy(s3DeleteRetryPolicy)
+        .rateLimiter(s3RateLimiter)
+        .build();
+    if (asyncClientEnabled) {
+      return new AsyncS3Client(s3AsyncClientSupplier.get(), options);
+    }
+    return new S3Client(s3ClientRegistry, options);
   }
 
   @Bean(name = "s3PathCleaner")
   public PathCleaner pathCleaner(
       S3Client s3Client,
-      BytesDeletedReporter bytesDeletedReporter) {
-    return new S3PathCleaner(s3Client, new S3SentinelFilesCleaner(s3Client), bytesDeletedReporter);
+      BytesDeletedReporter bytesDeletedReporter,
+      DeletionCheckpointService deletionCheckpointService,
+      @Value("${properties.dry-run-enabled}") boolean dryRunEnabled,
+      @Value("${properties.s3.inventory-manifests:}") List<String> inventoryManifests,
+      @Value("${properties.s3.checkpoint-interval-objects:0}") long checkpointInterval,
+      @Value("${properties.s3.delete-non-current-versions:false}") boolean deleteNonCurrentVersions,
+      @Value("${properties.hadoop.schemes:}") List<String> hadoopSchemes,
+      @Value("${properties.hadoop.delete-parallelism:4}") int hadoopDeleteParallelism) {
+    S3SentinelFilesResolver sentinelFilesResolver = new S3SentinelFilesResolver(s3Client);
+    PathCleaner s3PathCleaner = new S3PathCleaner(s3Client, sentinelFilesResolver, bytesDeletedReporter,
+        checkpointInterval > 0 ? deletionCheckpointService : null, checkpointInterval, deleteNonCurrentVersions);
+    if (dryRunEnabled && !inventoryManifests.isEmpty()) {
+      S3InventoryReader inventoryReader = new S3InventoryReader(inventoryManifests.stream()
+          .map(Paths::get)
+          .collect(Collectors.toList()));
+      s3PathCleaner = new S3InventoryDryRunPathCleaner(inventoryReader, s3PathCleaner, bytesDeletedReporter);
+    }
+    if (hadoopSchemes.isEmpty()) {
+      return s3PathCleaner;
+    }
+    PathCleaner hadoopPathCleaner = new HadoopFileSystemPathCleaner(new org.apache.hadoop.conf.Configuration(),
+        bytesDeletedReporter, dryRunEnabled, hadoopDeleteParallelism);
+    Map<String, PathCleaner> pathCleanersByScheme = new HashMap<>();
+    hadoopSchemes.forEach(scheme -> pathCleanersByScheme.put(scheme.trim(), hadoopPathCleaner));
+    return new SchemeRoutingPathCleaner(s3PathCleaner, pathCleanersByScheme);
   }
 
   @Bean(name = "expiredMetadataHandler")
@@ -156,9 +289,27 @@ public class CommonBeans {
       HousekeepingMetadataRepository housekeepingMetadataRepository,
       @Qualifier("hiveTableCleaner") MetadataCleaner metadataCleaner,
       @Qualifier("s3PathCleaner") PathCleaner pathCleaner,
-      BeekeeperHistoryService beekeeperHistoryService) {
+      BeekeeperHistoryService beekeeperHistoryService,
+      @Value("${properties.batched-writes-enabled:false}") boolean batchedWritesEnabled,
+      RecordClaimer<HousekeepingMetadata> recordClaimer) {
     return new ExpiredMetadataHandler(cleanerClientFactory, housekeepingMetadataRepository, metadataCleaner,
-        pathCleaner, beekeeperHistoryService);
+        pathCleaner, beekeeperHistoryService, MetadataHandlerOptions
+            .builder()
+            .batchedWritesEnabled(batchedWritesEnabled)
+            .recordClaimer(recordClaimer)
+            .build());
+  }
+
+  @Bean
+  public RecordClaimer<HousekeepingMetadata> recordClaimer(
+      HousekeepingMetadataRepository housekeepingMetadataRepository,
+      @Value("${properties.claim-lease-minutes:0}") long claimLeaseMinutes) {
+    if (claimLeaseMinutes == 0) {
+      return RecordClaimer.disabled();
+    }
+    return RecordClaimer
+        .leasing(housekeepingMetadataRepository::claim, housekeepingMetadataRepository::findClaimed,
+            housekeepingMetadataRepository::releaseClaims, Duration.ofMinutes(claimLeaseMinutes));
   }
 
   @Bean
@@ -166,19 +317,47 @@ public class CommonBeans {
     return new BeekeeperHistoryService(beekeeperHistoryRepository);
   }
 
+  @Bean
+  public DeletionCheckpointService deletionCheckpointService(
+      DeletionCheckpointRepository deletionCheckpointRepository) {
+    return new DeletionCheckpointService(deletionCheckpointRepository);
+  }
+
+  @Bean
+  public CleanupWorkerPool cleanupWorkerPool(@Value("${properties.cleanup-parallelism:1}") int parallelism) {
+    return new CleanupWorkerPool(parallelism);
+  }
+
+  @Bean
+  public CleanupLatenessReporter cleanupLatenessReporter(MeterRegistry meterRegistry) {
+    return new CleanupLatenessReporter(meterRegistry);
+  }
+
   @Bean
   public CleanupService cleanupService(
       List<MetadataHandler> metadataHandlers,
       @Value("${properties.cleanup-page-size}") int pageSize,
-      @Value("${properties.dry-run-enabled}") boolean dryRunEnabled) {
-    return new PagingMetadataCleanupService(metadataHandlers, pageSize, dryRunEnabled);
+      @Value("${properties.dry-run-enabled}") boolean dryRunEnabled,
+      CleanupWorkerPool cleanupWorkerPool,
+      @Value("${properties.prefetch-pages:0}") int prefetchPages,
+      @Value("${properties.table-page-share-percent:0}") int tablePageSharePercent,
+      CleanupLatenessReporter cleanupLatenessReporter) {
+    PagingCleanupOptions options = PagingCleanupOptions
+        .builder()
+        .prefetchPages(prefetchPages)
+        .tablePageSharePercent(tablePageSharePercent)
+        .cleanupLatenessReporter(cleanupLatenessReporter)
+        .build();
+    return new PagingMetadataCleanupService(metadataHandlers, pageSize, dryRunEnabled, cleanupWorkerPool, options);
   }
 
   @Bean
   public RepositoryCleanupService repositoryCleanupService(
       HousekeepingMetadataRepository housekeepingMetadataRepository,
+      DeletionCheckpointRepository deletionCheckpointRepository,
       @Value("${properties.old-data-retention-period-days}") int retentionPeriodInDays) {
-    return new MetadataRepositoryCleanupService(housekeepingMetadataRepository, retentionPeriodInDays);
+    return new MetadataRepositoryCleanupService(housekeepingMetadataRepository, deletionCheckpointRepository,
+        retentionPeriodInDays);
   }
 
   @Bean
@@ -23,22 +23,29 @@ import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.FAILED_TO
 import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.SKIPPED;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import com.expediagroup.beekeeper.cleanup.metadata.CleanerClient;
 import com.expediagroup.beekeeper.cleanup.metadata.CleanerClientFactory;
 import com.expediagroup.beekeeper.cleanup.metadata.MetadataCleaner;
 import com.expediagroup.beekeeper.cleanup.path.PathCleaner;
+import com.expediagroup.beekeeper.cleanup.service.TableRoundRobin;
 import com.expediagroup.beekeeper.core.error.BeekeeperIcebergException;
 import com.expediagroup.beekeeper.core.model.HousekeepingMetadata;
 import com.expediagroup.beekeeper.core.model.HousekeepingStatus;
 import com.expediagroup.beekeeper.core.repository.HousekeepingMetadataRepository;
 import com.expediagroup.beekeeper.core.service.BeekeeperHistoryService;
+import com.expediagroup.beekeeper.core.service.PageWrites;
+import com.expediagroup.beekeeper.core.service.RecordClaimer;
 import com.expediagroup.beekeeper.core.validation.S3PathValidator;
 
 public class ExpiredMetadataHandler implements MetadataHandler {
@@ -50,7 +57,9 @@ public class ExpiredMetadataHandler implements MetadataHandler {
   private final HousekeepingMetadataRepository housekeepingMetadataRepository;
   private final MetadataCleaner metadataCleaner;
   private final PathCleaner pathCleaner;
-  private final BeekeeperHistoryService historyService;
+  private final PageWrites<HousekeepingMetadata> pageWrites;
+  private final RecordClaimer<HousekeepingMetadata> recordClaimer;
+  private final TableRoundRobin<HousekeepingMetadata> tableRoundRobin;
 
   public ExpiredMetadataHandler(
       CleanerClientFactory cleanerClientFactory,
@@ -58,18 +67,53 @@ public class ExpiredMetadataHandler implements MetadataHandler {
       MetadataCleaner metadataCleaner,
       PathCleaner pathCleaner,
       BeekeeperHistoryService historyService) {
+    this(cleanerClientFactory, housekeepingMetadataRepository, metadataCleaner, pathCleaner, historyService,
+        MetadataHandlerOptions.builder().build());
+  }
+
+  public ExpiredMetadataHandler(
+      CleanerClientFactory cleanerClientFactory,
+      HousekeepingMetadataRepository housekeepingMetadataRepository,
+      MetadataCleaner metadataCleaner,
+      PathCleaner pathCleaner,
+      BeekeeperHistoryService historyService,
+      MetadataHandlerOptions options) {
     this.cleanerClientFactory = cleanerClientFactory;
+    this.recordClaimer = options.getRecordClaimer();
+    this.tableRoundRobin = new TableRoundRobin<>(housekeepingMetadataRepository::findTablesForCleanup);
     this.housekeepingMetadataRepository = housekeepingMetadataRepository;
     this.metadataCleaner = metadataCleaner;
     this.pathCleaner = pathCleaner;
-    this.historyService = historyService;
+    pageWrites = options.isBatchedWritesEnabled()
+        ? PageWrites.batched(housekeepingMetadataRepository::updateStatus, historyService)
+        : PageWrites.immediate(housekeepingMetadataRepository::save, historyService);
   }
 
   @Override
   public Slice<HousekeepingMetadata> findRecordsToClean(LocalDateTime instant, Pageable pageable) {
+    if (recordClaimer.isEnabled()) {
+      return recordClaimer
+          .claim(now -> housekeepingMetadataRepository.findUnclaimedRecordsForCleanup(instant, now, pageable));
+    }
     return housekeepingMetadataRepository.findRecordsForCleanupByModifiedTimestamp(instant, pageable);
   }
 
+  @Override
+  public Slice<HousekeepingMetadata> findRecordsToCleanRoundRobin(
+      LocalDateTime instant,
+      int maxRecordsPerTable,
+      Pageable pageable) {
+    if (recordClaimer.isEnabled()) {
+      return recordClaimer.claim(now -> findRecordsRoundRobin(instant, now, maxRecordsPerTable, pageable));
+    }
+    return findRecordsRoundRobin(instant, LocalDateTime.now(ZoneOffset.UTC), maxRecordsPerTable, pageable);
+  }
+
+  @Override
+  public Slice<HousekeepingMetadata> findRecordsToCleanAfter(LocalDateTime instant, long lastId, Pageable pageable) {
+    return housekeepingMetadataRepository.findRecordsForCleanupAfterId(instant, lastId, pageable);
+  }
+
   /**
    * Cleans up the HousekeepingMetadata records which have expired.
    *
@@ -105,6 +149,41 @@ public class ExpiredMetadataHandler implements MetadataHandler {
     }
   }
 
+  @Override
+  public void flushWrites() {
+    pageWrites.flush();
+  }
+
+  @Override
+  public void completePage() {
+    try {
+      pageWrites.flush();
+    } finally {
+      pathCleaner.completePage();
+    }
+  }
+
+  @Override
+  public void releaseClaims(List<HousekeepingMetadata> records) {
+    recordClaimer.release(records);
+  }
+
+  @Override
+  public void completeRun() {
+    pathCleaner.completeRun();
+  }
+
+  private Slice<HousekeepingMetadata> findRecordsRoundRobin(
+      LocalDateTime instant,
+      LocalDateTime now,
+      int maxRecordsPerTable,
+      Pageable pageable) {
+    List<HousekeepingMetadata> records = tableRoundRobin.nextPage(instant, maxRecordsPerTable, pageable.getPageSize(),
+        (table, maxRecords) -> housekeepingMetadataRepository.findRecordsForCleanupOfTable(instant, now,
+            table.getDatabaseName(), table.getTableName(), PageRequest.of(0, maxRecords)));
+    return new SliceImpl<>(records, pageable, records.size() == pageable.getPageSize());
+  }
+
   private boolean cleanup(
       CleanerClient client,
       HousekeepingMetadata housekeepingMetadata,
@@ -124,7 +203,7 @@ public class ExpiredMetadataHandler implements MetadataHandler {
   }
 
   private boolean cleanUpTable(CleanerClient client, HousekeepingMetadata housekeepingMetadata, boolean dryRunEnabled) {
-    if (!S3PathValidator.validTablePath(housekeepingMetadata.getPath())) {
+    if (!S3PathValidator.validTablePath(housekeepingMetadata.getParsedLocation())) {
       log.warn("Will not clean up table path \"{}\" because it is not valid.", housekeepingMetadata.getPath());
       updateStatus(housekeepingMetadata, SKIPPED, dryRunEnabled);
       saveHistory(housekeepingMetadata, SKIPPED, dryRunEnabled);
@@ -154,7 +233,7 @@ public class ExpiredMetadataHandler implements MetadataHandler {
       CleanerClient client,
       HousekeepingMetadata housekeepingMetadata,
       boolean dryRunEnabled) {
-    if (!S3PathValidator.validPartitionPath(housekeepingMetadata.getPath())) {
+    if (!S3PathValidator.validPartitionPath(housekeepingMetadata.getParsedLocation())) {
       log.warn("Will not clean up partition path \"{}\" because it is not valid.", housekeepingMetadata.getPath());
       updateStatus(housekeepingMetadata, SKIPPED, dryRunEnabled);
       saveHistory(housekeepingMetadata, SKIPPED, dryRunEnabled);
@@ -179,7 +258,7 @@ public class ExpiredMetadataHandler implements MetadataHandler {
   private void updateAttemptsAndStatus(HousekeepingMetadata housekeepingMetadata, HousekeepingStatus status) {
     housekeepingMetadata.setCleanupAttempts(housekeepingMetadata.getCleanupAttempts() + 1);
     housekeepingMetadata.setHousekeepingStatus(status);
-    housekeepingMetadataRepository.save(housekeepingMetadata);
+    pageWrites.updateStatus(housekeepingMetadata);
   }
 
   private void updateStatus(
@@ -190,7 +269,7 @@ public class ExpiredMetadataHandler implements MetadataHandler {
       return;
     }
     housekeepingMetadata.setHousekeepingStatus(status);
-    housekeepingMetadataRepository.save(housekeepingMetadata);
+    pageWrites.updateStatus(housekeepingMetadata);
   }
 
   private Long countPartitionsForDatabaseAndTable(
@@ -211,7 +290,7 @@ public class ExpiredMetadataHandler implements MetadataHandler {
     if (dryRunEnabled) {
       return;
     }
-    historyService.saveHistory(metadata, housekeepingStatus);
+    pageWrites.saveHistory(metadata, housekeepingStatus);
   }
 
   private boolean isTableDeletionEnabled(CleanerClient client, String databaseName, String tableName) {
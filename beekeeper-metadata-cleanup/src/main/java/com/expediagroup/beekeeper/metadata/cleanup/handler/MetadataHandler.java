@@ -16,6 +16,7 @@
 package com.expediagroup.beekeeper.metadata.cleanup.handler;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -26,5 +27,44 @@ public interface MetadataHandler {
 
   Slice<HousekeepingMetadata> findRecordsToClean(LocalDateTime instant, Pageable pageable);
 
+  /**
+   * Finds the records to clean up taken round-robin across tables, most overdue first, so that a table with many
+   * records due doesn't hold back the others.
+   *
+   * @param maxRecordsPerTable Maximum number of records of one table in the page.
+   */
+  Slice<HousekeepingMetadata> findRecordsToCleanRoundRobin(
+      LocalDateTime instant,
+      int maxRecordsPerTable,
+      Pageable pageable);
+
+  /**
+   * Finds the records to clean up following the record with id {@code lastId}, for dry runs where the records are not
+   * updated and so are paged through.
+   */
+  Slice<HousekeepingMetadata> findRecordsToCleanAfter(LocalDateTime instant, long lastId, Pageable pageable);
+
   void cleanupMetadata(HousekeepingMetadata housekeepingMetadata, LocalDateTime instant, boolean dryRunEnabled);
+
+  /**
+   * Writes the status and history of the records cleaned up so far, when they are collected rather than written as
+   * each record is cleaned up.
+   */
+  default void flushWrites() {}
+
+  /**
+   * Completes the work deferred while cleaning up the records of a page, including the writes not yet flushed.
+   */
+  default void completePage() {}
+
+  /**
+   * Releases the claims on the records of a page once they have been cleaned up, when the records to clean up are
+   * claimed.
+   */
+  default void releaseClaims(List<HousekeepingMetadata> records) {}
+
+  /**
+   * Completes the work deferred while cleaning up the pages of a run.
+   */
+  default void completeRun() {}
 }
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.metadata.cleanup.handler;
+
+import com.expediagroup.beekeeper.core.model.HousekeepingMetadata;
+import com.expediagroup.beekeeper.core.service.RecordClaimer;
+
+/**
+ * How an {@link ExpiredMetadataHandler} processes its records. Every setting has a default, so callers only set what
+ * they change.
+ */
+public class MetadataHandlerOptions {
+
+  private final boolean batchedWritesEnabled;
+  private final RecordClaimer<HousekeepingMetadata> recordClaimer;
+
+  private MetadataHandlerOptions(Builder builder) {
+    this.batchedWritesEnabled = builder.batchedWritesEnabled;
+    this.recordClaimer = builder.recordClaimer != null ? builder.recordClaimer : RecordClaimer.disabled();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  boolean isBatchedWritesEnabled() {
+    return batchedWritesEnabled;
+  }
+
+  RecordClaimer<HousekeepingMetadata> getRecordClaimer() {
+    return recordClaimer;
+  }
+
+  public static class Builder {
+
+    private boolean batchedWritesEnabled;
+    private RecordClaimer<HousekeepingMetadata> recordClaimer;
+
+    private Builder() {}
+
+    /**
+     * @param batchedWritesEnabled Whether the status and history of the records are collected and written together
+     *          when the writes are flushed, rather than one record at a time. Defaults to false.
+     */
+    public Builder batchedWritesEnabled(boolean batchedWritesEnabled) {
+      this.batchedWritesEnabled = batchedWritesEnabled;
+      return this;
+    }
+
+    /**
+     * @param recordClaimer Claims the records to clean up when several cleanup workers share them. Disabled by
+     *          default.
+     */
+    public Builder recordClaimer(RecordClaimer<HousekeepingMetadata> recordClaimer) {
+      this.recordClaimer = recordClaimer;
+      return this;
+    }
+
+    public MetadataHandlerOptions build() {
+      return new MetadataHandlerOptions(this);
+    }
+  }
+}
@@ -26,16 +26,21 @@ import org.springframework.transaction.annotation.Transactional;
 import io.micrometer.core.annotation.Timed;
 
 import com.expediagroup.beekeeper.cleanup.service.RepositoryCleanupService;
+import com.expediagroup.beekeeper.core.repository.DeletionCheckpointRepository;
 import com.expediagroup.beekeeper.core.repository.HousekeepingMetadataRepository;
 
 public class MetadataRepositoryCleanupService implements RepositoryCleanupService {
 
   private final HousekeepingMetadataRepository housekeepingMetadataRepository;
+  private final DeletionCheckpointRepository deletionCheckpointRepository;
   private final int retentionPeriodInDays;
 
   public MetadataRepositoryCleanupService(
-      HousekeepingMetadataRepository housekeepingMetadataRepository, int retentionPeriodInDays) {
+      HousekeepingMetadataRepository housekeepingMetadataRepository,
+      DeletionCheckpointRepository deletionCheckpointRepository,
+      int retentionPeriodInDays) {
     this.housekeepingMetadataRepository = housekeepingMetadataRepository;
+    this.deletionCheckpointRepository = deletionCheckpointRepository;
     this.retentionPeriodInDays = retentionPeriodInDays;
   }
 
@@ -45,5 +50,6 @@ public class MetadataRepositoryCleanupService implements RepositoryCleanupServic
   public void cleanUp(Instant referenceTime) {
     LocalDateTime instant = LocalDateTime.ofInstant(referenceTime, ZoneOffset.UTC);
     housekeepingMetadataRepository.cleanUpOldDeletedRecords(instant.minus(retentionPeriodInDays, DAYS));
+    deletionCheckpointRepository.cleanUpCheckpointsOfFinishedMetadata();
   }
 }
@@ -21,15 +21,23 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.transaction.annotation.Transactional;
 
 import io.micrometer.core.annotation.Timed;
 
+import com.expediagroup.beekeeper.cleanup.monitoring.CleanupLatenessReporter;
 import com.expediagroup.beekeeper.cleanup.service.CleanupService;
+import com.expediagroup.beekeeper.cleanup.service.CleanupWorkerPool;
+import com.expediagroup.beekeeper.cleanup.service.PagePrefetcher;
+import com.expediagroup.beekeeper.cleanup.service.PagingCleanupOptions;
+import com.expediagroup.beekeeper.cleanup.service.TablePageShare;
 import com.expediagroup.beekeeper.core.error.BeekeeperException;
 import com.expediagroup.beekeeper.core.model.HousekeepingMetadata;
 import com.expediagroup.beekeeper.metadata.cleanup.handler.MetadataHandler;
@@ -39,21 +47,44 @@ public class PagingMetadataCleanupService implements CleanupService {
   private final List<MetadataHandler> metadataHandlers;
   private final boolean dryRunEnabled;
   private final int pageSize;
+  private final CleanupWorkerPool cleanupWorkerPool;
+  private final int prefetchPages;
+  private final int maxRecordsPerTable;
+  private final CleanupLatenessReporter cleanupLatenessReporter;
 
   public PagingMetadataCleanupService(
       List<MetadataHandler> metadataHandlers,
       int pageSize,
       boolean dryRunEnabled) {
+    this(metadataHandlers, pageSize, dryRunEnabled, new CleanupWorkerPool(), PagingCleanupOptions.builder().build());
+  }
+
+  public PagingMetadataCleanupService(
+      List<MetadataHandler> metadataHandlers,
+      int pageSize,
+      boolean dryRunEnabled,
+      CleanupWorkerPool cleanupWorkerPool,
+      PagingCleanupOptions options) {
     this.metadataHandlers = metadataHandlers;
     this.pageSize = pageSize;
     this.dryRunEnabled = dryRunEnabled;
+    this.cleanupWorkerPool = cleanupWorkerPool;
+    this.prefetchPages = options.getPrefetchPages();
+    maxRecordsPerTable = TablePageShare.maxRecordsPerTable(pageSize, options.getTablePageSharePercent());
+    this.cleanupLatenessReporter = options.getCleanupLatenessReporter();
   }
 
   @Override
   @Timed("metadata-cleanup-job")
   public void cleanUp(Instant referenceTime) {
     try {
-      metadataHandlers.forEach(handler -> pagingCleanup(handler, referenceTime));
+      metadataHandlers.forEach(handler -> {
+        if (prefetchPages > 0) {
+          prefetchingCleanup(handler, referenceTime);
+        } else {
+          pagingCleanup(handler, referenceTime);
+        }
+      });
     } catch (Exception e) {
       throw new BeekeeperException(format("Metadata cleanup failed for instant %s", referenceTime.toString()), e);
     }
@@ -69,20 +100,107 @@ public class PagingMetadataCleanupService implements CleanupService {
     Pageable pageable = PageRequest.of(0, pageSize).first();
 
     LocalDateTime instant = LocalDateTime.ofInstant(referenceTime, ZoneOffset.UTC);
-    Slice<HousekeepingMetadata> batch = handler.findRecordsToClean(instant, pageable);
+    Slice<HousekeepingMetadata> batch = findRecordsToClean(handler, instant, pageable, 0L);
 
-    while (!batch.getContent().isEmpty()) {
-      pageable = processPage(handler, pageable, instant, batch);
-      batch = handler.findRecordsToClean(instant, pageable);
+    try {
+      while (!batch.getContent().isEmpty()) {
+        processPage(handler, instant, batch);
+        batch = findRecordsToClean(handler, instant, pageable, lastId(batch.getContent()));
+      }
+    } finally {
+      handler.completeRun();
     }
   }
 
-  private Pageable processPage(MetadataHandler handler, Pageable pageable, LocalDateTime instant,
-      Slice<HousekeepingMetadata> batch) {
-    batch.getContent().forEach(metadata -> handler.cleanupMetadata(metadata, instant, dryRunEnabled));
+  /**
+   * @implNote Processed records are updated so that they are no longer returned and the first page is always fetched.
+   * Dry runs leave the records as they are, so the records following the last one of the previous page are fetched
+   * instead of the next page, which would be an OFFSET scan getting slower the further the run goes.
+   */
+  private Slice<HousekeepingMetadata> findRecordsToClean(
+      MetadataHandler handler,
+      LocalDateTime instant,
+      Pageable pageable,
+      long lastId) {
     if (dryRunEnabled) {
-      return pageable.next();
+      return handler.findRecordsToCleanAfter(instant, lastId, pageable);
+    }
+    return findDueRecords(handler, instant, pageable);
+  }
+
+  /**
+   * @implNote With a table page share, each page holds the most overdue record of each table, then the second most
+   * overdue and so on, up to the maximum number of records of one table, so that a table with many partitions due
+   * doesn't take every page while the records of the other tables go past their cleanup timestamp.
+   */
+  private Slice<HousekeepingMetadata> findDueRecords(
+      MetadataHandler handler,
+      LocalDateTime instant,
+      Pageable pageable) {
+    if (maxRecordsPerTable > 0) {
+      return handler.findRecordsToCleanRoundRobin(instant, maxRecordsPerTable, pageable);
+    }
+    return handler.findRecordsToClean(instant, pageable);
+  }
+
+  private static long lastId(List<HousekeepingMetadata> records) {
+    return records.get(records.size() - 1).getId();
+  }
+
+  /**
+   * @implNote The next pages are fetched by a {@link PagePrefetcher} while the current one is processed.
+   */
+  private void prefetchingCleanup(MetadataHandler handler, Instant referenceTime) {
+    Pageable pageable = PageRequest.of(0, pageSize).first();
+    LocalDateTime instant = LocalDateTime.ofInstant(referenceTime, ZoneOffset.UTC);
+
+    try (PagePrefetcher<HousekeepingMetadata> prefetcher = new PagePrefetcher<>(
+        page -> findDueRecords(handler, instant, page),
+        (lastId, page) -> handler.findRecordsToCleanAfter(instant, lastId, page), pageSize, prefetchPages,
+        dryRunEnabled)) {
+      prefetcher.start();
+      List<HousekeepingMetadata> records = prefetcher.nextPage();
+      while (!records.isEmpty()) {
+        try {
+          processPage(handler, instant, new SliceImpl<>(records, pageable, true));
+        } finally {
+          prefetcher.pageCompleted(records);
+        }
+        records = prefetcher.nextPage();
+      }
+    } finally {
+      handler.completeRun();
+    }
+  }
+
+  /**
+   * @implNote The records of the page are cleaned up on the cleanup worker pool, the partitions before the tables as a
+   * table is only dropped once none of its partitions is left. The writes of the partitions are flushed before the
+   * tables are cleaned up, so that the tables see their partitions as cleaned up. The next page is only fetched once
+   * all the records of this page are done, and their claims are then released.
+   */
+  private void processPage(MetadataHandler handler, LocalDateTime instant, Slice<HousekeepingMetadata> batch) {
+    Map<Boolean, List<HousekeepingMetadata>> partitionsAndTables = batch
+        .getContent()
+        .stream()
+        .collect(Collectors.partitioningBy(metadata -> metadata.getPartitionName() != null));
+    try {
+      cleanupWorkerPool.runAll(partitionsAndTables.get(true),
+          metadata -> handler.cleanupMetadata(metadata, instant, dryRunEnabled));
+      handler.flushWrites();
+      cleanupWorkerPool.runAll(partitionsAndTables.get(false),
+          metadata -> handler.cleanupMetadata(metadata, instant, dryRunEnabled));
+    } finally {
+      try {
+        handler.completePage();
+      } finally {
+        if (!dryRunEnabled) {
+          handler.releaseClaims(batch.getContent());
+        }
+      }
+    }
+    if (!dryRunEnabled) {
+      cleanupLatenessReporter.reportCleanedUp(batch.getContent());
     }
-    return pageable;
   }
 }
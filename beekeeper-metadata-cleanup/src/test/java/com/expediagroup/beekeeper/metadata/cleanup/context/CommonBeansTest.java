@@ -32,11 +32,20 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import com.amazonaws.services.s3.AmazonS3;
 
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+import com.expediagroup.beekeeper.cleanup.aws.AsyncS3Client;
 import com.expediagroup.beekeeper.cleanup.aws.S3Client;
+import com.expediagroup.beekeeper.cleanup.aws.S3DeleteRetryPolicy;
+import com.expediagroup.beekeeper.cleanup.aws.S3ClientOptions;
+import com.expediagroup.beekeeper.cleanup.aws.S3ClientRegistry;
+import com.expediagroup.beekeeper.cleanup.aws.S3InventoryDryRunPathCleaner;
 import com.expediagroup.beekeeper.cleanup.aws.S3PathCleaner;
+import com.expediagroup.beekeeper.cleanup.aws.S3RateLimiter;
 import com.expediagroup.beekeeper.cleanup.hive.HiveClient;
 import com.expediagroup.beekeeper.cleanup.hive.HiveClientFactory;
 import com.expediagroup.beekeeper.cleanup.hive.HiveMetadataCleaner;
@@ -46,13 +55,17 @@ import com.expediagroup.beekeeper.cleanup.metadata.MetadataCleaner;
 import com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter;
 import com.expediagroup.beekeeper.cleanup.monitoring.DeletedMetadataReporter;
 import com.expediagroup.beekeeper.cleanup.path.PathCleaner;
+import com.expediagroup.beekeeper.cleanup.path.SchemeRoutingPathCleaner;
 import com.expediagroup.beekeeper.cleanup.service.CleanupService;
+import com.expediagroup.beekeeper.cleanup.service.CleanupWorkerPool;
 import com.expediagroup.beekeeper.cleanup.service.DisableTablesService;
 import com.expediagroup.beekeeper.cleanup.service.RepositoryCleanupService;
 import com.expediagroup.beekeeper.cleanup.validation.IcebergValidator;
 import com.expediagroup.beekeeper.core.repository.BeekeeperHistoryRepository;
+import com.expediagroup.beekeeper.core.repository.DeletionCheckpointRepository;
 import com.expediagroup.beekeeper.core.repository.HousekeepingMetadataRepository;
 import com.expediagroup.beekeeper.core.service.BeekeeperHistoryService;
+import com.expediagroup.beekeeper.core.service.DeletionCheckpointService;
 import com.expediagroup.beekeeper.metadata.cleanup.handler.ExpiredMetadataHandler;
 import com.expediagroup.beekeeper.metadata.cleanup.service.MetadataDisableTablesService;
 import com.expediagroup.beekeeper.metadata.cleanup.service.MetadataRepositoryCleanupService;
@@ -74,6 +87,9 @@ public class CommonBeansTest {
   private static final String KEY = "key";
 
   private final CommonBeans commonBeans = new CommonBeans();
+  private final S3RateLimiter s3RateLimiter = new S3RateLimiter(new SimpleMeterRegistry(), 3500, 1);
+  private final Supplier<S3AsyncClient> s3AsyncClientSupplier = () -> Mockito.mock(S3AsyncClient.class);
+  private final S3DeleteRetryPolicy deleteRetryPolicy = S3DeleteRetryPolicy.none();
   private @Mock HousekeepingMetadataRepository metadataRepository;
   private @Mock MetadataCleaner metadataCleaner;
   private @Mock PathCleaner pathCleaner;
@@ -82,6 +98,7 @@ public class CommonBeansTest {
   private @Mock IcebergValidator icebergValidator;
   private @Mock BeekeeperHistoryService beekeeperHistoryService;
   private @Mock BeekeeperHistoryRepository beekeeperHistoryRepository;
+  private @Mock DeletionCheckpointRepository deletionCheckpointRepository;
 
   @BeforeEach
   public void awsSetUp() {
@@ -132,57 +149,122 @@ public class CommonBeansTest {
     assertThat(metadataCleaner).isInstanceOf(HiveMetadataCleaner.class);
   }
 
+  @Test
+  public void verifyS3RateLimiter() {
+    S3RateLimiter s3RateLimiter = commonBeans.s3RateLimiter(new SimpleMeterRegistry(), 3500, 1);
+    assertThat(s3RateLimiter).isInstanceOf(S3RateLimiter.class);
+  }
+
   @Test
   public void typicalAmazonClient() {
-    AmazonS3 amazonS3 = commonBeans.amazonS3();
+    AmazonS3 amazonS3 = commonBeans.amazonS3(new SimpleMeterRegistry(), s3RateLimiter);
     URL url = amazonS3.getUrl(BUCKET, KEY);
     assertThat(url.getHost()).isEqualTo(String.join(".", BUCKET, AWS_ENDPOINT));
   }
 
   @Test
   public void endpointConfiguredAmazonClient() {
-    AmazonS3 amazonS3 = commonBeans.amazonS3Test();
+    AmazonS3 amazonS3 = commonBeans.amazonS3Test(s3RateLimiter);
     URL url = amazonS3.getUrl(BUCKET, KEY);
     assertThat(url.getHost()).isEqualTo(String.join(".", BUCKET, ENDPOINT));
   }
 
   @Test
   public void verifyS3Client() {
-    AmazonS3 amazonS3 = commonBeans.amazonS3Test();
-    S3Client s3Client = new S3Client(amazonS3, false);
-    S3Client beansS3Client = commonBeans.s3Client(amazonS3, false);
+    AmazonS3 amazonS3 = commonBeans.amazonS3Test(s3RateLimiter);
+    S3ClientRegistry s3ClientRegistry = commonBeans.s3ClientRegistry(amazonS3, new SimpleMeterRegistry(), s3RateLimiter,
+        false);
+    S3Client s3Client = new S3Client(s3ClientRegistry, S3ClientOptions.builder()
+        .dryRunEnabled(false)
+        .deleteConcurrency(2)
+        .listParallelism(3)
+        .deleteRetryPolicy(deleteRetryPolicy)
+        .rateLimiter(s3RateLimiter)
+        .build());
+    S3Client beansS3Client = commonBeans.s3Client(s3ClientRegistry, s3AsyncClientSupplier, deleteRetryPolicy,
+        s3RateLimiter, false, 2, 3, false);
     assertThat(s3Client).isEqualToComparingFieldByField(beansS3Client);
   }
 
+  @Test
+  public void asyncS3Client() {
+    AmazonS3 amazonS3 = commonBeans.amazonS3(new SimpleMeterRegistry(), s3RateLimiter);
+    S3ClientRegistry s3ClientRegistry = new S3ClientRegistry(amazonS3);
+    S3Client s3Client = commonBeans.s3Client(s3ClientRegistry, s3AsyncClientSupplier, deleteRetryPolicy,
+        s3RateLimiter, false, 2, 3, true);
+    assertThat(s3Client).isInstanceOf(AsyncS3Client.class);
+  }
+
   @Test
   void verifyS3pathCleaner() {
+    DeletionCheckpointService checkpointService = commonBeans
+        .deletionCheckpointService(deletionCheckpointRepository);
     BytesDeletedReporter reporter = commonBeans.bytesDeletedReporter(meterRegistry, false);
-    S3Client s3Client = commonBeans.s3Client(commonBeans.amazonS3(), false);
-    PathCleaner pathCleaner = commonBeans.pathCleaner(s3Client, reporter);
+    AmazonS3 amazonS3 = commonBeans.amazonS3(new SimpleMeterRegistry(), s3RateLimiter);
+    S3ClientRegistry s3ClientRegistry = new S3ClientRegistry(amazonS3);
+    S3Client s3Client = commonBeans.s3Client(s3ClientRegistry, s3AsyncClientSupplier, deleteRetryPolicy,
+        s3RateLimiter, false, 1, 1, false);
+    PathCleaner pathCleaner = commonBeans.pathCleaner(s3Client, reporter, checkpointService, false,
+        List.of("manifest.json"), 0L, false, List.of(), 4);
     assertThat(pathCleaner).isInstanceOf(S3PathCleaner.class);
+    assertThat(commonBeans.pathCleaner(s3Client, reporter, checkpointService, false, List.of(), 100000L, true,
+        List.of(), 4)).isInstanceOf(S3PathCleaner.class);
+    assertThat(commonBeans.pathCleaner(s3Client, reporter, checkpointService, false, List.of(), 0L, false,
+        List.of("hdfs"), 4)).isInstanceOf(SchemeRoutingPathCleaner.class);
+  }
+
+  @Test
+  void inventoryDryRunPathCleaner() {
+    DeletionCheckpointService checkpointService = commonBeans
+        .deletionCheckpointService(deletionCheckpointRepository);
+    BytesDeletedReporter reporter = commonBeans.bytesDeletedReporter(meterRegistry, true);
+    AmazonS3 amazonS3 = commonBeans.amazonS3(new SimpleMeterRegistry(), s3RateLimiter);
+    S3Client s3Client = commonBeans.s3Client(new S3ClientRegistry(amazonS3), s3AsyncClientSupplier,
+        deleteRetryPolicy, s3RateLimiter, true, 1, 1, false);
+
+    PathCleaner pathCleaner = commonBeans.pathCleaner(s3Client, reporter, checkpointService, true,
+        List.of("manifest.json"), 0L, false, List.of(), 4);
+    assertThat(pathCleaner).isInstanceOf(S3InventoryDryRunPathCleaner.class);
+    assertThat(commonBeans.pathCleaner(s3Client, reporter, checkpointService, true, List.of(), 0L, false,
+        List.of(), 4)).isInstanceOf(S3PathCleaner.class);
   }
 
   @Test
   public void verifyExpiredMetadataHandler() {
     ExpiredMetadataHandler expiredMetadataHandler = commonBeans.expiredMetadataHandler(hiveClientFactory,
-        metadataRepository, metadataCleaner, pathCleaner, beekeeperHistoryService);
+        metadataRepository, metadataCleaner, pathCleaner, beekeeperHistoryService, false,
+        commonBeans.recordClaimer(metadataRepository, 0));
     assertThat(expiredMetadataHandler).isInstanceOf(ExpiredMetadataHandler.class);
   }
 
+  @Test
+  public void verifyRecordClaimer() {
+    assertThat(commonBeans.recordClaimer(metadataRepository, 0).isEnabled()).isFalse();
+    assertThat(commonBeans.recordClaimer(metadataRepository, 30).isEnabled()).isTrue();
+  }
+
   @Test
   public void verifyCleanupService() {
     HiveClientFactory hiveClientFactory = Mockito.mock(HiveClientFactory.class);
     CleanupService cleanupService = commonBeans.cleanupService(
         List.of(
             commonBeans.expiredMetadataHandler(hiveClientFactory, metadataRepository, metadataCleaner, pathCleaner,
-                beekeeperHistoryService)), 2,
-        false);
+                beekeeperHistoryService, false, commonBeans.recordClaimer(metadataRepository, 0))), 2,
+        false, commonBeans.cleanupWorkerPool(1), 0, 0, commonBeans.cleanupLatenessReporter(new SimpleMeterRegistry()));
     assertThat(cleanupService).isInstanceOf(PagingMetadataCleanupService.class);
   }
 
+  @Test
+  public void verifyCleanupWorkerPool() {
+    CleanupWorkerPool cleanupWorkerPool = commonBeans.cleanupWorkerPool(4);
+    assertThat(cleanupWorkerPool.getParallelism()).isEqualTo(4);
+    cleanupWorkerPool.close();
+  }
+
   @Test
   public void verifyRepositoryCleanupService() {
-    RepositoryCleanupService cleanupService = commonBeans.repositoryCleanupService(metadataRepository, 5);
+    RepositoryCleanupService cleanupService = commonBeans.repositoryCleanupService(metadataRepository, deletionCheckpointRepository,
+        5);
     assertThat(cleanupService).isInstanceOf(MetadataRepositoryCleanupService.class);
   }
 
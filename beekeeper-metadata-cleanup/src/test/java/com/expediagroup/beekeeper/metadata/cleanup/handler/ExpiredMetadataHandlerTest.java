@@ -49,6 +49,7 @@ import com.expediagroup.beekeeper.cleanup.hive.HiveClientFactory;
 import com.expediagroup.beekeeper.cleanup.hive.HiveMetadataCleaner;
 import com.expediagroup.beekeeper.core.model.HousekeepingMetadata;
 import com.expediagroup.beekeeper.core.model.LifecycleEventType;
+import com.expediagroup.beekeeper.core.model.ParsedLocation;
 import com.expediagroup.beekeeper.core.repository.HousekeepingMetadataRepository;
 import com.expediagroup.beekeeper.core.service.BeekeeperHistoryService;
 
@@ -103,6 +104,26 @@ public class ExpiredMetadataHandlerTest {
     verify(housekeepingMetadataRepository).findRecordsForCleanupByModifiedTimestamp(now, emptyPageable);
   }
 
+  @Test
+  public void verifyHousekeepingMetadataFetchAfterId() {
+    LocalDateTime now = LocalDateTime.now();
+    Pageable emptyPageable = PageRequest.of(0, 1);
+    expiredMetadataHandler.findRecordsToCleanAfter(now, 5L, emptyPageable);
+    verify(housekeepingMetadataRepository).findRecordsForCleanupAfterId(now, 5L, emptyPageable);
+  }
+
+  @Test
+  public void completePageCompletesPathCleanerPage() {
+    expiredMetadataHandler.completePage();
+    verify(s3PathCleaner).completePage();
+  }
+
+  @Test
+  public void completeRunCompletesPathCleanerRun() {
+    expiredMetadataHandler.completeRun();
+    verify(s3PathCleaner).completeRun();
+  }
+
   @Test
   public void typicalRunDroppingTable() {
     when(hiveClientFactory.newInstance()).thenReturn(hiveClient);
@@ -111,7 +132,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getPartitionName()).thenReturn(null);
     when(hiveClient.getTableProperties(DATABASE, TABLE_NAME))
         .thenReturn(Collections.singletonMap("beekeeper.expired.data.table.deletion.enabled", "true"));
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_TABLE_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_TABLE_PATH));
     when(housekeepingMetadata.getCleanupAttempts()).thenReturn(0);
     when(
         housekeepingMetadataRepository.countRecordsForGivenDatabaseAndTableWherePartitionIsNotNull(DATABASE,
@@ -134,7 +155,7 @@ public class ExpiredMetadataHandlerTest {
     when(hiveClientFactory.newInstance()).thenReturn(hiveClient);
     when(housekeepingMetadata.getDatabaseName()).thenReturn(DATABASE);
     when(housekeepingMetadata.getTableName()).thenReturn(TABLE_NAME);
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_TABLE_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_TABLE_PATH));
     when(housekeepingMetadata.getCleanupAttempts()).thenReturn(0);
     doThrow(new com.expediagroup.beekeeper.core.error.BeekeeperIcebergException("Iceberg table"))
         .when(hiveClient).getTableProperties(DATABASE, TABLE_NAME);
@@ -156,7 +177,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getPartitionName()).thenReturn(null);
     when(hiveClient.getTableProperties(DATABASE, TABLE_NAME))
         .thenReturn(Collections.singletonMap("beekeeper.expired.data.table.deletion.enabled", "true"));
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_TABLE_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_TABLE_PATH));
     when(hiveMetadataCleaner.tableExists(hiveClient, DATABASE, TABLE_NAME)).thenReturn(true);
 
     expiredMetadataHandler.cleanupMetadata(housekeepingMetadata, CLEANUP_INSTANCE, dryRunEnabled);
@@ -175,7 +196,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getDatabaseName()).thenReturn(DATABASE);
     when(housekeepingMetadata.getTableName()).thenReturn(TABLE_NAME);
     when(housekeepingMetadata.getPartitionName()).thenReturn(PARTITION_NAME);
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_PARTITION_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_PARTITION_PATH));
     when(housekeepingMetadata.getCleanupAttempts()).thenReturn(0);
 
     when(hiveMetadataCleaner.dropPartition(Mockito.any(), Mockito.any())).thenReturn(true);
@@ -196,7 +217,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getDatabaseName()).thenReturn(DATABASE);
     when(housekeepingMetadata.getTableName()).thenReturn(TABLE_NAME);
     when(housekeepingMetadata.getPartitionName()).thenReturn(PARTITION_NAME);
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_PARTITION_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_PARTITION_PATH));
     when(housekeepingMetadata.getCleanupAttempts()).thenReturn(1);
 
     when(hiveMetadataCleaner.dropPartition(Mockito.any(), Mockito.any())).thenReturn(false);
@@ -218,6 +239,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getTableName()).thenReturn(TABLE_NAME);
     when(housekeepingMetadata.getPartitionName()).thenReturn(null);
     when(housekeepingMetadata.getPath()).thenReturn(INVALID_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(INVALID_PATH));
     when(housekeepingMetadataRepository.countRecordsForGivenDatabaseAndTableWherePartitionIsNotNull(DATABASE,
         TABLE_NAME))
         .thenReturn(Long.valueOf(0));
@@ -240,6 +262,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getTableName()).thenReturn(TABLE_NAME);
     when(housekeepingMetadata.getPartitionName()).thenReturn(null);
     when(housekeepingMetadata.getPath()).thenReturn(INVALID_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(INVALID_PATH));
 
     expiredMetadataHandler.cleanupMetadata(housekeepingMetadata, CLEANUP_INSTANCE, dryRunEnabled);
     verify(hiveMetadataCleaner, never()).dropTable(housekeepingMetadata, hiveClient);
@@ -276,7 +299,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getDatabaseName()).thenReturn(DATABASE);
     when(housekeepingMetadata.getTableName()).thenReturn(TABLE_NAME);
     when(housekeepingMetadata.getPartitionName()).thenReturn(null);
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_TABLE_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_TABLE_PATH));
     when(hiveClient.getTableProperties(DATABASE, TABLE_NAME))
         .thenReturn(Collections.singletonMap("beekeeper.expired.data.table.deletion.enabled", "true"));
     when(housekeepingMetadata.getCleanupAttempts()).thenReturn(0);
@@ -299,6 +322,7 @@ public class ExpiredMetadataHandlerTest {
     when(hiveClientFactory.newInstance()).thenReturn(hiveClient);
     when(housekeepingMetadata.getPartitionName()).thenReturn(PARTITION_NAME);
     when(housekeepingMetadata.getPath()).thenReturn(INVALID_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(INVALID_PATH));
 
     expiredMetadataHandler.cleanupMetadata(housekeepingMetadata, CLEANUP_INSTANCE, false);
     verify(hiveMetadataCleaner, never()).dropPartition(housekeepingMetadata, hiveClient);
@@ -317,7 +341,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getTableName()).thenReturn(TABLE_NAME);
     when(housekeepingMetadata.getCleanupAttempts()).thenReturn(0);
     when(housekeepingMetadata.getPartitionName()).thenReturn(PARTITION_NAME);
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_PARTITION_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_PARTITION_PATH));
     when(hiveMetadataCleaner.tableExists(hiveClient, DATABASE, TABLE_NAME)).thenReturn(false);
 
     expiredMetadataHandler.cleanupMetadata(housekeepingMetadata, CLEANUP_INSTANCE, false);
@@ -336,7 +360,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getDatabaseName()).thenReturn(DATABASE);
     when(housekeepingMetadata.getTableName()).thenReturn(TABLE_NAME);
     when(housekeepingMetadata.getPartitionName()).thenReturn(PARTITION_NAME);
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_PARTITION_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_PARTITION_PATH));
     when(hiveMetadataCleaner.dropPartition(Mockito.any(), Mockito.any())).thenReturn(false);
     when(hiveMetadataCleaner.tableExists(hiveClient, DATABASE, TABLE_NAME)).thenReturn(true);
 
@@ -357,7 +381,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getPartitionName()).thenReturn(null);
     when(hiveClient.getTableProperties(DATABASE, TABLE_NAME))
         .thenReturn(Collections.singletonMap("beekeeper.expired.data.table.deletion.enabled", "true"));
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_TABLE_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_TABLE_PATH));
     when(housekeepingMetadata.getCleanupAttempts()).thenReturn(0);
     when(
         housekeepingMetadataRepository.countRecordsForGivenDatabaseAndTableWherePartitionIsNotNull(DATABASE, TABLE_NAME))
@@ -380,7 +404,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getPartitionName()).thenReturn(null);
     when(hiveClient.getTableProperties(DATABASE, TABLE_NAME))
         .thenReturn(Collections.singletonMap("beekeeper.expired.data.table.deletion.enabled", "true"));
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_TABLE_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_TABLE_PATH));
     when(housekeepingMetadata.getCleanupAttempts()).thenReturn(0);
     when(hiveMetadataCleaner.tableExists(hiveClient, DATABASE, TABLE_NAME)).thenReturn(true);
     doThrow(RuntimeException.class).when(s3PathCleaner).cleanupPath(housekeepingMetadata);
@@ -398,7 +422,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getDatabaseName()).thenReturn(DATABASE);
     when(housekeepingMetadata.getTableName()).thenReturn(TABLE_NAME);
     when(housekeepingMetadata.getPartitionName()).thenReturn(PARTITION_NAME);
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_PARTITION_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_PARTITION_PATH));
     when(housekeepingMetadata.getCleanupAttempts()).thenReturn(0);
     when(hiveMetadataCleaner.tableExists(hiveClient, DATABASE, TABLE_NAME)).thenReturn(true);
     doThrow(RuntimeException.class).when(hiveMetadataCleaner).dropPartition(housekeepingMetadata, hiveClient);
@@ -415,7 +439,7 @@ public class ExpiredMetadataHandlerTest {
     when(hiveClientFactory.newInstance()).thenReturn(hiveClient);
     when(housekeepingMetadata.getDatabaseName()).thenReturn(DATABASE);
     when(housekeepingMetadata.getTableName()).thenReturn(TABLE_NAME);
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_TABLE_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_TABLE_PATH));
     when(housekeepingMetadata.getPartitionName()).thenReturn(null);
     when(hiveClient.getTableProperties(DATABASE, TABLE_NAME))
         .thenReturn(Collections.singletonMap("beekeeper.expired.data.table.deletion.enabled", "false"));
@@ -438,7 +462,7 @@ public class ExpiredMetadataHandlerTest {
     when(housekeepingMetadata.getTableName()).thenReturn(TABLE_NAME);
     when(housekeepingMetadata.getPartitionName()).thenReturn(null);
     when(hiveClient.getTableProperties(DATABASE, TABLE_NAME)).thenReturn(Collections.emptyMap());
-    when(housekeepingMetadata.getPath()).thenReturn(VALID_TABLE_PATH);
+    when(housekeepingMetadata.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_TABLE_PATH));
     when(housekeepingMetadata.getCleanupAttempts()).thenReturn(0);
     when(housekeepingMetadataRepository
         .countRecordsForGivenDatabaseAndTableWherePartitionIsNotNull(DATABASE, TABLE_NAME))
@@ -25,21 +25,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.expediagroup.beekeeper.core.repository.DeletionCheckpointRepository;
 import com.expediagroup.beekeeper.core.repository.HousekeepingMetadataRepository;
 
 @ExtendWith(MockitoExtension.class)
 public class MetadataRepositoryCleanupServiceTest {
 
   private @Mock HousekeepingMetadataRepository housekeepingMetadataRepository;
+  private @Mock DeletionCheckpointRepository deletionCheckpointRepository;
 
   @Test
   public void typical() {
     MetadataRepositoryCleanupService repositoryCleanupService = new MetadataRepositoryCleanupService(housekeepingMetadataRepository,
-        2);
+        deletionCheckpointRepository, 2);
     LocalDateTime now = LocalDateTime.of(2021, 11, 12, 10, 10);
     repositoryCleanupService.cleanUp(now.toInstant(ZoneOffset.UTC));
 
     LocalDateTime referenceTime = LocalDateTime.of(2021, 11, 10, 10, 10);
     verify(housekeepingMetadataRepository).cleanUpOldDeletedRecords(referenceTime);
+    verify(deletionCheckpointRepository).cleanUpCheckpointsOfFinishedMetadata();
   }
 }
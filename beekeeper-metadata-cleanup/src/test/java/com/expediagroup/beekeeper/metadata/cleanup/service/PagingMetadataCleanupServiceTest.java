@@ -14,7 +14,9 @@
 package com.expediagroup.beekeeper.metadata.cleanup.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -36,6 +38,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -53,20 +56,28 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
 import org.testcontainers.shaded.com.google.common.collect.Lists;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import com.expediagroup.beekeeper.cleanup.hive.HiveClient;
 import com.expediagroup.beekeeper.cleanup.hive.HiveClientFactory;
 import com.expediagroup.beekeeper.cleanup.metadata.MetadataCleaner;
+import com.expediagroup.beekeeper.cleanup.monitoring.CleanupLatenessReporter;
 import com.expediagroup.beekeeper.cleanup.path.PathCleaner;
+import com.expediagroup.beekeeper.cleanup.service.CleanupWorkerPool;
+import com.expediagroup.beekeeper.cleanup.service.PagingCleanupOptions;
 import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
 import com.expediagroup.beekeeper.core.model.HousekeepingMetadata;
 import com.expediagroup.beekeeper.core.model.HousekeepingStatus;
 import com.expediagroup.beekeeper.core.model.PeriodDuration;
 import com.expediagroup.beekeeper.core.repository.HousekeepingMetadataRepository;
 import com.expediagroup.beekeeper.core.service.BeekeeperHistoryService;
+import com.expediagroup.beekeeper.core.service.RecordClaimer;
 import com.expediagroup.beekeeper.metadata.cleanup.TestApplication;
 import com.expediagroup.beekeeper.metadata.cleanup.handler.ExpiredMetadataHandler;
+import com.expediagroup.beekeeper.metadata.cleanup.handler.MetadataHandlerOptions;
 import com.expediagroup.beekeeper.metadata.cleanup.handler.MetadataHandler;
 
 @ExtendWith(SpringExtension.class)
@@ -131,6 +142,7 @@ public class PagingMetadataCleanupServiceTest {
     assertThat(pathCaptor.getAllValues())
         .extracting("path")
         .containsExactly(TABLE_PATHS.get(0), TABLE_PATHS.get(1), TABLE_PATHS.get(2));
+    verify(pathCleaner, times(2)).completePage();
 
     metadataRepository.findAll().forEach(housekeepingMetadata -> {
       assertThat(housekeepingMetadata.getCleanupAttempts()).isEqualTo(1);
@@ -138,6 +150,7 @@ public class PagingMetadataCleanupServiceTest {
     });
 
     pagingCleanupService.cleanUp(Instant.now());
+    verify(pathCleaner, times(2)).completeRun();
     verifyNoMoreInteractions(pathCleaner);
   }
 
@@ -188,6 +201,7 @@ public class PagingMetadataCleanupServiceTest {
     assertThat(pathCaptor.getAllValues())
         .extracting("path")
         .containsExactly(PARTITION_PATHS.get(0), PARTITION_PATHS.get(1), PARTITION_PATHS.get(2));
+    verify(pathCleaner, times(2)).completePage();
 
     metadataRepository.findAll().forEach(housekeepingMetadata -> {
       assertThat(housekeepingMetadata.getCleanupAttempts()).isEqualTo(1);
@@ -195,6 +209,7 @@ public class PagingMetadataCleanupServiceTest {
     });
 
     pagingCleanupService.cleanUp(Instant.now());
+    verify(pathCleaner, times(2)).completeRun();
     verifyNoMoreInteractions(pathCleaner);
   }
 
@@ -238,6 +253,133 @@ public class PagingMetadataCleanupServiceTest {
         .containsExactly(tables.get(0).getPath(), tables.get(1).getPath());
   }
 
+  @Test
+  public void partitionsBeforeTableOnCleanupWorkerPool() {
+    CleanupWorkerPool cleanupWorkerPool = new CleanupWorkerPool(2);
+    pagingCleanupService = new PagingMetadataCleanupService(handlers, 4, false, cleanupWorkerPool,
+        PagingCleanupOptions.builder().build());
+    metadataRepository.save(createHousekeepingMetadata("table1", TABLE_PATHS.get(0), null, SCHEDULED));
+    PARTITION_PATHS
+        .forEach(path -> metadataRepository
+            .save(createHousekeepingMetadata("table1", path, PARTITION_NAME + path, SCHEDULED)));
+
+    pagingCleanupService.cleanUp(Instant.now());
+    cleanupWorkerPool.close();
+
+    verify(metadataCleaner, times(3)).dropPartition(Mockito.any(), Mockito.any());
+    verify(metadataCleaner).dropTable(Mockito.any(), Mockito.any());
+    verify(pathCleaner, times(4)).cleanupPath(Mockito.any());
+    verify(pathCleaner).completePage();
+    metadataRepository.findAll().forEach(housekeepingMetadata -> {
+      assertThat(housekeepingMetadata.getCleanupAttempts()).isEqualTo(1);
+      assertThat(housekeepingMetadata.getHousekeepingStatus()).isEqualTo(DELETED);
+    });
+  }
+
+  @Test
+  public void partitionsBeforeTableWithBatchedWrites() {
+    handler = new ExpiredMetadataHandler(hiveClientFactory, metadataRepository, metadataCleaner, pathCleaner,
+        beekeeperHistoryService, MetadataHandlerOptions.builder().batchedWritesEnabled(true).build());
+    pagingCleanupService = new PagingMetadataCleanupService(List.of(handler), 4, false);
+    metadataRepository.save(createHousekeepingMetadata("table1", TABLE_PATHS.get(0), null, SCHEDULED));
+    PARTITION_PATHS
+        .forEach(path -> metadataRepository
+            .save(createHousekeepingMetadata("table1", path, PARTITION_NAME + path, SCHEDULED)));
+
+    pagingCleanupService.cleanUp(Instant.now());
+
+    verify(metadataCleaner, times(3)).dropPartition(Mockito.any(), Mockito.any());
+    verify(metadataCleaner).dropTable(Mockito.any(), Mockito.any());
+    verify(pathCleaner, times(4)).cleanupPath(Mockito.any());
+    verify(beekeeperHistoryService, times(4)).newEvent(Mockito.any(), Mockito.eq(DELETED));
+    verify(beekeeperHistoryService, times(2)).saveHistory(Mockito.anyList());
+    verify(beekeeperHistoryService, never()).saveHistory(Mockito.any(), Mockito.any());
+    metadataRepository.findAll().forEach(housekeepingMetadata -> {
+      assertThat(housekeepingMetadata.getCleanupAttempts()).isEqualTo(1);
+      assertThat(housekeepingMetadata.getHousekeepingStatus()).isEqualTo(DELETED);
+    });
+  }
+
+  @Test
+  public void recordsClaimedByAnotherWorkerAreLeftOut() {
+    RecordClaimer<HousekeepingMetadata> recordClaimer = RecordClaimer
+        .leasing(metadataRepository::claim, metadataRepository::findClaimed, metadataRepository::releaseClaims,
+            Duration.ofMinutes(30));
+    handler = new ExpiredMetadataHandler(hiveClientFactory, metadataRepository, metadataCleaner, pathCleaner,
+        beekeeperHistoryService, MetadataHandlerOptions.builder().recordClaimer(recordClaimer).build());
+    pagingCleanupService = new PagingMetadataCleanupService(List.of(handler), 2, false);
+    List<String> tables = List.of("table1", "table2", "table3");
+    List<Long> ids = IntStream
+        .range(0, tables.size())
+        .mapToObj(i -> metadataRepository
+            .save(createHousekeepingMetadata(tables.get(i), TABLE_PATHS.get(i), null, SCHEDULED))
+            .getId())
+        .collect(Collectors.toList());
+    LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+    metadataRepository.claim(List.of(ids.get(1)), "another-worker", now.plusMinutes(30), now);
+
+    pagingCleanupService.cleanUp(Instant.now());
+
+    verify(metadataCleaner, times(2)).dropTable(metadataCaptor.capture(), hiveClientCaptor.capture());
+    assertThat(metadataCaptor.getAllValues()).extracting("tableName").containsExactly(tables.get(0), tables.get(2));
+    assertThat(metadataRepository.findAll())
+        .extracting("tableName", "housekeepingStatus", "claimOwner")
+        .containsExactlyInAnyOrder(tuple(tables.get(0), DELETED, null), tuple(tables.get(1), SCHEDULED,
+            "another-worker"), tuple(tables.get(2), DELETED, null));
+  }
+
+  @Test
+  @Timeout(value = 10)
+  public void typicalPartitionedWithPrefetchedPages() {
+    pagingCleanupService = new PagingMetadataCleanupService(handlers, 1, false, new CleanupWorkerPool(),
+        PagingCleanupOptions.builder().prefetchPages(2).build());
+    List<String> tables = List.of("table1", "table2", "table3");
+    IntStream
+        .range(0, tables.size())
+        .forEach(i -> metadataRepository
+            .save(createHousekeepingMetadata(tables.get(i), PARTITION_PATHS.get(i), PARTITION_NAME, SCHEDULED)));
+
+    pagingCleanupService.cleanUp(Instant.now());
+
+    verify(metadataCleaner, times(3)).dropPartition(metadataCaptor.capture(), hiveClientCaptor.capture());
+    assertThat(metadataCaptor.getAllValues()).extracting("tableName").containsExactlyInAnyOrderElementsOf(tables);
+    verify(pathCleaner, times(3)).cleanupPath(Mockito.any());
+    verify(pathCleaner, times(3)).completePage();
+    verify(pathCleaner).completeRun();
+    metadataRepository.findAll().forEach(housekeepingMetadata -> {
+      assertThat(housekeepingMetadata.getCleanupAttempts()).isEqualTo(1);
+      assertThat(housekeepingMetadata.getHousekeepingStatus()).isEqualTo(DELETED);
+    });
+  }
+
+  @Test
+  public void tablesShareThePages() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    pagingCleanupService = new PagingMetadataCleanupService(handlers, 2, false, new CleanupWorkerPool(),
+        PagingCleanupOptions
+            .builder()
+            .tablePageSharePercent(50)
+            .cleanupLatenessReporter(new CleanupLatenessReporter(meterRegistry))
+            .build());
+    IntStream
+        .range(0, PARTITION_PATHS.size())
+        .forEach(i -> metadataRepository
+            .save(createHousekeepingMetadata("big_table", PARTITION_PATHS.get(i), "event_date=2020-01-0" + (i + 1),
+                SCHEDULED)));
+    metadataRepository
+        .save(createHousekeepingMetadata("small_table", "s3://bucket/small_table/1", PARTITION_NAME, SCHEDULED));
+
+    pagingCleanupService.cleanUp(Instant.now());
+
+    verify(metadataCleaner, times(4)).dropPartition(metadataCaptor.capture(), hiveClientCaptor.capture());
+    assertThat(metadataCaptor.getAllValues())
+        .extracting("tableName")
+        .containsExactly("big_table", "small_table", "big_table", "big_table");
+    verify(pathCleaner, times(3)).completePage();
+    assertThat(latenessReports(meterRegistry, "database.big_table")).isEqualTo(3);
+    assertThat(latenessReports(meterRegistry, "database.small_table")).isEqualTo(1);
+  }
+
   @Test
   public void metadataCleanerException() {
     Mockito
@@ -329,6 +471,10 @@ public class PagingMetadataCleanupServiceTest {
     });
   }
 
+  private static long latenessReports(SimpleMeterRegistry meterRegistry, String table) {
+    return meterRegistry.get(CleanupLatenessReporter.METRIC_NAME).tag("table", table).timer().count();
+  }
+
   private HousekeepingMetadata createHousekeepingMetadata(
       String tableName,
       String path,
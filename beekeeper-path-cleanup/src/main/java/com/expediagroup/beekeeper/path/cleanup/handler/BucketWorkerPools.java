@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.path.cleanup.handler;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import com.expediagroup.beekeeper.cleanup.service.WorkerThreads;
+
+/**
+ * Runs the paths of a page on a bounded pool of threads per bucket, so that a throttled or slow bucket only holds up
+ * its own paths. When disabled, the paths are run one after another on the calling thread.
+ */
+public class BucketWorkerPools {
+
+  private final boolean enabled;
+  private final int poolSize;
+  private final Map<String, Integer> bucketPoolSizes;
+  private final Map<String, ExecutorService> pools = new ConcurrentHashMap<>();
+
+  /**
+   * Runs the paths on the calling thread.
+   */
+  public BucketWorkerPools() {
+    this(false, 1, Collections.emptyMap());
+  }
+
+  /**
+   * @param enabled Whether the paths are run on per bucket pools.
+   * @param poolSize Number of threads of the pool of a bucket.
+   * @param bucketPoolSizes Number of threads of the pools of specific buckets, overriding {@code poolSize}.
+   */
+  public BucketWorkerPools(boolean enabled, int poolSize, Map<String, Integer> bucketPoolSizes) {
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("Bucket pool size must be at least 1, was " + poolSize);
+    }
+    bucketPoolSizes.forEach((bucket, size) -> {
+      if (size < 1) {
+        throw new IllegalArgumentException("Pool size of bucket " + bucket + " must be at least 1, was " + size);
+      }
+    });
+    this.enabled = enabled;
+    this.poolSize = poolSize;
+    this.bucketPoolSizes = Map.copyOf(bucketPoolSizes);
+  }
+
+  /**
+   * Runs {@code task} on every item, the items of each bucket on the pool of that bucket, and returns once all the
+   * items have been processed.
+   *
+   * @param itemsPerBucket Items grouped by bucket.
+   * @param task Task run on each item.
+   * @throws RuntimeException The first failure of the items, with the failures of the other items suppressed.
+   */
+  public <T> void runAll(Map<String, List<T>> itemsPerBucket, Consumer<T> task) {
+    List<Map.Entry<ExecutorService, T>> items = new ArrayList<>();
+    itemsPerBucket.forEach((bucket, bucketItems) -> {
+      ExecutorService pool = enabled ? pool(bucket) : null;
+      bucketItems.forEach(item -> items.add(new SimpleImmutableEntry<>(pool, item)));
+    });
+    WorkerThreads.runAll(items, Map.Entry::getKey, item -> task.accept(item.getValue()));
+  }
+
+  /**
+   * Stops the threads of the pools. Paths already submitted are allowed to complete.
+   */
+  public void close() {
+    pools.values().forEach(ExecutorService::shutdown);
+  }
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  int poolSize(String bucket) {
+    return bucketPoolSizes.getOrDefault(bucket, poolSize);
+  }
+
+  private ExecutorService pool(String bucket) {
+    return pools.computeIfAbsent(bucket, b -> WorkerThreads.newFixedPool("bucket-" + b + "-", poolSize(b)));
+  }
+}
@@ -20,7 +20,14 @@ import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.FAILED_TO
 import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.SKIPPED;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,29 +35,65 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 
 import com.expediagroup.beekeeper.cleanup.path.PathCleaner;
+import com.expediagroup.beekeeper.cleanup.path.ResumableDeletionException;
+import com.expediagroup.beekeeper.cleanup.service.CleanupWorkerPool;
+import com.expediagroup.beekeeper.core.model.HousekeepingEntity;
 import com.expediagroup.beekeeper.core.model.HousekeepingPath;
 import com.expediagroup.beekeeper.core.model.HousekeepingStatus;
+import com.expediagroup.beekeeper.core.model.ParsedLocation;
 import com.expediagroup.beekeeper.core.repository.HousekeepingPathRepository;
 import com.expediagroup.beekeeper.core.service.BeekeeperHistoryService;
+import com.expediagroup.beekeeper.core.service.PageWrites;
+import com.expediagroup.beekeeper.core.service.RecordClaimer;
 import com.expediagroup.beekeeper.core.validation.S3PathValidator;
 
 public abstract class GenericPathHandler {
 
+  // the repository only returns the paths with fewer cleanup attempts
+  private static final int MAX_CLEANUP_ATTEMPTS = 10;
+
   private final Logger log = LoggerFactory.getLogger(GenericPathHandler.class);
 
-  private final HousekeepingPathRepository housekeepingPathRepository;
   private final PathCleaner pathCleaner;
-  private final BeekeeperHistoryService beekeeperHistoryService;
+  private final BucketWorkerPools bucketWorkerPools;
+  private final CleanupWorkerPool cleanupWorkerPool;
+  private final PageWrites<HousekeepingPath> pageWrites;
+  private final RecordClaimer<HousekeepingPath> recordClaimer;
 
   public GenericPathHandler(HousekeepingPathRepository housekeepingPathRepository, PathCleaner pathCleaner,
       BeekeeperHistoryService beekeeperHistoryService) {
-    this.housekeepingPathRepository = housekeepingPathRepository;
+    this(housekeepingPathRepository, pathCleaner, beekeeperHistoryService, PathHandlerOptions.builder().build());
+  }
+
+  public GenericPathHandler(HousekeepingPathRepository housekeepingPathRepository, PathCleaner pathCleaner,
+      BeekeeperHistoryService beekeeperHistoryService, PathHandlerOptions options) {
     this.pathCleaner = pathCleaner;
-    this.beekeeperHistoryService = beekeeperHistoryService;
+    this.recordClaimer = options.getRecordClaimer();
+    this.bucketWorkerPools = options.getBucketWorkerPools();
+    this.cleanupWorkerPool = options.getCleanupWorkerPool();
+    this.pageWrites = options.isBatchedWritesEnabled()
+        ? PageWrites.batched(housekeepingPathRepository::updateStatus, beekeeperHistoryService)
+        : PageWrites.immediate(housekeepingPathRepository::save, beekeeperHistoryService);
   }
 
   public abstract Slice<HousekeepingPath> findRecordsToClean(LocalDateTime instant, Pageable pageable);
 
+  /**
+   * Finds the records to clean up taken round-robin across tables, most overdue first, so that a table with many
+   * records due doesn't hold back the others.
+   *
+   * @param maxRecordsPerTable Maximum number of records of one table in the page.
+   */
+  public abstract Slice<HousekeepingPath> findRecordsToCleanRoundRobin(LocalDateTime instant, int maxRecordsPerTable,
+      Pageable pageable);
+
+  /**
+   * Finds the records to clean up following the record with id {@code lastId}, for dry runs where the records are not
+   * updated and so are paged through.
+   */
+  public abstract Slice<HousekeepingPath> findRecordsToCleanAfter(LocalDateTime instant, long lastId,
+      Pageable pageable);
+
   /**
    * Processes a pageable entityHouseKeepingPath page.
    *
@@ -62,56 +105,158 @@ public abstract class GenericPathHandler {
    * such that subsequent DB queries will not return the record. Hence why we only call next during dryRuns
    * where no updates occur.
    * @implNote Note that we only expect pageable.next to be called during a dry run.
+   * @implNote The paths are grouped by bucket and each group is cleaned up on the worker pool of its bucket. Without
+   * bucket worker pools, the paths are cleaned up on the cleanup worker pool instead.
+   * @implNote The status and history of a path are recorded as soon as its cleanup is over, each path on its own so
+   * that a failed write doesn't prevent the others. A failed write is thrown once the page is complete, and the next
+   * page is only fetched then, so no path of this page is still in flight.
+   * @implNote The path cleaner may defer the cleanup of a path, a single file, to batch it with the other files of the
+   * page. The status of those paths is only recorded once the path cleaner completes the page.
+   * @implNote With batched writes, the status and history of the paths are only collected as their cleanup is over and
+   * are all written once the page is complete, a few statements for the whole page.
+   * @implNote The claims on the paths of the page are released once their status is recorded, or once the page failed,
+   * so that other cleanup workers can pick up its paths without waiting for the claims to expire.
    */
   public Pageable processPage(Pageable pageable, Slice<HousekeepingPath> page, boolean dryRunEnabled) {
     List<HousekeepingPath> pageContent = page.getContent();
+    Map<String, List<HousekeepingPath>> pathsPerBucket = groupByBucket(pageContent);
     if (dryRunEnabled) {
-      pageContent.forEach(this::cleanUpPath);
+      try {
+        runAll(pageContent, pathsPerBucket, housekeepingPath -> {
+          if (isValid(housekeepingPath)) {
+            pathCleaner.cleanupPathOfPage(housekeepingPath);
+          }
+        });
+      } finally {
+        pathCleaner.completePage();
+      }
       return pageable.next();
+    }
+    Set<HousekeepingPath> deferredPaths = Collections
+        .synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    try {
+      try {
+        runAll(pageContent, pathsPerBucket, housekeepingPath -> cleanupContent(housekeepingPath, deferredPaths));
+      } finally {
+        try {
+          Map<HousekeepingEntity, Exception> deferredFailures = pathCleaner.completePage();
+          cleanupWorkerPool.runAll(List.copyOf(deferredPaths),
+              housekeepingPath -> cleanedUp(housekeepingPath, deferredFailures.get(housekeepingPath)));
+        } finally {
+          pageWrites.flush();
+        }
+      }
+    } finally {
+      recordClaimer.release(pageContent);
+    }
+    return pageable;
+  }
+
+  /**
+   * Completes the work deferred by the path cleaner once all the pages of a cleanup run have been processed.
+   */
+  public void completeRun() {
+    pathCleaner.completeRun();
+  }
+
+  private void runAll(
+      List<HousekeepingPath> pageContent,
+      Map<String, List<HousekeepingPath>> pathsPerBucket,
+      Consumer<HousekeepingPath> task) {
+    if (bucketWorkerPools.isEnabled()) {
+      bucketWorkerPools.runAll(pathsPerBucket, task);
     } else {
-      pageContent.forEach(this::cleanupContent);
-      return pageable;
+      cleanupWorkerPool.runAll(pageContent, task);
     }
   }
 
-  private boolean cleanUpPath(HousekeepingPath housekeepingPath) {
-    if (S3PathValidator.validTablePath(housekeepingPath.getPath())) {
-      pathCleaner.cleanupPath(housekeepingPath);
+  private boolean isValid(HousekeepingPath housekeepingPath) {
+    if (S3PathValidator.validTablePath(housekeepingPath.getParsedLocation())) {
       return true;
     }
     log.warn("Will not clean up path \"{}\" because it is not valid.", housekeepingPath.getPath());
     return false;
   }
 
-  private void cleanupContent(HousekeepingPath housekeepingPath) {
+  /**
+   * Cleans up the path and records its status, unless the path cleaner deferred its cleanup to the end of the page.
+   */
+  private void cleanupContent(HousekeepingPath housekeepingPath, Set<HousekeepingPath> deferredPaths) {
+    log.info("Cleaning up path \"{}\"", housekeepingPath.getPath());
+    if (!isValid(housekeepingPath)) {
+      updateStatus(housekeepingPath, SKIPPED);
+      pathCleaner.abandonPath(housekeepingPath);
+      return;
+    }
+    boolean deferred;
     try {
-      log.info("Cleaning up path \"{}\"", housekeepingPath.getPath());
-      if (cleanUpPath(housekeepingPath)) {
-        updateAttemptsAndStatus(housekeepingPath, DELETED);
-        saveHistory(housekeepingPath, DELETED);
-      } else {
-        updateStatus(housekeepingPath, SKIPPED);
-      }
+      deferred = pathCleaner.cleanupPathOfPage(housekeepingPath);
     } catch (Exception e) {
+      failed(housekeepingPath, e);
+      return;
+    }
+    if (deferred) {
+      deferredPaths.add(housekeepingPath);
+    } else {
+      cleanedUp(housekeepingPath, null);
+    }
+  }
+
+  private void cleanedUp(HousekeepingPath housekeepingPath, Exception failure) {
+    if (failure == null) {
+      updateAttemptsAndStatus(housekeepingPath, DELETED);
+      saveHistory(housekeepingPath, DELETED);
+    } else {
+      failed(housekeepingPath, failure);
+    }
+  }
+
+  private static Map<String, List<HousekeepingPath>> groupByBucket(List<HousekeepingPath> pageContent) {
+    Map<String, List<HousekeepingPath>> pathsPerBucket = new LinkedHashMap<>();
+    pageContent.forEach(housekeepingPath -> pathsPerBucket
+        .computeIfAbsent(bucketOf(housekeepingPath), bucket -> new ArrayList<>())
+        .add(housekeepingPath));
+    return pathsPerBucket;
+  }
+
+  // paths which aren't on S3, including invalid ones, are grouped together
+  private static String bucketOf(HousekeepingPath housekeepingPath) {
+    ParsedLocation location = housekeepingPath.getParsedLocation();
+    return location != null && location.isS3() ? location.getBucket() : "";
+  }
+
+  /**
+   * A cleanup which failed after checkpointing part of its progress is resumed by the next attempt, so it is not
+   * counted as a failed attempt: only attempts which don't make any progress count towards the maximum. A path out of
+   * attempts is abandoned.
+   */
+  private void failed(HousekeepingPath housekeepingPath, Exception e) {
+    if (e instanceof ResumableDeletionException) {
+      housekeepingPath.setHousekeepingStatus(HousekeepingStatus.FAILED);
+      pageWrites.updateStatus(housekeepingPath);
+    } else {
       updateAttemptsAndStatus(housekeepingPath, HousekeepingStatus.FAILED);
-      saveHistory(housekeepingPath, FAILED_TO_DELETE);
-      log.warn("Unexpected exception deleting \"{}\"", housekeepingPath.getPath(), e);
+    }
+    saveHistory(housekeepingPath, FAILED_TO_DELETE);
+    log.warn("Unexpected exception deleting \"{}\"", housekeepingPath.getPath(), e);
+    if (housekeepingPath.getCleanupAttempts() >= MAX_CLEANUP_ATTEMPTS) {
+      pathCleaner.abandonPath(housekeepingPath);
     }
   }
 
   private void updateAttemptsAndStatus(HousekeepingPath housekeepingPath, HousekeepingStatus status) {
     housekeepingPath.setCleanupAttempts(housekeepingPath.getCleanupAttempts() + 1);
     housekeepingPath.setHousekeepingStatus(status);
-    housekeepingPathRepository.save(housekeepingPath);
+    pageWrites.updateStatus(housekeepingPath);
   }
 
   private void updateStatus(HousekeepingPath housekeepingPath, HousekeepingStatus status) {
     housekeepingPath.setHousekeepingStatus(status);
-    housekeepingPathRepository.save(housekeepingPath);
+    pageWrites.updateStatus(housekeepingPath);
     saveHistory(housekeepingPath, status);
   }
 
   private void saveHistory(HousekeepingPath housekeepingPath, HousekeepingStatus status) {
-    beekeeperHistoryService.saveHistory(housekeepingPath, status);
+    pageWrites.saveHistory(housekeepingPath, status);
   }
 }
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.path.cleanup.handler;
+
+import com.expediagroup.beekeeper.cleanup.service.CleanupWorkerPool;
+import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.service.RecordClaimer;
+
+/**
+ * How a {@link GenericPathHandler} processes its pages. Every setting has a default, so callers only set what they
+ * change.
+ */
+public class PathHandlerOptions {
+
+  private final BucketWorkerPools bucketWorkerPools;
+  private final CleanupWorkerPool cleanupWorkerPool;
+  private final boolean batchedWritesEnabled;
+  private final RecordClaimer<HousekeepingPath> recordClaimer;
+
+  private PathHandlerOptions(Builder builder) {
+    this.bucketWorkerPools = builder.bucketWorkerPools != null ? builder.bucketWorkerPools : new BucketWorkerPools();
+    this.cleanupWorkerPool = builder.cleanupWorkerPool != null ? builder.cleanupWorkerPool : new CleanupWorkerPool();
+    this.batchedWritesEnabled = builder.batchedWritesEnabled;
+    this.recordClaimer = builder.recordClaimer != null ? builder.recordClaimer : RecordClaimer.disabled();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  BucketWorkerPools getBucketWorkerPools() {
+    return bucketWorkerPools;
+  }
+
+  CleanupWorkerPool getCleanupWorkerPool() {
+    return cleanupWorkerPool;
+  }
+
+  boolean isBatchedWritesEnabled() {
+    return batchedWritesEnabled;
+  }
+
+  RecordClaimer<HousekeepingPath> getRecordClaimer() {
+    return recordClaimer;
+  }
+
+  public static class Builder {
+
+    private BucketWorkerPools bucketWorkerPools;
+    private CleanupWorkerPool cleanupWorkerPool;
+    private boolean batchedWritesEnabled;
+    private RecordClaimer<HousekeepingPath> recordClaimer;
+
+    private Builder() {}
+
+    /**
+     * @param bucketWorkerPools Pools the paths of each bucket are cleaned up on. Disabled by default.
+     */
+    public Builder bucketWorkerPools(BucketWorkerPools bucketWorkerPools) {
+      this.bucketWorkerPools = bucketWorkerPools;
+      return this;
+    }
+
+    /**
+     * @param cleanupWorkerPool Pool the paths are cleaned up on without bucket worker pools. Defaults to the calling
+     *          thread.
+     */
+    public Builder cleanupWorkerPool(CleanupWorkerPool cleanupWorkerPool) {
+      this.cleanupWorkerPool = cleanupWorkerPool;
+      return this;
+    }
+
+    /**
+     * @param batchedWritesEnabled Whether the status and history of the paths of a page are written together once the
+     *          page is complete, rather than one path at a time. Defaults to false.
+     */
+    public Builder batchedWritesEnabled(boolean batchedWritesEnabled) {
+      this.batchedWritesEnabled = batchedWritesEnabled;
+      return this;
+    }
+
+    /**
+     * @param recordClaimer Claims the paths to clean up when several cleanup workers share them, the claims on the
+     *          paths of a page are released once the page is complete. Disabled by default.
+     */
+    public Builder recordClaimer(RecordClaimer<HousekeepingPath> recordClaimer) {
+      this.recordClaimer = recordClaimer;
+      return this;
+    }
+
+    public PathHandlerOptions build() {
+      return new PathHandlerOptions(this);
+    }
+  }
+}
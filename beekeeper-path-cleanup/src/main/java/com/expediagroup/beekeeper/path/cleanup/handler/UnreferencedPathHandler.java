@@ -16,34 +16,83 @@
 package com.expediagroup.beekeeper.path.cleanup.handler;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Component;
 
 import com.expediagroup.beekeeper.cleanup.path.PathCleaner;
+import com.expediagroup.beekeeper.cleanup.service.TableRoundRobin;
 import com.expediagroup.beekeeper.core.model.HousekeepingPath;
 import com.expediagroup.beekeeper.core.repository.HousekeepingPathRepository;
 import com.expediagroup.beekeeper.core.service.BeekeeperHistoryService;
+import com.expediagroup.beekeeper.core.service.RecordClaimer;
 
 @Component
 public class UnreferencedPathHandler extends GenericPathHandler {
 
   private final HousekeepingPathRepository housekeepingPathRepository;
+  private final RecordClaimer<HousekeepingPath> recordClaimer;
+  private final TableRoundRobin<HousekeepingPath> tableRoundRobin;
+
+  public UnreferencedPathHandler(
+      HousekeepingPathRepository housekeepingPathRepository,
+      PathCleaner pathCleaner,
+      BeekeeperHistoryService beekeeperHistoryService) {
+    this(housekeepingPathRepository, pathCleaner, beekeeperHistoryService, PathHandlerOptions.builder().build());
+  }
 
   @Autowired
   public UnreferencedPathHandler(
       HousekeepingPathRepository housekeepingPathRepository,
       @Qualifier("s3PathCleaner") PathCleaner pathCleaner,
-      BeekeeperHistoryService beekeeperHistoryService) {
-    super(housekeepingPathRepository, pathCleaner, beekeeperHistoryService);
+      BeekeeperHistoryService beekeeperHistoryService,
+      PathHandlerOptions options) {
+    super(housekeepingPathRepository, pathCleaner, beekeeperHistoryService, options);
     this.housekeepingPathRepository = housekeepingPathRepository;
+    this.recordClaimer = options.getRecordClaimer();
+    this.tableRoundRobin = new TableRoundRobin<>(housekeepingPathRepository::findTablesForCleanup);
   }
 
   @Override
   public Slice<HousekeepingPath> findRecordsToClean(LocalDateTime instant, Pageable pageable) {
+    if (recordClaimer.isEnabled()) {
+      return recordClaimer
+          .claim(now -> housekeepingPathRepository.findUnclaimedRecordsForCleanup(instant, now, pageable));
+    }
     return housekeepingPathRepository.findRecordsForCleanup(instant, pageable);
   }
+
+  @Override
+  public Slice<HousekeepingPath> findRecordsToCleanRoundRobin(
+      LocalDateTime instant,
+      int maxRecordsPerTable,
+      Pageable pageable) {
+    if (recordClaimer.isEnabled()) {
+      return recordClaimer.claim(now -> findRecordsRoundRobin(instant, now, maxRecordsPerTable, pageable));
+    }
+    return findRecordsRoundRobin(instant, LocalDateTime.now(ZoneOffset.UTC), maxRecordsPerTable, pageable);
+  }
+
+  @Override
+  public Slice<HousekeepingPath> findRecordsToCleanAfter(LocalDateTime instant, long lastId, Pageable pageable) {
+    return housekeepingPathRepository.findRecordsForCleanupAfterId(instant, lastId, pageable);
+  }
+
+  private Slice<HousekeepingPath> findRecordsRoundRobin(
+      LocalDateTime instant,
+      LocalDateTime now,
+      int maxRecordsPerTable,
+      Pageable pageable) {
+    List<HousekeepingPath> records = tableRoundRobin.nextPage(instant, maxRecordsPerTable, pageable.getPageSize(),
+        (table, maxRecords) -> housekeepingPathRepository.findRecordsForCleanupOfTable(instant, now,
+            table.getDatabaseName(), table.getTableName(), PageRequest.of(0, maxRecords)));
+    return new SliceImpl<>(records, pageable, records.size() == pageable.getPageSize());
+  }
 }
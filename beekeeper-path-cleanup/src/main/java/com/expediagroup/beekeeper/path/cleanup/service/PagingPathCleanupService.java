@@ -27,11 +27,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.transaction.annotation.Transactional;
 
 import io.micrometer.core.annotation.Timed;
 
+import com.expediagroup.beekeeper.cleanup.monitoring.CleanupLatenessReporter;
 import com.expediagroup.beekeeper.cleanup.service.CleanupService;
+import com.expediagroup.beekeeper.cleanup.service.PagePrefetcher;
+import com.expediagroup.beekeeper.cleanup.service.PagingCleanupOptions;
+import com.expediagroup.beekeeper.cleanup.service.TablePageShare;
 import com.expediagroup.beekeeper.core.error.BeekeeperException;
 import com.expediagroup.beekeeper.core.model.HousekeepingPath;
 import com.expediagroup.beekeeper.path.cleanup.handler.GenericPathHandler;
@@ -43,18 +48,38 @@ public class PagingPathCleanupService implements CleanupService {
   private final List<GenericPathHandler> pathHandlers;
   private final boolean dryRunEnabled;
   private final int pageSize;
+  private final int prefetchPages;
+  private final int maxRecordsPerTable;
+  private final CleanupLatenessReporter cleanupLatenessReporter;
 
   public PagingPathCleanupService(List<GenericPathHandler> pathHandlers, int pageSize, boolean dryRunEnabled) {
+    this(pathHandlers, pageSize, dryRunEnabled, PagingCleanupOptions.builder().build());
+  }
+
+  public PagingPathCleanupService(
+      List<GenericPathHandler> pathHandlers,
+      int pageSize,
+      boolean dryRunEnabled,
+      PagingCleanupOptions options) {
     this.pathHandlers = pathHandlers;
     this.pageSize = pageSize;
     this.dryRunEnabled = dryRunEnabled;
+    this.prefetchPages = options.getPrefetchPages();
+    maxRecordsPerTable = TablePageShare.maxRecordsPerTable(pageSize, options.getTablePageSharePercent());
+    this.cleanupLatenessReporter = options.getCleanupLatenessReporter();
   }
 
   @Override
   @Timed("path-cleanup-job")
   public void cleanUp(Instant referenceTime) {
     try {
-      pathHandlers.forEach(handler -> pagingCleanup(handler, referenceTime));
+      pathHandlers.forEach(handler -> {
+        if (prefetchPages > 0) {
+          prefetchingCleanup(handler, referenceTime);
+        } else {
+          pagingCleanup(handler, referenceTime);
+        }
+      });
     } catch (Exception e) {
       throw new BeekeeperException(format("Cleanup failed for instant %s", referenceTime.toString()), e);
     }
@@ -65,13 +90,82 @@ public class PagingPathCleanupService implements CleanupService {
     Pageable pageable = PageRequest.of(0, pageSize).first();
 
     LocalDateTime instant = LocalDateTime.ofInstant(referenceTime, ZoneOffset.UTC);
-    Slice<HousekeepingPath> batch = handler.findRecordsToClean(instant, pageable);
+    Slice<HousekeepingPath> batch = findRecordsToClean(handler, instant, pageable, 0L);
+
+    int i = 1;
+    try {
+      while (!batch.getContent().isEmpty()) {
+        log.info("Processing page {}", i++);
+        handler.processPage(pageable, batch, dryRunEnabled);
+        reportLateness(batch.getContent());
+        batch = findRecordsToClean(handler, instant, pageable, lastId(batch.getContent()));
+      }
+    } finally {
+      handler.completeRun();
+    }
+  }
+
+  /**
+   * @implNote Processed records are updated so that they are no longer returned and the first page is always fetched.
+   * Dry runs leave the records as they are, so the records following the last one of the previous page are fetched
+   * instead of the next page, which would be an OFFSET scan getting slower the further the run goes.
+   */
+  private Slice<HousekeepingPath> findRecordsToClean(
+      GenericPathHandler handler,
+      LocalDateTime instant,
+      Pageable pageable,
+      long lastId) {
+    if (dryRunEnabled) {
+      return handler.findRecordsToCleanAfter(instant, lastId, pageable);
+    }
+    return findDueRecords(handler, instant, pageable);
+  }
+
+  /**
+   * @implNote With a table page share, each page holds the most overdue path of each table, then the second most
+   * overdue and so on, up to the maximum number of paths of one table, so that a table with many paths due doesn't
+   * take every page while the paths of the other tables go past their cleanup timestamp.
+   */
+  private Slice<HousekeepingPath> findDueRecords(GenericPathHandler handler, LocalDateTime instant, Pageable pageable) {
+    if (maxRecordsPerTable > 0) {
+      return handler.findRecordsToCleanRoundRobin(instant, maxRecordsPerTable, pageable);
+    }
+    return handler.findRecordsToClean(instant, pageable);
+  }
+
+  private void reportLateness(List<HousekeepingPath> paths) {
+    if (!dryRunEnabled) {
+      cleanupLatenessReporter.reportCleanedUp(paths);
+    }
+  }
+
+  private static long lastId(List<HousekeepingPath> paths) {
+    return paths.get(paths.size() - 1).getId();
+  }
+
+  private void prefetchingCleanup(GenericPathHandler handler, Instant referenceTime) {
+    Pageable pageable = PageRequest.of(0, pageSize).first();
+    LocalDateTime instant = LocalDateTime.ofInstant(referenceTime, ZoneOffset.UTC);
 
     int i = 1;
-    while (!batch.getContent().isEmpty()) {
-      log.info("Processing page {}", i++);
-      pageable = handler.processPage(pageable, batch, dryRunEnabled);
-      batch = handler.findRecordsToClean(instant, pageable);
+    try (PagePrefetcher<HousekeepingPath> prefetcher = new PagePrefetcher<>(
+        page -> findDueRecords(handler, instant, page),
+        (lastId, page) -> handler.findRecordsToCleanAfter(instant, lastId, page), pageSize, prefetchPages,
+        dryRunEnabled)) {
+      prefetcher.start();
+      List<HousekeepingPath> paths = prefetcher.nextPage();
+      while (!paths.isEmpty()) {
+        log.info("Processing page {}", i++);
+        try {
+          handler.processPage(pageable, new SliceImpl<>(paths, pageable, true), dryRunEnabled);
+          reportLateness(paths);
+        } finally {
+          prefetcher.pageCompleted(paths);
+        }
+        paths = prefetcher.nextPage();
+      }
+    } finally {
+      handler.completeRun();
     }
   }
 }
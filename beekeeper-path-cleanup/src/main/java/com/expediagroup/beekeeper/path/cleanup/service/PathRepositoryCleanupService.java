@@ -26,16 +26,21 @@ import org.springframework.transaction.annotation.Transactional;
 import io.micrometer.core.annotation.Timed;
 
 import com.expediagroup.beekeeper.cleanup.service.RepositoryCleanupService;
+import com.expediagroup.beekeeper.core.repository.DeletionCheckpointRepository;
 import com.expediagroup.beekeeper.core.repository.HousekeepingPathRepository;
 
 public class PathRepositoryCleanupService implements RepositoryCleanupService {
 
   private final HousekeepingPathRepository housekeepingPathRepository;
+  private final DeletionCheckpointRepository deletionCheckpointRepository;
   private final int numberOfRetentionDays;
 
   public PathRepositoryCleanupService(
-      HousekeepingPathRepository housekeepingPathRepository, int numberOfRetentionDays) {
+      HousekeepingPathRepository housekeepingPathRepository,
+      DeletionCheckpointRepository deletionCheckpointRepository,
+      int numberOfRetentionDays) {
     this.housekeepingPathRepository = housekeepingPathRepository;
+    this.deletionCheckpointRepository = deletionCheckpointRepository;
     this.numberOfRetentionDays = numberOfRetentionDays;
   }
 
@@ -45,5 +50,6 @@ public class PathRepositoryCleanupService implements RepositoryCleanupService {
   public void cleanUp(Instant referenceTime) {
     LocalDateTime instant = LocalDateTime.ofInstant(referenceTime, ZoneOffset.UTC);
     housekeepingPathRepository.cleanUpOldDeletedRecords(instant.minus(numberOfRetentionDays, DAYS));
+    deletionCheckpointRepository.cleanUpCheckpointsOfFinishedPaths();
   }
 }
@@ -16,10 +16,13 @@
 package com.expediagroup.beekeeper.path.cleanup.context;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.mock;
 
 import java.net.URL;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,20 +32,34 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.graphite.GraphiteMeterRegistry;
 
 import com.amazonaws.services.s3.AmazonS3;
 
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+import com.expediagroup.beekeeper.cleanup.aws.AsyncS3Client;
 import com.expediagroup.beekeeper.cleanup.aws.S3Client;
+import com.expediagroup.beekeeper.cleanup.aws.S3DeleteRetryPolicy;
+import com.expediagroup.beekeeper.cleanup.aws.S3ClientOptions;
+import com.expediagroup.beekeeper.cleanup.aws.S3ClientRegistry;
+import com.expediagroup.beekeeper.cleanup.aws.S3InventoryDryRunPathCleaner;
 import com.expediagroup.beekeeper.cleanup.aws.S3PathCleaner;
+import com.expediagroup.beekeeper.cleanup.aws.S3RateLimiter;
 import com.expediagroup.beekeeper.cleanup.monitoring.BytesDeletedReporter;
 import com.expediagroup.beekeeper.cleanup.path.PathCleaner;
+import com.expediagroup.beekeeper.cleanup.path.SchemeRoutingPathCleaner;
 import com.expediagroup.beekeeper.cleanup.service.CleanupService;
+import com.expediagroup.beekeeper.cleanup.service.CleanupWorkerPool;
 import com.expediagroup.beekeeper.cleanup.service.DisableTablesService;
 import com.expediagroup.beekeeper.cleanup.service.RepositoryCleanupService;
 import com.expediagroup.beekeeper.core.repository.BeekeeperHistoryRepository;
+import com.expediagroup.beekeeper.core.repository.DeletionCheckpointRepository;
 import com.expediagroup.beekeeper.core.repository.HousekeepingPathRepository;
 import com.expediagroup.beekeeper.core.service.BeekeeperHistoryService;
+import com.expediagroup.beekeeper.core.service.DeletionCheckpointService;
+import com.expediagroup.beekeeper.path.cleanup.handler.BucketWorkerPools;
 import com.expediagroup.beekeeper.path.cleanup.service.PagingPathCleanupService;
 import com.expediagroup.beekeeper.path.cleanup.service.PathRepositoryCleanupService;
 
@@ -59,9 +76,13 @@ class CommonBeansTest {
 
   private final boolean dryRunEnabled = false;
   private final CommonBeans commonBeans = new CommonBeans();
+  private final S3RateLimiter s3RateLimiter = new S3RateLimiter(new SimpleMeterRegistry(), 3500, 1);
+  private final Supplier<S3AsyncClient> s3AsyncClientSupplier = () -> mock(S3AsyncClient.class);
+  private final S3DeleteRetryPolicy deleteRetryPolicy = S3DeleteRetryPolicy.none();
   private @Mock HousekeepingPathRepository repository;
   private @Mock BytesDeletedReporter bytesDeletedReporter;
   private @Mock BeekeeperHistoryRepository beekeeperHistoryRepository;
+  private @Mock DeletionCheckpointRepository deletionCheckpointRepository;
 
   @BeforeEach
   void setUp() {
@@ -75,9 +96,15 @@ class CommonBeansTest {
     System.clearProperty(AWS_S3_ENDPOINT_PROPERTY);
   }
 
+  @Test
+  void verifyS3RateLimiter() {
+    S3RateLimiter s3RateLimiter = commonBeans.s3RateLimiter(new SimpleMeterRegistry(), 3500, 1);
+    assertThat(s3RateLimiter).isInstanceOf(S3RateLimiter.class);
+  }
+
   @Test
   void typicalAmazonClient() {
-    AmazonS3 amazonS3 = commonBeans.amazonS3();
+    AmazonS3 amazonS3 = commonBeans.amazonS3(new SimpleMeterRegistry(), s3RateLimiter);
     URL url = amazonS3.getUrl(BUCKET, KEY);
     assertThat(url.getHost()).isEqualTo(String.join(".", BUCKET, AWS_ENDPOINT));
   }
@@ -85,37 +112,110 @@ class CommonBeansTest {
   @Test
   void endpointConfiguredAmazonClient() {
     System.setProperty(AWS_S3_ENDPOINT_PROPERTY, ENDPOINT);
-    AmazonS3 amazonS3 = commonBeans.amazonS3Test();
+    AmazonS3 amazonS3 = commonBeans.amazonS3Test(s3RateLimiter);
     URL url = amazonS3.getUrl(BUCKET, KEY);
     assertThat(url.getHost()).isEqualTo(String.join(".", BUCKET, ENDPOINT));
   }
 
   @Test
   void s3Client() {
-    AmazonS3 amazonS3 = commonBeans.amazonS3();
-    S3Client s3Client = new S3Client(amazonS3, dryRunEnabled);
-    S3Client beansS3Client = commonBeans.s3Client(amazonS3, dryRunEnabled);
+    AmazonS3 amazonS3 = commonBeans.amazonS3(new SimpleMeterRegistry(), s3RateLimiter);
+    S3ClientRegistry s3ClientRegistry = commonBeans.s3ClientRegistry(amazonS3, new SimpleMeterRegistry(), s3RateLimiter,
+        false);
+    S3Client s3Client = new S3Client(s3ClientRegistry, S3ClientOptions.builder()
+        .dryRunEnabled(dryRunEnabled)
+        .deleteConcurrency(2)
+        .listParallelism(3)
+        .deleteRetryPolicy(deleteRetryPolicy)
+        .rateLimiter(s3RateLimiter)
+        .build());
+    S3Client beansS3Client = commonBeans.s3Client(s3ClientRegistry, s3AsyncClientSupplier, deleteRetryPolicy,
+        s3RateLimiter, dryRunEnabled, 2, 3, false);
     assertThat(s3Client).isEqualToComparingFieldByField(beansS3Client);
   }
 
+  @Test
+  void asyncS3Client() {
+    AmazonS3 amazonS3 = commonBeans.amazonS3(new SimpleMeterRegistry(), s3RateLimiter);
+    S3ClientRegistry s3ClientRegistry = new S3ClientRegistry(amazonS3);
+    S3Client s3Client = commonBeans.s3Client(s3ClientRegistry, s3AsyncClientSupplier, deleteRetryPolicy,
+        s3RateLimiter, dryRunEnabled, 2, 3, true);
+    assertThat(s3Client).isInstanceOf(AsyncS3Client.class);
+  }
+
   @Test
   void verifyS3pathCleaner() {
-    S3Client s3Client = commonBeans.s3Client(commonBeans.amazonS3(), dryRunEnabled);
+    DeletionCheckpointService checkpointService = commonBeans
+        .deletionCheckpointService(deletionCheckpointRepository);
+    AmazonS3 amazonS3 = commonBeans.amazonS3(new SimpleMeterRegistry(), s3RateLimiter);
+    S3ClientRegistry s3ClientRegistry = new S3ClientRegistry(amazonS3);
+    S3Client s3Client = commonBeans.s3Client(s3ClientRegistry, s3AsyncClientSupplier, deleteRetryPolicy,
+        s3RateLimiter, dryRunEnabled, 1, 1, false);
     MeterRegistry meterRegistry = mock(GraphiteMeterRegistry.class);
 
-    PathCleaner pathCleaner = commonBeans.pathCleaner(s3Client, bytesDeletedReporter);
+    PathCleaner pathCleaner = commonBeans.pathCleaner(s3Client, bytesDeletedReporter, checkpointService, false,
+        List.of("manifest.json"), 0L, false, List.of(), 4);
     assertThat(pathCleaner).isInstanceOf(S3PathCleaner.class);
+    assertThat(commonBeans.pathCleaner(s3Client, bytesDeletedReporter, checkpointService, false, List.of(), 100000L,
+        true, List.of(), 4)).isInstanceOf(S3PathCleaner.class);
+    assertThat(commonBeans.pathCleaner(s3Client, bytesDeletedReporter, checkpointService, false, List.of(), 0L,
+        false, List.of("hdfs", "file"), 4)).isInstanceOf(SchemeRoutingPathCleaner.class);
+  }
+
+  @Test
+  void inventoryDryRunPathCleaner() {
+    DeletionCheckpointService checkpointService = commonBeans
+        .deletionCheckpointService(deletionCheckpointRepository);
+    AmazonS3 amazonS3 = commonBeans.amazonS3(new SimpleMeterRegistry(), s3RateLimiter);
+    S3Client s3Client = commonBeans.s3Client(new S3ClientRegistry(amazonS3), s3AsyncClientSupplier,
+        deleteRetryPolicy, s3RateLimiter, true, 1, 1, false);
+
+    PathCleaner pathCleaner = commonBeans.pathCleaner(s3Client, bytesDeletedReporter, checkpointService, true,
+        List.of("manifest.json"), 0L, false, List.of(), 4);
+    assertThat(pathCleaner).isInstanceOf(S3InventoryDryRunPathCleaner.class);
+    assertThat(commonBeans.pathCleaner(s3Client, bytesDeletedReporter, checkpointService, true, List.of(), 0L,
+        false, List.of(), 4)).isInstanceOf(S3PathCleaner.class);
+  }
+
+  @Test
+  void bucketWorkerPools() {
+    BucketWorkerPools bucketWorkerPools = commonBeans
+        .bucketWorkerPools(true, 2, List.of("bucket1:4", " bucket2 : 8 "), 1);
+    assertThat(bucketWorkerPools).isInstanceOf(BucketWorkerPools.class);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> commonBeans.bucketWorkerPools(true, 2, List.of("bucket1"), 1));
+  }
+
+  @Test
+  void bucketWorkerPoolsWithCleanupParallelism() {
+    assertThat(commonBeans.bucketWorkerPools(false, 1, List.of(), 4)).isInstanceOf(BucketWorkerPools.class);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> commonBeans.bucketWorkerPools(true, 2, List.of(), 4));
+  }
+
+  @Test
+  void cleanupWorkerPool() {
+    CleanupWorkerPool cleanupWorkerPool = commonBeans.cleanupWorkerPool(4);
+    assertThat(cleanupWorkerPool.getParallelism()).isEqualTo(4);
+    cleanupWorkerPool.close();
+  }
+
+  @Test
+  void recordClaimer() {
+    assertThat(commonBeans.recordClaimer(repository, 0).isEnabled()).isFalse();
+    assertThat(commonBeans.recordClaimer(repository, 30).isEnabled()).isTrue();
   }
 
   @Test
   void cleanupService() {
-    CleanupService cleanupService = commonBeans.cleanupService(Collections.emptyList(), 2, dryRunEnabled);
+    CleanupService cleanupService = commonBeans.cleanupService(Collections.emptyList(), 2, dryRunEnabled, 0, 0,
+        commonBeans.cleanupLatenessReporter(new SimpleMeterRegistry()));
     assertThat(cleanupService).isInstanceOf(PagingPathCleanupService.class);
   }
 
   @Test
   public void repositoryCleanupService() {
-    RepositoryCleanupService cleanupService = commonBeans.repositoryCleanupService(repository, 5);
+    RepositoryCleanupService cleanupService = commonBeans.repositoryCleanupService(repository, deletionCheckpointRepository, 5);
     assertThat(cleanupService).isInstanceOf(PathRepositoryCleanupService.class);
   }
 
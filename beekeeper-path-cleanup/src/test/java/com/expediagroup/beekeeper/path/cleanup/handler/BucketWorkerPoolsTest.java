@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2019-2026 Expedia, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.expediagroup.beekeeper.path.cleanup.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BucketWorkerPoolsTest {
+
+  private BucketWorkerPools pools;
+
+  @AfterEach
+  void tearDown() {
+    if (pools != null) {
+      pools.close();
+    }
+  }
+
+  @Test
+  void disabledRunsOnCallingThread() {
+    pools = new BucketWorkerPools();
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    pools.runAll(Map.of("bucket1", List.of(1, 2), "bucket2", List.of(3)), item -> threads.add(Thread.currentThread()));
+
+    assertThat(threads).containsExactly(Thread.currentThread());
+  }
+
+  @Test
+  void slowBucketDoesNotHoldUpOtherBuckets() {
+    pools = new BucketWorkerPools(true, 1, Map.of());
+    CountDownLatch fastBucketDone = new CountDownLatch(1);
+
+    // the slow bucket only completes once the fast one has, which would never happen if they shared a thread
+    assertTimeoutPreemptively(Duration.ofSeconds(10), () -> pools.runAll(
+        Map.of("slow-bucket", List.of("slow"), "fast-bucket", List.of("fast")), item -> {
+          if (item.equals("slow")) {
+            await(fastBucketDone);
+          } else {
+            fastBucketDone.countDown();
+          }
+        }));
+  }
+
+  @Test
+  void itemsOfABucketRunOnItsPool() {
+    pools = new BucketWorkerPools(true, 1, Map.of("bucket2", 2));
+    Map<Integer, String> threads = new ConcurrentHashMap<>();
+
+    pools.runAll(Map.of("bucket1", List.of(1, 2), "bucket2", List.of(3)),
+        item -> threads.put(item, Thread.currentThread().getName()));
+
+    assertThat(threads.get(1)).isEqualTo("bucket-bucket1-1");
+    assertThat(threads.get(2)).isEqualTo("bucket-bucket1-1");
+    assertThat(threads.get(3)).startsWith("bucket-bucket2-");
+  }
+
+  @Test
+  void bucketPoolSizes() {
+    pools = new BucketWorkerPools(true, 2, Map.of("big-bucket", 8));
+
+    assertThat(pools.poolSize("big-bucket")).isEqualTo(8);
+    assertThat(pools.poolSize("bucket")).isEqualTo(2);
+  }
+
+  @Test
+  void bucketPoolLimitsConcurrency() {
+    pools = new BucketWorkerPools(true, 2, Map.of());
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    pools.runAll(Map.of("bucket", List.of(1, 2, 3, 4, 5, 6)), item -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      sleep(20);
+      running.decrementAndGet();
+    });
+
+    assertThat(maxRunning.get()).isEqualTo(2);
+  }
+
+  @Test
+  void failureRethrownOnceAllItemsAreDone() {
+    pools = new BucketWorkerPools(true, 1, Map.of());
+    AtomicInteger done = new AtomicInteger();
+
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> pools.runAll(Map.of("bucket1", List.of(1), "bucket2", List.of(2, 3)), item -> {
+          if (item == 1) {
+            throw new IllegalStateException("failed");
+          }
+          sleep(20);
+          done.incrementAndGet();
+        }));
+    assertThat(done.get()).isEqualTo(2);
+  }
+
+  @Test
+  void invalidPoolSizes() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new BucketWorkerPools(true, 0, Map.of()));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new BucketWorkerPools(true, 1, Map.of("bucket", 0)));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(30, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
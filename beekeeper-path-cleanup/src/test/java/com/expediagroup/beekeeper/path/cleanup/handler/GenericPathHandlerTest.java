@@ -16,9 +16,14 @@
 package com.expediagroup.beekeeper.path.cleanup.handler;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -29,19 +34,25 @@ import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.FAILED_TO
 import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.SKIPPED;
 
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import com.expediagroup.beekeeper.cleanup.aws.S3PathCleaner;
+import com.expediagroup.beekeeper.cleanup.path.ResumableDeletionException;
+import com.expediagroup.beekeeper.cleanup.service.CleanupWorkerPool;
 import com.expediagroup.beekeeper.core.model.HousekeepingPath;
+import com.expediagroup.beekeeper.core.model.ParsedLocation;
 import com.expediagroup.beekeeper.core.repository.HousekeepingPathRepository;
 import com.expediagroup.beekeeper.core.service.BeekeeperHistoryService;
+import com.expediagroup.beekeeper.core.service.RecordClaimer;
 
 @ExtendWith(MockitoExtension.class)
 public class GenericPathHandlerTest {
@@ -67,7 +78,9 @@ public class GenericPathHandlerTest {
   @BeforeEach
   public void initTest() {
     handler = new UnreferencedPathHandler(housekeepingPathRepository, pathCleaner, beekeeperHistoryService);
-    when(mockPath.getPath()).thenReturn(VALID_TABLE_PATH);
+    // only logged outside of dry runs
+    lenient().when(mockPath.getPath()).thenReturn(VALID_TABLE_PATH);
+    when(mockPath.getParsedLocation()).thenReturn(ParsedLocation.parse(VALID_TABLE_PATH));
   }
 
   @Test
@@ -75,7 +88,8 @@ public class GenericPathHandlerTest {
     when(mockPage.getContent()).thenReturn(List.of(mockPath));
     when(mockPageable.next()).thenReturn(nextPage);
     Pageable pageable = handler.processPage(mockPageable, mockPage, true);
-    verify(pathCleaner).cleanupPath(mockPath);
+    verify(pathCleaner).cleanupPathOfPage(mockPath);
+    verify(pathCleaner).completePage();
     assertThat(pageable).isEqualTo(nextPage);
   }
 
@@ -84,19 +98,20 @@ public class GenericPathHandlerTest {
     when(mockPath.getCleanupAttempts()).thenReturn(0);
     when(mockPage.getContent()).thenReturn(List.of(mockPath));
     Pageable pageable = handler.processPage(mockPageable, mockPage, false);
-    verify(pathCleaner).cleanupPath(mockPath);
+    verify(pathCleaner).cleanupPathOfPage(mockPath);
     verify(mockPageable, never()).next();
     verify(mockPath).setCleanupAttempts(1);
     verify(mockPath).setHousekeepingStatus(DELETED);
     verify(housekeepingPathRepository).save(mockPath);
     verify(beekeeperHistoryService).saveHistory(any(), eq(DELETED));
+    verify(pathCleaner).completePage();
     assertThat(pageable).isEqualTo(pageable);
   }
 
   @Test
   public void processPageFails() {
     when(mockPath.getCleanupAttempts()).thenReturn(0);
-    doThrow(RuntimeException.class).when(pathCleaner).cleanupPath(mockPath);
+    doThrow(RuntimeException.class).when(pathCleaner).cleanupPathOfPage(mockPath);
     when(mockPage.getContent()).thenReturn(List.of(mockPath));
     Pageable pageable = handler.processPage(mockPageable, mockPage, false);
     verify(mockPageable, never()).next();
@@ -104,20 +119,179 @@ public class GenericPathHandlerTest {
     verify(mockPath).setHousekeepingStatus(FAILED);
     verify(housekeepingPathRepository).save(mockPath);
     verify(beekeeperHistoryService).saveHistory(any(), eq(FAILED_TO_DELETE));
+    verify(pathCleaner).completePage();
+    verify(pathCleaner, never()).abandonPath(mockPath);
     assertThat(pageable).isEqualTo(pageable);
   }
 
+  @Test
+  public void processPageFailsOnLastAttempt() {
+    when(mockPath.getCleanupAttempts()).thenReturn(9, 10);
+    doThrow(RuntimeException.class).when(pathCleaner).cleanupPathOfPage(mockPath);
+    when(mockPage.getContent()).thenReturn(List.of(mockPath));
+    handler.processPage(mockPageable, mockPage, false);
+    verify(mockPath).setCleanupAttempts(10);
+    verify(mockPath).setHousekeepingStatus(FAILED);
+    verify(housekeepingPathRepository).save(mockPath);
+    verify(pathCleaner).abandonPath(mockPath);
+  }
+
+  @Test
+  public void processPageResumableFailure() {
+    doThrow(new ResumableDeletionException("Error", new RuntimeException())).when(pathCleaner)
+        .cleanupPathOfPage(mockPath);
+    when(mockPage.getContent()).thenReturn(List.of(mockPath));
+    Pageable pageable = handler.processPage(mockPageable, mockPage, false);
+    verify(mockPath, never()).setCleanupAttempts(1);
+    verify(mockPath).setHousekeepingStatus(FAILED);
+    verify(housekeepingPathRepository).save(mockPath);
+    verify(beekeeperHistoryService).saveHistory(any(), eq(FAILED_TO_DELETE));
+    assertThat(pageable).isEqualTo(pageable);
+  }
+
+  @Test
+  public void processPageDeferredDeletionFails() {
+    when(mockPath.getCleanupAttempts()).thenReturn(0);
+    when(mockPage.getContent()).thenReturn(List.of(mockPath));
+    when(pathCleaner.cleanupPathOfPage(mockPath)).thenReturn(true);
+    when(pathCleaner.completePage()).thenReturn(Map.of(mockPath, new RuntimeException()));
+    Pageable pageable = handler.processPage(mockPageable, mockPage, false);
+    verify(mockPath).setCleanupAttempts(1);
+    verify(mockPath).setHousekeepingStatus(FAILED);
+    verify(mockPath, never()).setHousekeepingStatus(DELETED);
+    verify(housekeepingPathRepository).save(mockPath);
+    verify(beekeeperHistoryService).saveHistory(any(), eq(FAILED_TO_DELETE));
+    assertThat(pageable).isEqualTo(pageable);
+  }
+
+  @Test
+  public void processPageRecordsPathsBeforeCompletingPage() {
+    when(mockPath.getCleanupAttempts()).thenReturn(0);
+    when(mockPage.getContent()).thenReturn(List.of(mockPath));
+    handler.processPage(mockPageable, mockPage, false);
+    InOrder inOrder = inOrder(pathCleaner, housekeepingPathRepository, beekeeperHistoryService);
+    inOrder.verify(pathCleaner).cleanupPathOfPage(mockPath);
+    inOrder.verify(housekeepingPathRepository).save(mockPath);
+    inOrder.verify(beekeeperHistoryService).saveHistory(mockPath, DELETED);
+    inOrder.verify(pathCleaner).completePage();
+  }
+
+  @Test
+  public void processPageRecordsDeferredPathsOnceCompletingPage() {
+    when(mockPath.getCleanupAttempts()).thenReturn(0);
+    when(mockPage.getContent()).thenReturn(List.of(mockPath));
+    when(pathCleaner.cleanupPathOfPage(mockPath)).thenReturn(true);
+    handler.processPage(mockPageable, mockPage, false);
+    InOrder inOrder = inOrder(pathCleaner, housekeepingPathRepository, beekeeperHistoryService);
+    inOrder.verify(pathCleaner).cleanupPathOfPage(mockPath);
+    inOrder.verify(pathCleaner).completePage();
+    inOrder.verify(housekeepingPathRepository).save(mockPath);
+    inOrder.verify(beekeeperHistoryService).saveHistory(mockPath, DELETED);
+    verify(mockPath).setCleanupAttempts(1);
+  }
+
   @Test
   public void processPageInvalidPath() {
     when(mockPath.getPath()).thenReturn("invalid");
+    when(mockPath.getParsedLocation()).thenReturn(ParsedLocation.parse("invalid"));
     when(mockPage.getContent()).thenReturn(List.of(mockPath));
     Pageable pageable = handler.processPage(mockPageable, mockPage, false);
-    verify(pathCleaner, never()).cleanupPath(mockPath);
+    verify(pathCleaner, never()).cleanupPathOfPage(mockPath);
     verify(mockPageable, never()).next();
     verify(mockPath, never()).setCleanupAttempts(1);
     verify(mockPath).setHousekeepingStatus(SKIPPED);
     verify(housekeepingPathRepository).save(mockPath);
     verify(beekeeperHistoryService).saveHistory(any(), eq(SKIPPED));
+    verify(pathCleaner).abandonPath(mockPath);
     assertThat(pageable).isEqualTo(pageable);
   }
+
+  @Test
+  public void processPageReleasesClaimsWhenPageFails() {
+    @SuppressWarnings("unchecked")
+    RecordClaimer<HousekeepingPath> recordClaimer = mock(RecordClaimer.class);
+    handler = new UnreferencedPathHandler(housekeepingPathRepository, pathCleaner, beekeeperHistoryService,
+        PathHandlerOptions.builder().recordClaimer(recordClaimer).build());
+    when(mockPage.getContent()).thenReturn(List.of(mockPath));
+    when(pathCleaner.cleanupPathOfPage(mockPath)).thenReturn(true);
+    when(pathCleaner.completePage()).thenThrow(new RuntimeException("Page failed"));
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> handler.processPage(mockPageable, mockPage, false));
+    verify(recordClaimer).release(List.of(mockPath));
+    verify(housekeepingPathRepository, never()).save(mockPath);
+  }
+
+  @Test
+  public void processPageOnBucketWorkerPools() {
+    BucketWorkerPools bucketWorkerPools = new BucketWorkerPools(true, 1, Map.of());
+    handler = new UnreferencedPathHandler(housekeepingPathRepository, pathCleaner, beekeeperHistoryService,
+        PathHandlerOptions.builder().bucketWorkerPools(bucketWorkerPools).build());
+    HousekeepingPath otherPath = mock(HousekeepingPath.class);
+    when(otherPath.getPath()).thenReturn("s3://other-bucket/table");
+    when(otherPath.getParsedLocation()).thenReturn(ParsedLocation.parse("s3://other-bucket/table"));
+    when(mockPath.getCleanupAttempts()).thenReturn(0);
+    when(otherPath.getCleanupAttempts()).thenReturn(0);
+    doReturn(false).when(pathCleaner).cleanupPathOfPage(mockPath);
+    doThrow(RuntimeException.class).when(pathCleaner).cleanupPathOfPage(otherPath);
+    when(mockPage.getContent()).thenReturn(List.of(mockPath, otherPath));
+
+    Pageable pageable = handler.processPage(mockPageable, mockPage, false);
+    bucketWorkerPools.close();
+
+    verify(pathCleaner).cleanupPathOfPage(mockPath);
+    verify(mockPath).setHousekeepingStatus(DELETED);
+    verify(otherPath).setHousekeepingStatus(FAILED);
+    verify(housekeepingPathRepository).save(mockPath);
+    verify(housekeepingPathRepository).save(otherPath);
+    verify(beekeeperHistoryService).saveHistory(mockPath, DELETED);
+    verify(beekeeperHistoryService).saveHistory(otherPath, FAILED_TO_DELETE);
+    verify(pathCleaner).completePage();
+    assertThat(pageable).isEqualTo(mockPageable);
+  }
+
+  @Test
+  public void processPageOnCleanupWorkerPool() {
+    CleanupWorkerPool cleanupWorkerPool = new CleanupWorkerPool(2);
+    handler = new UnreferencedPathHandler(housekeepingPathRepository, pathCleaner, beekeeperHistoryService,
+        PathHandlerOptions.builder().cleanupWorkerPool(cleanupWorkerPool).build());
+    HousekeepingPath otherPath = mock(HousekeepingPath.class);
+    when(otherPath.getPath()).thenReturn("s3://bucket/other-table");
+    when(otherPath.getParsedLocation()).thenReturn(ParsedLocation.parse("s3://bucket/other-table"));
+    when(mockPath.getCleanupAttempts()).thenReturn(0);
+    when(otherPath.getCleanupAttempts()).thenReturn(0);
+    when(mockPage.getContent()).thenReturn(List.of(mockPath, otherPath));
+
+    Pageable pageable = handler.processPage(mockPageable, mockPage, false);
+    cleanupWorkerPool.close();
+
+    verify(pathCleaner).cleanupPathOfPage(mockPath);
+    verify(pathCleaner).cleanupPathOfPage(otherPath);
+    verify(mockPath).setHousekeepingStatus(DELETED);
+    verify(otherPath).setHousekeepingStatus(DELETED);
+    verify(beekeeperHistoryService).saveHistory(mockPath, DELETED);
+    verify(beekeeperHistoryService).saveHistory(otherPath, DELETED);
+    verify(pathCleaner).completePage();
+    assertThat(pageable).isEqualTo(mockPageable);
+  }
+
+  @Test
+  public void processPageStatusUpdateFailureDoesNotStopOtherPaths() {
+    HousekeepingPath otherPath = mock(HousekeepingPath.class);
+    when(otherPath.getPath()).thenReturn("s3://bucket/other-table");
+    when(otherPath.getParsedLocation()).thenReturn(ParsedLocation.parse("s3://bucket/other-table"));
+    when(mockPath.getCleanupAttempts()).thenReturn(0);
+    when(otherPath.getCleanupAttempts()).thenReturn(0);
+    RuntimeException failure = new RuntimeException("Database unavailable");
+    when(housekeepingPathRepository.save(mockPath)).thenThrow(failure);
+    when(mockPage.getContent()).thenReturn(List.of(mockPath, otherPath));
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> handler.processPage(mockPageable, mockPage, false))
+        .isSameAs(failure);
+
+    verify(housekeepingPathRepository).save(otherPath);
+    verify(beekeeperHistoryService).saveHistory(otherPath, DELETED);
+    verify(beekeeperHistoryService, never()).saveHistory(mockPath, DELETED);
+  }
 }
@@ -71,4 +71,12 @@ public class UnreferencedPathHandlerTest {
     handler.findRecordsToClean(now, emptyPageable);
     verify(housekeepingPathRepository).findRecordsForCleanup(now, emptyPageable);
   }
+
+  @Test
+  public void verifyHousekeepingPathFetchAfterId() {
+    LocalDateTime now = LocalDateTime.now();
+    Pageable emptyPageable = PageRequest.of(0, 1);
+    handler.findRecordsToCleanAfter(now, 5L, emptyPageable);
+    verify(housekeepingPathRepository).findRecordsForCleanupAfterId(now, 5L, emptyPageable);
+  }
 }
@@ -16,14 +16,19 @@
 package com.expediagroup.beekeeper.path.cleanup.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.DELETED;
 import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.FAILED;
+import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.FAILED_TO_DELETE;
 import static com.expediagroup.beekeeper.core.model.HousekeepingStatus.SCHEDULED;
 import static com.expediagroup.beekeeper.core.model.LifecycleEventType.UNREFERENCED;
 
@@ -31,7 +36,13 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -47,15 +58,21 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import com.google.common.collect.Lists;
 
+import com.expediagroup.beekeeper.cleanup.monitoring.CleanupLatenessReporter;
 import com.expediagroup.beekeeper.cleanup.path.PathCleaner;
+import com.expediagroup.beekeeper.cleanup.service.PagingCleanupOptions;
 import com.expediagroup.beekeeper.core.model.HousekeepingPath;
 import com.expediagroup.beekeeper.core.model.HousekeepingStatus;
 import com.expediagroup.beekeeper.core.model.PeriodDuration;
 import com.expediagroup.beekeeper.core.repository.HousekeepingPathRepository;
 import com.expediagroup.beekeeper.core.service.BeekeeperHistoryService;
+import com.expediagroup.beekeeper.core.service.RecordClaimer;
 import com.expediagroup.beekeeper.path.cleanup.TestApplication;
+import com.expediagroup.beekeeper.path.cleanup.handler.PathHandlerOptions;
 import com.expediagroup.beekeeper.path.cleanup.handler.UnreferencedPathHandler;
 
 @ExtendWith(SpringExtension.class)
@@ -85,8 +102,9 @@ public class PagingCleanupServiceTest {
     paths.forEach(path -> housekeepingPathRepository.save(createEntityHousekeepingPath(path, SCHEDULED)));
     pagingCleanupService.cleanUp(Instant.now());
 
-    verify(pathCleaner, times(3)).cleanupPath(pathCaptor.capture());
+    verify(pathCleaner, times(3)).cleanupPathOfPage(pathCaptor.capture());
     assertThat(pathCaptor.getAllValues()).extracting("path").containsExactly(paths.get(0), paths.get(1), paths.get(2));
+    verify(pathCleaner, times(2)).completePage();
 
     housekeepingPathRepository.findAll().forEach(housekeepingPath -> {
       assertThat(housekeepingPath.getCleanupAttempts()).isEqualTo(1);
@@ -94,6 +112,7 @@ public class PagingCleanupServiceTest {
     });
 
     pagingCleanupService.cleanUp(Instant.now());
+    verify(pathCleaner, times(2)).completeRun();
     verifyNoMoreInteractions(pathCleaner);
   }
 
@@ -107,7 +126,7 @@ public class PagingCleanupServiceTest {
     paths.forEach(path -> housekeepingPathRepository.save(path));
     pagingCleanupService.cleanUp(Instant.now());
 
-    verify(pathCleaner, times(2)).cleanupPath(pathCaptor.capture());
+    verify(pathCleaner, times(2)).cleanupPathOfPage(pathCaptor.capture());
     assertThat(pathCaptor.getAllValues())
         .extracting("path")
         .containsExactly(paths.get(0).getPath(), paths.get(1).getPath());
@@ -124,7 +143,7 @@ public class PagingCleanupServiceTest {
     paths.forEach(path -> housekeepingPathRepository.save(path));
     pagingCleanupService.cleanUp(Instant.now());
 
-    verify(pathCleaner, times(2)).cleanupPath(pathCaptor.capture());
+    verify(pathCleaner, times(2)).cleanupPathOfPage(pathCaptor.capture());
     assertThat(pathCaptor.getAllValues())
         .extracting("path")
         .containsExactly(paths.get(0).getPath(), paths.get(1).getPath());
@@ -135,13 +154,14 @@ public class PagingCleanupServiceTest {
     UnreferencedPathHandler handler = new UnreferencedPathHandler(housekeepingPathRepository, pathCleaner, beekeeperHistoryService);
     pagingCleanupService = new PagingPathCleanupService(List.of(handler), 2, false);
 
-    doThrow(new RuntimeException("Error")).doNothing().when(pathCleaner).cleanupPath(any(HousekeepingPath.class));
+    doThrow(new RuntimeException("Error")).doReturn(false).when(pathCleaner)
+        .cleanupPathOfPage(any(HousekeepingPath.class));
 
     List<String> paths = List.of("s3://bucket/some_foo", "s3://bucket/some_bar");
     paths.forEach(path -> housekeepingPathRepository.save(createEntityHousekeepingPath(path, SCHEDULED)));
     pagingCleanupService.cleanUp(Instant.now());
 
-    verify(pathCleaner, times(2)).cleanupPath(pathCaptor.capture());
+    verify(pathCleaner, times(2)).cleanupPathOfPage(pathCaptor.capture());
     assertThat(pathCaptor.getAllValues()).extracting("path").containsExactly(paths.get(0), paths.get(1));
 
     List<HousekeepingPath> result = Lists.newArrayList(housekeepingPathRepository.findAll());
@@ -157,6 +177,66 @@ public class PagingCleanupServiceTest {
     assertThat(housekeepingPath2.getCleanupAttempts()).isEqualTo(1);
   }
 
+  @Test
+  void pathCleanerExceptionWithBatchedWrites() {
+    UnreferencedPathHandler handler = new UnreferencedPathHandler(housekeepingPathRepository, pathCleaner,
+        beekeeperHistoryService, PathHandlerOptions.builder().batchedWritesEnabled(true).build());
+    pagingCleanupService = new PagingPathCleanupService(List.of(handler), 2, false);
+
+    doThrow(new RuntimeException("Error")).doReturn(false).when(pathCleaner)
+        .cleanupPathOfPage(any(HousekeepingPath.class));
+
+    List<String> paths = List.of("s3://bucket/some_foo", "s3://bucket/some_bar", "s3://bucket/some_foobar");
+    paths.forEach(path -> housekeepingPathRepository.save(createEntityHousekeepingPath(path, SCHEDULED)));
+    pagingCleanupService.cleanUp(Instant.now());
+
+    verify(pathCleaner, times(3)).cleanupPathOfPage(any(HousekeepingPath.class));
+    verify(beekeeperHistoryService).newEvent(any(), eq(FAILED_TO_DELETE));
+    verify(beekeeperHistoryService, times(2)).newEvent(any(), eq(DELETED));
+    verify(beekeeperHistoryService, times(2)).saveHistory(anyList());
+    verify(beekeeperHistoryService, never()).saveHistory(any(), any());
+
+    List<HousekeepingPath> result = Lists.newArrayList(housekeepingPathRepository.findAll());
+    assertThat(result)
+        .extracting("path", "housekeepingStatus", "cleanupAttempts")
+        .containsExactly(tuple(paths.get(0), FAILED, 1), tuple(paths.get(1), DELETED, 1),
+            tuple(paths.get(2), DELETED, 1));
+  }
+
+  @Test
+  @Timeout(value = 30)
+  void replicasCleanUpEachPathOnce() throws Exception {
+    List<String> paths = IntStream
+        .range(0, 10)
+        .mapToObj(i -> "s3://bucket/some_foo" + i)
+        .collect(Collectors.toList());
+    paths.forEach(path -> housekeepingPathRepository.save(createEntityHousekeepingPath(path, SCHEDULED)));
+
+    ExecutorService replicas = Executors.newFixedThreadPool(2);
+    List<Future<?>> runs = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      RecordClaimer<HousekeepingPath> recordClaimer = RecordClaimer
+          .leasing(housekeepingPathRepository::claim, housekeepingPathRepository::findClaimed,
+              housekeepingPathRepository::releaseClaims, Duration.ofMinutes(30));
+      UnreferencedPathHandler handler = new UnreferencedPathHandler(housekeepingPathRepository, pathCleaner,
+          beekeeperHistoryService, PathHandlerOptions.builder().recordClaimer(recordClaimer).build());
+      PagingPathCleanupService replica = new PagingPathCleanupService(List.of(handler), 2, false);
+      runs.add(replicas.submit(() -> replica.cleanUp(Instant.now())));
+    }
+    for (Future<?> run : runs) {
+      run.get();
+    }
+    replicas.shutdown();
+
+    verify(pathCleaner, times(10)).cleanupPathOfPage(pathCaptor.capture());
+    assertThat(pathCaptor.getAllValues()).extracting("path").containsExactlyInAnyOrderElementsOf(paths);
+    housekeepingPathRepository.findAll().forEach(path -> {
+      assertThat(path.getCleanupAttempts()).isEqualTo(1);
+      assertThat(path.getHousekeepingStatus()).isEqualTo(DELETED);
+      assertThat(path.getClaimOwner()).isNull();
+    });
+  }
+
   @Test
   @Timeout(value = 10)
   void doNotInfiniteLoopOnRepeatedFailures() {
@@ -174,7 +254,7 @@ public class PagingCleanupServiceTest {
           housekeepingPathRepository.save(path);
         }
 
-        doThrow(new RuntimeException("Error")).when(pathCleaner).cleanupPath(any());
+        doThrow(new RuntimeException("Error")).when(pathCleaner).cleanupPathOfPage(any());
       });
 
       pagingCleanupService.cleanUp(Instant.now());
@@ -204,6 +284,121 @@ public class PagingCleanupServiceTest {
     });
   }
 
+  @Test
+  @Timeout(value = 10)
+  void dryRunVisitsEachPathOnce() {
+    UnreferencedPathHandler handler = new UnreferencedPathHandler(housekeepingPathRepository, pathCleaner, beekeeperHistoryService);
+    pagingCleanupService = new PagingPathCleanupService(List.of(handler), 2, true);
+    List<String> paths = List.of("s3://bucket/some_foo", "s3://bucket/some_bar", "s3://bucket/some_foobar");
+    paths.forEach(path -> housekeepingPathRepository.save(createEntityHousekeepingPath(path, SCHEDULED)));
+
+    pagingCleanupService.cleanUp(Instant.now());
+
+    verify(pathCleaner, times(3)).cleanupPathOfPage(pathCaptor.capture());
+    assertThat(pathCaptor.getAllValues()).extracting("path").containsExactlyElementsOf(paths);
+    verify(pathCleaner, times(2)).completePage();
+  }
+
+  @Test
+  @Timeout(value = 10)
+  public void typicalWithPrefetchedPages() {
+    UnreferencedPathHandler handler = new UnreferencedPathHandler(housekeepingPathRepository, pathCleaner, beekeeperHistoryService);
+    pagingCleanupService = new PagingPathCleanupService(List.of(handler), 2, false,
+        PagingCleanupOptions.builder().prefetchPages(2).build());
+
+    List<String> paths = List
+        .of("s3://bucket/some_foo", "s3://bucket/some_bar", "s3://bucket/some_foobar", "s3://bucket/some_baz",
+            "s3://bucket/some_qux");
+    paths.forEach(path -> housekeepingPathRepository.save(createEntityHousekeepingPath(path, SCHEDULED)));
+    pagingCleanupService.cleanUp(Instant.now());
+
+    verify(pathCleaner, times(5)).cleanupPathOfPage(pathCaptor.capture());
+    assertThat(pathCaptor.getAllValues()).extracting("path").containsExactlyInAnyOrderElementsOf(paths);
+    verify(pathCleaner, times(3)).completePage();
+    verify(pathCleaner).completeRun();
+
+    housekeepingPathRepository.findAll().forEach(housekeepingPath -> {
+      assertThat(housekeepingPath.getCleanupAttempts()).isEqualTo(1);
+      assertThat(housekeepingPath.getHousekeepingStatus()).isEqualTo(DELETED);
+    });
+  }
+
+  @Test
+  @Timeout(value = 10)
+  void doNotInfiniteLoopOnRepeatedFailuresWithPrefetchedPages() {
+    UnreferencedPathHandler handler = new UnreferencedPathHandler(housekeepingPathRepository, pathCleaner, beekeeperHistoryService);
+    pagingCleanupService = new PagingPathCleanupService(List.of(handler), 1, false,
+        PagingCleanupOptions.builder().prefetchPages(2).build());
+    housekeepingPathRepository
+        .saveAll(List
+            .of(createEntityHousekeepingPath("s3://bucket/some_foo", FAILED),
+                createEntityHousekeepingPath("s3://bucket/some_bar", FAILED),
+                createEntityHousekeepingPath("s3://bucket/some_foobar", FAILED)));
+    doThrow(new RuntimeException("Error")).when(pathCleaner).cleanupPathOfPage(any());
+
+    pagingCleanupService.cleanUp(Instant.now());
+
+    verify(pathCleaner, times(3)).cleanupPathOfPage(any());
+    housekeepingPathRepository.findAll().forEach(path -> {
+      assertThat(path.getCleanupAttempts()).isEqualTo(1);
+      assertThat(path.getHousekeepingStatus()).isEqualTo(FAILED);
+    });
+  }
+
+  @Test
+  @Timeout(value = 10)
+  void doNotInfiniteLoopOnDryRunCleanupWithPrefetchedPages() {
+    UnreferencedPathHandler handler = new UnreferencedPathHandler(housekeepingPathRepository, pathCleaner, beekeeperHistoryService);
+    pagingCleanupService = new PagingPathCleanupService(List.of(handler), 1, true,
+        PagingCleanupOptions.builder().prefetchPages(2).build());
+    housekeepingPathRepository
+        .saveAll(List
+            .of(createEntityHousekeepingPath("s3://bucket/some_foo", SCHEDULED),
+                createEntityHousekeepingPath("s3://bucket/some_bar", SCHEDULED),
+                createEntityHousekeepingPath("s3://bucket/some_foobar", SCHEDULED)));
+
+    pagingCleanupService.cleanUp(Instant.now());
+
+    housekeepingPathRepository.findAll().forEach(path -> {
+      assertThat(path.getCleanupAttempts()).isEqualTo(0);
+      assertThat(path.getHousekeepingStatus()).isEqualTo(SCHEDULED);
+    });
+  }
+
+  @Test
+  void tablesShareThePages() {
+    UnreferencedPathHandler handler = new UnreferencedPathHandler(housekeepingPathRepository, pathCleaner, beekeeperHistoryService);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    pagingCleanupService = new PagingPathCleanupService(List.of(handler), 2, false,
+        PagingCleanupOptions
+            .builder()
+            .tablePageSharePercent(50)
+            .cleanupLatenessReporter(new CleanupLatenessReporter(meterRegistry))
+            .build());
+    List<HousekeepingPath> bigTablePaths = List
+        .of(createEntityHousekeepingPath("s3://bucket/big/part=1", SCHEDULED),
+            createEntityHousekeepingPath("s3://bucket/big/part=2", SCHEDULED),
+            createEntityHousekeepingPath("s3://bucket/big/part=3", SCHEDULED));
+    bigTablePaths.forEach(path -> path.setTableName("big_table"));
+    housekeepingPathRepository.saveAll(bigTablePaths);
+    housekeepingPathRepository.save(createEntityHousekeepingPath("s3://bucket/small", SCHEDULED));
+
+    pagingCleanupService.cleanUp(Instant.now());
+
+    verify(pathCleaner, times(4)).cleanupPathOfPage(pathCaptor.capture());
+    assertThat(pathCaptor.getAllValues())
+        .extracting("path")
+        .containsExactly("s3://bucket/big/part=1", "s3://bucket/small", "s3://bucket/big/part=2",
+            "s3://bucket/big/part=3");
+    verify(pathCleaner, times(3)).completePage();
+    assertThat(latenessReports(meterRegistry, "database.big_table")).isEqualTo(3);
+    assertThat(latenessReports(meterRegistry, "database.table")).isEqualTo(1);
+  }
+
+  private static long latenessReports(SimpleMeterRegistry meterRegistry, String table) {
+    return meterRegistry.get(CleanupLatenessReporter.METRIC_NAME).tag("table", table).timer().count();
+  }
+
   private HousekeepingPath createEntityHousekeepingPath(String path, HousekeepingStatus housekeepingStatus) {
     HousekeepingPath housekeepingPath = HousekeepingPath
         .builder()
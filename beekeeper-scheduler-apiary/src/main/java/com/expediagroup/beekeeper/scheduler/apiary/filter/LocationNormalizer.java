@@ -15,7 +15,7 @@
  */
 package com.expediagroup.beekeeper.scheduler.apiary.filter;
 
-import org.apache.commons.lang3.StringUtils;
+import com.expediagroup.beekeeper.core.model.ParsedLocation;
 
 /**
  * Attempts to normalize string representing a location of a Hive Table, could have a wide variety of schemes, s3, s3a,
@@ -25,8 +25,14 @@ public class LocationNormalizer {
 
   public String normalize(String location) {
     //Not using File.seperator here we might not know what the location would be using. (Beekeeper might run on Windows...)
-    location =StringUtils.stripEnd(location, "/");
-    return location;
+    return location == null ? null : ParsedLocation.stripTrailingSlashes(location);
+  }
+
+  /**
+   * Whether both locations are the same once normalized, compared without building the normalized strings.
+   */
+  public boolean isSameLocation(String location, String otherLocation) {
+    return ParsedLocation.sameLocation(location, otherLocation);
   }
 
 }
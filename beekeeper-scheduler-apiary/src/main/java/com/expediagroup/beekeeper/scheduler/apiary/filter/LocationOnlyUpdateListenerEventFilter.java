@@ -58,8 +58,6 @@ public class LocationOnlyUpdateListenerEventFilter implements ListenerEventFilte
     if (location == null || oldLocation == null) {
       return true;
     }
-    String normalizedOldLocation = locationNormalizer.normalize(oldLocation);
-    String normalizedLocation = locationNormalizer.normalize(location);
-    return normalizedOldLocation.equals(normalizedLocation);
+    return locationNormalizer.isSameLocation(oldLocation, location);
   }
 }
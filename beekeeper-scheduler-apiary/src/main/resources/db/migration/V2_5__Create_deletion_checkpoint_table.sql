@@ -0,0 +1,12 @@
+USE beekeeper;
+
+CREATE TABLE IF NOT EXISTS deletion_checkpoint (
+  entity_type VARCHAR(50) NOT NULL,
+  housekeeping_entity_id BIGINT(20) NOT NULL,
+  path VARCHAR(10000) NOT NULL,
+  last_deleted_key VARCHAR(1024) NOT NULL,
+  objects_deleted BIGINT(20) NOT NULL DEFAULT 0,
+  bytes_deleted BIGINT(20) NOT NULL DEFAULT 0,
+  modified_timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (entity_type, housekeeping_entity_id)
+);
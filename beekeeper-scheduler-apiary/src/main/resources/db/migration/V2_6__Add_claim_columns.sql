@@ -0,0 +1,4 @@
+USE beekeeper;
+
+ALTER TABLE housekeeping_path ADD COLUMN claim_owner VARCHAR(255) NULL, ADD COLUMN claim_expiry TIMESTAMP NULL;
+ALTER TABLE housekeeping_metadata ADD COLUMN claim_owner VARCHAR(255) NULL, ADD COLUMN claim_expiry TIMESTAMP NULL;
@@ -0,0 +1,4 @@
+USE beekeeper;
+
+ALTER TABLE housekeeping_path ADD INDEX `housekeeping_path_index_table_cleanup_timestamp` (`database_name`(300), `table_name`(300), `cleanup_timestamp`);
+ALTER TABLE housekeeping_metadata ADD INDEX `housekeeping_metadata_index_table_cleanup_timestamp` (`database_name`(300), `table_name`(300), `cleanup_timestamp`);
@@ -40,5 +40,13 @@ class LocationNormalizerTest {
     assertThat(normalizer.normalize("s3://bucket/prefix///")).isEqualTo("s3://bucket/prefix");
     assertThat(normalizer.normalize("hdfs://bucket/prefix/")).isEqualTo("hdfs://bucket/prefix");
   }
-  
+
+  @Test
+  void sameLocation() {
+    assertThat(normalizer.isSameLocation("s3://bucket/prefix", "s3://bucket/prefix/")).isTrue();
+    assertThat(normalizer.isSameLocation("s3://bucket/prefix//", "s3://bucket/prefix")).isTrue();
+    assertThat(normalizer.isSameLocation("s3://bucket/prefix", "s3://bucket/prefix2")).isFalse();
+    assertThat(normalizer.isSameLocation("s3://bucket/prefix", "s3://bucket/other")).isFalse();
+  }
+
 }
@@ -23,9 +23,11 @@ import org.springframework.stereotype.Repository;
 
 import com.expediagroup.beekeeper.core.model.history.BeekeeperHistory;
 import com.expediagroup.beekeeper.core.repository.BeekeeperHistoryRepository;
+import com.expediagroup.beekeeper.core.repository.BeekeeperHistoryRepositoryCustom;
 
 @Repository
-public interface BeekeeperEventsHistoryRepository extends BeekeeperHistoryRepository {
+public interface BeekeeperEventsHistoryRepository
+    extends BeekeeperHistoryRepository, BeekeeperHistoryRepositoryCustom {
 
   @Query(value = "from BeekeeperHistory t where t.lifecycleType = :lifecycle")
   Slice<BeekeeperHistory> findRecordsByLifecycleType(